@@ -0,0 +1,34 @@
+/*
+ * Copyright (C) since 2016 Lightbend Inc. <https://www.lightbend.com>
+ */
+
+package akka.stream.alpakka.cassandra
+
+/**
+ * How `CassandraFlow.createReplicaAwareBatch` groups statements into batches.
+ */
+sealed abstract class CassandraBatchGrouping
+
+object CassandraBatchGrouping {
+
+  /**
+   * Statements writing to the same partition go into the same batch, so that every batch is a single mutation.
+   */
+  case object ByPartition extends CassandraBatchGrouping
+
+  /**
+   * Statements writing to partitions owned by the same set of replicas go into the same batch, so that the
+   * coordinator of a batch does not need to forward its statements to other nodes.
+   */
+  case object ByReplicaSet extends CassandraBatchGrouping
+
+  /**
+   * Java API
+   */
+  def byPartition: CassandraBatchGrouping = ByPartition
+
+  /**
+   * Java API
+   */
+  def byReplicaSet: CassandraBatchGrouping = ByReplicaSet
+}
@@ -12,9 +12,13 @@ import scala.jdk.DurationConverters._
 class CassandraWriteSettings private (val parallelism: Int,
                                       val maxBatchSize: Int,
                                       val maxBatchWait: FiniteDuration,
-                                      val batchType: BatchType) {
+                                      val batchType: BatchType,
+                                      val maxBatchBytes: Long,
+                                      val maxInFlightPerHost: Int) {
   require(parallelism > 0, s"Invalid value for parallelism: $parallelism. It should be > 0.")
   require(maxBatchSize > 0, s"Invalid value for maxBatchSize: $maxBatchSize. It should be > 0.")
+  require(maxBatchBytes > 0, s"Invalid value for maxBatchBytes: $maxBatchBytes. It should be > 0.")
+  require(maxInFlightPerHost > 0, s"Invalid value for maxInFlightPerHost: $maxInFlightPerHost. It should be > 0.")
 
   /**
    * WARNING: setting a write parallelism other than 1 will lead to out-of-order updates
@@ -42,23 +46,43 @@ class CassandraWriteSettings private (val parallelism: Int,
   def withBatchType(value: BatchType): CassandraWriteSettings =
     copy(batchType = value)
 
+  /**
+   * Maximum size of the bound values in a batch for `CassandraFlow.createReplicaAwareBatch`.
+   * Keep this below the server's `batch_size_fail_threshold_in_kb`.
+   */
+  def withMaxBatchBytes(maxBatchBytes: Long): CassandraWriteSettings =
+    copy(maxBatchBytes = maxBatchBytes)
+
+  /**
+   * Maximum number of batches in flight per replica set for `CassandraFlow.createReplicaAwareBatch`.
+   * `parallelism` limits the number of batches in flight in total.
+   */
+  def withMaxInFlightPerHost(maxInFlightPerHost: Int): CassandraWriteSettings =
+    copy(maxInFlightPerHost = maxInFlightPerHost)
+
   private def copy(parallelism: Int = parallelism,
                    maxBatchSize: Int = maxBatchSize,
                    maxBatchWait: FiniteDuration = maxBatchWait,
-                   batchType: BatchType = batchType) =
-    new CassandraWriteSettings(parallelism, maxBatchSize, maxBatchWait, batchType)
+                   batchType: BatchType = batchType,
+                   maxBatchBytes: Long = maxBatchBytes,
+                   maxInFlightPerHost: Int = maxInFlightPerHost) =
+    new CassandraWriteSettings(parallelism, maxBatchSize, maxBatchWait, batchType, maxBatchBytes, maxInFlightPerHost)
 
   override def toString: String =
     "CassandraWriteSettings(" +
     s"parallelism=$parallelism," +
     s"maxBatchSize=$maxBatchSize," +
     s"maxBatchWait=$maxBatchWait," +
-    s"batchType=$batchType)"
+    s"batchType=$batchType," +
+    s"maxBatchBytes=$maxBatchBytes," +
+    s"maxInFlightPerHost=$maxInFlightPerHost)"
 
 }
 
 object CassandraWriteSettings {
-  val defaults: CassandraWriteSettings = new CassandraWriteSettings(1, 100, 500.millis, BatchType.LOGGED)
+  // the server's default batch_size_fail_threshold_in_kb is 50
+  val defaults: CassandraWriteSettings =
+    new CassandraWriteSettings(1, 100, 500.millis, BatchType.LOGGED, maxBatchBytes = 40 * 1024, maxInFlightPerHost = 1)
 
   def create(): CassandraWriteSettings = defaults
   def apply(): CassandraWriteSettings = defaults
@@ -0,0 +1,107 @@
+/*
+ * Copyright (C) since 2016 Lightbend Inc. <https://www.lightbend.com>
+ */
+
+package akka.stream.alpakka.cassandra.impl
+
+import akka.annotation.InternalApi
+import akka.stream.stage.{GraphStage, GraphStageLogic, InHandler, OutHandler}
+import akka.stream.{Attributes, FlowShape, Inlet, Outlet}
+
+import scala.collection.mutable
+import scala.concurrent.{ExecutionContext, Future}
+import scala.util.control.NonFatal
+import scala.util.{Failure, Success, Try}
+
+/**
+ * INTERNAL API
+ *
+ * Like `mapAsyncUnordered`, but additionally limits the number of futures in flight per key. Elements without a key
+ * are only limited by `parallelism`. Up to `parallelism` elements are buffered or in flight at any time; an element
+ * whose key is at its limit waits without blocking elements with other keys.
+ */
+@InternalApi private[cassandra] final class KeyLimitedMapAsyncUnordered[In, Out, K](parallelism: Int,
+                                                                                    perKey: Int,
+                                                                                    key: In => Option[K],
+                                                                                    f: In => Future[Out])
+    extends GraphStage[FlowShape[In, Out]] {
+  require(parallelism > 0, "parallelism must be positive")
+  require(perKey > 0, "perKey must be positive")
+
+  private val in = Inlet[In]("KeyLimitedMapAsyncUnordered.in")
+  private val out = Outlet[Out]("KeyLimitedMapAsyncUnordered.out")
+
+  override val shape: FlowShape[In, Out] = FlowShape(in, out)
+
+  override def createLogic(inheritedAttributes: Attributes): GraphStageLogic =
+    new GraphStageLogic(shape) with InHandler with OutHandler {
+      private val waiting = mutable.Queue.empty[(In, Option[K])]
+      private val inFlightPerKey = mutable.Map.empty[K, Int]
+      private var inFlight = 0
+      private val results = mutable.Queue.empty[Out]
+
+      private val completed = getAsyncCallback[(Option[K], Try[Out])] {
+        case (elementKey, Success(result)) =>
+          inFlight -= 1
+          elementKey.foreach { k =>
+            val remaining = inFlightPerKey(k) - 1
+            if (remaining == 0) inFlightPerKey -= k else inFlightPerKey.update(k, remaining)
+          }
+          results.enqueue(result)
+          startWaiting()
+          pushResults()
+          pullIfRoom()
+          completeIfDone()
+        case (_, Failure(ex)) =>
+          failStage(ex)
+      }
+
+      override def onPush(): Unit = {
+        val element = grab(in)
+        waiting.enqueue(element -> key(element))
+        startWaiting()
+        pullIfRoom()
+      }
+
+      override def onPull(): Unit = {
+        pushResults()
+        pullIfRoom()
+        completeIfDone()
+      }
+
+      override def onUpstreamFinish(): Unit = completeIfDone()
+
+      private def startWaiting(): Unit =
+        if (waiting.nonEmpty && inFlight < parallelism) {
+          val candidates = waiting.dequeueAll(_ => true)
+          candidates.foreach {
+            case (element, elementKey) =>
+              if (inFlight < parallelism && elementKey.forall(inFlightPerKey.getOrElse(_, 0) < perKey))
+                start(element, elementKey)
+              else waiting.enqueue(element -> elementKey)
+          }
+        }
+
+      private def start(element: In, elementKey: Option[K]): Unit = {
+        inFlight += 1
+        elementKey.foreach(k => inFlightPerKey.update(k, inFlightPerKey.getOrElse(k, 0) + 1))
+        val future =
+          try f(element)
+          catch { case NonFatal(ex) => Future.failed(ex) }
+        future.onComplete(result => completed.invoke(elementKey -> result))(ExecutionContext.parasitic)
+      }
+
+      private def pushResults(): Unit =
+        if (isAvailable(out) && results.nonEmpty) push(out, results.dequeue())
+
+      private def pullIfRoom(): Unit =
+        if (!isClosed(in) && !hasBeenPulled(in) && waiting.size + inFlight + results.size < parallelism) pull(in)
+
+      private def completeIfDone(): Unit =
+        if (isClosed(in) && waiting.isEmpty && inFlight == 0 && results.isEmpty) completeStage()
+
+      override def preStart(): Unit = pull(in)
+
+      setHandlers(in, out, this)
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (C) since 2016 Lightbend Inc. <https://www.lightbend.com>
+ */
+
+package akka.stream.alpakka.cassandra.impl
+
+import java.nio.ByteBuffer
+
+import akka.NotUsed
+import akka.annotation.InternalApi
+import akka.stream.alpakka.cassandra.{CassandraBatchGrouping, CassandraWriteSettings}
+import akka.stream.alpakka.cassandra.scaladsl.CassandraSession
+import akka.stream.scaladsl.Flow
+import com.datastax.oss.driver.api.core.CqlSession
+import com.datastax.oss.driver.api.core.cql.{BatchStatement, BatchType, BoundStatement, PreparedStatement}
+import com.datastax.oss.driver.api.core.metadata.Node
+import com.datastax.oss.driver.api.core.metadata.token.TokenMap
+
+import scala.collection.immutable
+import scala.concurrent.ExecutionContext
+import scala.jdk.CollectionConverters._
+import scala.jdk.OptionConverters._
+
+/**
+ * INTERNAL API
+ *
+ * Groups bound statements by partition or by the replicas owning their partitions, splits the groups into unlogged
+ * batches of limited size and executes them with a limit of batches in flight per replica set.
+ */
+@InternalApi private[cassandra] object ReplicaAwareBatching {
+
+  private final class Bound[T](val element: T, val statement: BoundStatement, val replicas: Option[Set[Node]]) {
+    val bytes: Long = statement.getValues.asScala.foldLeft(0L)((sum, value) => sum + valueSize(value))
+  }
+
+  private final class Batch[T](val statements: List[Bound[T]]) {
+    def replicas: Option[Set[Node]] = statements.head.replicas
+  }
+
+  def flow[T](writeSettings: CassandraWriteSettings,
+              cqlSession: CqlSession,
+              preparedStatement: PreparedStatement,
+              statementBinder: (T, PreparedStatement) => BoundStatement,
+              grouping: CassandraBatchGrouping,
+              session: CassandraSession): Flow[T, T, NotUsed] =
+    Flow[T]
+      .groupedWithin(writeSettings.maxBatchSize, writeSettings.maxBatchWait)
+      .mapConcat { elements =>
+        val tokenMap = cqlSession.getMetadata.getTokenMap.toScala
+        val bound = elements.map { element =>
+          val statement = statementBinder(element, preparedStatement)
+          new Bound(element, statement, tokenMap.flatMap(replicasOf(_, statement)))
+        }
+        batches(bound, grouping, writeSettings.maxBatchBytes)
+      }
+      .via(
+        new KeyLimitedMapAsyncUnordered[Batch[T], List[T], Set[Node]](
+          writeSettings.parallelism,
+          writeSettings.maxInFlightPerHost,
+          _.replicas,
+          batch => {
+            val batchStatement = BatchStatement
+              .newInstance(BatchType.UNLOGGED)
+              .addAll(batch.statements.map(_.statement).asJava)
+            session
+              .executeWriteBatch(batchStatement)
+              .map(_ => batch.statements.map(_.element))(ExecutionContext.parasitic)
+          }
+        )
+      )
+      .mapConcat(identity)
+
+  private def batches[T](bound: immutable.Seq[Bound[T]],
+                         grouping: CassandraBatchGrouping,
+                         maxBatchBytes: Long): List[Batch[T]] = {
+    val (groupable, ungroupable) = grouping match {
+      case CassandraBatchGrouping.ByPartition =>
+        val (withKey, withoutKey) = bound.partition(b => routingKey(b.statement).isDefined)
+        (withKey.groupBy(b => routingKey(b.statement)).values.toList, withoutKey)
+      case CassandraBatchGrouping.ByReplicaSet =>
+        val (withReplicas, withoutReplicas) = bound.partition(_.replicas.isDefined)
+        (withReplicas.groupBy(_.replicas).values.toList, withoutReplicas)
+    }
+    groupable.flatMap(group => splitBySize(group.toList, maxBatchBytes)) ++
+    ungroupable.map(b => new Batch(List(b)))
+  }
+
+  /** Splits a group into batches whose values stay within `maxBatchBytes`, unless a single statement exceeds it. */
+  private def splitBySize[T](group: List[Bound[T]], maxBatchBytes: Long): List[Batch[T]] = {
+    val (batches, current, _) = group.foldLeft((List.empty[Batch[T]], List.empty[Bound[T]], 0L)) {
+      case ((done, current, currentBytes), b) =>
+        if (current.nonEmpty && currentBytes + b.bytes > maxBatchBytes)
+          (new Batch(current.reverse) :: done, List(b), b.bytes)
+        else (done, b :: current, currentBytes + b.bytes)
+    }
+    (if (current.isEmpty) batches else new Batch(current.reverse) :: batches).reverse
+  }
+
+  private def routingKey(statement: BoundStatement): Option[ByteBuffer] = Option(statement.getRoutingKey)
+
+  private def replicasOf(tokenMap: TokenMap, statement: BoundStatement): Option[Set[Node]] =
+    for {
+      keyspace <- Option(statement.getRoutingKeyspace)
+      key <- routingKey(statement)
+      replicas = tokenMap.getReplicas(keyspace, key).asScala.toSet
+      if replicas.nonEmpty
+    } yield replicas
+
+  private def valueSize(value: ByteBuffer): Long = if (value == null) 0L else value.remaining.toLong
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (C) since 2016 Lightbend Inc. <https://www.lightbend.com>
+ */
+
+package akka.stream.alpakka.cassandra.impl
+
+import akka.NotUsed
+import akka.annotation.InternalApi
+import akka.stream.alpakka.cassandra.scaladsl.CassandraSession
+import akka.stream.scaladsl.Source
+import com.datastax.oss.driver.api.core.{CqlIdentifier, CqlSession}
+import com.datastax.oss.driver.api.core.cql.{PreparedStatement, Row, SimpleStatement, Statement}
+import com.datastax.oss.driver.api.core.metadata.token.{Token, TokenMap, TokenRange}
+import com.datastax.oss.driver.api.core.metadata.Metadata
+import com.datastax.oss.driver.api.core.metadata.schema.TableMetadata
+
+import scala.concurrent.{ExecutionContext, Future}
+import scala.jdk.CollectionConverters._
+import scala.jdk.FutureConverters._
+import scala.jdk.OptionConverters._
+
+/**
+ * INTERNAL API
+ *
+ * Reads a whole table by splitting the token ring into ranges and querying the ranges in parallel. Each range query
+ * is routed to a replica owning the range and pages through its rows independently.
+ */
+@InternalApi private[cassandra] object TokenRangeScan {
+
+  /**
+   * A part of the ring to query: `token > start AND token <= end`, where a missing bound is not restricted.
+   * `routingToken` is owned by the same replicas as the range.
+   */
+  private final case class Split(start: Option[Token], end: Option[Token], routingToken: Token)
+
+  def source(session: CassandraSession,
+             keyspace: String,
+             table: String,
+             splitsPerNode: Int,
+             parallelism: Int): Source[Row, NotUsed] = {
+    require(splitsPerNode > 0, "splitsPerNode must be positive")
+    require(parallelism > 0, "parallelism must be positive")
+    implicit val ec: ExecutionContext = session.ec
+
+    Source
+      .futureSource {
+        for {
+          cqlSession <- session.underlying()
+          tableMetadata <- lookupTable(cqlSession, keyspace, table)
+          tokenMap = cqlSession.getMetadata.getTokenMap.toScala.getOrElse(
+            throw new IllegalStateException(
+              "Token metadata is not available, enable `advanced.metadata.token-map.enabled` in the driver config"
+            )
+          )
+          statements <- prepare(cqlSession, tableMetadata)
+        } yield {
+          val minSplits = cqlSession.getMetadata.getNodes.size * splitsPerNode
+          Source(ringSplits(tokenMap, tableMetadata.getKeyspace, minSplits))
+            .flatMapMerge(parallelism, split => Source.fromPublisher(cqlSession.executeReactive(statements(split))))
+        }
+      }
+      .mapMaterializedValue(_ => NotUsed)
+  }
+
+  private def lookupTable(cqlSession: CqlSession, keyspace: String, table: String)(
+      implicit ec: ExecutionContext
+  ): Future[TableMetadata] = {
+    val keyspaceId = CqlIdentifier.fromCql(keyspace)
+    val tableId = CqlIdentifier.fromCql(table)
+    def lookup(metadata: Metadata) =
+      metadata.getKeyspace(keyspaceId).toScala.flatMap(_.getTable(tableId).toScala)
+
+    lookup(cqlSession.getMetadata) match {
+      case Some(tableMetadata) => Future.successful(tableMetadata)
+      case None =>
+        // the schema metadata may not have caught up with a recently created table
+        cqlSession.refreshSchemaAsync().asScala.map { metadata =>
+          lookup(metadata).getOrElse(throw new IllegalArgumentException(s"Table [$keyspace.$table] does not exist"))
+        }
+    }
+  }
+
+  private def prepare(cqlSession: CqlSession, tableMetadata: TableMetadata)(
+      implicit ec: ExecutionContext
+  ): Future[Split => Statement[_]] = {
+    val tableName = s"${tableMetadata.getKeyspace.asCql(true)}.${tableMetadata.getName.asCql(true)}"
+    val token = tableMetadata.getPartitionKey.asScala.map(_.getName.asCql(true)).mkString("token(", ", ", ")")
+    val selectAll = s"SELECT * FROM $tableName"
+    for {
+      between <- cqlSession.prepareAsync(s"$selectAll WHERE $token > ? AND $token <= ?").asScala
+      after <- cqlSession.prepareAsync(s"$selectAll WHERE $token > ?").asScala
+    } yield bindSplit(between, after, SimpleStatement.newInstance(selectAll))
+  }
+
+  private def bindSplit(between: PreparedStatement, after: PreparedStatement, all: SimpleStatement)(
+      split: Split
+  ): Statement[_] =
+    split match {
+      case Split(Some(start), Some(end), routingToken) =>
+        between.bind().setToken(0, start).setToken(1, end).setRoutingToken(routingToken)
+      case Split(Some(start), None, routingToken) =>
+        after.bind().setToken(0, start).setRoutingToken(routingToken)
+      case Split(_, _, routingToken) =>
+        all.setRoutingToken(routingToken)
+    }
+
+  /**
+   * Splits every range of the ring evenly so that there are at least `minSplits` splits, and orders the splits so
+   * that consecutive splits are owned by different replicas.
+   */
+  private def ringSplits(tokenMap: TokenMap, keyspace: CqlIdentifier, minSplits: Int): List[Split] = {
+    val ringRanges = tokenMap.getTokenRanges.asScala.toList.sorted
+    if (ringRanges.isEmpty) throw new IllegalStateException("The token ring is empty")
+    val piecesPerRange = math.max(1, math.ceil(minSplits.toDouble / ringRanges.size).toInt)
+
+    val byReplica = ringRanges.groupBy { range =>
+      tokenMap.getReplicas(keyspace, range).asScala.headOption.map(_.getHostId)
+    }
+    val splitsByReplica = byReplica.values.toList.map { ranges =>
+      ranges.flatMap { range =>
+        val pieces = if (piecesPerRange > 1) range.splitEvenly(piecesPerRange).asScala.toList else List(range)
+        pieces.flatMap(piece => toSplits(piece, range.getEnd))
+      }
+    }
+    interleave(splitsByReplica)
+  }
+
+  private def toSplits(range: TokenRange, routingToken: Token): List[Split] =
+    if (range.isFullRing) List(Split(None, None, routingToken))
+    else if (range.isWrappedAround) {
+      // unwrapping yields (start, minToken] and (minToken, end], the former must not be bounded by the min token
+      val unwrapped = range.unwrap()
+      val (upper, lower) = (unwrapped.get(0), unwrapped.get(1))
+      List(
+        Split(Some(upper.getStart), None, routingToken),
+        Split(Some(lower.getStart), Some(lower.getEnd), routingToken)
+      )
+    } else List(Split(Some(range.getStart), Some(range.getEnd), routingToken))
+
+  private def interleave[T](lists: List[List[T]]): List[T] =
+    if (lists.isEmpty) Nil
+    else lists.flatMap(_.headOption) ::: interleave(lists.map(_.drop(1)).filter(_.nonEmpty))
+}
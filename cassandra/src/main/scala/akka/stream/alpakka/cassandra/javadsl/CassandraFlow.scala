@@ -5,7 +5,7 @@
 package akka.stream.alpakka.cassandra.javadsl
 
 import akka.NotUsed
-import akka.stream.alpakka.cassandra.CassandraWriteSettings
+import akka.stream.alpakka.cassandra.{CassandraBatchGrouping, CassandraWriteSettings}
 import akka.stream.alpakka.cassandra.scaladsl
 import akka.stream.javadsl.{Flow, FlowWithContext}
 import com.datastax.oss.driver.api.core.cql.{BoundStatement, PreparedStatement}
@@ -93,4 +93,35 @@ object CassandraFlow {
       .asJava
   }
 
+  /**
+   * Creates a flow that groups the elements internally into unlogged
+   * [[com.datastax.oss.driver.api.core.cql.BatchStatement]]s by the partition or by the replicas the bound
+   * statements write to, as determined from their routing key and the driver's token map.
+   *
+   * Each batch is limited to `writeSettings.maxBatchSize` statements and to `writeSettings.maxBatchBytes` of bound
+   * values, which should stay below the server's `batch_size_fail_threshold_in_kb`. At most
+   * `writeSettings.maxInFlightPerHost` batches per replica set and `writeSettings.parallelism` batches in total are
+   * written at a time. Statements whose replicas are unknown are written in batches of their own.
+   *
+   * Be aware that this stage does NOT preserve the upstream order.
+   *
+   * @param session Cassandra session from `CassandraSessionRegistry`
+   * @param writeSettings settings to configure the batching and the write operation
+   * @param cqlStatement raw CQL statement
+   * @param statementBinder function to bind data from the stream element to the prepared statement
+   * @param grouping whether to batch statements per partition or per replica set
+   * @tparam T stream element type
+   */
+  def createReplicaAwareBatch[T](session: CassandraSession,
+                                 writeSettings: CassandraWriteSettings,
+                                 cqlStatement: String,
+                                 statementBinder: akka.japi.Function2[T, PreparedStatement, BoundStatement],
+                                 grouping: CassandraBatchGrouping): Flow[T, T, NotUsed] =
+    scaladsl.CassandraFlow
+      .createReplicaAwareBatch[T](writeSettings,
+                                  cqlStatement,
+                                  (t, preparedStatement) => statementBinder.apply(t, preparedStatement),
+                                  grouping)(session.delegate)
+      .asJava
+
 }
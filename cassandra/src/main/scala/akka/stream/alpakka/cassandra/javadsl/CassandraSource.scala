@@ -7,6 +7,7 @@ package akka.stream.alpakka.cassandra.javadsl
 import java.util.concurrent.CompletionStage
 
 import akka.NotUsed
+import akka.stream.alpakka.cassandra.impl.TokenRangeScan
 import akka.stream.javadsl.Source
 import com.datastax.oss.driver.api.core.cql.{Row, Statement}
 
@@ -42,4 +43,24 @@ object CassandraSource {
   def fromCompletionStage(session: CassandraSession, stmt: CompletionStage[Statement[_]]): Source[Row, NotUsed] =
     session.select(stmt)
 
+  /**
+   * Read all rows of a table by querying token ranges in parallel.
+   *
+   * The token ring is split into at least `splitsPerNode` ranges per node, using the driver's token map. Each
+   * range is read with a `token(partition key) > ? AND token(partition key) <= ?` query routed to a replica owning
+   * the range, and up to `parallelism` ranges are read at the same time. Rows of the different ranges are merged
+   * in no particular order; each range query pages through its rows as they are consumed.
+   *
+   * The token map must be enabled in the driver configuration (`advanced.metadata.token-map.enabled`).
+   *
+   * @param splitsPerNode the minimum number of token ranges to read per node
+   * @param parallelism the maximum number of token ranges to read concurrently
+   */
+  def fullScan(session: CassandraSession,
+               keyspace: String,
+               table: String,
+               splitsPerNode: Int,
+               parallelism: Int): Source[Row, NotUsed] =
+    TokenRangeScan.source(session.delegate, keyspace, table, splitsPerNode, parallelism).asJava
+
 }
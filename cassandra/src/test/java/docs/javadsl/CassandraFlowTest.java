@@ -17,6 +17,7 @@ import akka.stream.javadsl.SourceWithContext;
 import com.datastax.oss.driver.api.core.cql.BoundStatement;
 import com.datastax.oss.driver.api.core.cql.PreparedStatement;
 // #prepared
+import akka.stream.alpakka.cassandra.CassandraBatchGrouping;
 import akka.stream.alpakka.cassandra.javadsl.CassandraSession;
 import akka.stream.alpakka.cassandra.javadsl.CassandraSource;
 import akka.stream.alpakka.cassandra.scaladsl.CassandraAccess;
@@ -135,6 +136,46 @@ public class CassandraFlowTest {
     assertThat(new ArrayList<>(rows), hasItems(persons.toArray()));
   }
 
+  @Test
+  public void replicaAwareBatch() throws InterruptedException, ExecutionException, TimeoutException {
+    String table = helper.createTableName();
+    await(
+        cassandraAccess.withSchemaMetadataDisabled(
+            () ->
+                cassandraAccess
+                    .lifecycleSession()
+                    .executeDDL(
+                        "CREATE TABLE IF NOT EXISTS "
+                            + table
+                            + " (id int, seq int, PRIMARY KEY (id, seq));")));
+    List<Integer> data = new ArrayList<>();
+    for (int i = 1; i <= 100; i++) data.add(i);
+
+    Function2<Integer, PreparedStatement, BoundStatement> statementBinder =
+        (element, preparedStatement) -> preparedStatement.bind(element % 10, element);
+
+    CompletionStage<List<Integer>> written =
+        Source.from(data)
+            .via(
+                CassandraFlow.createReplicaAwareBatch(
+                    cassandraSession,
+                    CassandraWriteSettings.defaults(),
+                    "INSERT INTO " + table + "(id, seq) VALUES (?, ?)",
+                    statementBinder,
+                    CassandraBatchGrouping.byReplicaSet()))
+            .runWith(Sink.seq(), system);
+
+    assertThat(new ArrayList<>(await(written)), hasItems(data.toArray(new Integer[0])));
+
+    CompletionStage<List<Integer>> select =
+        CassandraSource.create(cassandraSession, "SELECT * FROM " + table)
+            .map(row -> row.getInt("seq"))
+            .runWith(Sink.seq(), system);
+    List<Integer> rows = await(select);
+    assertThat(rows.size(), is(data.size()));
+    assertThat(new ArrayList<>(rows), hasItems(data.toArray(new Integer[0])));
+  }
+
   @Test
   public void withContextUsage() throws InterruptedException, ExecutionException, TimeoutException {
     String table = helper.createTableName();
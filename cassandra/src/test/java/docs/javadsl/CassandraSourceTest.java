@@ -145,6 +145,20 @@ public class CassandraSourceTest {
     assertThat(new ArrayList<>(await(select)), hasItems(data.toArray()));
   }
 
+  @Test
+  public void fullScan() throws InterruptedException, ExecutionException, TimeoutException {
+    ActorSystem system = helper.system;
+    // #full-scan
+    CompletionStage<List<Integer>> allIds =
+        CassandraSource.fullScan(cassandraSession, helper.keyspaceName, "inttable", 4, 8)
+            .map(r -> r.getInt("id"))
+            .runWith(Sink.seq(), system);
+    // #full-scan
+    List<Integer> ids = await(allIds);
+    assertThat(new ArrayList<>(ids), hasItems(data.toArray()));
+    assertThat(ids.size(), is(data.size()));
+  }
+
   public void compileOnlyDiscovery() {
     ActorSystem system = helper.system;
     // #discovery
@@ -183,5 +183,56 @@ class CassandraFlowSpec extends CassandraSpecBase(ActorSystem("CassandraFlowSpec
         .futureValue
       rows must contain theSameElementsAs persons
     }
+
+    "allow replica-aware batches" in assertAllStagesStopped {
+      val table = createTableName()
+      withSchemaMetadataDisabled {
+        lifecycleSession.executeDDL(s"""
+                         |CREATE TABLE IF NOT EXISTS $table (
+                         |    id int,
+                         |    seq int,
+                         |    name text,
+                         |    PRIMARY KEY (id, seq)
+                         |);""".stripMargin)
+      }.futureValue mustBe Done
+
+      case class Event(id: Int, seq: Int, name: String)
+
+      val events = for {
+        id <- 1 to 10
+        seq <- 1 to 20
+      } yield Event(id, seq, s"event-$id-$seq")
+
+      // #replica-aware-batch
+      import akka.stream.alpakka.cassandra.CassandraBatchGrouping
+
+      val writeSettings = CassandraWriteSettings.defaults
+        .withMaxBatchSize(100)
+        .withMaxBatchBytes(1024)
+        .withParallelism(8)
+        .withMaxInFlightPerHost(2)
+
+      val written: Future[immutable.Seq[Event]] = Source(events)
+        .via(
+          CassandraFlow.createReplicaAwareBatch(
+            writeSettings,
+            s"INSERT INTO $table(id, seq, name) VALUES (?, ?, ?)",
+            statementBinder = (event: Event, preparedStatement) =>
+              preparedStatement.bind(Int.box(event.id), Int.box(event.seq), event.name),
+            grouping = CassandraBatchGrouping.ByPartition
+          )
+        )
+        .runWith(Sink.seq)
+      // #replica-aware-batch
+      written.futureValue must contain theSameElementsAs events
+
+      val rows = CassandraSource(s"SELECT * FROM $table")
+        .map { row =>
+          Event(row.getInt("id"), row.getInt("seq"), row.getString("name"))
+        }
+        .runWith(Sink.seq)
+        .futureValue
+      rows must contain theSameElementsAs events
+    }
   }
 }
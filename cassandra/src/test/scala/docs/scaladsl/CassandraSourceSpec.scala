@@ -97,6 +97,18 @@ class CassandraSourceSpec extends CassandraSpecBase(ActorSystem("CassandraSource
       rows.futureValue.map(_.getInt("id")) must contain theSameElementsAs data
     }
 
+    "scan a table by token ranges" in assertAllStagesStopped {
+      // #full-scan
+      val allIds: Future[immutable.Seq[Int]] =
+        CassandraSource
+          .fullScan(keyspaceName, "idtable", splitsPerNode = 4, parallelism = 8)
+          .map(_.getInt("id"))
+          .runWith(Sink.seq)
+      // #full-scan
+
+      allIds.futureValue must contain theSameElementsAs data
+    }
+
   }
 
   private def prepareIntTable(table: String) = {
@@ -0,0 +1,109 @@
+/*
+ * Copyright (C) since 2016 Lightbend Inc. <https://www.lightbend.com>
+ */
+
+package akka.stream.alpakka.couchbase.impl
+
+import java.util.concurrent.TimeUnit
+
+import akka.annotation.InternalApi
+import akka.stream.alpakka.couchbase._
+import com.couchbase.client.java.AsyncBucket
+import com.couchbase.client.java.document.{Document, JsonDocument}
+import rx.{Observable, Subscriber}
+
+import scala.collection.immutable
+import scala.concurrent.{ExecutionContext, Future, Promise}
+import scala.jdk.CollectionConverters._
+
+/**
+ * INTERNAL API
+ *
+ * Issues the operations for a batch of documents as a single merged observable, so that the SDK may pipeline all of
+ * them, and collects the outcomes in the order of the batch with a single promise per batch.
+ */
+@InternalApi
+private[couchbase] object CouchbaseBulk {
+  import RxUtilities._
+
+  def get[T <: Document[_]](bucket: AsyncBucket,
+                            ids: immutable.Seq[String],
+                            target: Class[T]): Future[immutable.Seq[T]] =
+    mergeInOrder(ids)(id => bucket.get(id, target))
+      .map(_.flatten)(ExecutionContext.parasitic)
+
+  def upsert[T <: Document[_]](bucket: AsyncBucket,
+                               documents: immutable.Seq[T],
+                               writeSettings: CouchbaseWriteSettings): Future[immutable.Seq[CouchbaseWriteResult[T]]] =
+    writeResults(documents) { doc =>
+      bucket.upsert(doc,
+                    writeSettings.persistTo,
+                    writeSettings.replicateTo,
+                    writeSettings.timeout.toMillis,
+                    TimeUnit.MILLISECONDS)
+    }
+
+  def replace[T <: Document[_]](bucket: AsyncBucket,
+                                documents: immutable.Seq[T],
+                                writeSettings: CouchbaseWriteSettings): Future[immutable.Seq[CouchbaseWriteResult[T]]] =
+    writeResults(documents) { doc =>
+      bucket.replace(doc,
+                     writeSettings.persistTo,
+                     writeSettings.replicateTo,
+                     writeSettings.timeout.toMillis,
+                     TimeUnit.MILLISECONDS)
+    }
+
+  def remove(bucket: AsyncBucket,
+             ids: immutable.Seq[String],
+             writeSettings: CouchbaseWriteSettings): Future[immutable.Seq[CouchbaseDeleteResult]] =
+    results(ids) { id =>
+      bucket
+        .remove(id,
+                writeSettings.persistTo,
+                writeSettings.replicateTo,
+                writeSettings.timeout.toMillis,
+                TimeUnit.MILLISECONDS)
+        .last()
+        .map[CouchbaseDeleteResult](func1((_: JsonDocument) => CouchbaseDeleteSuccess(id)))
+        .onErrorReturn(func1((ex: Throwable) => CouchbaseDeleteFailure(id, ex)))
+    }
+
+  private def writeResults[T <: Document[_]](documents: immutable.Seq[T])(
+      operation: T => Observable[T]
+  ): Future[immutable.Seq[CouchbaseWriteResult[T]]] =
+    results(documents) { doc =>
+      operation(doc)
+        .last()
+        .map[CouchbaseWriteResult[T]](func1((_: T) => CouchbaseWriteSuccess(doc)))
+        .onErrorReturn(func1((ex: Throwable) => CouchbaseWriteFailure(doc, ex)))
+    }
+
+  /** For operations which turn their errors into results and thus emit exactly one result per element. */
+  private def results[In, Out](elements: immutable.Seq[In])(operation: In => Observable[Out]) =
+    mergeInOrder(elements)(operation).map(_.map(_.get))(ExecutionContext.parasitic)
+
+  /**
+   * Subscribes to the observables of all elements at once and completes with the (first) value each of them emitted,
+   * in the order of the elements. Fails with the first error any of them signals.
+   */
+  private def mergeInOrder[In, Out](
+      elements: immutable.Seq[In]
+  )(operation: In => Observable[Out]): Future[immutable.Seq[Option[Out]]] = {
+    val results = Array.fill[Option[Out]](elements.size)(None)
+    val indexed = elements.iterator.zipWithIndex.map {
+      case (element, index) => operation(element).map[(Int, Out)](func1((out: Out) => index -> out))
+    }.toList
+    val promise = Promise[immutable.Seq[Option[Out]]]()
+    // merge serializes the signals of all observables
+    Observable
+      .merge[(Int, Out)](indexed.asJava)
+      .subscribe(new Subscriber[(Int, Out)]() {
+        override def onNext(result: (Int, Out)): Unit =
+          if (results(result._1).isEmpty) results(result._1) = Some(result._2)
+        override def onError(e: Throwable): Unit = promise.tryFailure(e)
+        override def onCompleted(): Unit = promise.trySuccess(results.toList)
+      })
+    promise.future
+  }
+}
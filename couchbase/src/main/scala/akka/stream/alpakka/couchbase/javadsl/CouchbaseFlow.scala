@@ -9,6 +9,8 @@ import akka.stream.alpakka.couchbase._
 import akka.stream.javadsl.Flow
 import com.couchbase.client.java.document.{Document, JsonDocument}
 
+import scala.jdk.CollectionConverters._
+
 /**
  * Java API: Factory methods for Couchbase flows.
  */
@@ -94,4 +96,70 @@ object CouchbaseFlow {
                        bucketName: String): Flow[String, CouchbaseDeleteResult, NotUsed] =
     scaladsl.CouchbaseFlow.deleteWithResult(sessionSettings, writeSettings, bucketName).asJava
 
+  /**
+   * Create a flow to query Couchbase for batches of `id`s and emit the documents found for every batch, in the order
+   * of the `id`s. All gets of a batch are issued at once.
+   */
+  def fromIdBulk[T <: Document[_]](
+      sessionSettings: CouchbaseSessionSettings,
+      bucketName: String,
+      target: Class[T]
+  ): Flow[java.util.List[String], java.util.List[T], NotUsed] =
+    akka.stream.scaladsl
+      .Flow[java.util.List[String]]
+      .map(_.asScala.toList)
+      .via(scaladsl.CouchbaseFlow.fromIdBulk(sessionSettings, bucketName, target))
+      .map(_.asJava)
+      .asJava
+
+  /**
+   * Create a flow to update or insert batches of Couchbase documents of the given class. All writes of a batch are
+   * issued at once, and the flow emits a result per document, in the order of the batch, so that write failures can
+   * be handled in-stream. `parallelism` of the write settings limits the number of batches in flight.
+   */
+  def upsertDocBulk[T <: Document[_]](
+      sessionSettings: CouchbaseSessionSettings,
+      writeSettings: CouchbaseWriteSettings,
+      bucketName: String
+  ): Flow[java.util.List[T], java.util.List[CouchbaseWriteResult[T]], NotUsed] =
+    akka.stream.scaladsl
+      .Flow[java.util.List[T]]
+      .map(_.asScala.toList)
+      .via(scaladsl.CouchbaseFlow.upsertDocBulk[T](sessionSettings, writeSettings, bucketName))
+      .map(_.asJava)
+      .asJava
+
+  /**
+   * Create a flow to replace batches of Couchbase documents of the given class. All writes of a batch are issued at
+   * once, and the flow emits a result per document, in the order of the batch, so that write failures can be handled
+   * in-stream. `parallelism` of the write settings limits the number of batches in flight.
+   */
+  def replaceDocBulk[T <: Document[_]](
+      sessionSettings: CouchbaseSessionSettings,
+      writeSettings: CouchbaseWriteSettings,
+      bucketName: String
+  ): Flow[java.util.List[T], java.util.List[CouchbaseWriteResult[T]], NotUsed] =
+    akka.stream.scaladsl
+      .Flow[java.util.List[T]]
+      .map(_.asScala.toList)
+      .via(scaladsl.CouchbaseFlow.replaceDocBulk[T](sessionSettings, writeSettings, bucketName))
+      .map(_.asJava)
+      .asJava
+
+  /**
+   * Create a flow to delete batches of documents from Couchbase by `id`. All deletes of a batch are issued at once,
+   * and the flow emits an operation outcome per `id`, in the order of the batch.
+   * `parallelism` of the write settings limits the number of batches in flight.
+   */
+  def deleteBulk(
+      sessionSettings: CouchbaseSessionSettings,
+      writeSettings: CouchbaseWriteSettings,
+      bucketName: String
+  ): Flow[java.util.List[String], java.util.List[CouchbaseDeleteResult], NotUsed] =
+    akka.stream.scaladsl
+      .Flow[java.util.List[String]]
+      .map(_.asScala.toList)
+      .via(scaladsl.CouchbaseFlow.deleteBulk(sessionSettings, writeSettings, bucketName))
+      .map(_.asJava)
+      .asJava
 }
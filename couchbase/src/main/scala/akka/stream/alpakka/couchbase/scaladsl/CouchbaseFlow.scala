@@ -5,9 +5,12 @@
 package akka.stream.alpakka.couchbase.scaladsl
 import akka.NotUsed
 import akka.stream.alpakka.couchbase._
+import akka.stream.alpakka.couchbase.impl.CouchbaseBulk
 import akka.stream.scaladsl.Flow
 import com.couchbase.client.java.document.{Document, JsonDocument}
 
+import scala.collection.immutable
+
 /**
  * Scala API: Factory methods for Couchbase flows.
  */
@@ -200,4 +203,90 @@ object CouchbaseFlow {
           )
       }
       .mapMaterializedValue(_ => NotUsed)
+
+  /**
+   * Create a flow to query Couchbase for batches of `id`s and emit the documents found for every batch, in the order
+   * of the `id`s. All gets of a batch are issued at once.
+   */
+  def fromIdBulk[T <: Document[_]](sessionSettings: CouchbaseSessionSettings,
+                                   bucketName: String,
+                                   target: Class[T]): Flow[immutable.Seq[String], immutable.Seq[T], NotUsed] =
+    Flow
+      .fromMaterializer { (materializer, _) =>
+        val session = CouchbaseSessionRegistry(materializer.system).sessionFor(sessionSettings, bucketName)
+        Flow[immutable.Seq[String]]
+          .mapAsync(1)(
+            ids => session.flatMap(s => CouchbaseBulk.get(s.underlying, ids, target))(materializer.system.dispatcher)
+          )
+      }
+      .mapMaterializedValue(_ => NotUsed)
+
+  /**
+   * Create a flow to update or insert batches of Couchbase documents of the given class. All writes of a batch are
+   * issued at once, and the flow emits a result per document, in the order of the batch, so that write failures can
+   * be handled in-stream. `parallelism` of the write settings limits the number of batches in flight.
+   */
+  def upsertDocBulk[T <: Document[_]](
+      sessionSettings: CouchbaseSessionSettings,
+      writeSettings: CouchbaseWriteSettings,
+      bucketName: String
+  ): Flow[immutable.Seq[T], immutable.Seq[CouchbaseWriteResult[T]], NotUsed] =
+    Flow
+      .fromMaterializer { (materializer, _) =>
+        val session = CouchbaseSessionRegistry(materializer.system).sessionFor(sessionSettings, bucketName)
+        Flow[immutable.Seq[T]]
+          .mapAsync(writeSettings.parallelism)(
+            docs =>
+              session.flatMap(s => CouchbaseBulk.upsert(s.underlying, docs, writeSettings))(
+                materializer.system.dispatcher
+              )
+          )
+      }
+      .mapMaterializedValue(_ => NotUsed)
+
+  /**
+   * Create a flow to replace batches of Couchbase documents of the given class. All writes of a batch are issued at
+   * once, and the flow emits a result per document, in the order of the batch, so that write failures can be handled
+   * in-stream. `parallelism` of the write settings limits the number of batches in flight.
+   */
+  def replaceDocBulk[T <: Document[_]](
+      sessionSettings: CouchbaseSessionSettings,
+      writeSettings: CouchbaseWriteSettings,
+      bucketName: String
+  ): Flow[immutable.Seq[T], immutable.Seq[CouchbaseWriteResult[T]], NotUsed] =
+    Flow
+      .fromMaterializer { (materializer, _) =>
+        val session = CouchbaseSessionRegistry(materializer.system).sessionFor(sessionSettings, bucketName)
+        Flow[immutable.Seq[T]]
+          .mapAsync(writeSettings.parallelism)(
+            docs =>
+              session.flatMap(s => CouchbaseBulk.replace(s.underlying, docs, writeSettings))(
+                materializer.system.dispatcher
+              )
+          )
+      }
+      .mapMaterializedValue(_ => NotUsed)
+
+  /**
+   * Create a flow to delete batches of documents from Couchbase by `id`. All deletes of a batch are issued at once,
+   * and the flow emits an operation outcome per `id`, in the order of the batch.
+   * `parallelism` of the write settings limits the number of batches in flight.
+   */
+  def deleteBulk(
+      sessionSettings: CouchbaseSessionSettings,
+      writeSettings: CouchbaseWriteSettings,
+      bucketName: String
+  ): Flow[immutable.Seq[String], immutable.Seq[CouchbaseDeleteResult], NotUsed] =
+    Flow
+      .fromMaterializer { (materializer, _) =>
+        val session = CouchbaseSessionRegistry(materializer.system).sessionFor(sessionSettings, bucketName)
+        Flow[immutable.Seq[String]]
+          .mapAsync(writeSettings.parallelism)(
+            ids =>
+              session.flatMap(s => CouchbaseBulk.remove(s.underlying, ids, writeSettings))(
+                materializer.system.dispatcher
+              )
+          )
+      }
+      .mapMaterializedValue(_ => NotUsed)
 }
@@ -301,6 +301,29 @@ public class CouchbaseExamplesTest {
     assertTrue("unexpected failed writes", failedDocs.isEmpty());
   }
 
+  @Test
+  public void upsertDocBulk() throws Exception {
+    CouchbaseWriteSettings writeSettings = CouchbaseWriteSettings.create();
+
+    // #upsertDocBulk
+    CompletionStage<List<CouchbaseWriteResult<StringDocument>>> upsertResults =
+        Source.from(sampleSequence)
+            .map(support::toStringDocument)
+            .grouped(100)
+            .via(CouchbaseFlow.upsertDocBulk(sessionSettings, writeSettings, bucketName))
+            .mapConcat(results -> results)
+            .runWith(Sink.seq(), actorSystem);
+    // #upsertDocBulk
+
+    List<CouchbaseWriteResult<StringDocument>> writeResults =
+        upsertResults.toCompletableFuture().get(3, TimeUnit.SECONDS);
+    assertThat(
+        writeResults.stream().map(result -> result.doc().id()).collect(Collectors.toList()),
+        is(sampleSequence.stream().map(obj -> obj.id()).collect(Collectors.toList())));
+    assertTrue(
+        "unexpected failed writes", writeResults.stream().allMatch(CouchbaseWriteResult::isSuccess));
+  }
+
   @Test
   public void replace() throws Exception {
 
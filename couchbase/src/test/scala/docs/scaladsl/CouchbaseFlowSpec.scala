@@ -5,7 +5,7 @@
 package docs.scaladsl
 
 import akka.Done
-import akka.stream.alpakka.couchbase.{CouchbaseDeleteFailure, CouchbaseDeleteResult}
+import akka.stream.alpakka.couchbase.{CouchbaseDeleteFailure, CouchbaseDeleteResult, CouchbaseWriteFailure}
 import akka.stream.alpakka.couchbase.scaladsl.CouchbaseFlow
 import akka.stream.alpakka.couchbase.testing.{CouchbaseSupport, TestObject}
 import akka.stream.alpakka.testkit.scaladsl.LogCapturing
@@ -652,4 +652,80 @@ class CouchbaseFlowSpec
       failedDocs.head.failure shouldBe a[com.couchbase.client.java.error.DocumentDoesNotExistException]
     }
   }
+
+  "Couchbase bulk operations" should {
+    "upsert batches and report results in order" in assertAllStagesStopped {
+      cleanAllInBucket(bucketName)
+
+      // #upsertDocBulk
+      import akka.stream.alpakka.couchbase.CouchbaseWriteResult
+
+      val result: Future[immutable.Seq[CouchbaseWriteResult[RawJsonDocument]]] =
+        Source(sampleSequence)
+          .map(toRawJsonDocument)
+          .grouped(100)
+          .via(
+            CouchbaseFlow.upsertDocBulk(
+              sessionSettings,
+              writeSettings,
+              bucketName
+            )
+          )
+          .mapConcat(identity)
+          .runWith(Sink.seq)
+      // #upsertDocBulk
+
+      result.futureValue.map(_.doc.id) shouldBe sampleSequence.map(_.id)
+      forAll(result.futureValue)(_ shouldBe Symbol("success"))
+    }
+
+    "get batches of documents in order" in assertAllStagesStopped {
+      upsertSampleData(queryBucketName)
+
+      // #fromIdBulk
+      val ids = sampleSequence.map(_.id).reverse :+ "Not Existing Id"
+
+      val result: Future[immutable.Seq[JsonDocument]] =
+        Source
+          .single(ids)
+          .via(CouchbaseFlow.fromIdBulk(sessionSettings, queryBucketName, classOf[JsonDocument]))
+          .mapConcat(identity)
+          .runWith(Sink.seq)
+      // #fromIdBulk
+
+      result.futureValue.map(_.id) shouldBe Seq("Fourth", "Third", "Second", "First")
+    }
+
+    "replace batches and expose failures in order" in assertAllStagesStopped {
+      cleanAllInBucket(bucketName)
+      upsertSampleData(bucketName)
+      val missing = TestObject("Missing", "Missing")
+
+      val result = Source
+        .single((sampleSequence :+ missing).map(toJsonDocument))
+        .via(CouchbaseFlow.replaceDocBulk(sessionSettings, writeSettings, bucketName))
+        .runWith(Sink.head)
+
+      result.futureValue.map(_.doc.id) shouldBe (sampleSequence :+ missing).map(_.id)
+      result.futureValue.init.foreach(_ shouldBe Symbol("success"))
+      result.futureValue.last match {
+        case failure: CouchbaseWriteFailure[JsonDocument] =>
+          failure.failure shouldBe a[DocumentDoesNotExistException]
+        case other => fail(s"unexpected $other")
+      }
+    }
+
+    "delete batches and report results in order" in assertAllStagesStopped {
+      upsertSampleData(bucketName)
+
+      val result = Source
+        .single("non-existent" +: sampleSequence.map(_.id))
+        .via(CouchbaseFlow.deleteBulk(sessionSettings, writeSettings, bucketName))
+        .runWith(Sink.head)
+
+      result.futureValue.map(_.id) shouldBe "non-existent" +: sampleSequence.map(_.id)
+      result.futureValue.head shouldBe a[CouchbaseDeleteFailure]
+      forAll(result.futureValue.tail)(_ shouldBe Symbol("success"))
+    }
+  }
 }
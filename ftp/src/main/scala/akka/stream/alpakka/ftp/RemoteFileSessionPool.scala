@@ -0,0 +1,34 @@
+/*
+ * Copyright (C) since 2016 Lightbend Inc. <https://www.lightbend.com>
+ */
+
+package akka.stream.alpakka.ftp
+
+import akka.annotation.InternalApi
+import akka.stream.alpakka.ftp.impl.FtpSessionPool
+
+/**
+ * Keeps up to `maxSessions` connected and authenticated sessions to a remote file server, so that listings and
+ * downloads share them instead of connecting and logging in for every file.
+ *
+ * Sessions are opened when first needed. Create a pool with `sessionPool` of `Ftp`, `Ftps` or `Sftp`, share it
+ * between streams and close it when it is no longer needed.
+ */
+final class RemoteFileSessionPool[S <: RemoteFileSettings] @InternalApi private[ftp] (
+    private[ftp] val pool: FtpSessionPool[_, S]
+) extends AutoCloseable {
+
+  /** The settings every session connects with. */
+  def connectionSettings: S = pool.connectionSettings
+
+  /** The maximum number of sessions open at the same time. */
+  def maxSessions: Int = pool.maxSessions
+
+  /**
+   * Disconnects all sessions. Operations still running finish with their session, new operations fail.
+   */
+  override def close(): Unit = pool.close()
+
+  override def toString: String =
+    s"RemoteFileSessionPool(connectionSettings=$connectionSettings, maxSessions=$maxSessions)"
+}
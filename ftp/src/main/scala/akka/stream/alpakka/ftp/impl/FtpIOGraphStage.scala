@@ -6,7 +6,7 @@ package akka.stream.alpakka.ftp
 package impl
 
 import akka.stream.impl.Stages.DefaultAttributes.IODispatcher
-import akka.stream.stage.{GraphStageWithMaterializedValue, InHandler, OutHandler}
+import akka.stream.stage.{GraphStageWithMaterializedValue, InHandler, OutHandler, StageLogging}
 import akka.stream.{Attributes, IOOperationIncompleteException, IOResult, Inlet, Outlet, Shape, SinkShape, SourceShape}
 import akka.util.ByteString
 import akka.util.ByteString.ByteString1C
@@ -14,6 +14,7 @@ import akka.util.ByteString.ByteString1C
 import scala.concurrent.{Future, Promise}
 import java.io.{IOException, InputStream, OutputStream}
 import akka.annotation.InternalApi
+import akka.event.LoggingAdapter
 
 import scala.util.control.NonFatal
 
@@ -40,6 +41,22 @@ private[ftp] trait FtpIOGraphStage[FtpClient, S <: RemoteFileSettings, Sh <: Sha
   override def shape: Sh
 }
 
+/**
+ * INTERNAL API
+ */
+@InternalApi
+private[ftp] object FtpIOGraphStage {
+
+  /**
+   * Logs the number of bytes transferred, the duration and the throughput of a completed transfer.
+   */
+  def logTransfer(log: LoggingAdapter, verb: String, path: String, bytes: Long, startNanos: Long): Unit = {
+    val nanos = math.max(System.nanoTime() - startNanos, 1L)
+    val bytesPerSecond = (bytes.toDouble * 1e9 / nanos).toLong
+    log.debug("{} [{}] bytes of [{}] in [{}] ms, [{}] bytes/s", verb, bytes, path, nanos / 1000000L, bytesPerSecond)
+  }
+}
+
 /**
  * INTERNAL API
  */
@@ -58,10 +75,12 @@ private[ftp] trait FtpIOSourceStage[FtpClient, S <: RemoteFileSettings]
 
     val matValuePromise = Promise[IOResult]()
 
-    val logic = new FtpGraphStageLogic[ByteString, FtpClient, S](shape, ftpLike, connectionSettings, ftpClient) {
+    val logic = new FtpGraphStageLogic[ByteString, FtpClient, S](shape, ftpLike, connectionSettings, ftpClient)
+    with StageLogging {
 
       private[this] var isOpt: Option[InputStream] = None
       private[this] var readBytesTotal: Long = 0L
+      private[this] var startNanos: Long = 0L
 
       setHandler(
         out,
@@ -94,6 +113,7 @@ private[ftp] trait FtpIOSourceStage[FtpClient, S <: RemoteFileSettings]
                     throw new IOException("File transfer failed.")
                 case _ =>
               }
+              if (log.isDebugEnabled) FtpIOGraphStage.logTransfer(log, "Read", path, readBytesTotal, startNanos)
             } catch {
               case e: IOException =>
                 matFailure(e)
@@ -109,7 +129,8 @@ private[ftp] trait FtpIOSourceStage[FtpClient, S <: RemoteFileSettings]
           super.postStop()
         }
 
-      protected[this] def doPreStart(): Unit =
+      protected[this] def doPreStart(): Unit = {
+        startNanos = System.nanoTime()
         isOpt = logicFtpLike match {
           case ur: UnconfirmedReads =>
             withUnconfirmedReads(ur)
@@ -118,6 +139,7 @@ private[ftp] trait FtpIOSourceStage[FtpClient, S <: RemoteFileSettings]
           case _ =>
             Some(logicFtpLike.retrieveFileInputStream(path, handler.get).get)
         }
+      }
 
       private def withUnconfirmedReads(
           ftpLikeWithUnconfirmedReads: FtpLike[FtpClient, S] with UnconfirmedReads
@@ -182,10 +204,12 @@ private[ftp] trait FtpIOSinkStage[FtpClient, S <: RemoteFileSettings]
 
     val matValuePromise = Promise[IOResult]()
 
-    val logic = new FtpGraphStageLogic[ByteString, FtpClient, S](shape, ftpLike, connectionSettings, ftpClient) {
+    val logic = new FtpGraphStageLogic[ByteString, FtpClient, S](shape, ftpLike, connectionSettings, ftpClient)
+    with StageLogging {
 
       private[this] var osOpt: Option[OutputStream] = None
       private[this] var writtenBytesTotal: Long = 0L
+      private[this] var startNanos: Long = 0L
 
       setHandler(
         in,
@@ -220,6 +244,7 @@ private[ftp] trait FtpIOSinkStage[FtpClient, S <: RemoteFileSettings]
                     throw new IOException("File transfer failed.")
                 case _ =>
               }
+              if (log.isDebugEnabled) FtpIOGraphStage.logTransfer(log, "Wrote", path, writtenBytesTotal, startNanos)
             } catch {
               case e: IOException =>
                 matFailure(e)
@@ -236,7 +261,13 @@ private[ftp] trait FtpIOSinkStage[FtpClient, S <: RemoteFileSettings]
         }
 
       protected[this] def doPreStart(): Unit = {
-        osOpt = Some(logicFtpLike.storeFileOutputStream(path, handler.get, append).get)
+        startNanos = System.nanoTime()
+        osOpt = Some((logicFtpLike, connectionSettings) match {
+          case (uw: UnconfirmedWrites, s: SftpSettings) =>
+            uw.storeFileOutputStream(path, handler.get.asInstanceOf[uw.Handler], append, s.maxUnconfirmedWrites).get
+          case _ =>
+            logicFtpLike.storeFileOutputStream(path, handler.get, append).get
+        })
         pull(in)
       }
 
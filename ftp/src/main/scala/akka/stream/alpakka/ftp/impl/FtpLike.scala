@@ -61,6 +61,16 @@ protected[ftp] trait UnconfirmedReads { ftpLike: FtpLike[_, _] =>
 
 }
 
+/**
+ * INTERNAL API
+ */
+@InternalApi
+protected[ftp] trait UnconfirmedWrites { ftpLike: FtpLike[_, _] =>
+
+  def storeFileOutputStream(name: String, handler: Handler, append: Boolean, maxUnconfirmedWrites: Int): Try[OutputStream]
+
+}
+
 /**
  * INTERNAL API
  */
@@ -71,7 +81,14 @@ object FtpLike {
     new FtpLike[FTPClient, FtpSettings] with RetrieveOffset with FtpOperations
   implicit val ftpsLikeInstance: FtpLike[FTPSClient, FtpsSettings] with RetrieveOffset with FtpsOperations =
     new FtpLike[FTPSClient, FtpsSettings] with RetrieveOffset with FtpsOperations
-  implicit val sFtpLikeInstance
-      : FtpLike[SSHClient, SftpSettings] with RetrieveOffset with SftpOperations with UnconfirmedReads =
-    new FtpLike[SSHClient, SftpSettings] with RetrieveOffset with SftpOperations with UnconfirmedReads
+  implicit val sFtpLikeInstance: FtpLike[SSHClient, SftpSettings]
+    with RetrieveOffset
+    with SftpOperations
+    with UnconfirmedReads
+    with UnconfirmedWrites =
+    new FtpLike[SSHClient, SftpSettings]
+      with RetrieveOffset
+      with SftpOperations
+      with UnconfirmedReads
+      with UnconfirmedWrites
 }
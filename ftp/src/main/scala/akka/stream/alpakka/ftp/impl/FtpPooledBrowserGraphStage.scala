@@ -0,0 +1,89 @@
+/*
+ * Copyright (C) since 2016 Lightbend Inc. <https://www.lightbend.com>
+ */
+
+package akka.stream.alpakka.ftp
+package impl
+
+import akka.annotation.InternalApi
+import akka.stream.{ActorAttributes, Attributes, Outlet, SourceShape}
+import akka.stream.stage.{GraphStage, GraphStageLogic, OutHandler}
+
+import scala.collection.{immutable, mutable}
+import scala.concurrent.ExecutionContext
+import scala.util.{Failure, Success, Try}
+
+/**
+ * INTERNAL API
+ *
+ * Lists a directory tree with the sessions of a pool, listing up to `parallelism` directories at the same time.
+ * Files are emitted in the order their directory listings complete.
+ */
+@InternalApi
+private[ftp] final class FtpPooledBrowserGraphStage[FtpClient, S <: RemoteFileSettings](
+    pool: FtpSessionPool[FtpClient, S],
+    basePath: String,
+    branchSelector: FtpFile => Boolean,
+    emitTraversedDirectories: Boolean,
+    parallelism: Int
+) extends GraphStage[SourceShape[FtpFile]] {
+  require(parallelism > 0, "parallelism must be greater than 0")
+
+  val out: Outlet[FtpFile] = Outlet("FtpPooledBrowserSource.out")
+  override val shape: SourceShape[FtpFile] = SourceShape(out)
+
+  override protected def initialAttributes: Attributes = Attributes.name("FtpPooledBrowserSource")
+
+  override def createLogic(inheritedAttributes: Attributes): GraphStageLogic =
+    new GraphStageLogic(shape) with OutHandler {
+      private[this] val directories = mutable.Queue[String](basePath)
+      private[this] val buffer = mutable.Queue.empty[FtpFile]
+      private[this] var inFlight = 0
+      private[this] var ec: ExecutionContext = _
+
+      private[this] val onListed = getAsyncCallback[Try[immutable.Seq[FtpFile]]] {
+        case Success(files) =>
+          inFlight -= 1
+          files.foreach { file =>
+            if (file.isDirectory && branchSelector(file)) {
+              directories.enqueue(file.path)
+              if (emitTraversedDirectories) buffer.enqueue(file)
+            } else buffer.enqueue(file)
+          }
+          emitAndList()
+        case Failure(e) =>
+          failStage(e)
+      }
+
+      setHandler(out, this)
+
+      override def preStart(): Unit = {
+        ec = materializer.system.dispatchers.lookup(ActorAttributes.IODispatcher.dispatcher)
+        listDirectories()
+      }
+
+      override def onPull(): Unit = emitAndList()
+
+      private def emitAndList(): Unit = {
+        if (isAvailable(out) && buffer.nonEmpty) push(out, buffer.dequeue())
+        if (buffer.isEmpty && directories.isEmpty && inFlight == 0) completeStage()
+        else listDirectories()
+      }
+
+      // new listings are only started while few files wait to be emitted
+      private def listDirectories(): Unit =
+        while (inFlight < parallelism && directories.nonEmpty && buffer.size < FtpPooledBrowserGraphStage.MaxBuffered) {
+          val path = directories.dequeue()
+          inFlight += 1
+          pool.listFiles(path)(ec).onComplete(onListed.invoke)(ExecutionContext.parasitic)
+        }
+    }
+}
+
+/**
+ * INTERNAL API
+ */
+@InternalApi
+private[ftp] object FtpPooledBrowserGraphStage {
+  val MaxBuffered = 1000
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright (C) since 2016 Lightbend Inc. <https://www.lightbend.com>
+ */
+
+package akka.stream.alpakka.ftp
+package impl
+
+import java.io.{IOException, InputStream}
+import java.util.concurrent.ConcurrentLinkedQueue
+
+import akka.annotation.InternalApi
+import akka.util.ByteString
+
+import scala.collection.{immutable, mutable}
+import scala.concurrent.{ExecutionContext, Future, Promise}
+import scala.util.control.NonFatal
+
+/**
+ * INTERNAL API
+ *
+ * Keeps up to `maxSessions` connected and authenticated sessions, which are opened when first needed and reused
+ * afterwards. While all sessions are in use, operations wait in order of arrival without holding a thread. The
+ * operations themselves block, so they are run on the given execution context, which should be meant for blocking IO.
+ */
+@InternalApi
+private[ftp] final class FtpSessionPool[FtpClient, S <: RemoteFileSettings](
+    val ftpLike: FtpLike[FtpClient, S],
+    val connectionSettings: S,
+    ftpClient: () => FtpClient,
+    val maxSessions: Int
+) {
+  require(maxSessions > 0, "maxSessions must be greater than 0")
+
+  private final class Session(val client: FtpClient, val handler: ftpLike.Handler)
+
+  private[this] val idle = new ConcurrentLinkedQueue[Session]()
+  @volatile private[this] var closed = false
+
+  // guarded by `lock`
+  private[this] val lock = new Object
+  private[this] var available = maxSessions
+  private[this] val waiting = mutable.Queue.empty[Promise[Unit]]
+
+  /**
+   * Runs `f` on `ec` with an idle session, or a new one if none is idle, once a session is available. A session is
+   * disconnected instead of being returned to the pool when `f` fails, as the failure may have left it in an unknown
+   * state.
+   */
+  def withSession[T](f: ftpLike.Handler => T)(implicit ec: ExecutionContext): Future[T] =
+    acquire().flatMap { _ =>
+      Future {
+        try use(f)
+        finally release()
+      }
+    }(ExecutionContext.parasitic)
+
+  private def use[T](f: ftpLike.Handler => T): T = {
+    if (closed) throw new IllegalStateException("The session pool is closed")
+    val session = idle.poll() match {
+      case null => open()
+      case s => s
+    }
+    val result =
+      try f(session.handler)
+      catch {
+        case NonFatal(e) =>
+          disconnect(session)
+          throw e
+      }
+    if (closed) disconnect(session)
+    else idle.offer(session)
+    result
+  }
+
+  private def acquire(): Future[Unit] = lock.synchronized {
+    if (closed) Future.failed(new IllegalStateException("The session pool is closed"))
+    else if (available > 0) {
+      available -= 1
+      Future.unit
+    } else {
+      val waiter = Promise[Unit]()
+      waiting.enqueue(waiter)
+      waiter.future
+    }
+  }
+
+  // hands the session over to the next waiting operation, if any
+  private def release(): Unit = {
+    val next = lock.synchronized {
+      if (waiting.nonEmpty) Some(waiting.dequeue())
+      else {
+        available += 1
+        None
+      }
+    }
+    next.foreach(_.trySuccess(()))
+  }
+
+  def listFiles(path: String)(implicit ec: ExecutionContext): Future[immutable.Seq[FtpFile]] =
+    withSession { handler =>
+      if (path.isEmpty) ftpLike.listFiles(handler)
+      else ftpLike.listFiles(path, handler)
+    }
+
+  /**
+   * Reads the whole file at `path`, which is meant for files small enough to be held in memory.
+   */
+  def retrieve(path: String, chunkSize: Int)(implicit ec: ExecutionContext): Future[ByteString] =
+    withSession { handler =>
+      val is = retrieveFileInputStream(path, handler)
+      val bytes =
+        try readAll(is, chunkSize)
+        finally is.close()
+      ftpLike match {
+        case cfo: CommonFtpOperations =>
+          if (!cfo.completePendingCommand(handler.asInstanceOf[cfo.Handler]))
+            throw new IOException("File transfer failed.")
+        case _ =>
+      }
+      bytes
+    }
+
+  /**
+   * Disconnects the idle sessions and fails the operations waiting for one. Sessions in use are disconnected when
+   * they are given back.
+   */
+  def close(): Unit = {
+    val waiters = lock.synchronized {
+      closed = true
+      val all = waiting.toList
+      waiting.clear()
+      all
+    }
+    waiters.foreach(_.tryFailure(new IllegalStateException("The session pool is closed")))
+    var session = idle.poll()
+    while (session != null) {
+      disconnect(session)
+      session = idle.poll()
+    }
+  }
+
+  private def open(): Session = {
+    implicit val client: FtpClient = ftpClient()
+    new Session(client, ftpLike.connect(connectionSettings).get)
+  }
+
+  private def disconnect(session: Session): Unit =
+    try ftpLike.disconnect(session.handler)(session.client)
+    catch {
+      case NonFatal(_) => // the session is discarded anyway
+    }
+
+  private def retrieveFileInputStream(path: String, handler: ftpLike.Handler): InputStream =
+    (ftpLike, connectionSettings) match {
+      case (ur: UnconfirmedReads, s: SftpSettings) =>
+        ur.retrieveFileInputStream(path, handler.asInstanceOf[ur.Handler], 0L, s.maxUnconfirmedReads).get
+      case _ =>
+        ftpLike.retrieveFileInputStream(path, handler).get
+    }
+
+  private def readAll(is: InputStream, chunkSize: Int): ByteString = {
+    val builder = ByteString.newBuilder
+    val buffer = new Array[Byte](chunkSize)
+    var read = is.read(buffer)
+    while (read != -1) {
+      builder.putBytes(buffer, 0, read)
+      read = is.read(buffer)
+    }
+    builder.result()
+  }
+}
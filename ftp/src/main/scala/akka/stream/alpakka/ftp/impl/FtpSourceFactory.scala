@@ -6,12 +6,18 @@ package akka.stream.alpakka.ftp.impl
 
 import java.net.InetAddress
 
+import akka.NotUsed
 import akka.annotation.InternalApi
+import akka.stream.ActorAttributes
 import akka.stream.alpakka.ftp.FtpCredentials
 import akka.stream.alpakka.ftp._
+import akka.stream.scaladsl.Flow
+import akka.util.ByteString
 import net.schmizz.sshj.SSHClient
 import org.apache.commons.net.ftp.{FTPClient, FTPSClient}
 
+import scala.concurrent.ExecutionContext
+
 /**
  * INTERNAL API
  */
@@ -30,6 +36,8 @@ private[ftp] trait FtpSourceFactory[FtpClient, S <: RemoteFileSettings] { self =
 
   protected[this] def ftpIOSinkName: String
 
+  protected[this] def ftpDownloadFlowName: String = "GenericDownloadFlow"
+
   protected[this] def createBrowserGraph(
       _basePath: String,
       _connectionSettings: S,
@@ -127,6 +135,42 @@ private[ftp] trait FtpSourceFactory[FtpClient, S <: RemoteFileSettings] { self =
       val ftpLike: FtpLike[FtpClient, S] = _ftpLike
     }
 
+  protected[this] def createSessionPool(
+      _connectionSettings: S,
+      _maxSessions: Int
+  )(implicit _ftpLike: FtpLike[FtpClient, S]): RemoteFileSessionPool[S] =
+    new RemoteFileSessionPool[S](
+      new FtpSessionPool[FtpClient, S](_ftpLike, _connectionSettings, ftpClient, _maxSessions)
+    )
+
+  protected[this] def createPooledBrowserGraph(
+      _basePath: String,
+      _sessionPool: RemoteFileSessionPool[S],
+      _parallelism: Int,
+      _branchSelector: FtpFile => Boolean,
+      _emitTraversedDirectories: Boolean
+  ): FtpPooledBrowserGraphStage[_, S] =
+    new FtpPooledBrowserGraphStage(_sessionPool.pool,
+                                   _basePath,
+                                   _branchSelector,
+                                   _emitTraversedDirectories,
+                                   _parallelism)
+
+  protected[this] def createDownloadFlow(
+      _sessionPool: RemoteFileSessionPool[S],
+      _parallelism: Int,
+      _chunkSize: Int
+  ): Flow[FtpFile, (FtpFile, ByteString), NotUsed] =
+    Flow
+      .fromMaterializer { (materializer, _) =>
+        val ec = materializer.system.dispatchers.lookup(ActorAttributes.IODispatcher.dispatcher)
+        Flow[FtpFile].mapAsync(_parallelism) { file =>
+          _sessionPool.pool.retrieve(file.path, _chunkSize)(ec).map(file -> _)(ExecutionContext.parasitic)
+        }
+      }
+      .mapMaterializedValue(_ => NotUsed)
+      .named(ftpDownloadFlowName)
+
   protected[this] def defaultSettings(
       hostname: String,
       username: Option[String] = None,
@@ -143,12 +187,14 @@ private[ftp] trait FtpSource extends FtpSourceFactory[FTPClient, FtpSettings] {
   protected final val FtpIOSourceName = "FtpIOSource"
   protected final val FtpDirectorySource = "FtpDirectorySource"
   protected final val FtpIOSinkName = "FtpIOSink"
+  protected final val FtpDownloadFlowName = "FtpDownloadFlow"
 
   protected val ftpClient: () => FTPClient = () => new FTPClient
   protected val ftpBrowserSourceName: String = FtpBrowserSourceName
   protected val ftpIOSourceName: String = FtpIOSourceName
   protected val ftpIOSinkName: String = FtpIOSinkName
   override protected val ftpDirectorySourceName: String = FtpDirectorySource
+  override protected val ftpDownloadFlowName: String = FtpDownloadFlowName
 }
 
 /**
@@ -160,12 +206,14 @@ private[ftp] trait FtpsSource extends FtpSourceFactory[FTPSClient, FtpsSettings]
   protected final val FtpsIOSourceName = "FtpsIOSource"
   protected final val FtpsDirectorySource = "FtpsDirectorySource"
   protected final val FtpsIOSinkName = "FtpsIOSink"
+  protected final val FtpsDownloadFlowName = "FtpsDownloadFlow"
 
   protected val ftpClient: () => FTPSClient = () => new FTPSClient
   protected val ftpBrowserSourceName: String = FtpsBrowserSourceName
   protected val ftpIOSourceName: String = FtpsIOSourceName
   protected val ftpIOSinkName: String = FtpsIOSinkName
   override protected val ftpDirectorySourceName: String = FtpsDirectorySource
+  override protected val ftpDownloadFlowName: String = FtpsDownloadFlowName
 }
 
 /**
@@ -177,6 +225,7 @@ private[ftp] trait SftpSource extends FtpSourceFactory[SSHClient, SftpSettings]
   protected final val sFtpIOSourceName = "sFtpIOSource"
   protected final val sFtpDirectorySource = "sFtpDirectorySource"
   protected final val sFtpIOSinkName = "sFtpIOSink"
+  protected final val sFtpDownloadFlowName = "sFtpDownloadFlow"
 
   def sshClient(): SSHClient = new SSHClient()
   protected val ftpClient: () => SSHClient = () => sshClient()
@@ -184,6 +233,7 @@ private[ftp] trait SftpSource extends FtpSourceFactory[SSHClient, SftpSettings]
   protected val ftpIOSourceName: String = sFtpIOSourceName
   protected val ftpIOSinkName: String = sFtpIOSinkName
   override protected val ftpDirectorySourceName: String = sFtpDirectorySource
+  override protected val ftpDownloadFlowName: String = sFtpDownloadFlowName
 }
 
 /**
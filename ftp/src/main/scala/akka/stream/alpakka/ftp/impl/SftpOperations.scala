@@ -160,22 +160,32 @@ private[ftp] trait SftpOperations { ftpLike: FtpLike[SSHClient, SftpSettings] =>
     }
 
   def storeFileOutputStream(name: String, handler: Handler, append: Boolean): Try[OutputStream] =
+    storeFileOutputStream(name, handler, append, 1)
+
+  def storeFileOutputStream(name: String,
+                            handler: Handler,
+                            append: Boolean,
+                            maxUnconfirmedWrites: Int): Try[OutputStream] =
     Try {
       import OpenMode._
       val openModes =
         if (append) java.util.EnumSet.of(WRITE, CREAT, APPEND)
         else java.util.EnumSet.of(WRITE, CREAT, TRUNC)
       val remoteFile = handler.open(name, openModes)
-      val os = new remoteFile.RemoteFileOutputStream() {
+      // sshj counts the write requests which may stay unconfirmed after a write returned
+      val os = new remoteFile.RemoteFileOutputStream(0L, math.max(maxUnconfirmedWrites - 1, 0)) {
 
-        override def close(): Unit = {
+        override def close(): Unit =
           try {
-            remoteFile.close()
-          } catch {
-            case e: IOException =>
+            // waits for the confirmation of all write requests, failing if any of them failed
+            super.close()
+          } finally {
+            try {
+              remoteFile.close()
+            } catch {
+              case _: IOException =>
+            }
           }
-          super.close()
-        }
       }
       Option(os).getOrElse {
         remoteFile.close()
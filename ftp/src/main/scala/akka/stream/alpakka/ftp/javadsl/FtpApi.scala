@@ -11,7 +11,7 @@ import java.util.function._
 import akka.annotation.DoNotInherit
 import akka.stream.alpakka.ftp._
 import akka.stream.alpakka.ftp.impl._
-import akka.stream.javadsl.{Sink, Source}
+import akka.stream.javadsl.{Flow, Sink, Source}
 import akka.stream.{IOResult, Materializer}
 import akka.util.ByteString
 import akka.{Done, NotUsed}
@@ -276,6 +276,59 @@ sealed trait FtpApi[FtpClient, S <: RemoteFileSettings] { factory: FtpSourceFact
    */
   def remove(connectionSettings: S): Sink[FtpFile, CompletionStage[IOResult]]
 
+  /**
+   * Java API: creates a [[RemoteFileSessionPool]] which keeps up to `maxSessions` sessions connected and logged in,
+   * for the operators reusing sessions. The pool needs to be closed when it is no longer needed.
+   *
+   * @param connectionSettings connection settings for every session
+   * @param maxSessions maximum number of sessions open at the same time
+   * @return A [[RemoteFileSessionPool]]
+   */
+  def sessionPool(connectionSettings: S, maxSessions: Int): RemoteFileSessionPool[S]
+
+  /**
+   * Java API: creates a [[akka.stream.javadsl.Source Source]] of [[FtpFile]]s from a base path, listing up to
+   * `parallelism` directories at the same time with the sessions of the pool.
+   * Files are emitted in the order their directory listings complete.
+   *
+   * @param basePath Base path from which traverse the remote file server
+   * @param sessionPool sessions to list the directories with
+   * @param parallelism maximum number of directories listed at the same time
+   * @return A [[akka.stream.javadsl.Source Source]] of [[FtpFile]]s
+   */
+  def ls(basePath: String, sessionPool: RemoteFileSessionPool[S], parallelism: Int): Source[FtpFile, NotUsed]
+
+  /**
+   * Java API: creates a [[akka.stream.javadsl.Source Source]] of [[FtpFile]]s from a base path, listing up to
+   * `parallelism` directories at the same time with the sessions of the pool.
+   * Files are emitted in the order their directory listings complete.
+   *
+   * @param basePath Base path from which traverse the remote file server
+   * @param sessionPool sessions to list the directories with
+   * @param parallelism maximum number of directories listed at the same time
+   * @param branchSelector a predicate for pruning the tree. Takes a remote folder and return true
+   *                       if you want to enter that remote folder.
+   * @param emitTraversedDirectories whether to include entered directories in the stream
+   * @return A [[akka.stream.javadsl.Source Source]] of [[FtpFile]]s
+   */
+  def ls(basePath: String,
+         sessionPool: RemoteFileSessionPool[S],
+         parallelism: Int,
+         branchSelector: Predicate[FtpFile],
+         emitTraversedDirectories: Boolean): Source[FtpFile, NotUsed]
+
+  /**
+   * Java API: creates a [[akka.stream.javadsl.Flow Flow]] which downloads every incoming [[FtpFile]] with the
+   * sessions of the pool, up to `parallelism` files at the same time. Each file is read into memory, which suits
+   * many small files. Results are emitted in the order of the incoming files.
+   *
+   * @param sessionPool sessions to download the files with
+   * @param parallelism maximum number of files downloaded at the same time
+   * @return A [[akka.stream.javadsl.Flow Flow]] of the files with their contents
+   */
+  def downloadAll(sessionPool: RemoteFileSessionPool[S],
+                  parallelism: Int): Flow[FtpFile, akka.japi.Pair[FtpFile, ByteString], NotUsed]
+
   protected[javadsl] def func[T, R](f: T => R): akka.japi.function.Function[T, R] =
     new akka.japi.function.Function[T, R] {
       override def apply(param: T): R = f(param)
@@ -378,6 +431,29 @@ object Ftp extends FtpApi[FTPClient, FtpSettings] with FtpSourceParams {
     Sink.fromGraph(createRemoveSink(connectionSettings)).mapMaterializedValue(func(_.asJava))
   }
 
+  def sessionPool(connectionSettings: S, maxSessions: Int): RemoteFileSessionPool[S] =
+    createSessionPool(connectionSettings, maxSessions)
+
+  def ls(basePath: String, sessionPool: RemoteFileSessionPool[S], parallelism: Int): Source[FtpFile, NotUsed] =
+    Source.fromGraph(
+      createPooledBrowserGraph(basePath, sessionPool, parallelism, _ => true, _emitTraversedDirectories = false)
+    )
+
+  def ls(basePath: String,
+         sessionPool: RemoteFileSessionPool[S],
+         parallelism: Int,
+         branchSelector: Predicate[FtpFile],
+         emitTraversedDirectories: Boolean): Source[FtpFile, NotUsed] =
+    Source.fromGraph(
+      createPooledBrowserGraph(basePath, sessionPool, parallelism, branchSelector.asScala, emitTraversedDirectories)
+    )
+
+  def downloadAll(sessionPool: RemoteFileSessionPool[S],
+                  parallelism: Int): Flow[FtpFile, akka.japi.Pair[FtpFile, ByteString], NotUsed] =
+    createDownloadFlow(sessionPool, parallelism, DefaultChunkSize)
+      .map { case (file, bytes) => akka.japi.Pair(file, bytes) }
+      .asJava
+
 }
 object Ftps extends FtpApi[FTPSClient, FtpsSettings] with FtpsSourceParams {
   def ls(host: String): Source[FtpFile, NotUsed] = ls(host, basePath = "")
@@ -475,6 +551,29 @@ object Ftps extends FtpApi[FTPSClient, FtpsSettings] with FtpsSourceParams {
     Sink.fromGraph(createRemoveSink(connectionSettings)).mapMaterializedValue(func(_.asJava))
   }
 
+  def sessionPool(connectionSettings: S, maxSessions: Int): RemoteFileSessionPool[S] =
+    createSessionPool(connectionSettings, maxSessions)
+
+  def ls(basePath: String, sessionPool: RemoteFileSessionPool[S], parallelism: Int): Source[FtpFile, NotUsed] =
+    Source.fromGraph(
+      createPooledBrowserGraph(basePath, sessionPool, parallelism, _ => true, _emitTraversedDirectories = false)
+    )
+
+  def ls(basePath: String,
+         sessionPool: RemoteFileSessionPool[S],
+         parallelism: Int,
+         branchSelector: Predicate[FtpFile],
+         emitTraversedDirectories: Boolean): Source[FtpFile, NotUsed] =
+    Source.fromGraph(
+      createPooledBrowserGraph(basePath, sessionPool, parallelism, branchSelector.asScala, emitTraversedDirectories)
+    )
+
+  def downloadAll(sessionPool: RemoteFileSessionPool[S],
+                  parallelism: Int): Flow[FtpFile, akka.japi.Pair[FtpFile, ByteString], NotUsed] =
+    createDownloadFlow(sessionPool, parallelism, DefaultChunkSize)
+      .map { case (file, bytes) => akka.japi.Pair(file, bytes) }
+      .asJava
+
 }
 
 class SftpApi extends FtpApi[SSHClient, SftpSettings] with SftpSourceParams {
@@ -573,6 +672,29 @@ class SftpApi extends FtpApi[SSHClient, SftpSettings] with SftpSourceParams {
     Sink.fromGraph(createRemoveSink(connectionSettings)).mapMaterializedValue(func(_.asJava))
   }
 
+  def sessionPool(connectionSettings: S, maxSessions: Int): RemoteFileSessionPool[S] =
+    createSessionPool(connectionSettings, maxSessions)
+
+  def ls(basePath: String, sessionPool: RemoteFileSessionPool[S], parallelism: Int): Source[FtpFile, NotUsed] =
+    Source.fromGraph(
+      createPooledBrowserGraph(basePath, sessionPool, parallelism, _ => true, _emitTraversedDirectories = false)
+    )
+
+  def ls(basePath: String,
+         sessionPool: RemoteFileSessionPool[S],
+         parallelism: Int,
+         branchSelector: Predicate[FtpFile],
+         emitTraversedDirectories: Boolean): Source[FtpFile, NotUsed] =
+    Source.fromGraph(
+      createPooledBrowserGraph(basePath, sessionPool, parallelism, branchSelector.asScala, emitTraversedDirectories)
+    )
+
+  def downloadAll(sessionPool: RemoteFileSessionPool[S],
+                  parallelism: Int): Flow[FtpFile, akka.japi.Pair[FtpFile, ByteString], NotUsed] =
+    createDownloadFlow(sessionPool, parallelism, DefaultChunkSize)
+      .map { case (file, bytes) => akka.japi.Pair(file, bytes) }
+      .asJava
+
 }
 object Sftp extends SftpApi {
 
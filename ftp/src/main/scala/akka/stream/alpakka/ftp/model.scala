@@ -295,6 +295,7 @@ object FtpsSettings {
  * @param sftpIdentity private/public key config to use when connecting
  * @param proxy An optional proxy to use when connecting with these settings
  * @param maxUnconfirmedReads determines the number of read requests sent in parallel, disabled if set to <=1
+ * @param maxUnconfirmedWrites determines the number of write requests sent in parallel, disabled if set to <=1
  */
 final class SftpSettings private (
     val host: java.net.InetAddress,
@@ -304,7 +305,8 @@ final class SftpSettings private (
     val knownHosts: Option[String],
     val sftpIdentity: Option[SftpIdentity],
     val proxy: Option[Proxy],
-    val maxUnconfirmedReads: Int
+    val maxUnconfirmedReads: Int,
+    val maxUnconfirmedWrites: Int
 ) extends RemoteFileSettings {
 
   def withHost(value: java.net.InetAddress): SftpSettings = copy(host = value)
@@ -316,6 +318,7 @@ final class SftpSettings private (
   def withSftpIdentity(value: SftpIdentity): SftpSettings = copy(sftpIdentity = Option(value))
   def withProxy(value: Proxy): SftpSettings = copy(proxy = Some(value))
   def withMaxUnconfirmedReads(value: Int): SftpSettings = copy(maxUnconfirmedReads = value)
+  def withMaxUnconfirmedWrites(value: Int): SftpSettings = copy(maxUnconfirmedWrites = value)
 
   private def copy(
       host: java.net.InetAddress = host,
@@ -325,7 +328,8 @@ final class SftpSettings private (
       knownHosts: Option[String] = knownHosts,
       sftpIdentity: Option[SftpIdentity] = sftpIdentity,
       proxy: Option[Proxy] = proxy,
-      maxUnconfirmedReads: Int = maxUnconfirmedReads
+      maxUnconfirmedReads: Int = maxUnconfirmedReads,
+      maxUnconfirmedWrites: Int = maxUnconfirmedWrites
   ): SftpSettings = new SftpSettings(
     host = host,
     port = port,
@@ -334,7 +338,8 @@ final class SftpSettings private (
     knownHosts = knownHosts,
     sftpIdentity = sftpIdentity,
     proxy = proxy,
-    maxUnconfirmedReads = maxUnconfirmedReads
+    maxUnconfirmedReads = maxUnconfirmedReads,
+    maxUnconfirmedWrites = maxUnconfirmedWrites
   )
 
   override def toString =
@@ -346,7 +351,8 @@ final class SftpSettings private (
     s"knownHosts=$knownHosts," +
     s"sftpIdentity=$sftpIdentity," +
     s"proxy=$proxy," +
-    s"maxUnconfirmedReads=$maxUnconfirmedReads)"
+    s"maxUnconfirmedReads=$maxUnconfirmedReads," +
+    s"maxUnconfirmedWrites=$maxUnconfirmedWrites)"
 }
 
 /**
@@ -366,7 +372,8 @@ object SftpSettings {
     knownHosts = None,
     sftpIdentity = None,
     proxy = None,
-    maxUnconfirmedReads = 1
+    maxUnconfirmedReads = 1,
+    maxUnconfirmedWrites = 1
   )
 
   /** Java API */
@@ -9,7 +9,7 @@ import akka.annotation.DoNotInherit
 import akka.stream.IOResult
 import akka.stream.alpakka.ftp._
 import akka.stream.alpakka.ftp.impl.{FtpSourceFactory, FtpSourceParams, FtpsSourceParams, SftpSourceParams}
-import akka.stream.scaladsl.{Sink, Source}
+import akka.stream.scaladsl.{Flow, Sink, Source}
 import akka.util.ByteString
 import akka.{Done, NotUsed}
 import net.schmizz.sshj.SSHClient
@@ -207,6 +207,61 @@ sealed trait FtpApi[FtpClient, S <: RemoteFileSettings] { factory: FtpSourceFact
    * @return A [[akka.stream.scaladsl.Sink Sink]] of [[FtpFile]] that materializes to a [[scala.concurrent.Future Future]] of [[IOResult]]
    */
   def remove(connectionSettings: S): Sink[FtpFile, Future[IOResult]]
+
+  /**
+   * Scala API: creates a [[RemoteFileSessionPool]] which keeps up to `maxSessions` sessions connected and logged in,
+   * for the operators reusing sessions. The pool needs to be closed when it is no longer needed.
+   *
+   * @param connectionSettings connection settings for every session
+   * @param maxSessions maximum number of sessions open at the same time
+   * @return A [[RemoteFileSessionPool]]
+   */
+  def sessionPool(connectionSettings: S, maxSessions: Int): RemoteFileSessionPool[S]
+
+  /**
+   * Scala API: creates a [[akka.stream.scaladsl.Source Source]] of [[FtpFile]]s from a base path, listing up to
+   * `parallelism` directories at the same time with the sessions of the pool.
+   * Files are emitted in the order their directory listings complete.
+   *
+   * @param basePath Base path from which traverse the remote file server
+   * @param sessionPool sessions to list the directories with
+   * @param parallelism maximum number of directories listed at the same time
+   * @return A [[akka.stream.scaladsl.Source Source]] of [[FtpFile]]s
+   */
+  def ls(basePath: String, sessionPool: RemoteFileSessionPool[S], parallelism: Int): Source[FtpFile, NotUsed]
+
+  /**
+   * Scala API: creates a [[akka.stream.scaladsl.Source Source]] of [[FtpFile]]s from a base path, listing up to
+   * `parallelism` directories at the same time with the sessions of the pool.
+   * Files are emitted in the order their directory listings complete.
+   *
+   * @param basePath Base path from which traverse the remote file server
+   * @param sessionPool sessions to list the directories with
+   * @param parallelism maximum number of directories listed at the same time
+   * @param branchSelector a function for pruning the tree. Takes a remote folder and return true
+   *                       if you want to enter that remote folder.
+   *                       Default behaviour is full recursive which is equivalent with calling this function
+   *                       with [ls(basePath,sessionPool,parallelism,f=>true)].
+   * @param emitTraversedDirectories whether to include entered directories in the stream
+   * @return A [[akka.stream.scaladsl.Source Source]] of [[FtpFile]]s
+   */
+  def ls(basePath: String,
+         sessionPool: RemoteFileSessionPool[S],
+         parallelism: Int,
+         branchSelector: FtpFile => Boolean,
+         emitTraversedDirectories: Boolean): Source[FtpFile, NotUsed]
+
+  /**
+   * Scala API: creates a [[akka.stream.scaladsl.Flow Flow]] which downloads every incoming [[FtpFile]] with the
+   * sessions of the pool, up to `parallelism` files at the same time. Each file is read into memory, which suits
+   * many small files. Results are emitted in the order of the incoming files.
+   *
+   * @param sessionPool sessions to download the files with
+   * @param parallelism maximum number of files downloaded at the same time
+   * @return A [[akka.stream.scaladsl.Flow Flow]] of the files with their contents
+   */
+  def downloadAll(sessionPool: RemoteFileSessionPool[S],
+                  parallelism: Int): Flow[FtpFile, (FtpFile, ByteString), NotUsed]
 }
 
 object Ftp extends FtpApi[FTPClient, FtpSettings] with FtpSourceParams {
@@ -268,6 +323,25 @@ object Ftp extends FtpApi[FTPClient, FtpSettings] with FtpSourceParams {
   def remove(connectionSettings: S): Sink[FtpFile, Future[IOResult]] =
     Sink.fromGraph(createRemoveSink(connectionSettings))
 
+  def sessionPool(connectionSettings: S, maxSessions: Int): RemoteFileSessionPool[S] =
+    createSessionPool(connectionSettings, maxSessions)
+
+  def ls(basePath: String, sessionPool: RemoteFileSessionPool[S], parallelism: Int): Source[FtpFile, NotUsed] =
+    ls(basePath, sessionPool, parallelism, _ => true, emitTraversedDirectories = false)
+
+  def ls(basePath: String,
+         sessionPool: RemoteFileSessionPool[S],
+         parallelism: Int,
+         branchSelector: FtpFile => Boolean,
+         emitTraversedDirectories: Boolean): Source[FtpFile, NotUsed] =
+    Source.fromGraph(
+      createPooledBrowserGraph(basePath, sessionPool, parallelism, branchSelector, emitTraversedDirectories)
+    )
+
+  def downloadAll(sessionPool: RemoteFileSessionPool[S],
+                  parallelism: Int): Flow[FtpFile, (FtpFile, ByteString), NotUsed] =
+    createDownloadFlow(sessionPool, parallelism, DefaultChunkSize)
+
 }
 
 object Ftps extends FtpApi[FTPSClient, FtpsSettings] with FtpsSourceParams {
@@ -327,6 +401,25 @@ object Ftps extends FtpApi[FTPSClient, FtpsSettings] with FtpsSourceParams {
 
   def remove(connectionSettings: S): Sink[FtpFile, Future[IOResult]] =
     Sink.fromGraph(createRemoveSink(connectionSettings))
+
+  def sessionPool(connectionSettings: S, maxSessions: Int): RemoteFileSessionPool[S] =
+    createSessionPool(connectionSettings, maxSessions)
+
+  def ls(basePath: String, sessionPool: RemoteFileSessionPool[S], parallelism: Int): Source[FtpFile, NotUsed] =
+    ls(basePath, sessionPool, parallelism, _ => true, emitTraversedDirectories = false)
+
+  def ls(basePath: String,
+         sessionPool: RemoteFileSessionPool[S],
+         parallelism: Int,
+         branchSelector: FtpFile => Boolean,
+         emitTraversedDirectories: Boolean): Source[FtpFile, NotUsed] =
+    Source.fromGraph(
+      createPooledBrowserGraph(basePath, sessionPool, parallelism, branchSelector, emitTraversedDirectories)
+    )
+
+  def downloadAll(sessionPool: RemoteFileSessionPool[S],
+                  parallelism: Int): Flow[FtpFile, (FtpFile, ByteString), NotUsed] =
+    createDownloadFlow(sessionPool, parallelism, DefaultChunkSize)
 }
 
 class SftpApi extends FtpApi[SSHClient, SftpSettings] with SftpSourceParams {
@@ -387,6 +480,25 @@ class SftpApi extends FtpApi[SSHClient, SftpSettings] with SftpSourceParams {
   def remove(connectionSettings: S): Sink[FtpFile, Future[IOResult]] =
     Sink.fromGraph(createRemoveSink(connectionSettings))
 
+  def sessionPool(connectionSettings: S, maxSessions: Int): RemoteFileSessionPool[S] =
+    createSessionPool(connectionSettings, maxSessions)
+
+  def ls(basePath: String, sessionPool: RemoteFileSessionPool[S], parallelism: Int): Source[FtpFile, NotUsed] =
+    ls(basePath, sessionPool, parallelism, _ => true, emitTraversedDirectories = false)
+
+  def ls(basePath: String,
+         sessionPool: RemoteFileSessionPool[S],
+         parallelism: Int,
+         branchSelector: FtpFile => Boolean,
+         emitTraversedDirectories: Boolean): Source[FtpFile, NotUsed] =
+    Source.fromGraph(
+      createPooledBrowserGraph(basePath, sessionPool, parallelism, branchSelector, emitTraversedDirectories)
+    )
+
+  def downloadAll(sessionPool: RemoteFileSessionPool[S],
+                  parallelism: Int): Flow[FtpFile, (FtpFile, ByteString), NotUsed] =
+    createDownloadFlow(sessionPool, parallelism, DefaultChunkSize)
+
 }
 object Sftp extends SftpApi {
 
@@ -0,0 +1,37 @@
+/*
+ * Copyright (C) since 2016 Lightbend Inc. <https://www.lightbend.com>
+ */
+
+package docs.javadsl;
+
+// #pooled-download
+
+import akka.NotUsed;
+import akka.japi.Pair;
+import akka.stream.alpakka.ftp.FtpFile;
+import akka.stream.alpakka.ftp.RemoteFileSessionPool;
+import akka.stream.alpakka.ftp.SftpSettings;
+import akka.stream.alpakka.ftp.javadsl.Sftp;
+import akka.stream.javadsl.Source;
+import akka.util.ByteString;
+
+public class SftpPooledDownloadExample {
+
+  private final RemoteFileSessionPool<SftpSettings> sessionPool;
+
+  public SftpPooledDownloadExample(SftpSettings settings) {
+    this.sessionPool = Sftp.sessionPool(settings, 8);
+  }
+
+  public Source<Pair<FtpFile, ByteString>, NotUsed> downloadAll(String basePath) {
+    return Sftp.ls(basePath, sessionPool, 8)
+        .filter(file -> !file.isDirectory())
+        .via(Sftp.downloadAll(sessionPool, 8));
+  }
+
+  // when done with all transfers
+  public void close() {
+    sessionPool.close();
+  }
+}
+// #pooled-download
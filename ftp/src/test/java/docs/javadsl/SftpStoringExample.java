@@ -0,0 +1,24 @@
+/*
+ * Copyright (C) since 2016 Lightbend Inc. <https://www.lightbend.com>
+ */
+
+package docs.javadsl;
+
+// #storing-with-unconfirmed-writes
+
+import akka.stream.IOResult;
+import akka.stream.alpakka.ftp.SftpSettings;
+import akka.stream.alpakka.ftp.javadsl.Sftp;
+import akka.stream.javadsl.Sink;
+import akka.util.ByteString;
+
+import java.util.concurrent.CompletionStage;
+
+public class SftpStoringExample {
+
+  public Sink<ByteString, CompletionStage<IOResult>> storeToPath(
+      String path, SftpSettings settings) throws Exception {
+    return Sftp.toPath(path, settings.withMaxUnconfirmedWrites(64));
+  }
+}
+// #storing-with-unconfirmed-writes
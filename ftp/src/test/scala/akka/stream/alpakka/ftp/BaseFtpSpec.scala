@@ -6,7 +6,7 @@ package akka.stream.alpakka.ftp
 
 import akka.{Done, NotUsed}
 import akka.stream.IOResult
-import akka.stream.scaladsl.{Sink, Source}
+import akka.stream.scaladsl.{Flow, Sink, Source}
 import akka.stream.alpakka.ftp.scaladsl.Ftp
 import akka.util.ByteString
 
@@ -62,4 +62,21 @@ trait BaseFtpSpec extends BaseFtpSupport with BaseSpec {
 
   protected def mkdir(basePath: String, name: String): Source[Done, NotUsed] =
     Ftp.mkdir(basePath, name, settings)
+
+  private lazy val sessionPool = Ftp.sessionPool(settings, maxSessions = 4)
+
+  protected def listFilesPooled(
+      basePath: String,
+      parallelism: Int,
+      emitTraversedDirectories: Boolean
+  ): Source[FtpFile, NotUsed] =
+    Ftp.ls(basePath, sessionPool, parallelism, _ => true, emitTraversedDirectories)
+
+  protected def downloadAllPooled(parallelism: Int): Flow[FtpFile, (FtpFile, ByteString), NotUsed] =
+    Ftp.downloadAll(sessionPool, parallelism)
+
+  override protected def afterAll() = {
+    sessionPool.close()
+    super.afterAll()
+  }
 }
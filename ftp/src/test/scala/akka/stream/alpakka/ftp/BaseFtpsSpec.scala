@@ -8,7 +8,7 @@ import java.net.InetAddress
 import akka.{Done, NotUsed}
 import akka.stream.IOResult
 import akka.stream.alpakka.ftp.scaladsl.Ftps
-import akka.stream.scaladsl.{Sink, Source}
+import akka.stream.scaladsl.{Flow, Sink, Source}
 import akka.util.ByteString
 
 import scala.concurrent.Future
@@ -62,4 +62,21 @@ trait BaseFtpsSpec extends BaseFtpSupport with BaseSpec {
 
   protected def mkdir(basePath: String, name: String): Source[Done, NotUsed] =
     Ftps.mkdir(basePath, name, settings)
+
+  private lazy val sessionPool = Ftps.sessionPool(settings, maxSessions = 4)
+
+  protected def listFilesPooled(
+      basePath: String,
+      parallelism: Int,
+      emitTraversedDirectories: Boolean
+  ): Source[FtpFile, NotUsed] =
+    Ftps.ls(basePath, sessionPool, parallelism, _ => true, emitTraversedDirectories)
+
+  protected def downloadAllPooled(parallelism: Int): Flow[FtpFile, (FtpFile, ByteString), NotUsed] =
+    Ftps.downloadAll(sessionPool, parallelism)
+
+  override protected def afterAll() = {
+    sessionPool.close()
+    super.afterAll()
+  }
 }
@@ -8,7 +8,7 @@ import java.net.InetAddress
 import akka.{Done, NotUsed}
 import akka.stream.IOResult
 import akka.stream.alpakka.ftp.scaladsl.Sftp
-import akka.stream.scaladsl.{Sink, Source}
+import akka.stream.scaladsl.{Flow, Sink, Source}
 import akka.util.ByteString
 
 import scala.concurrent.Future
@@ -63,4 +63,21 @@ trait BaseSftpSpec extends BaseSftpSupport with BaseSpec {
 
   protected def mkdir(basePath: String, name: String): Source[Done, NotUsed] =
     Sftp.mkdir(ROOT_PATH + basePath, name, settings)
+
+  private lazy val sessionPool = Sftp.sessionPool(settings, maxSessions = 4)
+
+  protected def listFilesPooled(
+      basePath: String,
+      parallelism: Int,
+      emitTraversedDirectories: Boolean
+  ): Source[FtpFile, NotUsed] =
+    Sftp.ls(ROOT_PATH + basePath, sessionPool, parallelism, _ => true, emitTraversedDirectories)
+
+  protected def downloadAllPooled(parallelism: Int): Flow[FtpFile, (FtpFile, ByteString), NotUsed] =
+    Sftp.downloadAll(sessionPool, parallelism)
+
+  override protected def afterAll() = {
+    sessionPool.close()
+    super.afterAll()
+  }
 }
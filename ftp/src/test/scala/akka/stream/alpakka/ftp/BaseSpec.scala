@@ -7,7 +7,7 @@ package akka.stream.alpakka.ftp
 import akka.{Done, NotUsed}
 import akka.stream.IOResult
 import akka.stream.alpakka.testkit.scaladsl.LogCapturing
-import akka.stream.scaladsl.{Sink, Source}
+import akka.stream.scaladsl.{Flow, Sink, Source}
 import akka.testkit.TestKit
 import akka.util.ByteString
 import org.scalatest.concurrent.{IntegrationPatience, ScalaFutures}
@@ -58,6 +58,14 @@ trait BaseSpec
 
   protected def mkdir(basePath: String, name: String): Source[Done, NotUsed]
 
+  protected def listFilesPooled(
+      basePath: String,
+      parallelism: Int,
+      emitTraversedDirectories: Boolean = false
+  ): Source[FtpFile, NotUsed]
+
+  protected def downloadAllPooled(parallelism: Int): Flow[FtpFile, (FtpFile, ByteString), NotUsed]
+
   after {
     cleanFiles()
   }
@@ -83,6 +83,16 @@ final class UnconfirmedReadsSftpSourceSpec extends BaseSftpSpec with CommonFtpSt
     .withMaxUnconfirmedReads(8)
 }
 
+final class UnconfirmedWritesSftpStageSpec extends BaseSftpSpec with CommonFtpStageSpec {
+  override val settings = SftpSettings(
+    InetAddress.getByName(HOSTNAME)
+  ).withPort(PORT)
+    .withCredentials(CREDENTIALS)
+    .withStrictHostKeyChecking(false)
+    .withMaxUnconfirmedReads(8)
+    .withMaxUnconfirmedWrites(8)
+}
+
 trait CommonFtpStageSpec extends BaseSpec with Eventually {
 
   implicit val system: ActorSystem = getSystem
@@ -252,6 +262,42 @@ trait CommonFtpStageSpec extends BaseSpec with Eventually {
     }
   }
 
+  "FtpPooledBrowserSource" should {
+    "list all files listing several directories at the same time" in assertAllStagesStopped {
+      val basePath = ""
+      generateFiles(30, 10, basePath)
+      val expected = listFiles(basePath).runWith(Sink.seq).futureValue
+      val files = listFilesPooled(basePath, parallelism = 4).runWith(Sink.seq).futureValue
+      files should have size 30
+      files.map(_.path) should contain theSameElementsAs expected.map(_.path)
+    }
+
+    "list all files and directories when emitTraversedDirectories is set to true" in assertAllStagesStopped {
+      putFileOnFtp("foo/bar/baz/foobar/sample")
+      val probe =
+        listFilesPooled("/", parallelism = 4, emitTraversedDirectories = true)
+          .toMat(TestSink())(Keep.right)
+          .run()
+      probe.request(10).expectNextN(5) // foo, bar, baz, foobar, and sample_1 = 5 files
+      probe.expectComplete()
+    }
+  }
+
+  "FtpDownloadFlow" should {
+    "download all listed files with the pooled sessions" in assertAllStagesStopped {
+      val basePath = ""
+      val numOfFiles = 20
+      generateFiles(numOfFiles, 5, basePath)
+      val downloaded = listFilesPooled(basePath, parallelism = 4)
+        .via(downloadAllPooled(parallelism = 8))
+        .runWith(Sink.seq)
+        .futureValue
+
+      downloaded should have size numOfFiles
+      all(downloaded.map(_._2.utf8String)) shouldBe getDefaultContent
+    }
+  }
+
   "FTPIOSink" when {
 
     "no file is already present at the target location" should {
@@ -59,6 +59,46 @@ object scalaExamples {
     //#retrieving-with-unconfirmed-reads
   }
 
+  object storingUnconfirmedWrites {
+    //#storing-with-unconfirmed-writes
+    import akka.stream.IOResult
+    import akka.stream.alpakka.ftp.scaladsl.Sftp
+    import akka.stream.scaladsl.Sink
+    import akka.util.ByteString
+
+    import scala.concurrent.Future
+
+    def storeToPath(path: String, settings: SftpSettings): Sink[ByteString, Future[IOResult]] =
+      Sftp.toPath(path, settings.withMaxUnconfirmedWrites(64))
+
+    //#storing-with-unconfirmed-writes
+  }
+
+  object pooledDownload {
+    //#pooled-download
+    import akka.NotUsed
+    import akka.actor.ActorSystem
+    import akka.stream.alpakka.ftp.RemoteFileSessionPool
+    import akka.stream.alpakka.ftp.scaladsl.Sftp
+    import akka.stream.scaladsl.{Sink, Source}
+    import akka.util.ByteString
+
+    def downloadAll(basePath: String,
+                    sessionPool: RemoteFileSessionPool[SftpSettings]): Source[(FtpFile, ByteString), NotUsed] =
+      Sftp
+        .ls(basePath, sessionPool, parallelism = 8)
+        .filterNot(_.isDirectory)
+        .via(Sftp.downloadAll(sessionPool, parallelism = 8))
+
+    def mirror(settings: SftpSettings)(implicit system: ActorSystem): Unit = {
+      val sessionPool = Sftp.sessionPool(settings, maxSessions = 8)
+      downloadAll("/outbox", sessionPool)
+        .runWith(Sink.foreach { case (file, bytes) => println(s"${file.path}: ${bytes.size} bytes") })
+        .onComplete(_ => sessionPool.close())(system.dispatcher)
+    }
+    //#pooled-download
+  }
+
   object removing {
     //#removing
     import akka.stream.IOResult
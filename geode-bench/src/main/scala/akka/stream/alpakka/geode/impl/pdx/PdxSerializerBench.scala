@@ -0,0 +1,246 @@
+/*
+ * Copyright (C) since 2016 Lightbend Inc. <https://www.lightbend.com>
+ */
+
+package akka.stream.alpakka.geode.impl.pdx
+
+import java.util.concurrent.TimeUnit
+import java.util.{Date, UUID}
+
+import akka.stream.alpakka.geode.AkkaPdxSerializer
+import org.apache.geode.pdx.{PdxReader, PdxSerializer, PdxUnreadFields, PdxWriter}
+import org.openjdk.jmh.annotations._
+import org.openjdk.jmh.infra.Blackhole
+
+final case class Fields5(f0: Int,
+                         f1: String,
+                         f2: Long,
+                         f3: Double,
+                         f4: Date)
+
+final case class Fields20(f0: Int,
+                          f1: String,
+                          f2: Long,
+                          f3: Double,
+                          f4: Date,
+                          f5: Boolean,
+                          f6: UUID,
+                          f7: List[String],
+                          f8: Int,
+                          f9: String,
+                          f10: Long,
+                          f11: Double,
+                          f12: Date,
+                          f13: Boolean,
+                          f14: UUID,
+                          f15: List[String],
+                          f16: Int,
+                          f17: String,
+                          f18: Long,
+                          f19: Double)
+
+final case class Fields50(f0: Int,
+                          f1: String,
+                          f2: Long,
+                          f3: Double,
+                          f4: Date,
+                          f5: Boolean,
+                          f6: UUID,
+                          f7: List[String],
+                          f8: Int,
+                          f9: String,
+                          f10: Long,
+                          f11: Double,
+                          f12: Date,
+                          f13: Boolean,
+                          f14: UUID,
+                          f15: List[String],
+                          f16: Int,
+                          f17: String,
+                          f18: Long,
+                          f19: Double,
+                          f20: Date,
+                          f21: Boolean,
+                          f22: UUID,
+                          f23: List[String],
+                          f24: Int,
+                          f25: String,
+                          f26: Long,
+                          f27: Double,
+                          f28: Date,
+                          f29: Boolean,
+                          f30: UUID,
+                          f31: List[String],
+                          f32: Int,
+                          f33: String,
+                          f34: Long,
+                          f35: Double,
+                          f36: Date,
+                          f37: Boolean,
+                          f38: UUID,
+                          f39: List[String],
+                          f40: Int,
+                          f41: String,
+                          f42: Long,
+                          f43: Double,
+                          f44: Date,
+                          f45: Boolean,
+                          f46: UUID,
+                          f47: List[String],
+                          f48: Int,
+                          f49: String)
+
+/**
+ * Measures the cost of writing and reading case classes with 5, 20 and 50 fields, comparing the shapeless based
+ * serializer with the serializer derived by `AkkaPdxSerializer.derive`.
+ *
+ * The writer and reader used do not serialize anything, so that only the time spent in the serializers is measured.
+ *
+ * ==Sample benchmark results==
+ * Rerun these on YOUR OWN MACHINE before/after making changes.
+ *
+ * {{{
+ * > geode-bench/jmh:run -t1 -f1 -wi 10 -i 10 .*PdxSerializerBench
+ * }}}
+ *
+ * @see https://github.com/ktoso/sbt-jmh
+ */
+@Warmup(iterations = 8, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
+@BenchmarkMode(Array(Mode.Throughput))
+@Fork(jvmArgsAppend = Array("-Xmx350m", "-XX:+HeapDumpOnOutOfMemoryError"), value = 1)
+@State(Scope.Benchmark)
+class PdxSerializerBench {
+  import PdxSerializerBench._
+
+  private val date = new Date(0)
+  private val uuid = new UUID(1L, 2L)
+  private val strings = List("a", "b")
+
+  private val value5 = Fields5(1, "value", 2L, 3.0, date)
+  private val shapeless5: PdxSerializer = new ShapelessPdxSerializer(PdxEncoder[Fields5], PdxDecoder[Fields5])
+  private val derived5: PdxSerializer = AkkaPdxSerializer.derive[Fields5]
+
+  private val value20 = Fields20(1, "value", 2L, 3.0, date, true, uuid, strings, 1, "value", 2L, 3.0, date, true, uuid,
+                                 strings, 1, "value", 2L, 3.0)
+  private val shapeless20: PdxSerializer = new ShapelessPdxSerializer(PdxEncoder[Fields20], PdxDecoder[Fields20])
+  private val derived20: PdxSerializer = AkkaPdxSerializer.derive[Fields20]
+
+  private val value50 = Fields50(1, "value", 2L, 3.0, date, true, uuid, strings, 1, "value", 2L, 3.0, date, true, uuid,
+                                 strings, 1, "value", 2L, 3.0, date, true, uuid, strings, 1, "value", 2L, 3.0, date,
+                                 true, uuid, strings, 1, "value", 2L, 3.0, date, true, uuid, strings, 1, "value", 2L,
+                                 3.0, date, true, uuid, strings, 1, "value")
+  private val shapeless50: PdxSerializer = new ShapelessPdxSerializer(PdxEncoder[Fields50], PdxDecoder[Fields50])
+  private val derived50: PdxSerializer = AkkaPdxSerializer.derive[Fields50]
+
+  @Benchmark
+  def encode5Shapeless(bh: Blackhole): Unit = bh.consume(shapeless5.toData(value5, new ConsumingWriter(bh)))
+
+  @Benchmark
+  def encode5Derived(bh: Blackhole): Unit = bh.consume(derived5.toData(value5, new ConsumingWriter(bh)))
+
+  @Benchmark
+  def encode20Shapeless(bh: Blackhole): Unit = bh.consume(shapeless20.toData(value20, new ConsumingWriter(bh)))
+
+  @Benchmark
+  def encode20Derived(bh: Blackhole): Unit = bh.consume(derived20.toData(value20, new ConsumingWriter(bh)))
+
+  @Benchmark
+  def encode50Shapeless(bh: Blackhole): Unit = bh.consume(shapeless50.toData(value50, new ConsumingWriter(bh)))
+
+  @Benchmark
+  def encode50Derived(bh: Blackhole): Unit = bh.consume(derived50.toData(value50, new ConsumingWriter(bh)))
+
+  @Benchmark
+  def decode5Shapeless(bh: Blackhole): Unit = bh.consume(shapeless5.fromData(classOf[Fields5], ConstantReader))
+
+  @Benchmark
+  def decode5Derived(bh: Blackhole): Unit = bh.consume(derived5.fromData(classOf[Fields5], ConstantReader))
+
+  @Benchmark
+  def decode20Shapeless(bh: Blackhole): Unit = bh.consume(shapeless20.fromData(classOf[Fields20], ConstantReader))
+
+  @Benchmark
+  def decode20Derived(bh: Blackhole): Unit = bh.consume(derived20.fromData(classOf[Fields20], ConstantReader))
+
+  @Benchmark
+  def decode50Shapeless(bh: Blackhole): Unit = bh.consume(shapeless50.fromData(classOf[Fields50], ConstantReader))
+
+  @Benchmark
+  def decode50Derived(bh: Blackhole): Unit = bh.consume(derived50.fromData(classOf[Fields50], ConstantReader))
+}
+
+object PdxSerializerBench {
+
+  /** Hands every written value to the blackhole. */
+  private final class ConsumingWriter(bh: Blackhole) extends PdxWriter {
+    private def consume(value: Any): PdxWriter = { bh.consume(value); this }
+
+    override def writeChar(fieldName: String, value: Char) = consume(value)
+    override def writeBoolean(fieldName: String, value: Boolean) = consume(value)
+    override def writeByte(fieldName: String, value: Byte) = consume(value)
+    override def writeShort(fieldName: String, value: Short) = consume(value)
+    override def writeInt(fieldName: String, value: Int) = consume(value)
+    override def writeLong(fieldName: String, value: Long) = consume(value)
+    override def writeFloat(fieldName: String, value: Float) = consume(value)
+    override def writeDouble(fieldName: String, value: Double) = consume(value)
+    override def writeDate(fieldName: String, value: Date) = consume(value)
+    override def writeString(fieldName: String, value: String) = consume(value)
+    override def writeObject(fieldName: String, value: scala.Any) = consume(value)
+    override def writeObject(fieldName: String, value: scala.Any, checkPortability: Boolean) = consume(value)
+    override def writeBooleanArray(fieldName: String, value: Array[Boolean]) = consume(value)
+    override def writeCharArray(fieldName: String, value: Array[Char]) = consume(value)
+    override def writeByteArray(fieldName: String, value: Array[Byte]) = consume(value)
+    override def writeShortArray(fieldName: String, value: Array[Short]) = consume(value)
+    override def writeIntArray(fieldName: String, value: Array[Int]) = consume(value)
+    override def writeLongArray(fieldName: String, value: Array[Long]) = consume(value)
+    override def writeFloatArray(fieldName: String, value: Array[Float]) = consume(value)
+    override def writeDoubleArray(fieldName: String, value: Array[Double]) = consume(value)
+    override def writeStringArray(fieldName: String, value: Array[String]) = consume(value)
+    override def writeObjectArray(fieldName: String, value: Array[AnyRef]) = consume(value)
+    override def writeObjectArray(fieldName: String, value: Array[AnyRef], checkPortability: Boolean) = consume(value)
+    override def writeArrayOfByteArrays(fieldName: String, value: Array[Array[Byte]]) = consume(value)
+    override def writeField[CT, VT <: CT](fieldName: String, fieldValue: VT, fieldType: Class[CT]) =
+      consume(fieldValue)
+    override def writeField[CT, VT <: CT](fieldName: String,
+                                          fieldValue: VT,
+                                          fieldType: Class[CT],
+                                          checkPortability: Boolean) = consume(fieldValue)
+    override def writeUnreadFields(unread: PdxUnreadFields) = this
+    override def markIdentityField(fieldName: String) = this
+  }
+
+  /** Returns the same value for every field of a type, strings are UUIDs to be readable as either. */
+  private object ConstantReader extends PdxReader {
+    private val date = new Date(0)
+    private val uuid = new UUID(1L, 2L).toString
+    private val strings = Array("a", "b")
+
+    override def readChar(fieldName: String) = 'c'
+    override def readBoolean(fieldName: String) = true
+    override def readByte(fieldName: String) = 1.toByte
+    override def readShort(fieldName: String) = 1.toShort
+    override def readInt(fieldName: String) = 1
+    override def readLong(fieldName: String) = 2L
+    override def readFloat(fieldName: String) = 3.0f
+    override def readDouble(fieldName: String) = 3.0
+    override def readString(fieldName: String) = uuid
+    override def readObject(fieldName: String) = strings.toList
+    override def readBooleanArray(fieldName: String) = Array(true)
+    override def readCharArray(fieldName: String) = Array('c')
+    override def readByteArray(fieldName: String) = Array(1.toByte)
+    override def readShortArray(fieldName: String) = Array(1.toShort)
+    override def readIntArray(fieldName: String) = Array(1)
+    override def readLongArray(fieldName: String) = Array(2L)
+    override def readFloatArray(fieldName: String) = Array(3.0f)
+    override def readDoubleArray(fieldName: String) = Array(3.0)
+    override def readStringArray(fieldName: String) = strings
+    override def readObjectArray(fieldName: String) = Array[AnyRef](strings: _*)
+    override def readArrayOfByteArrays(fieldName: String) = Array(Array(1.toByte))
+    override def readDate(fieldName: String) = date
+    override def hasField(fieldName: String) = true
+    override def isIdentityField(fieldName: String) = false
+    override def readField(fieldName: String) = readObject(fieldName)
+    override def readUnreadFields() = null
+  }
+}
@@ -7,12 +7,15 @@ package akka.stream.alpakka.geode.javadsl;
 import akka.Done;
 import akka.NotUsed;
 import akka.stream.alpakka.geode.AkkaPdxSerializer;
+import akka.stream.alpakka.geode.GeodeBatchSettings;
 import akka.stream.alpakka.geode.GeodeSettings;
 import akka.stream.alpakka.geode.RegionSettings;
 import akka.stream.alpakka.geode.impl.GeodeCache;
 
+import akka.stream.alpakka.geode.impl.stage.GeodeBatchFlowStage;
 import akka.stream.alpakka.geode.impl.stage.GeodeFiniteSourceStage;
 import akka.stream.alpakka.geode.impl.stage.GeodeFlowStage;
+import akka.stream.alpakka.geode.impl.stage.GeodePagedSourceStage;
 import akka.stream.javadsl.Flow;
 import akka.stream.javadsl.Keep;
 import akka.stream.javadsl.Sink;
@@ -22,6 +25,7 @@ import org.apache.geode.cache.client.ClientCacheFactory;
 import scala.jdk.javaapi.FutureConverters;
 
 import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
 
 /** Java API: Geode client without server event subscription. */
 public class Geode extends GeodeCache {
@@ -58,6 +62,41 @@ public class Geode extends GeodeCache {
     return flow(regionSettings, serializer).toMat(Sink.ignore(), Keep.right());
   }
 
+  /**
+   * Runs a query page by page, so that large result sets are never held in memory at once.
+   *
+   * <p>The query must use the {@code $1} parameter to select the elements after a cursor and order
+   * its results by that cursor, e.g. {@code select * from /persons p where p.id > $1 order by
+   * p.id}. Each page is limited to {@code pageSize} elements, and the next page is requested with
+   * the cursor of the last element of the previous page.
+   */
+  public <V> Source<V, CompletionStage<Done>> pagedQuery(
+      String query,
+      int pageSize,
+      Object initialCursor,
+      Function<V, Object> cursor,
+      AkkaPdxSerializer<V> serializer) {
+
+    registerPDXSerializer(serializer, serializer.clazz());
+    return Source.fromGraph(
+            new GeodePagedSourceStage<V>(cache(), query, pageSize, initialCursor, cursor::apply))
+        .mapMaterializedValue(FutureConverters::asJava);
+  }
+
+  /**
+   * A flow which writes elements in batches with a single {@code putAll} call per batch, instead of
+   * one {@code put} per element. The elements are emitted after their batch has been written.
+   */
+  public <K, V> Flow<V, V, NotUsed> flowBatched(
+      RegionSettings<K, V> regionSettings,
+      GeodeBatchSettings<V> batchSettings,
+      AkkaPdxSerializer<V> serializer) {
+
+    registerPDXSerializer(serializer, serializer.clazz());
+
+    return GeodeBatchFlowStage.flow(cache(), regionSettings, batchSettings).asJava();
+  }
+
   public void close() {
     close(false);
   }
@@ -4,11 +4,26 @@
 
 package akka.stream.alpakka.geode
 
+import akka.stream.alpakka.geode.impl.pdx.PdxSerializerMacro
 import org.apache.geode.pdx.PdxSerializer
 
+import scala.language.experimental.macros
+
 /**
  * Base interface for Geode `PdxSerializer`s in Alpakka Geode.
  */
 trait AkkaPdxSerializer[V] extends PdxSerializer {
   def clazz: Class[V]
 }
+
+object AkkaPdxSerializer {
+
+  /**
+   * Derives a serializer for a case class at compile time.
+   *
+   * The generated serializer writes and reads the fields one by one, with the `PdxWriter`/`PdxReader` method
+   * matching each field type, so that no intermediate representation is built and primitive fields are not boxed.
+   * Fields of other types are handled by the implicit `PdxEncoder` and `PdxDecoder` for their type.
+   */
+  def derive[A <: AnyRef]: AkkaPdxSerializer[A] = macro PdxSerializerMacro.derive[A]
+}
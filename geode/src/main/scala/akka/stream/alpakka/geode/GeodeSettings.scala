@@ -6,6 +6,9 @@ package akka.stream.alpakka.geode
 
 import org.apache.geode.cache.client.ClientCacheFactory
 
+import scala.concurrent.duration._
+import scala.jdk.DurationConverters._
+
 /**
  * General settings to connect to Apache Geode.
  */
@@ -66,3 +69,71 @@ object RegionSettings {
     new RegionSettings(name, keyExtractor)
 
 }
+
+/**
+ * Settings for `Geode.flowBatched`, which writes batches of elements with a single `putAll` call.
+ *
+ * A batch is written when it contains `maxBatchSize` elements, when the sizes of its elements reach
+ * `maxBatchBytes` or when `maxBatchWait` has passed since the first element of the batch arrived.
+ */
+final class GeodeBatchSettings[V] private (val maxBatchSize: Int,
+                                           val maxBatchWait: FiniteDuration,
+                                           val maxBatchBytes: Long,
+                                           val elementSize: V => Long) {
+  require(maxBatchSize > 0, s"Invalid value for maxBatchSize: $maxBatchSize. It should be > 0.")
+  require(maxBatchBytes > 0, s"Invalid value for maxBatchBytes: $maxBatchBytes. It should be > 0.")
+
+  def withMaxBatchSize(maxBatchSize: Int): GeodeBatchSettings[V] = copy(maxBatchSize = maxBatchSize)
+
+  def withMaxBatchWait(maxBatchWait: FiniteDuration): GeodeBatchSettings[V] = copy(maxBatchWait = maxBatchWait)
+
+  /**
+   * Java API
+   */
+  def withMaxBatchWait(maxBatchWait: java.time.Duration): GeodeBatchSettings[V] =
+    copy(maxBatchWait = maxBatchWait.toScala)
+
+  /**
+   * Scala API, see `GeodeBatchSettings.create` with `maxBatchBytes` for the Java API.
+   *
+   * @param maxBatchBytes the maximum sum of element sizes in a batch
+   * @param elementSize a function estimating the serialized size of an element in bytes
+   */
+  def withMaxBatchBytes(maxBatchBytes: Long, elementSize: V => Long): GeodeBatchSettings[V] =
+    copy(maxBatchBytes = maxBatchBytes, elementSize = elementSize)
+
+  private def copy(maxBatchSize: Int = maxBatchSize,
+                   maxBatchWait: FiniteDuration = maxBatchWait,
+                   maxBatchBytes: Long = maxBatchBytes,
+                   elementSize: V => Long = elementSize) =
+    new GeodeBatchSettings(maxBatchSize, maxBatchWait, maxBatchBytes, elementSize)
+
+  override def toString: String =
+    "GeodeBatchSettings(" +
+    s"maxBatchSize=$maxBatchSize," +
+    s"maxBatchWait=$maxBatchWait," +
+    s"maxBatchBytes=$maxBatchBytes" +
+    ")"
+}
+
+object GeodeBatchSettings {
+
+  def apply[V](maxBatchSize: Int = 100, maxBatchWait: FiniteDuration = 100.millis): GeodeBatchSettings[V] =
+    new GeodeBatchSettings(maxBatchSize, maxBatchWait, Long.MaxValue, _ => 0L)
+
+  def create[V](maxBatchSize: Int, maxBatchWait: java.time.Duration): GeodeBatchSettings[V] =
+    apply(maxBatchSize, maxBatchWait.toScala)
+
+  /**
+   * Java API
+   *
+   * @param maxBatchBytes the maximum sum of element sizes in a batch
+   * @param elementSize a function estimating the serialized size of an element in bytes
+   */
+  def create[V](maxBatchSize: Int,
+                maxBatchWait: java.time.Duration,
+                maxBatchBytes: Long,
+                elementSize: akka.japi.function.Function[V, java.lang.Long]): GeodeBatchSettings[V] =
+    apply[V](maxBatchSize, maxBatchWait.toScala).withMaxBatchBytes(maxBatchBytes, v => elementSize.apply(v).longValue)
+
+}
@@ -22,6 +22,12 @@ private[geode] trait GeodeCapabilities[K, V] { this: StageLogging =>
 
   def put(v: V): Unit = region.put(regionSettings.keyExtractor(v), v)
 
+  def putAll(vs: Iterable[V]): Unit = {
+    val entries = new java.util.LinkedHashMap[K, V]()
+    vs.foreach(v => entries.put(regionSettings.keyExtractor(v), v))
+    region.putAll(entries)
+  }
+
   def close(): Unit =
     try {
       if (clientCache.isClosed)
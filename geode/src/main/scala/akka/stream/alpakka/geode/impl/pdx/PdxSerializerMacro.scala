@@ -0,0 +1,114 @@
+/*
+ * Copyright (C) since 2016 Lightbend Inc. <https://www.lightbend.com>
+ */
+
+package akka.stream.alpakka.geode.impl.pdx
+
+import akka.annotation.InternalApi
+import akka.stream.alpakka.geode.AkkaPdxSerializer
+
+import scala.reflect.macros.blackbox
+
+/**
+ * INTERNAL API
+ *
+ * Generates an [[AkkaPdxSerializer]] for a case class which reads and writes its fields one by one.
+ *
+ * Fields of primitive types, `String`, `java.util.Date`, `java.util.UUID` and arrays of primitives or strings are
+ * read and written with the matching `PdxReader`/`PdxWriter` call. Fields of other types use the implicit
+ * [[PdxEncoder]] and [[PdxDecoder]] for the field type, which are resolved at compile time.
+ */
+@InternalApi
+object PdxSerializerMacro { // macro implementations must be public
+
+  def derive[A <: AnyRef: c.WeakTypeTag](c: blackbox.Context): c.Expr[AkkaPdxSerializer[A]] = {
+    import c.universe._
+
+    val tpe = weakTypeOf[A]
+    val classSymbol = tpe.typeSymbol
+    if (!classSymbol.isClass || !classSymbol.asClass.isCaseClass)
+      c.abort(c.enclosingPosition, s"Cannot derive a PDX serializer for $tpe, it is not a case class")
+
+    val params = classSymbol.asClass.primaryConstructor.asMethod.paramLists.headOption.getOrElse(Nil)
+
+    final case class Field(name: String, accessor: TermName, tpe: Type)
+    val fields = params.map { param =>
+      val accessor = param.name.toTermName
+      Field(param.name.decodedName.toString, accessor, tpe.member(accessor).typeSignatureIn(tpe).finalResultType)
+    }
+
+    def is[T: TypeTag](fieldType: Type): Boolean = fieldType =:= typeOf[T]
+
+    def direct(field: Field, value: Tree): Option[(Tree, Tree)] = {
+      val name = field.name
+      val t = field.tpe
+      if (is[Boolean](t)) Some(q"out.writeBoolean($name, $value)" -> q"in.readBoolean($name)")
+      else if (is[Byte](t)) Some(q"out.writeByte($name, $value)" -> q"in.readByte($name)")
+      else if (is[Short](t)) Some(q"out.writeShort($name, $value)" -> q"in.readShort($name)")
+      else if (is[Int](t)) Some(q"out.writeInt($name, $value)" -> q"in.readInt($name)")
+      else if (is[Long](t)) Some(q"out.writeLong($name, $value)" -> q"in.readLong($name)")
+      else if (is[Float](t)) Some(q"out.writeFloat($name, $value)" -> q"in.readFloat($name)")
+      else if (is[Double](t)) Some(q"out.writeDouble($name, $value)" -> q"in.readDouble($name)")
+      else if (is[Char](t)) Some(q"out.writeChar($name, $value)" -> q"in.readChar($name)")
+      else if (is[String](t)) Some(q"out.writeString($name, $value)" -> q"in.readString($name)")
+      else if (is[java.util.Date](t)) Some(q"out.writeDate($name, $value)" -> q"in.readDate($name)")
+      else if (is[java.util.UUID](t))
+        Some(
+          q"out.writeString($name, $value.toString)" ->
+          q"_root_.java.util.UUID.fromString(in.readString($name))"
+        )
+      else if (is[Array[Boolean]](t)) Some(q"out.writeBooleanArray($name, $value)" -> q"in.readBooleanArray($name)")
+      else if (is[Array[Byte]](t)) Some(q"out.writeByteArray($name, $value)" -> q"in.readByteArray($name)")
+      else if (is[Array[Int]](t)) Some(q"out.writeIntArray($name, $value)" -> q"in.readIntArray($name)")
+      else if (is[Array[Long]](t)) Some(q"out.writeLongArray($name, $value)" -> q"in.readLongArray($name)")
+      else if (is[Array[Float]](t)) Some(q"out.writeFloatArray($name, $value)" -> q"in.readFloatArray($name)")
+      else if (is[Array[Double]](t)) Some(q"out.writeDoubleArray($name, $value)" -> q"in.readDoubleArray($name)")
+      else if (is[Array[Char]](t)) Some(q"out.writeCharArray($name, $value)" -> q"in.readCharArray($name)")
+      else if (is[Array[String]](t)) Some(q"out.writeStringArray($name, $value)" -> q"in.readStringArray($name)")
+      else None
+    }
+
+    def implicitCodec(typeClass: Type, field: Field): Tree = {
+      val codecType = appliedType(typeClass.typeConstructor, field.tpe)
+      val codec = c.inferImplicitValue(codecType)
+      if (codec.isEmpty)
+        c.abort(c.enclosingPosition, s"No implicit $codecType found for field ${field.name} of $tpe")
+      codec
+    }
+
+    val codecs = List.newBuilder[Tree]
+    val (writes, reads) = fields.zipWithIndex.map {
+      case (field, index) =>
+        val value = q"value.${field.accessor}"
+        direct(field, value).getOrElse {
+          val encoder = TermName(s"encoder$$$index")
+          val decoder = TermName(s"decoder$$$index")
+          val symbol = TermName(s"symbol$$$index")
+          codecs += q"private[this] val $encoder = ${implicitCodec(typeOf[PdxEncoder[Any]], field)}"
+          codecs += q"private[this] val $decoder = ${implicitCodec(typeOf[PdxDecoder[Any]], field)}"
+          codecs += q"private[this] val $symbol = _root_.scala.Symbol(${field.name})"
+          q"$encoder.encode(out, $value, $symbol)" -> q"$decoder.decode(in, $symbol).get"
+        }
+    }.unzip
+
+    c.Expr[AkkaPdxSerializer[A]](q"""
+      new _root_.akka.stream.alpakka.geode.AkkaPdxSerializer[$tpe] {
+        ..${codecs.result()}
+
+        override def clazz: _root_.java.lang.Class[$tpe] = _root_.scala.Predef.classOf[$tpe]
+
+        override def toData(o: _root_.scala.Any, out: _root_.org.apache.geode.pdx.PdxWriter): _root_.scala.Boolean =
+          if (clazz.isInstance(o)) {
+            val value = o.asInstanceOf[$tpe]
+            ..$writes
+            true
+          } else false
+
+        override def fromData(clazz: _root_.java.lang.Class[_],
+                              in: _root_.org.apache.geode.pdx.PdxReader): _root_.scala.AnyRef =
+          try new $tpe(..$reads)
+          catch { case _root_.scala.util.control.NonFatal(_) => null }
+      }
+    """)
+  }
+}
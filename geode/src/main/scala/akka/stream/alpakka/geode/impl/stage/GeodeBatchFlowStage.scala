@@ -0,0 +1,81 @@
+/*
+ * Copyright (C) since 2016 Lightbend Inc. <https://www.lightbend.com>
+ */
+
+package akka.stream.alpakka.geode.impl.stage
+
+import akka.NotUsed
+import akka.annotation.InternalApi
+import akka.stream._
+import akka.stream.alpakka.geode.{GeodeBatchSettings, RegionSettings}
+import akka.stream.alpakka.geode.impl.GeodeCapabilities
+import akka.stream.scaladsl.Flow
+import akka.stream.stage._
+import org.apache.geode.cache.client.ClientCache
+
+import scala.collection.immutable
+
+/**
+ * Writes each incoming batch with a single `putAll` call and emits the batch afterwards.
+ */
+@InternalApi
+private[geode] class GeodeBatchFlowStage[K, T <: AnyRef](cache: ClientCache, settings: RegionSettings[K, T])
+    extends GraphStage[FlowShape[immutable.Seq[T], immutable.Seq[T]]] {
+
+  override protected def initialAttributes: Attributes =
+    super.initialAttributes and Attributes.name("GeodeBatchFlow") and ActorAttributes.IODispatcher
+
+  private val in = Inlet[immutable.Seq[T]]("geode.in")
+  private val out = Outlet[immutable.Seq[T]]("geode.out")
+
+  override val shape = FlowShape(in, out)
+
+  override def createLogic(inheritedAttributes: Attributes): GraphStageLogic =
+    new GraphStageLogic(shape) with StageLogging with GeodeCapabilities[K, T] {
+
+      override protected def logSource = classOf[GeodeBatchFlowStage[K, T]]
+
+      val regionSettings = settings
+
+      val clientCache = cache
+
+      setHandler(out, new OutHandler {
+        override def onPull() =
+          pull(in)
+      })
+
+      setHandler(in, new InHandler {
+        override def onPush() = {
+          val batch = grab(in)
+
+          putAll(batch)
+
+          push(out, batch)
+        }
+
+      })
+
+      override def postStop() = {
+        log.debug("Stage completed")
+        close()
+      }
+    }
+
+}
+
+@InternalApi
+private[geode] object GeodeBatchFlowStage {
+
+  /**
+   * Groups elements by count, size and time and writes every group with a single `putAll` call.
+   */
+  def flow[K, T <: AnyRef](cache: ClientCache,
+                           settings: RegionSettings[K, T],
+                           batchSettings: GeodeBatchSettings[T]): Flow[T, T, NotUsed] =
+    Flow[T]
+      .groupedWeightedWithin(batchSettings.maxBatchBytes, batchSettings.maxBatchSize, batchSettings.maxBatchWait)(
+        batchSettings.elementSize
+      )
+      .via(new GeodeBatchFlowStage[K, T](cache, settings))
+      .mapConcat(identity)
+}
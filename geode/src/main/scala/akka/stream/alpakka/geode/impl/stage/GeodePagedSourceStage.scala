@@ -0,0 +1,76 @@
+/*
+ * Copyright (C) since 2016 Lightbend Inc. <https://www.lightbend.com>
+ */
+
+package akka.stream.alpakka.geode.impl.stage
+
+import akka.Done
+import akka.annotation.InternalApi
+import akka.stream.stage._
+import akka.stream.{ActorAttributes, Attributes, Outlet, SourceShape}
+import org.apache.geode.cache.client.ClientCache
+import org.apache.geode.cache.query.SelectResults
+
+import scala.concurrent.{Future, Promise}
+import scala.util.control.NonFatal
+
+/**
+ * Runs a query page by page: every page is requested with the cursor of the last element of the previous page as
+ * the query's `$1` parameter and limited to `pageSize` elements. A page is only requested once the previous page
+ * has been emitted, so at most one page is held in memory.
+ */
+@InternalApi
+private[geode] class GeodePagedSourceStage[V](cache: ClientCache,
+                                              query: String,
+                                              pageSize: Int,
+                                              initialCursor: AnyRef,
+                                              cursor: V => AnyRef)
+    extends GraphStageWithMaterializedValue[SourceShape[V], Future[Done]] {
+  require(pageSize > 0, "pageSize must be positive")
+
+  override protected def initialAttributes: Attributes =
+    super.initialAttributes and Attributes.name("GeodePagedSource") and ActorAttributes.IODispatcher
+
+  val out = Outlet[V]("geode.pagedSource")
+
+  override def shape: SourceShape[V] = SourceShape.of(out)
+
+  override def createLogicAndMaterializedValue(inheritedAttributes: Attributes): (GraphStageLogic, Future[Done]) = {
+    val subPromise = Promise[Done]()
+
+    (new GraphStageLogic(shape) with OutHandler with StageLogging {
+
+      private lazy val pageQuery = cache.getQueryService().newQuery(s"$query LIMIT $pageSize")
+
+      private var page: java.util.Iterator[V] = java.util.Collections.emptyIterator()
+      private var lastPage = false
+      private var currentCursor = initialCursor
+
+      override def onPull(): Unit = {
+        if (!page.hasNext && !lastPage) fetchPage()
+        if (page.hasNext) {
+          val element = page.next()
+          if (!page.hasNext) currentCursor = cursor(element)
+          push(out, element)
+        } else if (!isClosed(out)) completeStage()
+      }
+
+      private def fetchPage(): Unit =
+        try {
+          val results = pageQuery.execute(currentCursor).asInstanceOf[SelectResults[V]]
+          lastPage = results.size < pageSize
+          page = results.iterator()
+          if (!subPromise.isCompleted) subPromise.success(Done)
+          log.debug("Fetched a page of {} elements", results.size)
+        } catch {
+          case NonFatal(e) =>
+            subPromise.tryFailure(e)
+            failStage(e)
+        }
+
+      override def postStop(): Unit = subPromise.trySuccess(Done)
+
+      setHandler(out, this)
+    }, subPromise.future)
+  }
+}
@@ -6,8 +6,14 @@ package akka.stream.alpakka.geode.scaladsl
 
 import akka.stream.alpakka.geode.impl._
 import akka.stream.alpakka.geode.impl.pdx.{PdxDecoder, PdxEncoder, ShapelessPdxSerializer}
-import akka.stream.alpakka.geode.impl.stage.{GeodeContinuousSourceStage, GeodeFiniteSourceStage, GeodeFlowStage}
-import akka.stream.alpakka.geode.{AkkaPdxSerializer, GeodeSettings, RegionSettings}
+import akka.stream.alpakka.geode.impl.stage.{
+  GeodeBatchFlowStage,
+  GeodeContinuousSourceStage,
+  GeodeFiniteSourceStage,
+  GeodeFlowStage,
+  GeodePagedSourceStage
+}
+import akka.stream.alpakka.geode.{AkkaPdxSerializer, GeodeBatchSettings, GeodeSettings, RegionSettings}
 import akka.stream.scaladsl.{Flow, Keep, Sink, Source}
 import akka.{Done, NotUsed}
 import org.apache.geode.cache.client.ClientCacheFactory
@@ -43,6 +49,40 @@ class Geode(settings: GeodeSettings) extends GeodeCache(settings) {
   def sink[K, V <: AnyRef](settings: RegionSettings[K, V], serializer: AkkaPdxSerializer[V]): Sink[V, Future[Done]] =
     Flow[V].via(flow(settings, serializer)).toMat(Sink.ignore)(Keep.right)
 
+  /**
+   * Runs a query page by page, so that large result sets are never held in memory at once.
+   *
+   * The query must use the `$1` parameter to select the elements after a cursor and order its results by that
+   * cursor, e.g. `select * from /persons p where p.id > $1 order by p.id`. Each page is limited to `pageSize`
+   * elements, and the next page is requested with the cursor of the last element of the previous page.
+   *
+   * @param initialCursor the cursor to select the first page with
+   * @param cursor extracts the cursor from an element
+   */
+  def pagedQuery[V <: AnyRef](query: String,
+                              pageSize: Int,
+                              initialCursor: AnyRef,
+                              cursor: V => AnyRef,
+                              serializer: AkkaPdxSerializer[V]): Source[V, Future[Done]] = {
+
+    registerPDXSerializer(serializer, serializer.clazz)
+
+    Source.fromGraph(new GeodePagedSourceStage[V](cache, query, pageSize, initialCursor, cursor))
+  }
+
+  /**
+   * A flow which writes elements in batches with a single `putAll` call per batch, instead of one `put` per element.
+   * The elements are emitted after their batch has been written.
+   */
+  def flowBatched[K, V <: AnyRef](settings: RegionSettings[K, V],
+                                  batchSettings: GeodeBatchSettings[V],
+                                  serializer: AkkaPdxSerializer[V]): Flow[V, V, NotUsed] = {
+
+    registerPDXSerializer(serializer, serializer.clazz)
+
+    GeodeBatchFlowStage.flow(cache, settings, batchSettings)
+  }
+
   /**
    * Shapeless powered implicit serializer.
    */
@@ -75,6 +115,33 @@ class Geode(settings: GeodeSettings) extends GeodeCache(settings) {
   )(implicit tag: ClassTag[V], enc: PdxEncoder[V], dec: PdxDecoder[V]): Sink[V, Future[Done]] =
     Flow[V].via(flow(settings)).toMat(Sink.ignore)(Keep.right)
 
+  /**
+   * Shapeless powered implicit serializer.
+   */
+  def pagedQuery[V <: AnyRef](query: String, pageSize: Int, initialCursor: AnyRef, cursor: V => AnyRef)(
+      implicit tag: ClassTag[V],
+      enc: PdxEncoder[V],
+      dec: PdxDecoder[V]
+  ): Source[V, Future[Done]] = {
+
+    registerPDXSerializer(new ShapelessPdxSerializer[V](enc, dec), tag.runtimeClass)
+
+    Source.fromGraph(new GeodePagedSourceStage[V](cache, query, pageSize, initialCursor, cursor))
+  }
+
+  /**
+   * Shapeless powered implicit serializer.
+   */
+  def flowBatched[K, V <: AnyRef](
+      settings: RegionSettings[K, V],
+      batchSettings: GeodeBatchSettings[V]
+  )(implicit tag: ClassTag[V], enc: PdxEncoder[V], dec: PdxDecoder[V]): Flow[V, V, NotUsed] = {
+
+    registerPDXSerializer(new ShapelessPdxSerializer[V](enc, dec), tag.runtimeClass)
+
+    GeodeBatchFlowStage.flow(cache, settings, batchSettings)
+  }
+
 }
 
 trait PoolSubscription extends Geode {
@@ -7,11 +7,17 @@ package docs.javadsl;
 import akka.Done;
 import akka.stream.alpakka.geode.javadsl.Geode;
 import akka.stream.alpakka.testkit.javadsl.LogCapturingJunit4;
+import akka.stream.javadsl.Sink;
 import org.junit.Rule;
 import org.junit.Test;
 
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ExecutionException;
+import java.util.stream.Collectors;
 
 public class GeodeFiniteSourceTestCase extends GeodeBaseTestCase {
   @Rule public final LogCapturingJunit4 logCapturing = new LogCapturingJunit4();
@@ -46,4 +52,35 @@ public class GeodeFiniteSourceTestCase extends GeodeBaseTestCase {
     animalsDone.toCompletableFuture().get();
     geode.close();
   }
+
+  @Test
+  public void pagedQueryTest() throws ExecutionException, InterruptedException {
+
+    Geode geode = createGeodeClient();
+
+    buildPersonsSource(901, 902, 903, 904, 905, 906, 907, 908, 909, 910)
+        .via(geode.flow(personRegionSettings, new PersonPdxSerializer()))
+        .runWith(Sink.ignore(), system)
+        .toCompletableFuture()
+        .get();
+
+    // #paged-query
+    CompletionStage<List<Person>> persons =
+        geode
+            .pagedQuery(
+                "select * from /persons p where p.id > $1 and p.id <= 910 order by p.id",
+                3,
+                900,
+                Person::getId,
+                new PersonPdxSerializer())
+            .runWith(Sink.seq(), system);
+    // #paged-query
+
+    List<Integer> ids =
+        persons.toCompletableFuture().get().stream()
+            .map(Person::getId)
+            .collect(Collectors.toList());
+    assertEquals(Arrays.asList(901, 902, 903, 904, 905, 906, 907, 908, 909, 910), ids);
+    geode.close();
+  }
 }
@@ -5,6 +5,7 @@
 package docs.javadsl;
 
 import akka.NotUsed;
+import akka.stream.alpakka.geode.GeodeBatchSettings;
 import akka.stream.alpakka.geode.javadsl.Geode;
 import akka.stream.alpakka.testkit.javadsl.LogCapturingJunit4;
 import akka.stream.javadsl.Flow;
@@ -14,6 +15,9 @@ import akka.stream.javadsl.Source;
 import org.junit.Rule;
 import org.junit.Test;
 
+import static org.junit.Assert.assertEquals;
+
+import java.time.Duration;
 import java.util.List;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ExecutionException;
@@ -40,4 +44,28 @@ public class GeodeFlowTestCase extends GeodeBaseTestCase {
 
     geode.close();
   }
+
+  @Test
+  public void flowBatched() throws ExecutionException, InterruptedException {
+
+    Geode geode = createGeodeClient();
+
+    Source<Person, NotUsed> source = buildPersonsSource(120, 121, 123, 124, 125);
+
+    // #flow-batched
+    GeodeBatchSettings<Person> batchSettings =
+        GeodeBatchSettings.<Person>create(
+            100, Duration.ofMillis(50), 64 * 1024, person -> 64L + person.getName().length());
+
+    Flow<Person, Person, NotUsed> flow =
+        geode.flowBatched(personRegionSettings, batchSettings, new PersonPdxSerializer());
+
+    CompletionStage<List<Person>> run =
+        source.via(flow).toMat(Sink.seq(), Keep.right()).run(system);
+    // #flow-batched
+
+    assertEquals(5, run.toCompletableFuture().get().size());
+
+    geode.close();
+  }
 }
@@ -0,0 +1,86 @@
+/*
+ * Copyright (C) since 2016 Lightbend Inc. <https://www.lightbend.com>
+ */
+
+package akka.stream.alpakka.geode.impl.pdx
+
+import java.util.{Date, UUID}
+
+import akka.stream.alpakka.geode.AkkaPdxSerializer
+import akka.stream.alpakka.geode.impl.pdx.PdxMocks.{RecordedReader, RecordingWriter}
+import org.scalatest.matchers.should.Matchers
+import org.scalatest.wordspec.AnyWordSpec
+
+case class Derived(id: Int,
+                   name: String,
+                   flag: Boolean,
+                   amount: Double,
+                   count: Long,
+                   initial: Char,
+                   born: Date,
+                   uuid: UUID,
+                   scores: Array[Int],
+                   tags: List[String],
+                   ids: Set[UUID])
+
+case class NotDerivable(name: String, nested: Option[String])
+
+class PdxSerializerDeriveSpec extends AnyWordSpec with Matchers {
+
+  "Derived PDX serializer" should {
+
+    "write fields one by one and read them back" in {
+      val serializer = AkkaPdxSerializer.derive[Derived]
+      val value = Derived(1,
+                          "name",
+                          flag = true,
+                          1.5,
+                          Long.MaxValue,
+                          'x',
+                          new Date(0),
+                          UUID.randomUUID(),
+                          Array(1, 2),
+                          List("a", "b"),
+                          Set(UUID.randomUUID()))
+
+      val writer = new RecordingWriter
+      serializer.toData(value, writer) shouldBe true
+      writer.fields("id") shouldBe 1
+      writer.fields("uuid") shouldBe value.uuid.toString
+      writer.fields.keySet shouldBe Set("id",
+                                        "name",
+                                        "flag",
+                                        "amount",
+                                        "count",
+                                        "initial",
+                                        "born",
+                                        "uuid",
+                                        "scores",
+                                        "tags",
+                                        "ids")
+
+      val read = serializer.fromData(classOf[Derived], new RecordedReader(writer.fields)).asInstanceOf[Derived]
+      read.copy(scores = value.scores) shouldBe value
+      read.scores.toList shouldBe value.scores.toList
+    }
+
+    "write the same fields as the shapeless serializer" in {
+      val derived = new RecordingWriter
+      val shapeless = new RecordingWriter
+      val value = Derived(1, "n", flag = false, 0, 0, 'c', new Date(), UUID.randomUUID(), Array(), Nil, Set())
+
+      AkkaPdxSerializer.derive[Derived].toData(value, derived)
+      new ShapelessPdxSerializer[Derived](PdxEncoder[Derived], PdxDecoder[Derived]).toData(value, shapeless)
+
+      derived.fields.keySet shouldBe shapeless.fields.keySet
+    }
+
+    "reject other classes" in {
+      AkkaPdxSerializer.derive[Derived].toData("not derived", new RecordingWriter) shouldBe false
+    }
+
+    "not compile without codecs for a field type" in {
+      "AkkaPdxSerializer.derive[NotDerivable]" shouldNot compile
+    }
+  }
+}
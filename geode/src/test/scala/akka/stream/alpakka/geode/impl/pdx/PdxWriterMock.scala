@@ -6,7 +6,9 @@ package akka.stream.alpakka.geode.impl.pdx
 
 import java.util.Date
 
-import org.apache.geode.pdx.{PdxUnreadFields, PdxWriter}
+import org.apache.geode.pdx.{PdxReader, PdxUnreadFields, PdxWriter}
+
+import scala.collection.mutable
 
 object PdxMocks {
 
@@ -80,4 +82,78 @@ object PdxMocks {
   }
 
   implicit val writerMock: WriterMock = new WriterMock()
+
+  /**
+   * Keeps written fields in memory, to be read by a [[RecordedReader]].
+   */
+  class RecordingWriter extends PdxWriter {
+    val fields = mutable.Map.empty[String, Any]
+
+    private def record(fieldName: String, value: Any) = { fields.update(fieldName, value); this }
+
+    override def writeChar(fieldName: String, value: Char) = record(fieldName, value)
+    override def writeBoolean(fieldName: String, value: Boolean) = record(fieldName, value)
+    override def writeByte(fieldName: String, value: Byte) = record(fieldName, value)
+    override def writeShort(fieldName: String, value: Short) = record(fieldName, value)
+    override def writeInt(fieldName: String, value: Int) = record(fieldName, value)
+    override def writeLong(fieldName: String, value: Long) = record(fieldName, value)
+    override def writeFloat(fieldName: String, value: Float) = record(fieldName, value)
+    override def writeDouble(fieldName: String, value: Double) = record(fieldName, value)
+    override def writeDate(fieldName: String, value: Date) = record(fieldName, value)
+    override def writeString(fieldName: String, value: String) = record(fieldName, value)
+    override def writeObject(fieldName: String, value: scala.Any) = record(fieldName, value)
+    override def writeObject(fieldName: String, value: scala.Any, checkPortability: Boolean) = record(fieldName, value)
+    override def writeBooleanArray(fieldName: String, value: Array[Boolean]) = record(fieldName, value)
+    override def writeCharArray(fieldName: String, value: Array[Char]) = record(fieldName, value)
+    override def writeByteArray(fieldName: String, value: Array[Byte]) = record(fieldName, value)
+    override def writeShortArray(fieldName: String, value: Array[Short]) = record(fieldName, value)
+    override def writeIntArray(fieldName: String, value: Array[Int]) = record(fieldName, value)
+    override def writeLongArray(fieldName: String, value: Array[Long]) = record(fieldName, value)
+    override def writeFloatArray(fieldName: String, value: Array[Float]) = record(fieldName, value)
+    override def writeDoubleArray(fieldName: String, value: Array[Double]) = record(fieldName, value)
+    override def writeStringArray(fieldName: String, value: Array[String]) = record(fieldName, value)
+    override def writeObjectArray(fieldName: String, value: Array[AnyRef]) = record(fieldName, value)
+    override def writeObjectArray(fieldName: String, value: Array[AnyRef], checkPortability: Boolean) =
+      record(fieldName, value)
+    override def writeArrayOfByteArrays(fieldName: String, value: Array[Array[Byte]]) = record(fieldName, value)
+    override def writeField[CT, VT <: CT](fieldName: String, fieldValue: VT, fieldType: Class[CT]) =
+      record(fieldName, fieldValue)
+    override def writeField[CT, VT <: CT](fieldName: String,
+                                          fieldValue: VT,
+                                          fieldType: Class[CT],
+                                          checkPortability: Boolean) = record(fieldName, fieldValue)
+    override def writeUnreadFields(unread: PdxUnreadFields) = this
+    override def markIdentityField(fieldName: String) = this
+  }
+
+  class RecordedReader(fields: collection.Map[String, Any]) extends PdxReader {
+    private def read[T](fieldName: String): T = fields(fieldName).asInstanceOf[T]
+
+    override def readChar(fieldName: String) = read[Char](fieldName)
+    override def readBoolean(fieldName: String) = read[Boolean](fieldName)
+    override def readByte(fieldName: String) = read[Byte](fieldName)
+    override def readShort(fieldName: String) = read[Short](fieldName)
+    override def readInt(fieldName: String) = read[Int](fieldName)
+    override def readLong(fieldName: String) = read[Long](fieldName)
+    override def readFloat(fieldName: String) = read[Float](fieldName)
+    override def readDouble(fieldName: String) = read[Double](fieldName)
+    override def readString(fieldName: String) = read[String](fieldName)
+    override def readObject(fieldName: String) = read[AnyRef](fieldName)
+    override def readBooleanArray(fieldName: String) = read[Array[Boolean]](fieldName)
+    override def readCharArray(fieldName: String) = read[Array[Char]](fieldName)
+    override def readByteArray(fieldName: String) = read[Array[Byte]](fieldName)
+    override def readShortArray(fieldName: String) = read[Array[Short]](fieldName)
+    override def readIntArray(fieldName: String) = read[Array[Int]](fieldName)
+    override def readLongArray(fieldName: String) = read[Array[Long]](fieldName)
+    override def readFloatArray(fieldName: String) = read[Array[Float]](fieldName)
+    override def readDoubleArray(fieldName: String) = read[Array[Double]](fieldName)
+    override def readStringArray(fieldName: String) = read[Array[String]](fieldName)
+    override def readObjectArray(fieldName: String) = read[Array[AnyRef]](fieldName)
+    override def readArrayOfByteArrays(fieldName: String) = read[Array[Array[Byte]]](fieldName)
+    override def readDate(fieldName: String) = read[Date](fieldName)
+    override def hasField(fieldName: String) = fields.contains(fieldName)
+    override def isIdentityField(fieldName: String) = false
+    override def readField(fieldName: String) = read[AnyRef](fieldName)
+    override def readUnreadFields() = null
+  }
 }
@@ -8,7 +8,8 @@ import akka.stream.alpakka.geode.scaladsl.Geode
 import akka.stream.scaladsl.Sink
 import org.slf4j.LoggerFactory
 
-import scala.concurrent.Await
+import scala.collection.immutable
+import scala.concurrent.{Await, Future}
 import scala.concurrent.duration.DurationInt
 import scala.language.postfixOps
 
@@ -46,6 +47,29 @@ class GeodeFiniteSourceSpec extends GeodeBaseSpec {
 
         geode.close()
       }
+
+      "retrieves elements from geode page by page" in {
+        val geode = new Geode(geodeSettings)
+        system.registerOnTermination(geode.close())
+
+        // ids above those written by the other tests, spread over four pages
+        val written = buildPersonsSource(1001 to 1010).via(geode.flow(personsRegionSettings)).runWith(Sink.ignore)
+        Await.ready(written, 10 seconds)
+
+        //#paged-query
+        val persons: Future[immutable.Seq[Person]] =
+          geode
+            .pagedQuery[Person]("select * from /persons p where p.id > $1 order by p.id",
+                                pageSize = 3,
+                                initialCursor = Int.box(1000),
+                                cursor = (p: Person) => Int.box(p.id))
+            .runWith(Sink.seq)
+        //#paged-query
+
+        Await.result(persons, 10 seconds).map(_.id) shouldBe (1001 to 1010)
+
+        geode.close()
+      }
     }
   }
 }
@@ -5,7 +5,7 @@
 package docs.scaladsl
 
 import akka.NotUsed
-import akka.stream.alpakka.geode.GeodeSettings
+import akka.stream.alpakka.geode.{AkkaPdxSerializer, GeodeBatchSettings, GeodeSettings}
 import akka.stream.alpakka.geode.scaladsl.Geode
 import akka.stream.scaladsl.{Flow, Sink}
 
@@ -46,6 +46,22 @@ class GeodeFlowSpec extends GeodeBaseSpec {
         geode.close()
       }
 
+      "batched flow with shapeless pdx serializer" in {
+        val geode = new Geode(geodeSettings)
+        val source = buildPersonsSource(1 to 250)
+
+        //#flow-batched
+        val batchSettings = GeodeBatchSettings[Person](maxBatchSize = 100, maxBatchWait = 50.millis)
+          .withMaxBatchBytes(64 * 1024, person => 64L + person.name.length)
+
+        val flow: Flow[Person, Person, NotUsed] = geode.flowBatched(personsRegionSettings, batchSettings)
+
+        val fut = source.via(flow).runWith(Sink.seq)
+        //#flow-batched
+        Await.result(fut, 10 seconds).map(_.id) shouldBe (1 to 250)
+        geode.close()
+      }
+
       "flow with explicit pdx serializer" in {
         val geode = new Geode(geodeSettings)
         val source = buildPersonsSource(1 to 20)
@@ -54,6 +70,20 @@ class GeodeFlowSpec extends GeodeBaseSpec {
         Await.ready(fut, 10 seconds)
         geode.close()
       }
+
+      "flow with derived pdx serializer" in {
+        val geode = new Geode(geodeSettings)
+        val source = buildPersonsSource(1 to 20)
+
+        //#derived-pdx-serializer
+        val serializer: AkkaPdxSerializer[Person] = AkkaPdxSerializer.derive[Person]
+
+        val flow: Flow[Person, Person, NotUsed] = geode.flow(personsRegionSettings, serializer)
+        //#derived-pdx-serializer
+        val fut = source.via(flow).runWith(Sink.seq)
+        Await.result(fut, 10 seconds).map(_.id) shouldBe (1 to 20)
+        geode.close()
+      }
     }
   }
 }
@@ -0,0 +1,36 @@
+/*
+ * Copyright (C) since 2016 Lightbend Inc. <https://www.lightbend.com>
+ */
+
+package akka.stream.alpakka.googlecloud.bigquery.storage
+
+import java.util.concurrent.atomic.AtomicBoolean
+
+import akka.annotation.InternalApi
+import akka.stream.alpakka.googlecloud.bigquery.storage.impl.ArrowRootPool
+import org.apache.arrow.vector.{FieldVector, VectorSchemaRoot}
+
+/**
+ * One Arrow record batch loaded into column vectors.
+ *
+ * The vectors are borrowed from a bounded pool and must be returned by calling [[close]] once the batch has been
+ * processed. A stream reading a session stream emits at most as many batches as its pool holds before the
+ * earlier ones are closed.
+ */
+final class ArrowColumnarBatch @InternalApi private[storage] (val root: VectorSchemaRoot, pool: ArrowRootPool)
+    extends AutoCloseable {
+
+  private val released = new AtomicBoolean(false)
+
+  /** Java API */
+  def getRoot: VectorSchemaRoot = root
+
+  def rowCount: Int = root.getRowCount
+
+  def vector(name: String): FieldVector = root.getVector(name)
+
+  /** Return the vectors to the pool, they must not be accessed after this. */
+  override def close(): Unit =
+    if (released.compareAndSet(false, true)) pool.release(root)
+
+}
@@ -0,0 +1,33 @@
+/*
+ * Copyright (C) since 2016 Lightbend Inc. <https://www.lightbend.com>
+ */
+
+package akka.stream.alpakka.googlecloud.bigquery.storage
+
+/**
+ * The order in which the rows of the streams of a read session are merged into one stream.
+ */
+sealed abstract class StreamMergeOrder
+
+object StreamMergeOrder {
+
+  /** Emit rows as soon as any stream has decoded them. */
+  case object Arrival extends StreamMergeOrder
+
+  /** Emit all rows of the first stream, then all rows of the second stream, and so on. */
+  case object StreamByStream extends StreamMergeOrder
+
+  /** Take `segmentSize` rows from every stream in turn. */
+  final case class RoundRobin(segmentSize: Int) extends StreamMergeOrder {
+    require(segmentSize > 0, "segmentSize must be positive")
+  }
+
+  /** Java API */
+  def arrival: StreamMergeOrder = Arrival
+
+  /** Java API */
+  def streamByStream: StreamMergeOrder = StreamByStream
+
+  /** Java API */
+  def roundRobin(segmentSize: Int): StreamMergeOrder = RoundRobin(segmentSize)
+}
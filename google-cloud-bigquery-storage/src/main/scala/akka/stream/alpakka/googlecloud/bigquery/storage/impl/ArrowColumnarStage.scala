@@ -0,0 +1,77 @@
+/*
+ * Copyright (C) since 2016 Lightbend Inc. <https://www.lightbend.com>
+ */
+
+package akka.stream.alpakka.googlecloud.bigquery.storage.impl
+
+import java.nio.channels.Channels
+
+import akka.annotation.InternalApi
+import akka.stream.alpakka.googlecloud.bigquery.storage.ArrowColumnarBatch
+import akka.stream.stage.{GraphStage, GraphStageLogic, InHandler, OutHandler}
+import akka.stream.{Attributes, FlowShape, Inlet, Outlet}
+import com.google.cloud.bigquery.storage.v1.arrow.{ArrowRecordBatch, ArrowSchema}
+import org.apache.arrow.memory.RootAllocator
+import org.apache.arrow.vector.ipc.ReadChannel
+import org.apache.arrow.vector.ipc.message.MessageSerializer
+
+import scala.util.control.NonFatal
+
+/**
+ * Internal API
+ *
+ * Loads every serialized record batch into vectors borrowed from an [[ArrowRootPool]]. The serialized bytes are
+ * read straight from the protobuf `ByteString` into Arrow buffers. Upstream is only pulled while the pool has a
+ * free root, so at most `poolSize` batches are loaded at any time.
+ */
+@InternalApi
+private[storage] final class ArrowColumnarStage(schema: ArrowSchema, poolSize: Int, maxAllocation: Long)
+    extends GraphStage[FlowShape[ArrowRecordBatch, ArrowColumnarBatch]] {
+
+  private val in = Inlet[ArrowRecordBatch]("ArrowColumnar.in")
+  private val out = Outlet[ArrowColumnarBatch]("ArrowColumnar.out")
+
+  override val shape: FlowShape[ArrowRecordBatch, ArrowColumnarBatch] = FlowShape(in, out)
+
+  override def createLogic(inheritedAttributes: Attributes): GraphStageLogic =
+    new GraphStageLogic(shape) with InHandler with OutHandler {
+      private val allocator = new RootAllocator(maxAllocation)
+      private val pool = new ArrowRootPool(
+        MessageSerializer.deserializeSchema(
+          new ReadChannel(Channels.newChannel(schema.serializedSchema.newInput()))
+        ),
+        allocator,
+        poolSize
+      )
+
+      private val rootReleased = getAsyncCallback[Unit] { _ =>
+        if (isAvailable(out) && !hasBeenPulled(in) && !isClosed(in)) pull(in)
+      }
+
+      override def preStart(): Unit = pool.setOnRelease(() => rootReleased.invoke(()))
+
+      override def onPush(): Unit = {
+        val (root, loader) = pool.acquire()
+        val batch = new ArrowColumnarBatch(root, pool)
+        try {
+          val recordBatch = MessageSerializer.deserializeRecordBatch(
+            new ReadChannel(Channels.newChannel(grab(in).serializedRecordBatch.newInput())),
+            allocator
+          )
+          try loader.load(recordBatch)
+          finally recordBatch.close()
+        } catch {
+          case NonFatal(e) =>
+            batch.close()
+            throw e
+        }
+        push(out, batch)
+      }
+
+      override def onPull(): Unit = if (pool.hasFree) pull(in)
+
+      override def postStop(): Unit = pool.close()
+
+      setHandlers(in, out, this)
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright (C) since 2016 Lightbend Inc. <https://www.lightbend.com>
+ */
+
+package akka.stream.alpakka.googlecloud.bigquery.storage.impl
+
+import akka.annotation.InternalApi
+import org.apache.arrow.memory.BufferAllocator
+import org.apache.arrow.vector.{VectorLoader, VectorSchemaRoot}
+import org.apache.arrow.vector.types.pojo.Schema
+
+import scala.collection.mutable
+
+/**
+ * Internal API
+ *
+ * A fixed number of `VectorSchemaRoot`s allocated from one bounded allocator. Roots are cleared when they are
+ * released and loaded again with the next record batch. Roots may be released from any thread.
+ */
+@InternalApi
+private[storage] final class ArrowRootPool(schema: Schema, allocator: BufferAllocator, size: Int) {
+  require(size > 0, "the pool needs at least one root")
+
+  private val loaders = mutable.Map.empty[VectorSchemaRoot, VectorLoader]
+  private val free = mutable.Stack.empty[VectorSchemaRoot]
+  private var outstanding = 0
+  private var closed = false
+  @volatile private var onRelease: () => Unit = () => ()
+
+  def setOnRelease(listener: () => Unit): Unit = onRelease = listener
+
+  def hasFree: Boolean = synchronized(free.nonEmpty || loaders.size < size)
+
+  /** Borrow a root and its loader, only call when [[hasFree]] is true. */
+  def acquire(): (VectorSchemaRoot, VectorLoader) = synchronized {
+    require(!closed, "pool is closed")
+    val root =
+      if (free.nonEmpty) free.pop()
+      else {
+        val created = VectorSchemaRoot.create(schema, allocator)
+        loaders.put(created, new VectorLoader(created))
+        created
+      }
+    outstanding += 1
+    (root, loaders(root))
+  }
+
+  def release(root: VectorSchemaRoot): Unit = {
+    synchronized {
+      root.clear()
+      outstanding -= 1
+      if (closed) {
+        root.close()
+        if (outstanding == 0) allocator.close()
+      } else free.push(root)
+    }
+    onRelease()
+  }
+
+  /** Close all free roots, the allocator is closed once the last outstanding root is released. */
+  def close(): Unit = synchronized {
+    if (!closed) {
+      closed = true
+      free.foreach(_.close())
+      free.clear()
+      if (outstanding == 0) allocator.close()
+    }
+  }
+}
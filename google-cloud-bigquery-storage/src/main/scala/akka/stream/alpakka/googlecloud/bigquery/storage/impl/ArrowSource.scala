@@ -4,8 +4,10 @@
 
 package akka.stream.alpakka.googlecloud.bigquery.storage.impl
 
+import java.nio.channels.Channels
+
 import akka.NotUsed
-import akka.stream.alpakka.googlecloud.bigquery.storage.BigQueryRecord
+import akka.stream.alpakka.googlecloud.bigquery.storage.{ArrowColumnarBatch, BigQueryRecord}
 import akka.stream.scaladsl.Source
 import com.google.cloud.bigquery.storage.v1.arrow.{ArrowRecordBatch, ArrowSchema}
 import com.google.cloud.bigquery.storage.v1.storage.BigQueryReadClient
@@ -14,7 +16,6 @@ import org.apache.arrow.memory.RootAllocator
 import org.apache.arrow.vector.{VectorLoader, VectorSchemaRoot}
 import org.apache.arrow.vector.ipc.ReadChannel
 import org.apache.arrow.vector.ipc.message.MessageSerializer
-import org.apache.arrow.vector.util.ByteArrayReadableSeekableByteChannel
 
 import scala.collection.mutable
 import scala.collection.mutable.ListBuffer
@@ -39,6 +40,13 @@ object ArrowSource {
           .mapConcat(c => c)
       }
 
+  def readColumnar(client: BigQueryReadClient,
+                   session: ReadSession,
+                   batchesInFlight: Int,
+                   maxAllocation: Long): Seq[Source[ArrowColumnarBatch, NotUsed]] =
+    read(client, session)
+      .map(_.via(new ArrowColumnarStage(session.schema.arrowSchema.get, batchesInFlight, maxAllocation)))
+
   def read(client: BigQueryReadClient, session: ReadSession): Seq[Source[ArrowRecordBatch, NotUsed]] =
     SDKClientSource
       .read(client, session)
@@ -53,11 +61,7 @@ final class SimpleRowReader(val schema: ArrowSchema) extends AutoCloseable {
   val allocator = new RootAllocator(Long.MaxValue)
 
   val sd = MessageSerializer.deserializeSchema(
-    new ReadChannel(
-      new ByteArrayReadableSeekableByteChannel(
-        schema.serializedSchema.toByteArray
-      )
-    )
+    new ReadChannel(Channels.newChannel(schema.serializedSchema.newInput()))
   )
 
   val vec = sd.getFields.asScala.map(_.createVector(allocator))
@@ -65,12 +69,10 @@ final class SimpleRowReader(val schema: ArrowSchema) extends AutoCloseable {
   val loader = new VectorLoader(root)
 
   def read(batch: ArrowRecordBatch): List[BigQueryRecord] = {
-    val deserializedBatch = MessageSerializer.deserializeRecordBatch(new ReadChannel(
-                                                                       new ByteArrayReadableSeekableByteChannel(
-                                                                         batch.serializedRecordBatch.toByteArray
-                                                                       )
-                                                                     ),
-                                                                     allocator);
+    val deserializedBatch = MessageSerializer.deserializeRecordBatch(
+      new ReadChannel(Channels.newChannel(batch.serializedRecordBatch.newInput())),
+      allocator
+    )
     loader.load(deserializedBatch)
     deserializedBatch.close()
 
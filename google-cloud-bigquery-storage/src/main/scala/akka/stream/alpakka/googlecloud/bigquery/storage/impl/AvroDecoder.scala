@@ -10,7 +10,7 @@ import com.google.protobuf.ByteString
 import org.apache.avro.Schema
 import org.apache.avro.file.SeekableByteArrayInput
 import org.apache.avro.generic.{GenericDatumReader, GenericRecord}
-import org.apache.avro.io.DecoderFactory
+import org.apache.avro.io.{BinaryDecoder, DecoderFactory}
 
 import scala.collection.mutable
 import scala.collection.mutable.ListBuffer
@@ -48,6 +48,28 @@ import scala.collection.mutable.ListBuffer
 
     result.toList
   }
+
+  private var reusedDecoder: BinaryDecoder = _
+  private var reusedRecord: GenericRecord = _
+
+  /**
+   * Decode the rows lazily, reading from the `ByteString` without copying it, and reusing the binary decoder
+   * and the record instance for every row. `f` must copy whatever it needs from the record, as the record is
+   * overwritten by the next row.
+   *
+   * Not thread-safe, use one instance per stream materialization.
+   */
+  def decodeEach[T](avroRows: ByteString)(f: GenericRecord => T): Iterator[T] = {
+    reusedDecoder = DecoderFactory.get.binaryDecoder(avroRows.newInput(), reusedDecoder)
+    val decoder = reusedDecoder
+    new Iterator[T] {
+      override def hasNext: Boolean = !decoder.isEnd
+      override def next(): T = {
+        reusedRecord = datumReader.read(reusedRecord, decoder)
+        f(reusedRecord)
+      }
+    }
+  }
 }
 
 @InternalApi private[bigquery] object AvroDecoder {
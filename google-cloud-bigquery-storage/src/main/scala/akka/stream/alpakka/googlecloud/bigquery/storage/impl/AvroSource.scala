@@ -5,11 +5,13 @@
 package akka.stream.alpakka.googlecloud.bigquery.storage.impl
 
 import akka.NotUsed
-import akka.stream.alpakka.googlecloud.bigquery.storage.BigQueryRecord
-import akka.stream.scaladsl.Source
+import akka.stream.alpakka.googlecloud.bigquery.storage.{BigQueryRecord, StreamMergeOrder}
+import akka.stream.scaladsl.{Concat, Interleave, Merge, Source}
 import com.google.cloud.bigquery.storage.v1.avro.AvroRows
 import com.google.cloud.bigquery.storage.v1.storage.BigQueryReadClient
 import com.google.cloud.bigquery.storage.v1.stream.ReadSession
+import org.apache.avro.Schema
+import org.apache.avro.generic.GenericRecord
 
 object AvroSource {
 
@@ -34,6 +36,32 @@ object AvroSource {
           .mapConcat(c => c)
       }
 
+  def readMapped[T](client: BigQueryReadClient, session: ReadSession)(
+      f: GenericRecord => T
+  ): Seq[Source[T, NotUsed]] = {
+    val schema = new Schema.Parser().parse(session.schema.avroSchema.get.schema)
+    read(client, session)
+      .map(_.statefulMapConcat { () =>
+        val decoder = new AvroDecoder(schema)
+        rows => decoder.decodeEach(rows.serializedBinaryRows)(f)
+      })
+  }
+
+  def readMappedMerged[T](client: BigQueryReadClient, session: ReadSession, mergeOrder: StreamMergeOrder)(
+      f: GenericRecord => T
+  ): Source[T, NotUsed] =
+    readMapped(client, session)(f).map(_.async) match {
+      case Seq() => Source.empty
+      case Seq(single) => single
+      case Seq(first, second, rest @ _*) =>
+        mergeOrder match {
+          case StreamMergeOrder.Arrival => Source.combine(first, second, rest: _*)(Merge(_))
+          case StreamMergeOrder.StreamByStream => Source.combine(first, second, rest: _*)(Concat(_))
+          case StreamMergeOrder.RoundRobin(segmentSize) =>
+            Source.combine(first, second, rest: _*)(Interleave(_, segmentSize))
+        }
+    }
+
   def read(client: BigQueryReadClient, session: ReadSession): Seq[Source[AvroRows, NotUsed]] =
     SDKClientSource
       .read(client, session)
@@ -5,7 +5,7 @@
 package akka.stream.alpakka.googlecloud.bigquery.storage.javadsl
 
 import akka.NotUsed
-import akka.stream.alpakka.googlecloud.bigquery.storage.BigQueryRecord
+import akka.stream.alpakka.googlecloud.bigquery.storage.{ArrowColumnarBatch, BigQueryRecord}
 import akka.stream.javadsl.Source
 import com.google.cloud.bigquery.storage.v1.stream.ReadSession.TableReadOptions
 import akka.stream.alpakka.googlecloud.bigquery.storage.{scaladsl => scstorage}
@@ -198,4 +198,30 @@ object BigQueryArrowStorage {
       .asJava
       .mapMaterializedValue(_.asJava)
 
+  /**
+   * Read every stream of the session as Arrow column vectors, one [[ArrowColumnarBatch]] per record batch, without
+   * converting rows.
+   *
+   * Each batch must be closed after use to return its vectors to the stream's pool.
+   *
+   * @param batchesInFlight the number of batches per stream which may be open at the same time
+   * @param maxAllocation the limit in bytes of the allocator backing the vectors of one stream
+   */
+  def readColumnar(
+      projectId: String,
+      datasetId: String,
+      tableId: String,
+      readOptions: TableReadOptions,
+      maxNumStreams: Int,
+      batchesInFlight: Int,
+      maxAllocation: Long
+  ): Source[(ArrowSchema, java.util.List[Source[ArrowColumnarBatch, NotUsed]]), CompletionStage[NotUsed]] =
+    scstorage.BigQueryArrowStorage
+      .readColumnar(projectId, datasetId, tableId, Option(readOptions), maxNumStreams, batchesInFlight, maxAllocation)
+      .map(stream => {
+        (stream._1, stream._2.map(_.asJava).asJava)
+      })
+      .asJava
+      .mapMaterializedValue(_.asJava)
+
 }
@@ -5,10 +5,11 @@
 package akka.stream.alpakka.googlecloud.bigquery.storage.javadsl
 
 import akka.NotUsed
-import akka.stream.alpakka.googlecloud.bigquery.storage.{BigQueryRecord, scaladsl => scstorage}
+import akka.stream.alpakka.googlecloud.bigquery.storage.{BigQueryRecord, StreamMergeOrder, scaladsl => scstorage}
 import akka.stream.javadsl.Source
 import com.google.cloud.bigquery.storage.v1.avro.{AvroRows, AvroSchema}
 import com.google.cloud.bigquery.storage.v1.stream.ReadSession.TableReadOptions
+import org.apache.avro.generic.GenericRecord
 
 import java.util.concurrent.CompletionStage
 import scala.jdk.CollectionConverters._
@@ -191,4 +192,44 @@ object BigQueryAvroStorage {
       .asJava
       .mapMaterializedValue(_.asJava)
 
+  /**
+   * Read the rows of every stream and map them with `f`. The binary decoder and the `GenericRecord` instance are
+   * reused for all rows of a stream, so `f` must copy whatever it needs from the record.
+   */
+  def readRecordsMapped[T](
+      projectId: String,
+      datasetId: String,
+      tableId: String,
+      readOptions: TableReadOptions,
+      maxNumStreams: Int,
+      f: java.util.function.Function[GenericRecord, T]
+  ): Source[java.util.List[Source[T, NotUsed]], CompletionStage[NotUsed]] =
+    scstorage.BigQueryAvroStorage
+      .readRecordsMapped(projectId, datasetId, tableId, Option(readOptions), maxNumStreams)(f.apply)
+      .map(stream => {
+        stream.map(_.asJava).asJava
+      })
+      .asJava
+      .mapMaterializedValue(_.asJava)
+
+  /**
+   * Read the rows of all streams into a single stream, mapped with `f`. Every stream is decoded in its own
+   * asynchronous boundary, so the streams are decoded in parallel, and merged in the given order.
+   * The binary decoder and the `GenericRecord` instance are reused for all rows of a stream, so `f` must copy
+   * whatever it needs from the record.
+   */
+  def createMergedStreams[T](
+      projectId: String,
+      datasetId: String,
+      tableId: String,
+      readOptions: TableReadOptions,
+      maxNumStreams: Int,
+      mergeOrder: StreamMergeOrder,
+      f: java.util.function.Function[GenericRecord, T]
+  ): Source[T, CompletionStage[NotUsed]] =
+    scstorage.BigQueryAvroStorage
+      .createMergedStreams(projectId, datasetId, tableId, Option(readOptions), maxNumStreams, mergeOrder)(f.apply)
+      .asJava
+      .mapMaterializedValue(_.asJava)
+
 }
@@ -5,7 +5,7 @@
 package akka.stream.alpakka.googlecloud.bigquery.storage.scaladsl
 
 import akka.NotUsed
-import akka.stream.alpakka.googlecloud.bigquery.storage.BigQueryRecord
+import akka.stream.alpakka.googlecloud.bigquery.storage.{ArrowColumnarBatch, BigQueryRecord}
 import akka.stream.alpakka.googlecloud.bigquery.storage.impl.ArrowSource
 import akka.stream.alpakka.googlecloud.bigquery.storage.scaladsl.BigQueryStorage.{readSession, reader}
 import akka.stream.scaladsl.Source
@@ -71,6 +71,37 @@ object BigQueryArrowStorage {
                  maxNumStreams,
                  (schema, client, session) => (schema, ArrowSource.read(client, session)))
 
+  /**
+   * Read every stream of the session as Arrow column vectors, one [[ArrowColumnarBatch]] per record batch, without
+   * converting rows.
+   *
+   * Each batch must be closed after use to return its vectors to the stream's pool.
+   *
+   * @param batchesInFlight the number of batches per stream which may be open at the same time
+   * @param maxAllocation the limit in bytes of the allocator backing the vectors of one stream
+   */
+  def readColumnar(
+      projectId: String,
+      datasetId: String,
+      tableId: String,
+      readOptions: Option[TableReadOptions] = None,
+      maxNumStreams: Int = 0,
+      batchesInFlight: Int = 2,
+      maxAllocation: Long = DefaultMaxAllocation
+  ): Source[(ArrowSchema, Seq[Source[ArrowColumnarBatch, NotUsed]]), Future[NotUsed]] =
+    readAndMapTo(
+      projectId,
+      datasetId,
+      tableId,
+      readOptions,
+      maxNumStreams,
+      (schema, client, session) =>
+        (schema, ArrowSource.readColumnar(client, session, batchesInFlight, maxAllocation))
+    )
+
+  /** The default allocation limit of one stream read by [[readColumnar]], 256 MiB. */
+  val DefaultMaxAllocation: Long = 256L * 1024 * 1024
+
   private def readAndMapTo[T](projectId: String,
                               datasetId: String,
                               tableId: String,
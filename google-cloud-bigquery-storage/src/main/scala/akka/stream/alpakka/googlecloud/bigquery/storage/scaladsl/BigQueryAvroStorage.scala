@@ -5,7 +5,7 @@
 package akka.stream.alpakka.googlecloud.bigquery.storage.scaladsl
 
 import akka.NotUsed
-import akka.stream.alpakka.googlecloud.bigquery.storage.BigQueryRecord
+import akka.stream.alpakka.googlecloud.bigquery.storage.{BigQueryRecord, StreamMergeOrder}
 import akka.stream.alpakka.googlecloud.bigquery.storage.impl.AvroSource
 import akka.stream.alpakka.googlecloud.bigquery.storage.scaladsl.BigQueryStorage.{readSession, reader}
 import akka.stream.scaladsl.Source
@@ -14,6 +14,7 @@ import com.google.cloud.bigquery.storage.v1.stream.ReadSession
 import com.google.cloud.bigquery.storage.v1.DataFormat
 import com.google.cloud.bigquery.storage.v1.storage.BigQueryReadClient
 import com.google.cloud.bigquery.storage.v1.stream.ReadSession.TableReadOptions
+import org.apache.avro.generic.GenericRecord
 
 import scala.concurrent.Future
 
@@ -71,6 +72,46 @@ object BigQueryAvroStorage {
                  maxNumStreams,
                  (schema, client, session) => (schema, AvroSource.read(client, session)))
 
+  /**
+   * Read the rows of every stream and map them with `f`. The binary decoder and the `GenericRecord` instance are
+   * reused for all rows of a stream, so `f` must copy whatever it needs from the record.
+   */
+  def readRecordsMapped[T](projectId: String,
+                           datasetId: String,
+                           tableId: String,
+                           readOptions: Option[TableReadOptions] = None,
+                           maxNumStreams: Int = 0)(
+      f: GenericRecord => T
+  ): Source[Seq[Source[T, NotUsed]], Future[NotUsed]] =
+    readAndMapTo(projectId,
+                 datasetId,
+                 tableId,
+                 readOptions,
+                 maxNumStreams,
+                 (_, client, session) => AvroSource.readMapped(client, session)(f))
+
+  /**
+   * Read the rows of all streams into a single stream, mapped with `f`. Every stream is decoded in its own
+   * asynchronous boundary, so the streams are decoded in parallel, and merged in the given order.
+   * The binary decoder and the `GenericRecord` instance are reused for all rows of a stream, so `f` must copy
+   * whatever it needs from the record.
+   */
+  def createMergedStreams[T](projectId: String,
+                             datasetId: String,
+                             tableId: String,
+                             readOptions: Option[TableReadOptions] = None,
+                             maxNumStreams: Int = 0,
+                             mergeOrder: StreamMergeOrder = StreamMergeOrder.Arrival)(
+      f: GenericRecord => T
+  ): Source[T, Future[NotUsed]] =
+    readAndMapTo(projectId,
+                 datasetId,
+                 tableId,
+                 readOptions,
+                 maxNumStreams,
+                 (_, client, session) => AvroSource.readMappedMerged(client, session, mergeOrder)(f))
+      .flatMapConcat(identity)
+
   private def readAndMapTo[T](projectId: String,
                               datasetId: String,
                               tableId: String,
@@ -7,7 +7,7 @@ package akka.stream.alpakka.googlecloud.bigquery.storage.scaladsl
 import akka.stream.alpakka.googlecloud.bigquery.storage.impl.SimpleRowReader
 import akka.stream.alpakka.googlecloud.bigquery.storage.{BigQueryStorageSettings, BigQueryStorageSpecBase}
 import akka.stream.alpakka.testkit.scaladsl.LogCapturing
-import akka.stream.scaladsl.Sink
+import akka.stream.scaladsl.{Sink, Source}
 import com.google.cloud.bigquery.storage.v1.arrow.{ArrowRecordBatch, ArrowSchema}
 import org.scalatest.BeforeAndAfterAll
 import org.scalatest.matchers.should.Matchers
@@ -56,6 +56,21 @@ class BigQueryArrowStorageSpec
       )
     }
 
+    "stream the results for a query as column vectors" in {
+      val rowCounts = BigQueryArrowStorage
+        .readColumnar(Project, Dataset, Table, None, batchesInFlight = 1)
+        .withAttributes(mockBQReader())
+        .flatMapConcat(s => Source(s._2).flatMapMerge(100, identity))
+        .map { batch =>
+          try batch.rowCount
+          finally batch.close()
+        }
+        .runWith(Sink.seq)
+        .futureValue
+
+      rowCounts shouldBe Seq.fill(DefaultNumStreams * ResponsesPerStream)(10)
+    }
+
     "stream the results for a query" in {
       val streamRes = BigQueryArrowStorage
         .read(Project, Dataset, Table, None)
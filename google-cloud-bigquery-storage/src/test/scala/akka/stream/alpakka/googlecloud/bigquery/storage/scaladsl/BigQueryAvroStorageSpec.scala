@@ -8,7 +8,8 @@ import akka.stream.alpakka.googlecloud.bigquery.storage.impl.AvroDecoder
 import akka.stream.alpakka.googlecloud.bigquery.storage.{
   BigQueryRecord,
   BigQueryStorageSettings,
-  BigQueryStorageSpecBase
+  BigQueryStorageSpecBase,
+  StreamMergeOrder
 }
 import akka.stream.alpakka.testkit.scaladsl.LogCapturing
 import akka.stream.scaladsl.Sink
@@ -51,6 +52,30 @@ class BigQueryAvroStorageSpec
         .futureValue shouldBe Seq.fill(DefaultNumStreams * ResponsesPerStream)(records).flatten
     }
 
+    "stream mapped rows for a query reusing records" in {
+      val decoder = AvroDecoder(avroSchema.schema)
+      val rows = decoder.decodeRows(avroRows.serializedBinaryRows).map(_.toString)
+
+      BigQueryAvroStorage
+        .readRecordsMapped(Project, Dataset, Table, None)(_.toString)
+        .withAttributes(mockBQReader())
+        .map(a => a.reduce((a, b) => a.merge(b)))
+        .flatMapMerge(100, identity)
+        .runWith(Sink.seq)
+        .futureValue shouldBe Seq.fill(DefaultNumStreams * ResponsesPerStream)(rows).flatten
+    }
+
+    "merge streams decoded in parallel in the given order" in {
+      val decoder = AvroDecoder(avroSchema.schema)
+      val rows = decoder.decodeRows(avroRows.serializedBinaryRows).map(_.toString)
+
+      BigQueryAvroStorage
+        .createMergedStreams(Project, Dataset, Table, mergeOrder = StreamMergeOrder.StreamByStream)(_.toString)
+        .withAttributes(mockBQReader())
+        .runWith(Sink.seq)
+        .futureValue shouldBe Seq.fill(DefaultNumStreams * ResponsesPerStream)(rows).flatten
+    }
+
     "stream the results for a query merged" in {
       BigQueryAvroStorage
         .readMerged(Project, Dataset, Table, None)
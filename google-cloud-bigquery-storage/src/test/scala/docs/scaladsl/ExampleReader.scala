@@ -6,7 +6,7 @@ package docs.scaladsl
 
 import akka.actor.ActorSystem
 import akka.http.scaladsl.unmarshalling.FromByteStringUnmarshaller
-import akka.stream.alpakka.googlecloud.bigquery.storage.{BigQueryRecord, BigQueryStorageSettings}
+import akka.stream.alpakka.googlecloud.bigquery.storage.{BigQueryRecord, BigQueryStorageSettings, StreamMergeOrder}
 import akka.stream.alpakka.googlecloud.bigquery.storage.scaladsl.{
   BigQueryArrowStorage,
   BigQueryAvroStorage,
@@ -60,6 +60,19 @@ class ExampleReader {
     BigQueryArrowStorage.readRecords("projectId", "datasetId", "tableId")
   //#read-arrow-all
 
+  //#read-arrow-columnar
+  val arrowColumnarSource: Source[Long, Future[NotUsed]] =
+    BigQueryArrowStorage
+      .readColumnar("projectId", "datasetId", "tableId", batchesInFlight = 2)
+      .flatMapConcat { case (_, streams) => Source(streams).flatMapMerge(streams.size.max(1), identity) }
+      .map { batch =>
+        try {
+          val vector = batch.vector("col1").asInstanceOf[org.apache.arrow.vector.BigIntVector]
+          (0 until batch.rowCount).foldLeft(0L)((sum, i) => if (vector.isNull(i)) sum else sum + vector.get(i))
+        } finally batch.close()
+      }
+  //#read-arrow-columnar
+
   //#read-avro-merged
   val avroSequentialSource: Source[Seq[BigQueryRecord], Future[NotUsed]] =
     BigQueryAvroStorage.readRecordsMerged("projectId", "datasetId", "tableId")
@@ -70,6 +83,17 @@ class ExampleReader {
     BigQueryAvroStorage.readRecords("projectId", "datasetId", "tableId")
   //#read-avro-all
 
+  //#read-avro-mapped
+  val avroMergedSource: Source[(String, Long), Future[NotUsed]] =
+    BigQueryAvroStorage.createMergedStreams("projectId",
+                                            "datasetId",
+                                            "tableId",
+                                            mergeOrder = StreamMergeOrder.RoundRobin(segmentSize = 1000)) { record =>
+      // the record instance is reused, copy the values needed
+      (record.get("name").toString, record.get("count").asInstanceOf[Long])
+    }
+  //#read-avro-mapped
+
   //#attributes
   val reader: GrpcBigQueryStorageReader = GrpcBigQueryStorageReader(BigQueryStorageSettings("localhost", 8000))
   val sourceForReader: Source[(ReadSession.Schema, Seq[Source[ReadRowsResponse.Rows, NotUsed]]), Future[NotUsed]] =
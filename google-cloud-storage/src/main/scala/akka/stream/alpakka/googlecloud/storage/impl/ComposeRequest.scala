@@ -0,0 +1,19 @@
+/*
+ * Copyright (C) since 2016 Lightbend Inc. <https://www.lightbend.com>
+ */
+
+package akka.stream.alpakka.googlecloud.storage.impl
+
+import akka.annotation.InternalApi
+
+import scala.collection.immutable
+
+@InternalApi
+private[impl] final case class ComposeRequest(sourceObjects: immutable.Seq[ComposeSourceObject],
+                                              destination: ComposeDestination)
+
+@InternalApi
+private[impl] final case class ComposeSourceObject(name: String)
+
+@InternalApi
+private[impl] final case class ComposeDestination(contentType: String)
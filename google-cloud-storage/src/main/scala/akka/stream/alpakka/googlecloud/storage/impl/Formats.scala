@@ -167,6 +167,17 @@ object Formats extends DefaultJsonProtocol {
 
   implicit val bucketInfoFormat: RootJsonFormat[BucketInfo] = jsonFormat2(BucketInfo.apply)
 
+  /**
+   * Google API compose request object
+   *
+   * https://cloud.google.com/storage/docs/json_api/v1/objects/compose
+   */
+  private implicit val composeSourceObjectFormat: RootJsonFormat[ComposeSourceObject] =
+    jsonFormat1(ComposeSourceObject.apply)
+  private implicit val composeDestinationFormat: RootJsonFormat[ComposeDestination] =
+    jsonFormat1(ComposeDestination.apply)
+  implicit val composeRequestFormat: RootJsonFormat[ComposeRequest] = jsonFormat2(ComposeRequest.apply)
+
   implicit object BucketListResultReads extends RootJsonReader[BucketListResult] {
     override def read(json: JsValue): BucketListResult = {
       val res = bucketListResultJsonReads.read(json)
@@ -18,18 +18,25 @@ import akka.stream.alpakka.google.implicits._
 import akka.stream.alpakka.google.scaladsl.{`X-Upload-Content-Type`, Paginated}
 import akka.stream.alpakka.googlecloud.storage._
 import akka.stream.alpakka.googlecloud.storage.impl.Formats._
-import akka.stream.scaladsl.{Keep, RunnableGraph, Sink, Source}
+import akka.stream.scaladsl.{Flow, Keep, RunnableGraph, Sink, Source}
 import akka.stream.{Attributes, Materializer}
 import akka.util.ByteString
 import akka.{Done, NotUsed}
 import spray.json._
 
+import java.util.UUID
+import java.util.concurrent.ConcurrentLinkedQueue
 import scala.annotation.nowarn
+import scala.collection.immutable
 import scala.concurrent.ExecutionContext
 import scala.concurrent.Future
+import scala.jdk.CollectionConverters._
+import scala.util.Success
 
 @InternalApi private[storage] object GCStorageStream {
 
+  private val MaxComposeSourceObjects = 32
+
   def getBucketSource(bucketName: String): Source[Option[Bucket], NotUsed] = sourceGCS { settings =>
     val uri = Uri(settings.endpointUrl).withPath(Path(settings.basePath) ++ getBucketPath(bucketName))
     val request = HttpRequest(uri = uri)
@@ -162,6 +169,106 @@ import scala.concurrent.Future
       }
       .mapMaterializedValue(_.flatten)
 
+  def composeObject(bucket: String,
+                    objectName: String,
+                    sourceObjects: immutable.Seq[String],
+                    contentType: ContentType): Source[StorageObject, NotUsed] = sourceGCS { settings =>
+    val uri = Uri(settings.endpointUrl)
+      .withPath(Path(settings.basePath) ++ getObjectPath(bucket, objectName) / "compose")
+    implicit val ec = ExecutionContext.parasitic
+    val compose = ComposeRequest(sourceObjects.map(ComposeSourceObject(_)), ComposeDestination(contentType.value))
+    val request = Marshal(compose).to[RequestEntity].map { entity =>
+      HttpRequest(POST, uri, entity = entity)
+    }
+    makeRequestSource[StorageObject](request)
+  }
+
+  /**
+   * Uploads parts of `partSize` bytes as temporary objects, `parallelism` parts at a time, and composes them into the
+   * target object. As a compose request accepts at most 32 source objects, larger numbers of parts are composed
+   * into temporary objects first. All temporary objects are deleted when the upload completes or fails.
+   */
+  def parallelCompositeUpload(bucket: String,
+                              objectName: String,
+                              contentType: ContentType,
+                              partSize: Int,
+                              parallelism: Int): Sink[ByteString, Future[StorageObject]] =
+    Sink
+      .fromMaterializer { (mat, attr) =>
+        implicit val ec: ExecutionContext = mat.executionContext
+        val temporaryPrefix = s"$objectName.parts-${UUID.randomUUID()}/"
+        val temporaryObjects = new ConcurrentLinkedQueue[String]()
+        val requests = new ConcurrentLinkedQueue[Future[StorageObject]]()
+
+        def run(temporaryName: String, request: Source[StorageObject, NotUsed]): Future[String] = {
+          temporaryObjects.add(temporaryName)
+          val result = request.withAttributes(attr).runWith(Sink.head)(mat)
+          requests.add(result)
+          result.map(_ => temporaryName)
+        }
+
+        def compose(sourceObjects: immutable.Seq[String], level: Int): Future[StorageObject] =
+          if (sourceObjects.size <= MaxComposeSourceObjects)
+            composeObject(bucket, objectName, sourceObjects, contentType).withAttributes(attr).runWith(Sink.head)(mat)
+          else
+            Source(sourceObjects.grouped(MaxComposeSourceObjects).toList)
+              .zipWithIndex
+              .mapAsync(parallelism) {
+                case (group, index) =>
+                  val name = s"${temporaryPrefix}compose-$level-$index"
+                  run(name, composeObject(bucket, name, group, contentType))
+              }
+              .runWith(Sink.seq)(mat)
+              .flatMap(compose(_, level + 1))
+
+        def deleteTemporaryObjects(): Future[Done] =
+          Future
+            .traverse(requests.asScala.toList)(_.transform(_ => Success(Done)))
+            .flatMap { _ =>
+              Source(temporaryObjects.asScala.toList)
+                .mapAsyncUnordered(parallelism) { name =>
+                  deleteObjectSource(bucket, name).withAttributes(attr).runWith(Sink.head)(mat)
+                }
+                .runWith(Sink.ignore)(mat)
+            }
+
+        Flow[ByteString]
+          .via(splitParts(partSize))
+          .zipWithIndex
+          .mapAsync(parallelism) {
+            case (part, index) =>
+              val name = s"$temporaryPrefix$index"
+              run(name, putObject(bucket, name, Source.single(part), contentType))
+          }
+          .toMat(Sink.seq)(Keep.right)
+          .mapMaterializedValue { parts =>
+            parts
+              .flatMap { parts =>
+                if (parts.isEmpty)
+                  putObject(bucket, objectName, Source.empty, contentType).withAttributes(attr).runWith(Sink.head)(mat)
+                else compose(parts, level = 0)
+              }
+              .transformWith { result =>
+                // a failure to delete temporary objects does not fail the upload
+                deleteTemporaryObjects().transform(_ => result)
+              }
+          }
+      }
+      .mapMaterializedValue(_.flatten)
+
+  /** Splits incoming bytes into parts of `partSize` bytes, the last part may be smaller. */
+  private def splitParts(partSize: Int): Flow[ByteString, ByteString, NotUsed] =
+    Flow[ByteString]
+      .statefulMap(() => ByteString.empty)(
+        (buffer, bytes) => {
+          val all = buffer ++ bytes
+          val complete = all.length / partSize * partSize
+          (all.drop(complete), all.take(complete).grouped(partSize).toList)
+        },
+        buffer => if (buffer.isEmpty) None else Some(buffer :: Nil)
+      )
+      .mapConcat(identity)
+
   def rewrite(sourceBucket: String,
               sourceObjectName: String,
               destinationBucket: String,
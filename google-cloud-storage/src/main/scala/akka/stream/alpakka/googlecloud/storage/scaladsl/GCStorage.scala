@@ -273,6 +273,31 @@ object GCStorage {
                       contentType: ContentType): Sink[ByteString, Future[StorageObject]] =
     GCStorageStream.resumableUpload(bucket, objectName, contentType)
 
+  /**
+   * Uploads object by uploading parts of it in parallel as temporary objects and composing them into the object.
+   * More than 32 parts are composed in several steps. The temporary objects are deleted when the upload completes
+   * or fails.
+   *
+   * @see https://cloud.google.com/storage/docs/parallel-composite-uploads
+   * @see https://cloud.google.com/storage/docs/json_api/v1/objects/compose
+   *
+   * @param bucket the bucket name
+   * @param objectName the object name
+   * @param contentType `ContentType`
+   * @param partSize the size of the parts in bytes
+   * @param parallelism the number of parts to upload in parallel
+   * @return a `Sink` that accepts `ByteString`'s and materializes to a `Future` of `StorageObject`
+   */
+  def parallelCompositeUpload(bucket: String,
+                              objectName: String,
+                              contentType: ContentType,
+                              partSize: Int,
+                              parallelism: Int): Sink[ByteString, Future[StorageObject]] = {
+    require(partSize > 0, "partSize must be positive")
+    require(parallelism > 0, "parallelism must be positive")
+    GCStorageStream.parallelCompositeUpload(bucket, objectName, contentType, partSize, parallelism)
+  }
+
   /**
    * Rewrites object to wanted destination by making multiple requests.
    *
@@ -765,6 +765,32 @@ public class GCStorageTest extends GCStorageWiremockBase {
     assertEquals(bucketName(), storageObject.bucket());
   }
 
+  @Test
+  public void parallelCompositeUpload() throws Exception {
+    final int partSize = 4;
+    final String content = this.getRandomString(3 * partSize - 1);
+
+    mock()
+        .simulate(mockTokenApi(), mockParallelCompositeUpload(fileName(), content, partSize));
+
+    // #parallel-composite-upload
+
+    final Sink<ByteString, CompletionStage<StorageObject>> sink =
+        GCStorage.parallelCompositeUpload(
+            bucketName(), fileName(), ContentTypes.TEXT_PLAIN_UTF8, partSize, 8);
+
+    final Source<ByteString, NotUsed> source = Source.single(ByteString.fromString(content));
+
+    final CompletionStage<StorageObject> result = source.runWith(sink, system());
+
+    // #parallel-composite-upload
+
+    final StorageObject storageObject = result.toCompletableFuture().get(5, TimeUnit.SECONDS);
+
+    assertEquals(fileName(), storageObject.name());
+    assertEquals(bucketName(), storageObject.bucket());
+  }
+
   //  @Test The new ResumableUpload API automatically resumes interrupted/failed uploads
   public void failWithErrorWhenLargeFileUploadFails() throws Exception {
     final int chunkSize = 256 * 1024;
@@ -257,6 +257,43 @@ class GCStorageStreamIntegrationSpec
       so.metadata shouldBe Some(meta)
     }
 
+    "upload parts in parallel and compose them" ignore {
+      val fileName = testFileName("parallel-composite-file")
+      val data = ByteString(Random.alphanumeric.take(70 * 1024 + 17).map(c => c.toByte).toArray)
+
+      // 71 parts take two compose rounds
+      val sink = GCStorageStream.parallelCompositeUpload(bucket, fileName, ContentTypes.`text/plain(UTF-8)`, 1024, 8)
+
+      val so = Source(data.grouped(3000).toList).runWith(sink).futureValue
+      so.name shouldBe fileName
+      so.size shouldBe data.length
+
+      val downloaded = GCStorageStream
+        .download(bucket, fileName)
+        .runWith(Sink.head)
+        .flatMap(_.get.runWith(Sink.fold(ByteString.empty)(_ ++ _)))
+        .futureValue
+      downloaded shouldBe data
+
+      val listed = GCStorageStream.listBucket(bucket, Some(folderName)).runWith(Sink.seq).futureValue
+      listed.map(_.name) shouldBe Seq(fileName)
+    }
+
+    "delete temporary parts when a parallel composite upload fails" ignore {
+      val fileName = testFileName("failed-parallel-composite-file")
+
+      val sink = GCStorageStream.parallelCompositeUpload(bucket, fileName, ContentTypes.`text/plain(UTF-8)`, 1024, 4)
+
+      val failure = Source(List.fill(10)(ByteString(Random.alphanumeric.take(1024).map(c => c.toByte).toArray)))
+        .concat(Source.failed(new RuntimeException("upstream failed")))
+        .runWith(sink)
+        .failed
+        .futureValue
+      failure.getMessage shouldBe "upstream failed"
+
+      GCStorageStream.listBucket(bucket, Some(folderName)).runWith(Sink.seq).futureValue shouldBe empty
+    }
+
     "rewrite file from source to destination path" ignore {
       val fileName = "big-streaming-file"
 
@@ -13,7 +13,8 @@ import com.typesafe.config.ConfigFactory
 import io.specto.hoverfly.junit.core.SimulationSource.dsl
 import io.specto.hoverfly.junit.core.{Hoverfly, HoverflyConfig, HoverflyMode, SimulationSource}
 import io.specto.hoverfly.junit.dsl.HoverflyDsl.{response, service}
-import io.specto.hoverfly.junit.dsl.matchers.HoverflyMatchers.equalsToJson
+import io.specto.hoverfly.junit.dsl.RequestMatcherBuilder
+import io.specto.hoverfly.junit.dsl.matchers.HoverflyMatchers.{equalsToJson, matches}
 import spray.json.DefaultJsonProtocol.{mapFormat, StringJsonFormat}
 import spray.json.enrichAny
 
@@ -780,6 +781,82 @@ abstract class GCStorageWiremockBase(_system: ActorSystem, _wireMockServer: Hove
     )
   }
 
+  def mockParallelCompositeUpload(objectName: String, content: String, partSize: Int): SimulationSource =
+    dsl(
+      mockPartUploads(objectName, content, partSize)
+        .post(matches(s"/storage/v1/b/$bucketName/o/$objectName.parts-*/compose"))
+        .queryParam("prettyPrint", "false")
+        .anyBody()
+        .willReturn(
+          response()
+            .status(200)
+            .header("Content-Type", "application/json")
+            .body(storageObjectJson())
+        )
+        .post(s"/storage/v1/b/$bucketName/o/$objectName/compose")
+        .queryParam("prettyPrint", "false")
+        .anyBody()
+        .willReturn(
+          response()
+            .status(200)
+            .header("Content-Type", "application/json")
+            .body(storageObjectJson())
+        )
+        .delete(matches(s"/storage/v1/b/$bucketName/o/$objectName.parts-*"))
+        .queryParam("prettyPrint", "false")
+        .willReturn(
+          response()
+            .status(204)
+        )
+    )
+
+  def mockParallelCompositeUploadFailure(objectName: String, content: String, partSize: Int): SimulationSource =
+    dsl(
+      mockPartUploads(objectName, content, partSize)
+        .post(s"/storage/v1/b/$bucketName/o/$objectName/compose")
+        .queryParam("prettyPrint", "false")
+        .anyBody()
+        .willReturn(
+          response()
+            .status(400)
+            .body("Compose failed")
+        )
+        .delete(matches(s"/storage/v1/b/$bucketName/o/$objectName.parts-*"))
+        .queryParam("prettyPrint", "false")
+        .willReturn(
+          response()
+            .status(204)
+        )
+    )
+
+  // every part is only accepted with exactly the expected content
+  private def mockPartUploads(objectName: String, content: String, partSize: Int) =
+    content.grouped(partSize).foldLeft(storageService) { (service, part) =>
+      service
+        .post(s"/upload/storage/v1/b/$bucketName/o")
+        .queryParam("uploadType", "media")
+        .queryParam("name", matches(s"$objectName.parts-*"))
+        .queryParam("prettyPrint", "false")
+        .body(part)
+        .willReturn(
+          response()
+            .status(200)
+            .header("Content-Type", "application/json")
+            .body(storageObjectJson())
+        )
+    }
+
+  def temporaryObjectCompose(objectName: String): RequestMatcherBuilder =
+    storageService
+      .post(matches(s"/storage/v1/b/$bucketName/o/$objectName.parts-*/compose"))
+      .queryParam("prettyPrint", "false")
+      .anyBody()
+
+  def temporaryObjectDelete(objectName: String): RequestMatcherBuilder =
+    storageService
+      .delete(matches(s"/storage/v1/b/$bucketName/o/$objectName.parts-*"))
+      .queryParam("prettyPrint", "false")
+
   def mockRewrite(rewriteBucketName: String) = {
     val rewriteToken = "rewriteToken"
 
@@ -10,6 +10,7 @@ import akka.stream.alpakka.googlecloud.storage.scaladsl.{GCStorage, GCStorageWir
 import akka.stream.alpakka.testkit.scaladsl.LogCapturing
 import akka.stream.scaladsl.Source
 import akka.util.ByteString
+import io.specto.hoverfly.junit.verification.HoverflyVerifications.times
 import org.scalatest.BeforeAndAfterAll
 import org.scalatest.concurrent._
 import org.scalatest.matchers.should.Matchers
@@ -86,6 +87,56 @@ class GCStorageSinkSpec
       .getMessage shouldBe "Uploading part failed with status 400 Bad Request: Chunk upload failed"
   }
 
+  "upload parts in parallel and compose them" in {
+    val partSize = 4
+    // 70 parts, the last one smaller, need a round of composing into temporary objects
+    val content = getRandomString(70 * partSize - 1)
+
+    mock.simulate(
+      mockTokenApi,
+      mockParallelCompositeUpload(fileName, content, partSize)
+    )
+
+    //#parallel-composite-upload
+    val sink = GCStorage.parallelCompositeUpload(bucketName,
+                                                 fileName,
+                                                 ContentTypes.`text/plain(UTF-8)`,
+                                                 partSize,
+                                                 parallelism = 8)
+
+    val source = Source(content.grouped(7).map(ByteString(_)).toList)
+
+    val result: Future[StorageObject] = source.runWith(sink)
+    //#parallel-composite-upload
+
+    val storageObject: StorageObject = result.futureValue
+
+    storageObject.name shouldBe fileName
+    storageObject.bucket shouldBe bucketName
+    mock.verify(temporaryObjectCompose(fileName), times(3))
+    mock.verify(temporaryObjectDelete(fileName), times(73))
+  }
+
+  "delete temporary parts when a parallel composite upload fails" in {
+    val objectName = "failing.txt"
+    val partSize = 4
+    val content = getRandomString(3 * partSize)
+
+    mock.simulate(
+      mockTokenApi,
+      mockParallelCompositeUploadFailure(objectName, content, partSize)
+    )
+
+    val result = Source
+      .single(ByteString(content))
+      .runWith(
+        GCStorage.parallelCompositeUpload(bucketName, objectName, ContentTypes.`text/plain(UTF-8)`, partSize, 2)
+      )
+
+    result.failed.futureValue.getMessage shouldBe "[400] Compose failed"
+    mock.verify(temporaryObjectDelete(objectName), times(3))
+  }
+
   "rewrite file" in {
     val rewriteBucketName = "alpakka-rewrite"
 
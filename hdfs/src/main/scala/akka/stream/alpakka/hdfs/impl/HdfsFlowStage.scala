@@ -14,7 +14,10 @@ import akka.stream.alpakka.hdfs.impl.writer.HdfsWriter
 import akka.stream.stage._
 import cats.data.State
 
+import scala.collection.immutable
 import scala.concurrent.duration.FiniteDuration
+import scala.concurrent.{ExecutionContext, Future}
+import scala.util.{Failure, Success, Try}
 
 /**
  * Internal API
@@ -60,18 +63,36 @@ private[hdfs] final class HdfsFlowLogic[W, I, C](
   private val separator = Option(settings.newLineByteArray).filter(_ => settings.newLine)
   private val flushProgram = rotateOutput.flatMap(message => tryPush(Seq(message)))
 
+  // Async writer mode: messages are collected into a pending batch while the writer works on the previous batch,
+  // so that syncs and rotations run off the stage and upstream keeps flowing until the pending batch is full.
+  private val pending = Vector.newBuilder[HdfsWriteMessage[I, C]]
+  private var pendingCount = 0
+  private var rotationPending = false
+  private var writerBusy = false
+  private lazy val writerExecutionContext: ExecutionContext =
+    materializer.system.dispatchers.lookup(ActorAttributes.IODispatcher.dispatcher)
+  private val batchWritten = getAsyncCallback[Try[(FlowState[W, I], Seq[OutgoingMessage[C]])]](onBatchWritten)
+
   private[impl] val sharedScheduleFn =
     scheduleWithFixedDelay(NotUsed, _: FiniteDuration, _: FiniteDuration)
 
   setHandlers(inlet, outlet, this)
 
   def onPush(): Unit =
-    state = onPushProgram(grab(inlet))
-      .runS(state)
-      .value
-
-  def onPull(): Unit =
+    if (settings.asyncWriter) {
+      pending += grab(inlet)
+      pendingCount += 1
+      tryWriteBatch()
+      tryPull()
+    } else
+      state = onPushProgram(grab(inlet))
+        .runS(state)
+        .value
+
+  def onPull(): Unit = {
+    if (settings.asyncWriter) tryWriteBatch()
     tryPull()
+  }
 
   override def preStart(): Unit = {
     initialRotationStrategy.preStart(this)
@@ -79,27 +100,43 @@ private[hdfs] final class HdfsFlowLogic[W, I, C](
   }
 
   override def onTimer(timerKey: Any): Unit =
-    state = flushProgram.runS(state).value
+    if (settings.asyncWriter) {
+      rotationPending = true
+      tryWriteBatch()
+    } else
+      state = flushProgram.runS(state).value
 
   override def onUpstreamFailure(ex: Throwable): Unit =
     failStage(ex)
 
   override def onUpstreamFinish(): Unit =
-    state.logicState match {
-      case LogicState.Writing =>
-        flushProgram
-          .run(state)
-          .map(_ => completeStage())
-          .value
-      case _ => completeStage()
-    }
+    if (settings.asyncWriter) {
+      tryWriteBatch()
+      completeIfDone()
+    } else
+      state.logicState match {
+        case LogicState.Writing =>
+          flushProgram
+            .run(state)
+            .map(_ => completeStage())
+            .value
+        case _ => completeStage()
+      }
 
   private def tryPull(): Unit =
-    if (!isClosed(inlet) && !hasBeenPulled(inlet)) {
+    if (!isClosed(inlet) && !hasBeenPulled(inlet) && !pendingBatchFull) {
       pull(inlet)
     }
 
+  private def pendingBatchFull: Boolean = settings.asyncWriter && pendingCount >= settings.asyncBufferSize
+
   private def onPushProgram(input: HdfsWriteMessage[I, C]) =
+    for {
+      messages <- writeProgram(input)
+      _ <- tryPush(messages)
+    } yield tryPull()
+
+  private def writeProgram(input: HdfsWriteMessage[I, C]): FlowStep[W, I, Seq[OutgoingMessage[C]]] =
     for {
       _ <- setLogicState(LogicState.Writing)
       offset <- write(input.source)
@@ -109,8 +146,62 @@ private[hdfs] final class HdfsFlowLogic[W, I, C](
       rotationResult <- tryRotateOutput
       (rotationCount, maybeRotationMessage) = rotationResult
       messages = Seq(Some(WrittenMessage(input.passThrough, rotationCount)), maybeRotationMessage)
-      _ <- tryPush(messages.flatten)
-    } yield tryPull()
+    } yield messages.flatten
+
+  /**
+   * Hands the pending batch to the writer, unless it is still busy with the previous batch or the messages of the
+   * previous batch are still being emitted. A pending rotation runs after the batch, and once upstream has finished
+   * the last batch also moves the data written since the last rotation to its target.
+   */
+  private def tryWriteBatch(): Unit =
+    if (!writerBusy && getHandler(outlet) == this && (pendingCount > 0 || rotationPending || flushPending)) {
+      val batch = pending.result()
+      pending.clear()
+      pendingCount = 0
+      val rotate = rotationPending
+      rotationPending = false
+      val flush = isClosed(inlet)
+      val current = state
+      writerBusy = true
+      Future(writeBatch(current, batch, rotate, flush))(writerExecutionContext)
+        .onComplete(batchWritten.invoke)(ExecutionContext.parasitic)
+    }
+
+  private def flushPending: Boolean = isClosed(inlet) && state.logicState == LogicState.Writing
+
+  private def writeBatch(initial: FlowState[W, I],
+                         batch: immutable.Seq[HdfsWriteMessage[I, C]],
+                         rotate: Boolean,
+                         flush: Boolean): (FlowState[W, I], Seq[OutgoingMessage[C]]) = {
+    val (written, messages) = batch.foldLeft((initial, Vector.empty[OutgoingMessage[C]])) {
+      case ((current, emitted), input) =>
+        val (next, newMessages) = writeProgram(input).run(current).value
+        (next, emitted ++ newMessages)
+    }
+    if (rotate || (flush && written.logicState == LogicState.Writing)) {
+      val (rotated, message) = rotateOutput.run(written).value
+      (rotated, messages :+ message)
+    } else (written, messages)
+  }
+
+  private def onBatchWritten(result: Try[(FlowState[W, I], Seq[OutgoingMessage[C]])]): Unit =
+    result match {
+      case Success((newState, messages)) =>
+        state = newState
+        writerBusy = false
+        if (messages.nonEmpty) emitMultiple(outlet, messages.iterator, () => onPull())
+        else {
+          tryWriteBatch()
+          tryPull()
+        }
+        completeIfDone()
+      case Failure(ex) =>
+        failStage(ex)
+    }
+
+  private def completeIfDone(): Unit =
+    if (isClosed(inlet) && !writerBusy && pendingCount == 0 && !rotationPending && !flushPending)
+      completeStage()
 
   private def setLogicState(logicState: LogicState): FlowStep[W, I, LogicState] =
     FlowStep[W, I, LogicState] { state =>
@@ -20,8 +20,12 @@ final class HdfsWritingSettings private (
     val overwrite: Boolean,
     val newLine: Boolean,
     val lineSeparator: String,
-    val pathGenerator: FilePathGenerator
+    val pathGenerator: FilePathGenerator,
+    val asyncWriter: Boolean,
+    val asyncBufferSize: Int
 ) {
+  require(asyncBufferSize > 0, "asyncBufferSize must be positive")
+
   private[hdfs] val newLineByteArray = ByteString(lineSeparator).toArray
 
   def withOverwrite(value: Boolean): HdfsWritingSettings = if (overwrite == value) this else copy(overwrite = value)
@@ -29,16 +33,30 @@ final class HdfsWritingSettings private (
   def withLineSeparator(value: String): HdfsWritingSettings = copy(lineSeparator = value)
   def withPathGenerator(value: FilePathGenerator): HdfsWritingSettings = copy(pathGenerator = value)
 
+  /**
+   * Write, sync and rotate files in the background instead of within the stream. Messages arriving while the
+   * writer is busy are collected into the next batch of at most `asyncBufferSize` messages.
+   */
+  def withAsyncWriter(value: Boolean): HdfsWritingSettings =
+    if (asyncWriter == value) this else copy(asyncWriter = value)
+
+  /** The maximum number of messages to collect while the async writer is busy. */
+  def withAsyncBufferSize(value: Int): HdfsWritingSettings = copy(asyncBufferSize = value)
+
   private def copy(
       overwrite: Boolean = overwrite,
       newLine: Boolean = newLine,
       lineSeparator: String = lineSeparator,
-      pathGenerator: FilePathGenerator = pathGenerator
+      pathGenerator: FilePathGenerator = pathGenerator,
+      asyncWriter: Boolean = asyncWriter,
+      asyncBufferSize: Int = asyncBufferSize
   ): HdfsWritingSettings = new HdfsWritingSettings(
     overwrite = overwrite,
     newLine = newLine,
     lineSeparator = lineSeparator,
-    pathGenerator = pathGenerator
+    pathGenerator = pathGenerator,
+    asyncWriter = asyncWriter,
+    asyncBufferSize = asyncBufferSize
   )
 
   override def toString =
@@ -46,7 +64,9 @@ final class HdfsWritingSettings private (
     s"overwrite=$overwrite," +
     s"newLine=$newLine," +
     s"lineSeparator=$lineSeparator," +
-    s"pathGenerator=$pathGenerator" +
+    s"pathGenerator=$pathGenerator," +
+    s"asyncWriter=$asyncWriter," +
+    s"asyncBufferSize=$asyncBufferSize" +
     ")"
 }
 
@@ -59,7 +79,9 @@ object HdfsWritingSettings {
     overwrite = true,
     newLine = false,
     lineSeparator = System.getProperty("line.separator"),
-    pathGenerator = DefaultFilePathGenerator
+    pathGenerator = DefaultFilePathGenerator,
+    asyncWriter = false,
+    asyncBufferSize = 1024
   )
 
   /** Scala API */
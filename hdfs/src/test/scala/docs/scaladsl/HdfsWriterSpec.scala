@@ -295,6 +295,105 @@ class HdfsWriterSpec
     }
   }
 
+  "DataWriter with async writer" should {
+    "use file size rotation and produce five files" in {
+      //#async-writer
+      val flow = HdfsFlow.data(
+        fs,
+        SyncStrategy.count(50),
+        RotationStrategy.size(0.01, FileUnit.KB),
+        settings
+          .withAsyncWriter(true)
+          .withAsyncBufferSize(512)
+      )
+      //#async-writer
+
+      val resF = Source
+        .fromIterator(() => books.iterator)
+        .map(HdfsWriteMessage(_))
+        .via(flow)
+        .runWith(Sink.seq)
+
+      val logs = Await.result(resF, Duration.Inf)
+      logs shouldBe Seq(
+        RotationMessage(output("0"), 0),
+        RotationMessage(output("1"), 1),
+        RotationMessage(output("2"), 2),
+        RotationMessage(output("3"), 3),
+        RotationMessage(output("4"), 4)
+      )
+
+      verifyOutputFileSize(fs, logs)
+      readLogs(fs, logs) shouldBe books.map(_.utf8String)
+    }
+
+    "use buffer rotation with a single message buffer" in {
+      val flow = HdfsFlow.data(
+        fs,
+        SyncStrategy.count(1),
+        RotationStrategy.count(2),
+        settings.withAsyncWriter(true).withAsyncBufferSize(1)
+      )
+
+      val resF = Source
+        .fromIterator(() => books.iterator)
+        .map(HdfsWriteMessage(_))
+        .via(flow)
+        .runWith(Sink.seq)
+
+      val logs = Await.result(resF, Duration.Inf)
+      logs.size shouldEqual 3
+
+      verifyOutputFileSize(fs, logs)
+      readLogs(fs, logs) shouldBe books.map(_.utf8String).grouped(2).map(_.mkString).toSeq
+    }
+
+    "emit written messages in order with passThrough" in {
+      val data = generateFakeContent(1, FileUnit.KB.byteCount)
+
+      val resF = Source(data.zipWithIndex)
+        .map { case (bytes, index) => HdfsWriteMessage(bytes, index) }
+        .via(
+          HdfsFlow.dataWithPassThrough[Int](
+            fs,
+            SyncStrategy.count(10),
+            RotationStrategy.size(0.5, FileUnit.KB),
+            settings.withAsyncWriter(true).withAsyncBufferSize(16)
+          )
+        )
+        .runWith(Sink.seq)
+
+      val messages = Await.result(resF, Duration.Inf)
+      messages.collect { case WrittenMessage(index, _) => index } shouldBe data.indices
+      val logs = messages.collect { case rm: RotationMessage => rm }
+      logs.size shouldEqual 2
+
+      verifyOutputFileSize(fs, logs)
+      readLogsWithFlatten(fs, logs) shouldBe data.flatMap(_.utf8String)
+    }
+
+    "use time rotation" in {
+      val (cancellable, resF) = Source
+        .tick(0.millis, 50.milliseconds, ByteString("I love Alpakka!"))
+        .map(HdfsWriteMessage(_))
+        .via(
+          HdfsFlow.data(
+            fs,
+            SyncStrategy.none,
+            RotationStrategy.time(500.milliseconds),
+            HdfsWritingSettings().withAsyncWriter(true)
+          )
+        )
+        .toMat(Sink.seq)(Keep.both)
+        .run()
+
+      system.scheduler.scheduleOnce(1500.milliseconds)(cancellable.cancel()) // cancel within 1500 milliseconds
+      val logs = Await.result(resF, Duration.Inf)
+      verifyOutputFileSize(fs, logs)
+      List(3, 4) should contain(logs.size)
+    }
+  }
+
   "CompressedDataWriter" should {
     "use file size rotation and produce six files" in {
 
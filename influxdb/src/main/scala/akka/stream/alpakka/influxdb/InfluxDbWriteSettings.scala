@@ -0,0 +1,77 @@
+/*
+ * Copyright (C) since 2016 Lightbend Inc. <https://www.lightbend.com>
+ */
+
+package akka.stream.alpakka.influxdb
+
+import akka.annotation.ApiMayChange
+
+import scala.concurrent.duration._
+import scala.jdk.DurationConverters._
+
+/**
+ * API may change.
+ */
+@ApiMayChange
+object InfluxDbWriteSettings {
+  val Default = new InfluxDbWriteSettings(maxBatchBytes = 512 * 1024, maxBatchWait = 100.millis, maxInflightBatches = 4)
+
+  def apply(): InfluxDbWriteSettings = Default
+
+  def create(): InfluxDbWriteSettings = Default
+
+}
+
+/**
+ * Settings for the batching flows of `InfluxDbFlow`, which write messages as line protocol.
+ *
+ * API may change.
+ */
+@ApiMayChange
+final class InfluxDbWriteSettings private (val maxBatchBytes: Int,
+                                           val maxBatchWait: FiniteDuration,
+                                           val maxInflightBatches: Int) {
+  require(maxBatchBytes > 0, s"Invalid value for maxBatchBytes: $maxBatchBytes. It should be > 0.")
+  require(maxInflightBatches > 0, s"Invalid value for maxInflightBatches: $maxInflightBatches. It should be > 0.")
+
+  /**
+   * A batch is written once its line protocol reaches this size.
+   */
+  def withMaxBatchBytes(maxBatchBytes: Int): InfluxDbWriteSettings = copy(maxBatchBytes = maxBatchBytes)
+
+  /**
+   * A batch is written at the latest this long after its first message arrived.
+   */
+  def withMaxBatchWait(maxBatchWait: FiniteDuration): InfluxDbWriteSettings = copy(maxBatchWait = maxBatchWait)
+
+  /**
+   * Java API: A batch is written at the latest this long after its first message arrived.
+   */
+  def withMaxBatchWait(maxBatchWait: java.time.Duration): InfluxDbWriteSettings =
+    copy(maxBatchWait = maxBatchWait.toScala)
+
+  /**
+   * Number of batches written at the same time. Once as many written batches wait for their results to be emitted,
+   * upstream is backpressured until downstream takes the results of the oldest batch.
+   */
+  def withMaxInflightBatches(maxInflightBatches: Int): InfluxDbWriteSettings =
+    copy(maxInflightBatches = maxInflightBatches)
+
+  private def copy(
+      maxBatchBytes: Int = maxBatchBytes,
+      maxBatchWait: FiniteDuration = maxBatchWait,
+      maxInflightBatches: Int = maxInflightBatches
+  ): InfluxDbWriteSettings = new InfluxDbWriteSettings(
+    maxBatchBytes = maxBatchBytes,
+    maxBatchWait = maxBatchWait,
+    maxInflightBatches = maxInflightBatches
+  )
+
+  override def toString: String =
+    "InfluxDbWriteSettings(" +
+    s"maxBatchBytes=$maxBatchBytes," +
+    s"maxBatchWait=$maxBatchWait," +
+    s"maxInflightBatches=$maxInflightBatches" +
+    ")"
+
+}
@@ -0,0 +1,214 @@
+/*
+ * Copyright (C) since 2016 Lightbend Inc. <https://www.lightbend.com>
+ */
+
+package akka.stream.alpakka.influxdb.impl
+
+import java.util.concurrent.TimeUnit
+
+import akka.annotation.InternalApi
+import akka.stream.ActorAttributes.SupervisionStrategy
+import akka.stream.{ActorAttributes, Attributes, FlowShape, Inlet, Outlet, Supervision}
+import akka.stream.alpakka.influxdb.{InfluxDbWriteMessage, InfluxDbWriteResult, InfluxDbWriteSettings}
+import akka.stream.stage.{GraphStage, GraphStageLogic, InHandler, OutHandler, TimerGraphStageLogic}
+import org.influxdb.InfluxDB
+import org.influxdb.InfluxDB.ConsistencyLevel
+import org.influxdb.dto.Point
+
+import scala.collection.mutable
+import scala.concurrent.{ExecutionContext, Future}
+import scala.util.{Failure, Success, Try}
+import scala.util.control.NonFatal
+
+/**
+ * INTERNAL API
+ *
+ * Writes messages as line protocol in batches per database and retention policy.
+ *
+ * Lines are appended to a batch's reusable buffer as messages arrive. A batch is written once it reaches
+ * `maxBatchBytes` or `maxBatchWait` after its first message. Up to `maxInflightBatches` batches are written at the
+ * same time. No more messages are taken while `maxInflightBatches` written batches wait for their results to be
+ * emitted, so with a slow downstream upstream is backpressured. Closed batches are always written, as the head of
+ * the results may wait for them. Results are emitted in the order of the messages, failed writes are reported in
+ * their results. A message that cannot be written as line protocol is handled by the supervision strategy, the
+ * resume and restart strategies drop it.
+ */
+@InternalApi
+private[influxdb] final class InfluxDbBatchWriteStage[T, C](
+    influxDB: InfluxDB,
+    settings: InfluxDbWriteSettings,
+    writeLine: (InfluxDbWriteMessage[T, C], java.lang.StringBuilder) => Unit,
+    target: InfluxDbWriteMessage[T, C] => (String, String)
+) extends GraphStage[FlowShape[InfluxDbWriteMessage[T, C], InfluxDbWriteResult[T, C]]] {
+
+  private val in = Inlet[InfluxDbWriteMessage[T, C]]("in")
+  private val out = Outlet[InfluxDbWriteResult[T, C]]("out")
+
+  override val shape = FlowShape(in, out)
+
+  override protected def initialAttributes: Attributes = Attributes.name("InfluxDbBatchWrite")
+
+  override def createLogic(inheritedAttributes: Attributes): GraphStageLogic =
+    new TimerGraphStageLogic(shape) with InHandler with OutHandler {
+      import InfluxDbBatchWriteStage._
+
+      private[this] val openBatches = mutable.Map.empty[(String, String), Batch]
+      private[this] val fullBatches = mutable.Queue.empty[Batch]
+      private[this] val pending = mutable.Queue.empty[(InfluxDbWriteMessage[T, C], Batch)]
+      private[this] val freeBuffers = mutable.Stack.empty[java.lang.StringBuilder]
+      private[this] val decider = inheritedAttributes.mandatoryAttribute[SupervisionStrategy].decider
+      private[this] var inflight = 0
+      // written batches whose results are not all emitted yet
+      private[this] var unemittedBatches = 0
+      private[this] var ec: ExecutionContext = _
+
+      private[this] val onWritten = getAsyncCallback[(Batch, Try[Unit])] {
+        case (batch, result) =>
+          batch.error = result match {
+            case Success(_) => None
+            case Failure(e) => Some(e.getMessage)
+          }
+          batch.written = true
+          inflight -= 1
+          unemittedBatches += 1
+          writeBatches()
+          emitWritten()
+      }
+
+      setHandlers(in, out, this)
+
+      override def preStart(): Unit = {
+        ec = materializer.system.dispatchers.lookup(ActorAttributes.IODispatcher.dispatcher)
+        pull(in)
+      }
+
+      override def onPush(): Unit = {
+        val message = grab(in)
+        try {
+          val key = target(message)
+          val batch = openBatches.getOrElseUpdate(key, openBatch(key))
+          append(message, batch)
+          batch.unemitted += 1
+          pending.enqueue(message -> batch)
+          if (batch.buffer.length >= settings.maxBatchBytes) closeBatch(batch)
+          writeBatches()
+          pullIfRoom()
+        } catch {
+          case NonFatal(ex) =>
+            decider(ex) match {
+              case Supervision.Stop => failStage(ex)
+              case _ => pullIfRoom() // for resume and restart strategies the message is dropped
+            }
+        }
+      }
+
+      override def onUpstreamFinish(): Unit = {
+        openBatches.values.toList.foreach(closeBatch)
+        writeBatches()
+        emitWritten()
+      }
+
+      override def onPull(): Unit = emitWritten()
+
+      override protected def onTimer(timerKey: Any): Unit = timerKey match {
+        case batch: Batch if openBatches.get(batch.key).contains(batch) =>
+          closeBatch(batch)
+          writeBatches()
+          pullIfRoom()
+        case _ =>
+      }
+
+      private def openBatch(key: (String, String)): Batch = {
+        val buffer =
+          if (freeBuffers.nonEmpty) freeBuffers.pop()
+          else new java.lang.StringBuilder(settings.maxBatchBytes)
+        val batch = new Batch(key, buffer)
+        scheduleOnce(batch, settings.maxBatchWait)
+        batch
+      }
+
+      // a line that fails half-way is removed again, and a batch opened for it is discarded
+      private def append(message: InfluxDbWriteMessage[T, C], batch: Batch): Unit = {
+        val length = batch.buffer.length
+        try writeLine(message, batch.buffer)
+        catch {
+          case NonFatal(ex) =>
+            batch.buffer.setLength(length)
+            if (batch.unemitted == 0) {
+              openBatches.remove(batch.key)
+              cancelTimer(batch)
+              releaseBuffer(batch)
+            }
+            throw ex
+        }
+      }
+
+      private def closeBatch(batch: Batch): Unit = {
+        openBatches.remove(batch.key)
+        cancelTimer(batch)
+        fullBatches.enqueue(batch)
+      }
+
+      private def writeBatches(): Unit =
+        while (inflight < settings.maxInflightBatches && fullBatches.nonEmpty) {
+          val batch = fullBatches.dequeue()
+          val records = batch.buffer.toString
+          releaseBuffer(batch)
+          inflight += 1
+          val (database, retentionPolicy) = batch.key
+          Future {
+            influxDB.write(database, retentionPolicy, ConsistencyLevel.ONE, TimeUnit.NANOSECONDS, records)
+          }(ec).onComplete(result => onWritten.invoke(batch -> result))(ExecutionContext.parasitic)
+        }
+
+      private def releaseBuffer(batch: Batch): Unit = {
+        batch.buffer.setLength(0)
+        if (freeBuffers.size < settings.maxInflightBatches) freeBuffers.push(batch.buffer)
+      }
+
+      // more messages are only taken while no closed batch waits for a write and downstream keeps up
+      private def pullIfRoom(): Unit =
+        if (fullBatches.isEmpty && unemittedBatches < settings.maxInflightBatches &&
+            !isClosed(in) && !hasBeenPulled(in)) pull(in)
+
+      private def emitWritten(): Unit = {
+        if (isAvailable(out) && pending.nonEmpty && pending.head._2.written) {
+          val (message, batch) = pending.dequeue()
+          batch.unemitted -= 1
+          push(out, new InfluxDbWriteResult(message, batch.error))
+          if (batch.unemitted == 0) unemittedBatches -= 1
+        }
+        if (isClosed(in) && pending.isEmpty) completeStage()
+        else pullIfRoom()
+      }
+    }
+}
+
+/**
+ * INTERNAL API
+ */
+@InternalApi
+private[influxdb] object InfluxDbBatchWriteStage {
+
+  private[impl] final class Batch(val key: (String, String), val buffer: java.lang.StringBuilder) {
+    var unemitted = 0
+    var written = false
+    var error: Option[String] = None
+  }
+
+  def pointLine[C](message: InfluxDbWriteMessage[Point, C], sb: java.lang.StringBuilder): Unit =
+    InfluxDbPointWriter.writeLine(message.point, sb)
+
+  def pointTarget[C](message: InfluxDbWriteMessage[Point, C]): (String, String) =
+    (message.databaseName.orNull, message.retentionPolicy.orNull)
+
+  def modelLine[T, C](message: InfluxDbWriteMessage[T, C], sb: java.lang.StringBuilder): Unit = {
+    val model = message.point.asInstanceOf[AnyRef]
+    InfluxDbPointWriter(model.getClass).writeLine(model, sb)
+  }
+
+  def modelTarget[T, C](message: InfluxDbWriteMessage[T, C]): (String, String) = {
+    lazy val writer = InfluxDbPointWriter(message.point.asInstanceOf[AnyRef].getClass)
+    (message.databaseName.getOrElse(writer.databaseName), message.retentionPolicy.getOrElse(writer.retentionPolicy))
+  }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (C) since 2016 Lightbend Inc. <https://www.lightbend.com>
+ */
+
+package akka.stream.alpakka.influxdb.impl
+
+import java.util.concurrent.Semaphore
+import java.util.function.{BiConsumer, Consumer}
+
+import akka.annotation.InternalApi
+import akka.stream.alpakka.influxdb.InfluxDbReadSettings
+import akka.stream.{Attributes, Outlet, SourceShape}
+import akka.stream.stage.{GraphStage, GraphStageLogic, OutHandler}
+import org.influxdb.{InfluxDB, InfluxDBException}
+import org.influxdb.InfluxDB.Cancellable
+import org.influxdb.dto.{Query, QueryResult}
+
+import scala.collection.mutable
+import scala.jdk.CollectionConverters._
+import scala.util.control.NonFatal
+
+/**
+ * INTERNAL API
+ *
+ * Runs a chunked query and emits the rows of every chunk as it arrives.
+ *
+ * The InfluxDB client hands chunks over on its own thread, which is held back until the rows of the previous chunk
+ * have been emitted. This keeps at most one chunk in memory and stops reading the HTTP response while downstream
+ * backpressures.
+ */
+@InternalApi
+private[influxdb] final class InfluxDbChunkedSourceStage[T](clazz: Class[T],
+                                                            settings: InfluxDbReadSettings,
+                                                            influxDB: InfluxDB,
+                                                            query: Query,
+                                                            chunkSize: Int)
+    extends GraphStage[SourceShape[T]] {
+  require(chunkSize > 0, "chunkSize must be greater than 0")
+
+  val out: Outlet[T] = Outlet("InfluxDb.out")
+  override val shape = SourceShape(out)
+
+  override protected def initialAttributes: Attributes = Attributes.name("InfluxDbChunkedSource")
+
+  override def createLogic(inheritedAttributes: Attributes): GraphStageLogic =
+    new GraphStageLogic(shape) with OutHandler {
+      private[this] val rowMapper = InfluxDbRowMapper(clazz)
+      private[this] val rows = mutable.Queue.empty[T]
+      // taken by the client thread before handing over a chunk, released once the previous chunk is emitted
+      private[this] val chunkPermit = new Semaphore(1)
+      private[this] var awaitingChunk = true
+      private[this] var queryCompleted = false
+      @volatile private[this] var stopped = false
+      @volatile private[this] var cancellable: Cancellable = _
+
+      private[this] val onChunk = getAsyncCallback[QueryResult] { queryResult =>
+        awaitingChunk = false
+        if (queryResult.hasError) {
+          // clients without a completion callback signal the end of the response as an error
+          if (queryResult.getError == "DONE") queryCompleted = true
+          else failStage(new InfluxDBException(queryResult.getError))
+        } else {
+          for (result <- queryResult.getResults.asScala) {
+            if (result.hasError) failStage(new InfluxDBException(result.getError))
+            else if (result.getSeries != null)
+              for (series <- result.getSeries.asScala) rows ++= rowMapper.parseSeries(series, settings.precision)
+          }
+        }
+        emitRows()
+      }
+
+      private[this] val onComplete = getAsyncCallback[Unit] { _ =>
+        queryCompleted = true
+        emitRows()
+      }
+
+      setHandler(out, this)
+
+      private[this] val onFailure = getAsyncCallback[Throwable](failStage)
+
+      override def preStart(): Unit =
+        try {
+          influxDB.query(
+            query,
+            chunkSize,
+            new BiConsumer[Cancellable, QueryResult] {
+              override def accept(c: Cancellable, queryResult: QueryResult): Unit = {
+                cancellable = c
+                chunkPermit.acquire()
+                if (stopped) c.cancel()
+                else onChunk.invoke(queryResult)
+              }
+            },
+            new Runnable {
+              override def run(): Unit = onComplete.invoke(())
+            },
+            // the request itself failed, e.g. the server is unreachable or answered with an error status
+            new Consumer[Throwable] {
+              override def accept(e: Throwable): Unit = onFailure.invoke(e)
+            }
+          )
+        } catch {
+          case NonFatal(e) => failStage(e)
+        }
+
+      override def onPull(): Unit = emitRows()
+
+      private def emitRows(): Unit =
+        if (!isClosed(out)) {
+          if (rows.nonEmpty && isAvailable(out)) push(out, rows.dequeue())
+          if (rows.isEmpty) {
+            if (queryCompleted) completeStage()
+            else if (!awaitingChunk) {
+              awaitingChunk = true
+              chunkPermit.release()
+            }
+          }
+        }
+
+      override def postStop(): Unit = {
+        stopped = true
+        if (cancellable != null) cancellable.cancel()
+        // let a client thread waiting to hand over a chunk return
+        chunkPermit.release()
+      }
+    }
+}
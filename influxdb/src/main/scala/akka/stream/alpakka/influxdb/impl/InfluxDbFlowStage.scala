@@ -136,8 +136,6 @@ private[influxdb] final class InfluxDbMapperRecordLogic[T, C](
     shape: FlowShape[immutable.Seq[InfluxDbWriteMessage[T, C]], immutable.Seq[InfluxDbWriteResult[T, C]]]
 ) extends InfluxDbLogic(influxDB, in, out, shape) {
 
-  private val mapperHelper: AlpakkaResultMapperHelper = new AlpakkaResultMapperHelper
-
   override protected def write(messages: immutable.Seq[InfluxDbWriteMessage[T, C]]): Unit =
     messages
       .groupBy(groupByDbRp)
@@ -148,16 +146,20 @@ private[influxdb] final class InfluxDbMapperRecordLogic[T, C](
     (
       im.databaseName match {
         case dbn: Some[String] => dbn
-        case None => Some(mapperHelper.databaseName(im.point.getClass))
+        case None => Some(InfluxDbPointWriter(im.point.getClass).databaseName)
       },
       im.retentionPolicy match {
         case dbn: Some[String] => dbn
-        case None => Some(mapperHelper.retentionPolicy(im.point.getClass))
+        case None => Some(InfluxDbPointWriter(im.point.getClass).retentionPolicy)
       }
     )
 
   def convertToBatchPoints(wm: ((Some[String], Some[String]), immutable.Seq[InfluxDbWriteMessage[T, C]])) =
-    toBatchPoints(wm._1._1,
-                  wm._1._2,
-                  wm._2.map(im => im.withPoint(mapperHelper.convertModelToPoint(im.point).asInstanceOf[T])))
+    toBatchPoints(
+      wm._1._1,
+      wm._1._2,
+      wm._2.map { im =>
+        im.withPoint(InfluxDbPointWriter(im.point.getClass).toPoint(im.point.asInstanceOf[AnyRef]).asInstanceOf[T])
+      }
+    )
 }
@@ -0,0 +1,218 @@
+/*
+ * Copyright (C) since 2016 Lightbend Inc. <https://www.lightbend.com>
+ */
+
+package akka.stream.alpakka.influxdb.impl
+
+import java.lang.invoke.{MethodHandle, MethodHandles}
+import java.lang.reflect.Field
+import java.time.Instant
+import java.util.concurrent.{ConcurrentHashMap, TimeUnit}
+
+import akka.annotation.InternalApi
+import org.influxdb.InfluxDBMapperException
+import org.influxdb.annotation.{Column, Measurement}
+import org.influxdb.dto.Point
+
+/**
+ * INTERNAL API
+ *
+ * Writes instances of a class with `@Measurement` and `@Column` annotations as points or as line protocol.
+ *
+ * The annotations are read once per class: every column gets a getter method handle and a writer chosen for its
+ * type, and names are escaped up front, so writing a model only invokes the getters and appends their values.
+ */
+@InternalApi
+private[impl] final class InfluxDbPointWriter private (measurement: String,
+                                                       val databaseName: String,
+                                                       val retentionPolicy: String,
+                                                       timeUnit: TimeUnit,
+                                                       time: Option[MethodHandle],
+                                                       tags: Array[InfluxDbPointWriter.ColumnWriter],
+                                                       fields: Array[InfluxDbPointWriter.ColumnWriter]) {
+  import InfluxDbPointWriter._
+
+  private val escapedMeasurement = escape(measurement, MeasurementSpecials)
+
+  def toPoint(model: AnyRef): Point = {
+    val builder = Point.measurement(measurement).time(timestamp(model), timeUnit)
+    tags.foreach { tag =>
+      val value = tag.getter.invoke(model): AnyRef
+      if (value != null) builder.tag(tag.name, value.toString)
+    }
+    fields.foreach { field =>
+      val value = field.getter.invoke(model): AnyRef
+      if (value != null) field.kind.addTo(builder, field.name, value)
+    }
+    builder.build()
+  }
+
+  /**
+   * Appends the model as one line of line protocol, with a timestamp in nanoseconds. Like in `Point`, null values
+   * and non-finite doubles are skipped. A model without any field to write fails with an `IllegalArgumentException`,
+   * as its line would make InfluxDB reject the whole batch.
+   */
+  def writeLine(model: AnyRef, sb: java.lang.StringBuilder): Unit = {
+    sb.append(escapedMeasurement)
+    tags.foreach { tag =>
+      val value = tag.getter.invoke(model): AnyRef
+      if (value != null) {
+        val s = value.toString
+        if (!s.isEmpty) appendEscaped(sb.append(',').append(tag.escapedName).append('='), s, KeySpecials)
+      }
+    }
+    var separator = ' '
+    fields.foreach { field =>
+      val value = field.getter.invoke(model): AnyRef
+      if (value != null && field.kind.writes(value)) {
+        field.kind.append(sb.append(separator).append(field.escapedName).append('='), value)
+        separator = ','
+      }
+    }
+    if (separator == ' ')
+      throw new IllegalArgumentException("Model of measurement " + measurement + " has no field to write")
+    sb.append(' ').append(TimeUnit.NANOSECONDS.convert(timestamp(model), timeUnit)).append('\n')
+  }
+
+  private def timestamp(model: AnyRef): Long = {
+    val instant = time match {
+      case Some(getter) => getter.invoke(model): AnyRef
+      case None => null
+    }
+    if (instant != null) timeUnit.convert(instant.asInstanceOf[Instant].toEpochMilli, TimeUnit.MILLISECONDS)
+    else timeUnit.convert(System.currentTimeMillis(), TimeUnit.MILLISECONDS)
+  }
+}
+
+/**
+ * INTERNAL API
+ */
+@InternalApi
+private[impl] object InfluxDbPointWriter {
+
+  private val Lookup = MethodHandles.lookup()
+
+  private val Writers = new ConcurrentHashMap[Class[_], InfluxDbPointWriter]()
+
+  private val MeasurementSpecials = ", "
+  private val KeySpecials = ",= "
+  private val StringSpecials = "\"\\"
+
+  def apply(clazz: Class[_]): InfluxDbPointWriter = Writers.computeIfAbsent(clazz, c => create(c))
+
+  /**
+   * Writes a line of line protocol for a point. `Point` skips non-finite doubles, a point without any other field
+   * fails with an `IllegalArgumentException`.
+   */
+  def writeLine(point: Point, sb: java.lang.StringBuilder): Unit = {
+    val line = point.lineProtocol()
+    if (line.isEmpty) throw new IllegalArgumentException("Point has no field to write: " + point)
+    sb.append(line).append('\n')
+  }
+
+  private def create(clazz: Class[_]): InfluxDbPointWriter = {
+    val measurement = clazz.getAnnotation(classOf[Measurement])
+    if (measurement == null)
+      throw new IllegalArgumentException(
+        "Class " + clazz.getName + " is not annotated with @" + classOf[Measurement].getSimpleName
+      )
+    // fields of super classes override fields of their sub classes with the same column name
+    val columns = Iterator
+      .iterate[Class[_]](clazz)(_.getSuperclass)
+      .takeWhile(_ != null)
+      .flatMap(_.getDeclaredFields)
+      .flatMap(field => Option(field.getAnnotation(classOf[Column])).map(column => column.name() -> (column, field)))
+      .toMap
+    val time = columns.get("time").filterNot(_._1.tag()).map {
+      case (_, field) =>
+        if (field.getType != classOf[Instant])
+          throw new InfluxDBMapperException(
+            "Unsupported type " + field.getType + " for time: should be of Instant type"
+          )
+        getter(field)
+    }
+    val (tags, fields) = columns.toSeq.sortBy(_._1).partition(_._2._1.tag())
+    new InfluxDbPointWriter(
+      measurement.name(),
+      measurement.database(),
+      measurement.retentionPolicy(),
+      measurement.timeUnit(),
+      time,
+      tags.map { case (name, (_, field)) => new ColumnWriter(name, getter(field), StringKind) }.toArray,
+      fields.collect {
+        case (name, (_, field)) if name != "time" => new ColumnWriter(name, getter(field), kind(name, field))
+      }.toArray
+    )
+  }
+
+  private def getter(field: Field): MethodHandle = {
+    field.setAccessible(true)
+    Lookup.unreflectGetter(field)
+  }
+
+  private def kind(name: String, field: Field): FieldKind = {
+    val fieldType = field.getType
+    if (fieldType == classOf[java.lang.Boolean] || fieldType == java.lang.Boolean.TYPE) BooleanKind
+    else if (fieldType == classOf[java.lang.Long] || fieldType == java.lang.Long.TYPE) IntegerKind
+    else if (fieldType == classOf[java.lang.Double] || fieldType == java.lang.Double.TYPE) FloatKind
+    else if (fieldType == classOf[java.lang.Integer] || fieldType == java.lang.Integer.TYPE) IntegerKind
+    else if (fieldType == classOf[String]) StringKind
+    else throw new InfluxDBMapperException("Unsupported type " + fieldType + " for column " + name)
+  }
+
+  private def escape(s: String, specials: String): String =
+    appendEscaped(new java.lang.StringBuilder(s.length), s, specials).toString
+
+  private def appendEscaped(sb: java.lang.StringBuilder, s: String, specials: String): java.lang.StringBuilder = {
+    var i = 0
+    while (i < s.length) {
+      val c = s.charAt(i)
+      if (specials.indexOf(c) >= 0) sb.append('\\')
+      sb.append(c)
+      i += 1
+    }
+    sb
+  }
+
+  private[impl] final class ColumnWriter(val name: String, val getter: MethodHandle, val kind: FieldKind) {
+    val escapedName: String = escape(name, KeySpecials)
+  }
+
+  /**
+   * How a column's values are written, chosen once from the type of its field.
+   */
+  private[impl] sealed abstract class FieldKind {
+    def addTo(builder: Point.Builder, name: String, value: AnyRef): Unit
+    def writes(value: AnyRef): Boolean = true
+    def append(sb: java.lang.StringBuilder, value: AnyRef): Unit
+  }
+
+  private object BooleanKind extends FieldKind {
+    def addTo(builder: Point.Builder, name: String, value: AnyRef): Unit =
+      builder.addField(name, value.asInstanceOf[java.lang.Boolean].booleanValue)
+    def append(sb: java.lang.StringBuilder, value: AnyRef): Unit =
+      sb.append(value.asInstanceOf[java.lang.Boolean].booleanValue)
+  }
+
+  private object IntegerKind extends FieldKind {
+    def addTo(builder: Point.Builder, name: String, value: AnyRef): Unit =
+      builder.addField(name, value.asInstanceOf[java.lang.Number].longValue)
+    def append(sb: java.lang.StringBuilder, value: AnyRef): Unit =
+      sb.append(value.asInstanceOf[java.lang.Number].longValue).append('i')
+  }
+
+  private object FloatKind extends FieldKind {
+    def addTo(builder: Point.Builder, name: String, value: AnyRef): Unit =
+      builder.addField(name, value.asInstanceOf[java.lang.Double].doubleValue)
+    override def writes(value: AnyRef): Boolean = java.lang.Double.isFinite(value.asInstanceOf[java.lang.Double])
+    def append(sb: java.lang.StringBuilder, value: AnyRef): Unit =
+      sb.append(value.asInstanceOf[java.lang.Double].doubleValue)
+  }
+
+  private object StringKind extends FieldKind {
+    def addTo(builder: Point.Builder, name: String, value: AnyRef): Unit =
+      builder.addField(name, value.asInstanceOf[String])
+    def append(sb: java.lang.StringBuilder, value: AnyRef): Unit =
+      appendEscaped(sb.append('"'), value.asInstanceOf[String], StringSpecials).append('"')
+  }
+}
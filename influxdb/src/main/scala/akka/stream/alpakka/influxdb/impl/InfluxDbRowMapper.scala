@@ -0,0 +1,162 @@
+/*
+ * Copyright (C) since 2016 Lightbend Inc. <https://www.lightbend.com>
+ */
+
+package akka.stream.alpakka.influxdb.impl
+
+import java.lang.invoke.{MethodHandle, MethodHandles}
+import java.lang.reflect.Field
+import java.time.Instant
+import java.time.format.DateTimeFormatterBuilder
+import java.time.temporal.ChronoField
+import java.util.concurrent.{ConcurrentHashMap, TimeUnit}
+
+import akka.annotation.InternalApi
+import org.influxdb.InfluxDBMapperException
+import org.influxdb.annotation.Column
+import org.influxdb.dto.QueryResult
+
+import scala.collection.immutable
+import scala.jdk.CollectionConverters._
+
+/**
+ * INTERNAL API
+ *
+ * Maps the rows of query results to instances of a class with `@Column` annotated fields.
+ *
+ * The constructor and the field setters are looked up once per class and invoked through method handles, the
+ * conversion of a column value is chosen once per field, and the setters of a series' columns are resolved once per
+ * column list instead of once per row.
+ */
+@InternalApi
+private[impl] final class InfluxDbRowMapper[T] private (constructor: MethodHandle,
+                                                        setters: Map[String, InfluxDbRowMapper.FieldSetter]) {
+  import InfluxDbRowMapper._
+
+  private[this] var columns: java.util.List[String] = _
+  private[this] var columnSetters: Array[FieldSetter] = _
+
+  def parseSeries(series: QueryResult.Series, precision: TimeUnit): immutable.Seq[T] = {
+    val rowSetters = settersFor(series.getColumns)
+    series.getValues.asScala.iterator.map(row => parseRow(rowSetters, row, precision)).toList
+  }
+
+  private def settersFor(seriesColumns: java.util.List[String]): Array[FieldSetter] = {
+    if (columns != seriesColumns) {
+      columnSetters = seriesColumns.asScala.iterator.map(column => setters.getOrElse(column, null)).toArray
+      columns = seriesColumns
+    }
+    columnSetters
+  }
+
+  private def parseRow(rowSetters: Array[FieldSetter], values: java.util.List[AnyRef], precision: TimeUnit): T = {
+    val obj = constructor.invoke().asInstanceOf[AnyRef]
+    var i = 0
+    while (i < rowSetters.length) {
+      val setter = rowSetters(i)
+      val value = values.get(i)
+      if (setter != null && value != null) setter.set(obj, value, precision)
+      i += 1
+    }
+    obj.asInstanceOf[T]
+  }
+}
+
+/**
+ * INTERNAL API
+ */
+@InternalApi
+private[impl] object InfluxDbRowMapper {
+
+  private val Lookup = MethodHandles.lookup()
+
+  private val ClassAccessors = new ConcurrentHashMap[Class[_], (MethodHandle, Map[String, FieldSetter])]()
+
+  private val RFC3339Formatter = new DateTimeFormatterBuilder()
+    .appendPattern("yyyy-MM-dd'T'HH:mm:ss")
+    .appendFraction(ChronoField.NANO_OF_SECOND, 0, 9, true)
+    .appendZoneOrOffsetId
+    .toFormatter
+
+  /**
+   * Creates a mapper for `clazz`, which holds the column order of the last mapped series and may only be used by
+   * one stage at a time. The constructor and field setters are shared between all mappers of a class.
+   */
+  def apply[T](clazz: Class[T]): InfluxDbRowMapper[T] = {
+    val (constructor, setters) = ClassAccessors.computeIfAbsent(clazz, c => accessors(c))
+    new InfluxDbRowMapper[T](constructor, setters)
+  }
+
+  private def accessors(clazz: Class[_]): (MethodHandle, Map[String, FieldSetter]) =
+    try {
+      val constructor = clazz.getDeclaredConstructor()
+      constructor.setAccessible(true)
+      // fields of super classes override fields of their sub classes with the same column name
+      val setters = Iterator
+        .iterate[Class[_]](clazz)(_.getSuperclass)
+        .takeWhile(_ != null)
+        .flatMap(_.getDeclaredFields)
+        .flatMap { field =>
+          Option(field.getAnnotation(classOf[Column])).map(column => column.name() -> fieldSetter(clazz, field))
+        }
+        .toMap
+      (Lookup.unreflectConstructor(constructor), setters)
+    } catch {
+      case e: ReflectiveOperationException => throw new InfluxDBMapperException(e)
+    }
+
+  private def fieldSetter(clazz: Class[_], field: Field): FieldSetter = {
+    field.setAccessible(true)
+    new FieldSetter(clazz, field, Lookup.unreflectSetter(field), converter(clazz, field))
+  }
+
+  private def converter(clazz: Class[_], field: Field): (AnyRef, TimeUnit) => AnyRef = {
+    val fieldType = field.getType
+    if (fieldType == classOf[String]) (value, _) => String.valueOf(value)
+    else if (fieldType == classOf[Instant]) (value, precision) => toInstant(field, value, precision)
+    else if (fieldType == java.lang.Double.TYPE || fieldType == classOf[java.lang.Double])
+      (value, _) => value.asInstanceOf[java.lang.Double]
+    else if (fieldType == java.lang.Long.TYPE || fieldType == classOf[java.lang.Long])
+      (value, _) => java.lang.Long.valueOf(value.asInstanceOf[java.lang.Double].longValue)
+    else if (fieldType == java.lang.Integer.TYPE)
+      (value, _) => java.lang.Integer.valueOf(value.asInstanceOf[java.lang.Double].intValue)
+    else if (fieldType == classOf[java.lang.Integer]) (value, _) => value.asInstanceOf[java.lang.Integer]
+    else if (fieldType == java.lang.Boolean.TYPE)
+      (value, _) => java.lang.Boolean.valueOf(String.valueOf(value).toBoolean)
+    else if (fieldType == classOf[java.lang.Boolean]) (value, _) => value.asInstanceOf[java.lang.Boolean]
+    else
+      (_, _) =>
+        throw new InfluxDBMapperException(
+          s"Class '${clazz.getName}' field '${field.getName}' is from an unsupported type '${field.getType}'."
+        )
+  }
+
+  private def toInstant(field: Field, value: AnyRef, precision: TimeUnit): Instant =
+    value match {
+      case s: String => Instant.from(RFC3339Formatter.parse(s))
+      case l: java.lang.Long => Instant.ofEpochMilli(TimeUnit.MILLISECONDS.convert(l.longValue, precision))
+      case d: java.lang.Double => Instant.ofEpochMilli(TimeUnit.MILLISECONDS.convert(d.longValue, precision))
+      case i: java.lang.Integer => Instant.ofEpochMilli(TimeUnit.MILLISECONDS.convert(i.longValue, precision))
+      case _ => throw new InfluxDBMapperException(s"Unsupported type ${field.getClass} for field ${field.getName}")
+    }
+
+  /**
+   * Sets one field from the value of a column.
+   */
+  private[impl] final class FieldSetter(clazz: Class[_],
+                                        field: Field,
+                                        setter: MethodHandle,
+                                        convert: (AnyRef, TimeUnit) => AnyRef) {
+
+    def set(obj: AnyRef, value: AnyRef, precision: TimeUnit): Unit =
+      try {
+        setter.invoke(obj, convert(value, precision))
+      } catch {
+        case _: ClassCastException =>
+          val msg =
+            s"""Class '${clazz.getName}' field '${field.getName}' was defined with a different field type and caused a ClassCastException.
+               |The correct type is '${value.getClass.getName}' (current field value: '${value}')""".stripMargin
+          throw new InfluxDBMapperException(msg)
+      }
+  }
+}
@@ -46,11 +46,10 @@ private[influxdb] final class InfluxDbSourceLogic[T](clazz: Class[T],
                                                      shape: SourceShape[T])
     extends InfluxDbBaseSourceLogic[T](influxDB, query, outlet, shape) {
 
-  var resultMapperHelper: AlpakkaResultMapperHelper = _
+  var rowMapper: InfluxDbRowMapper[T] = _
 
   override def preStart(): Unit = {
-    resultMapperHelper = new AlpakkaResultMapperHelper
-    resultMapperHelper.cacheClassFields(clazz)
+    rowMapper = InfluxDbRowMapper(clazz)
     super.preStart()
   }
   override def onPull(): Unit =
@@ -62,7 +61,7 @@ private[influxdb] final class InfluxDbSourceLogic[T](clazz: Class[T],
             failStage(new InfluxDBException(result.getError))
           } else {
             for (series <- result.getSeries.asScala) {
-              emitMultiple(outlet, resultMapperHelper.parseSeriesAs(clazz, series, settings.precision))
+              emitMultiple(outlet, rowMapper.parseSeries(series, settings.precision))
             }
           }
         }
@@ -6,7 +6,7 @@ package akka.stream.alpakka.influxdb.javadsl
 
 import akka.NotUsed
 import akka.annotation.ApiMayChange
-import akka.stream.alpakka.influxdb.{InfluxDbWriteMessage, InfluxDbWriteResult}
+import akka.stream.alpakka.influxdb.{InfluxDbWriteMessage, InfluxDbWriteResult, InfluxDbWriteSettings}
 import org.influxdb.InfluxDB
 import akka.stream.javadsl.Flow
 import akka.stream.alpakka.influxdb.scaladsl
@@ -64,4 +64,28 @@ object InfluxDbFlow {
       .map(_.asJava)
       .asJava
 
+  /**
+   * Writes points one message at a time, batching them as line protocol per database and retention policy.
+   *
+   * A batch is written once it reaches `settings.maxBatchBytes` or `settings.maxBatchWait` after its first message,
+   * and several batches are written at the same time. Results are emitted in the order of the messages and carry
+   * the error of a failed write.
+   */
+  def batchedWithPassThrough[C](
+      settings: InfluxDbWriteSettings,
+      influxDB: InfluxDB
+  ): Flow[InfluxDbWriteMessage[Point, C], InfluxDbWriteResult[Point, C], NotUsed] =
+    scaladsl.InfluxDbFlow.batchedWithPassThrough[C](settings)(influxDB).asJava
+
+  /**
+   * Writes instances of `T` one message at a time, batching them as line protocol per database and retention
+   * policy, see `batchedWithPassThrough`.
+   */
+  def typedBatchedWithPassThrough[T, C](
+      clazz: Class[T],
+      settings: InfluxDbWriteSettings,
+      influxDB: InfluxDB
+  ): Flow[InfluxDbWriteMessage[T, C], InfluxDbWriteResult[T, C], NotUsed] =
+    scaladsl.InfluxDbFlow.typedBatchedWithPassThrough[T, C](clazz, settings)(influxDB).asJava
+
 }
@@ -10,7 +10,7 @@ import akka.stream.alpakka.influxdb.InfluxDbReadSettings
 import akka.stream.javadsl.Source
 import org.influxdb.InfluxDB
 import org.influxdb.dto.{Query, QueryResult}
-import akka.stream.alpakka.influxdb.impl.{InfluxDbRawSourceStage, InfluxDbSourceStage}
+import akka.stream.alpakka.influxdb.impl.{InfluxDbChunkedSourceStage, InfluxDbRawSourceStage, InfluxDbSourceStage}
 
 /**
  * Java API to create InfluxDB sources.
@@ -39,4 +39,17 @@ object InfluxDbSource {
       )
     )
 
+  /**
+   * Java API: read elements of `T` by running `query` in chunks of `chunkSize` rows.
+   *
+   * Rows are emitted as the chunks arrive, and the next chunk is only read once the rows of the previous one have
+   * been emitted. Use this instead of `typed` for queries returning more rows than should be held in memory.
+   */
+  def chunked[T](clazz: Class[T],
+                 settings: InfluxDbReadSettings,
+                 influxDB: InfluxDB,
+                 query: Query,
+                 chunkSize: Int): Source[T, NotUsed] =
+    Source.fromGraph(new InfluxDbChunkedSourceStage[T](clazz, settings, influxDB, query, chunkSize))
+
 }
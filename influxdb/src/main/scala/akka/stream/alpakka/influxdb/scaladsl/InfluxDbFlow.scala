@@ -6,7 +6,7 @@ package akka.stream.alpakka.influxdb.scaladsl
 
 import akka.NotUsed
 import akka.annotation.ApiMayChange
-import akka.stream.alpakka.influxdb.{impl, InfluxDbWriteMessage, InfluxDbWriteResult}
+import akka.stream.alpakka.influxdb.{impl, InfluxDbWriteMessage, InfluxDbWriteResult, InfluxDbWriteSettings}
 import akka.stream.scaladsl.Flow
 import org.influxdb.InfluxDB
 import org.influxdb.dto.Point
@@ -43,4 +43,35 @@ object InfluxDbFlow {
   ): Flow[immutable.Seq[InfluxDbWriteMessage[T, C]], immutable.Seq[InfluxDbWriteResult[T, C]], NotUsed] =
     Flow.fromGraph(new impl.InfluxDbMapperFlowStage[T, C](clazz, influxDB))
 
+  /**
+   * Writes points one message at a time, batching them as line protocol per database and retention policy.
+   *
+   * A batch is written once it reaches `settings.maxBatchBytes` or `settings.maxBatchWait` after its first message,
+   * and several batches are written at the same time. Results are emitted in the order of the messages and carry
+   * the error of a failed write.
+   */
+  def batchedWithPassThrough[C](settings: InfluxDbWriteSettings)(
+      implicit influxDB: InfluxDB
+  ): Flow[InfluxDbWriteMessage[Point, C], InfluxDbWriteResult[Point, C], NotUsed] =
+    Flow.fromGraph(
+      new impl.InfluxDbBatchWriteStage[Point, C](influxDB,
+                                                settings,
+                                                impl.InfluxDbBatchWriteStage.pointLine[C],
+                                                impl.InfluxDbBatchWriteStage.pointTarget[C])
+    )
+
+  /**
+   * Writes instances of `T` one message at a time, batching them as line protocol per database and retention
+   * policy, see [[batchedWithPassThrough]].
+   */
+  def typedBatchedWithPassThrough[T, C](clazz: Class[T], settings: InfluxDbWriteSettings)(
+      implicit influxDB: InfluxDB
+  ): Flow[InfluxDbWriteMessage[T, C], InfluxDbWriteResult[T, C], NotUsed] =
+    Flow.fromGraph(
+      new impl.InfluxDbBatchWriteStage[T, C](influxDB,
+                                             settings,
+                                             impl.InfluxDbBatchWriteStage.modelLine[T, C],
+                                             impl.InfluxDbBatchWriteStage.modelTarget[T, C])
+    )
+
 }
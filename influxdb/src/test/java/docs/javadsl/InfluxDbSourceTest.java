@@ -71,6 +71,22 @@ public class InfluxDbSourceTest {
     Assert.assertEquals(2, cpus.size());
   }
 
+  @Test
+  public void streamChunkedQueryResult() throws Exception {
+    // #run-chunked
+    Query query = new Query("SELECT * FROM cpu", DATABASE_NAME);
+
+    CompletionStage<List<InfluxDbSourceCpu>> rows =
+        InfluxDbSource.chunked(
+                InfluxDbSourceCpu.class, InfluxDbReadSettings.Default(), influxDB, query, 1)
+            .runWith(Sink.seq(), system);
+    // #run-chunked
+
+    List<InfluxDbSourceCpu> cpus = rows.toCompletableFuture().get();
+
+    Assert.assertEquals(2, cpus.size());
+  }
+
   @Test
   public void streamRawQueryResult() throws Exception {
     Query query = new Query("SELECT * FROM cpu", DATABASE_NAME);
@@ -31,6 +31,7 @@ import akka.stream.Materializer;
 import akka.stream.alpakka.influxdb.InfluxDbReadSettings;
 import akka.stream.alpakka.influxdb.InfluxDbWriteMessage;
 import akka.stream.alpakka.influxdb.InfluxDbWriteResult;
+import akka.stream.alpakka.influxdb.InfluxDbWriteSettings;
 import akka.stream.alpakka.influxdb.javadsl.InfluxDbFlow;
 import akka.stream.alpakka.influxdb.javadsl.InfluxDbSink;
 import akka.stream.alpakka.influxdb.javadsl.InfluxDbSource;
@@ -130,6 +131,41 @@ public class InfluxDbTest {
     assertEquals(4, sources.toCompletableFuture().get().size());
   }
 
+  @Test
+  public void testConsumeAndPublishMeasurementsBatched() throws Exception {
+    Query query = new Query("SELECT * FROM cpu", DATABASE_NAME);
+    // #run-batched-flow
+    InfluxDbWriteSettings settings =
+        InfluxDbWriteSettings.create()
+            .withMaxBatchBytes(64 * 1024)
+            .withMaxBatchWait(Duration.ofMillis(50))
+            .withMaxInflightBatches(4);
+
+    CompletionStage<List<InfluxDbWriteResult<InfluxDbCpu, String>>> completionStage =
+        InfluxDbSource.typed(InfluxDbCpu.class, InfluxDbReadSettings.Default(), influxDB, query)
+            .map(
+                cpu -> {
+                  InfluxDbCpu clonedCpu = cpu.cloneAt(cpu.getTime().plusSeconds(60000l));
+                  return InfluxDbWriteMessage.create(clonedCpu, clonedCpu.getHostname());
+                })
+            .via(
+                InfluxDbFlow.<InfluxDbCpu, String>typedBatchedWithPassThrough(
+                    InfluxDbCpu.class, settings, influxDB))
+            .runWith(Sink.seq(), system);
+    // #run-batched-flow
+
+    List<InfluxDbWriteResult<InfluxDbCpu, String>> results =
+        completionStage.toCompletableFuture().get();
+    assertEquals(2, results.size());
+    results.forEach(result -> Assert.assertFalse(result.error().isDefined()));
+
+    CompletionStage<List<Cpu>> sources =
+        InfluxDbSource.typed(Cpu.class, InfluxDbReadSettings.Default(), influxDB, query)
+            .runWith(Sink.seq(), system);
+
+    assertEquals(4, sources.toCompletableFuture().get().size());
+  }
+
   @Test
   public void testConsumeAndPublishMeasurements() throws Exception {
     // #run-query-result
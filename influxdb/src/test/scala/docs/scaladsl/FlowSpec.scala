@@ -6,10 +6,17 @@ package docs.scaladsl
 
 import java.time.Instant
 import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
 
-import akka.Done
+import akka.{Done, NotUsed}
 import akka.actor.ActorSystem
-import akka.stream.alpakka.influxdb.{InfluxDbReadSettings, InfluxDbWriteMessage, InfluxDbWriteResult}
+import akka.stream.{ActorAttributes, Supervision}
+import akka.stream.alpakka.influxdb.{
+  InfluxDbReadSettings,
+  InfluxDbWriteMessage,
+  InfluxDbWriteResult,
+  InfluxDbWriteSettings
+}
 import akka.stream.alpakka.influxdb.scaladsl.{InfluxDbFlow, InfluxDbSource}
 import akka.stream.alpakka.testkit.scaladsl.LogCapturing
 import akka.stream.scaladsl.{Sink, Source}
@@ -19,6 +26,7 @@ import org.scalatest.{BeforeAndAfterAll, BeforeAndAfterEach}
 import org.scalatest.concurrent.ScalaFutures
 import docs.javadsl.TestUtils._
 import akka.stream.testkit.scaladsl.StreamTestKit.assertAllStagesStopped
+import akka.stream.testkit.scaladsl.TestSink
 import org.influxdb.dto.{Point, Query}
 
 import scala.concurrent.duration._
@@ -130,4 +138,170 @@ class FlowSpec
     )
   }
 
+  "write batches of points and emit results in order" in assertAllStagesStopped {
+    val messages = (1 to 100).map { i =>
+      val point = Point
+        .measurement("batched")
+        .time(i.toLong, TimeUnit.MILLISECONDS)
+        .addField("value", i.toLong)
+        .build()
+      InfluxDbWriteMessage(point).withDatabaseName(DatabaseName).withPassThrough(i)
+    }
+
+    //#run-batched-flow
+    val settings = InfluxDbWriteSettings()
+      .withMaxBatchBytes(1024)
+      .withMaxBatchWait(50.millis)
+      .withMaxInflightBatches(4)
+
+    val results = Source(messages)
+      .via(InfluxDbFlow.batchedWithPassThrough[Int](settings))
+      .runWith(Sink.seq)
+    //#run-batched-flow
+
+    results.futureValue.map(_.writeMessage.passThrough) mustBe (1 to 100)
+    results.futureValue.flatMap(_.error) mustBe empty
+
+    val written = InfluxDbSource(influxDB, new Query("SELECT * FROM batched", DatabaseName))
+      .runWith(Sink.head)
+      .futureValue
+    written.getResults.get(0).getSeries.get(0).getValues.size mustBe 100
+  }
+
+  "backpressure upstream while the results of written batches are not taken" in assertAllStagesStopped {
+    val pulled = new AtomicInteger()
+    val messages = (1 to 1000).map { i =>
+      val point = Point
+        .measurement("backpressured")
+        .time(i.toLong, TimeUnit.MILLISECONDS)
+        .addField("value", i.toLong)
+        .build()
+      InfluxDbWriteMessage(point).withDatabaseName(DatabaseName).withPassThrough(i)
+    }
+
+    val settings = InfluxDbWriteSettings()
+      .withMaxBatchBytes(200)
+      .withMaxBatchWait(10.millis)
+      .withMaxInflightBatches(2)
+
+    val probe = Source(messages)
+      .map { message =>
+        pulled.incrementAndGet()
+        message
+      }
+      .via(InfluxDbFlow.batchedWithPassThrough[Int](settings))
+      .runWith(TestSink())
+
+    probe.request(1)
+    probe.expectNext().writeMessage.passThrough mustBe 1
+    probe.expectNoMessage(500.millis)
+    // at most the open batch, a closed batch and the written batches waiting for their results to be emitted
+    pulled.get must be < 50
+
+    probe.request(999)
+    probe.expectNextN(999).map(_.writeMessage.passThrough) mustBe (2 to 1000)
+    probe.expectComplete()
+  }
+
+  "write a waiting batch of a quiet database while another database is busy" in assertAllStagesStopped {
+    val otherDatabase = DatabaseName + "Other"
+    influxDB.query(new Query("CREATE DATABASE " + otherDatabase))
+    def message(database: String, measurement: String, i: Int) = {
+      val point = Point
+        .measurement(measurement)
+        .time(i.toLong, TimeUnit.MILLISECONDS)
+        .addField("value", i.toLong)
+        .build()
+      InfluxDbWriteMessage(point).withDatabaseName(database).withPassThrough(i)
+    }
+    val messages = message(otherDatabase, "quiet", 1) +: (2 to 100).map(message(DatabaseName, "busy", _))
+
+    val settings = InfluxDbWriteSettings()
+      .withMaxBatchBytes(200)
+      .withMaxBatchWait(300.millis)
+      .withMaxInflightBatches(1)
+
+    val results = Source(messages)
+      .via(InfluxDbFlow.batchedWithPassThrough[Int](settings))
+      .runWith(Sink.seq)
+
+    results.futureValue(timeout(5.seconds)).map(_.writeMessage.passThrough) mustBe (1 to 100)
+    results.futureValue.flatMap(_.error) mustBe empty
+
+    val quiet = InfluxDbSource(influxDB, new Query("SELECT * FROM quiet", otherDatabase))
+      .runWith(Sink.head)
+      .futureValue
+    quiet.getResults.get(0).getSeries.get(0).getValues.size mustBe 1
+    dropDatabase(influxDB, otherDatabase)
+  }
+
+  "write batches of typed models as line protocol" in assertAllStagesStopped {
+    val cpus = (1 to 10).map { i =>
+      val time = Instant.now().minusSeconds(i.toLong)
+      new InfluxDbFlowCpu(time, s"batched_$i", "eu west", i.toDouble, i % 2 == 0, i.toLong)
+    }
+
+    val results = Source(cpus)
+      .map(cpu => InfluxDbWriteMessage(cpu).withPassThrough(cpu.getHostname))
+      .via(InfluxDbFlow.typedBatchedWithPassThrough[InfluxDbFlowCpu, String](classOf[InfluxDbFlowCpu],
+                                                                              InfluxDbWriteSettings()))
+      .runWith(Sink.seq)
+
+    results.futureValue.map(_.writeMessage.passThrough) mustBe cpus.map(_.getHostname)
+    results.futureValue.flatMap(_.error) mustBe empty
+
+    val written = InfluxDbSource
+      .typed(classOf[InfluxDbFlowCpu],
+             InfluxDbReadSettings.Default,
+             influxDB,
+             new Query("SELECT * FROM cpu WHERE hostname =~ /batched_/", DatabaseName))
+      .runWith(Sink.seq)
+      .futureValue
+    written.map(_.getRegion).distinct mustBe Seq("eu west")
+    written.map(_.getUptimeSecs.longValue).sorted mustBe (1L to 10L)
+  }
+
+  "skip non-finite doubles and drop models without fields when resuming" in assertAllStagesStopped {
+    val time = Instant.now().minusSeconds(100)
+    val cpus = List(
+      new InfluxDbFlowCpu(time, "unwritable_1", "eu-west-2", 1.5d, true, 1L),
+      new InfluxDbFlowCpu(time, "unwritable_2", "eu-west-2", Double.NaN, true, 2L),
+      new InfluxDbFlowCpu(time, "unwritable_3", "eu-west-2", null, null, null),
+      new InfluxDbFlowCpu(time, "unwritable_4", "eu-west-2", Double.PositiveInfinity, null, null)
+    )
+
+    val results = Source(cpus)
+      .map(cpu => InfluxDbWriteMessage(cpu).withPassThrough(cpu.getHostname))
+      .via(
+        InfluxDbFlow
+          .typedBatchedWithPassThrough[InfluxDbFlowCpu, String](classOf[InfluxDbFlowCpu], InfluxDbWriteSettings())
+          .withAttributes(ActorAttributes.supervisionStrategy(Supervision.resumingDecider))
+      )
+      .runWith(Sink.seq)
+
+    results.futureValue.map(_.writeMessage.passThrough) mustBe Seq("unwritable_1", "unwritable_2")
+    results.futureValue.flatMap(_.error) mustBe empty
+
+    val written = InfluxDbSource
+      .typed(classOf[InfluxDbFlowCpu],
+             InfluxDbReadSettings.Default,
+             influxDB,
+             new Query("SELECT * FROM cpu WHERE hostname =~ /unwritable_/", DatabaseName))
+      .runWith(Sink.seq)
+      .futureValue
+    written.map(_.getUptimeSecs.longValue).sorted mustBe Seq(1L, 2L)
+  }
+
+  "fail the stream on a model without fields" in assertAllStagesStopped {
+    val cpu = new InfluxDbFlowCpu(Instant.now(), "fieldless", "eu-west-2", null, null, null)
+
+    val result = Source
+      .single(InfluxDbWriteMessage(cpu))
+      .via(InfluxDbFlow.typedBatchedWithPassThrough[InfluxDbFlowCpu, NotUsed](classOf[InfluxDbFlowCpu],
+                                                                               InfluxDbWriteSettings()))
+      .runWith(Sink.seq)
+
+    result.failed.futureValue mustBe an[IllegalArgumentException]
+  }
+
 }
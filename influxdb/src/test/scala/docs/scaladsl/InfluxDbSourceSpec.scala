@@ -10,7 +10,7 @@ import akka.stream.alpakka.influxdb.scaladsl.InfluxDbSource
 import akka.stream.alpakka.testkit.scaladsl.LogCapturing
 import akka.stream.scaladsl.Sink
 import akka.testkit.TestKit
-import org.influxdb.{InfluxDB, InfluxDBException}
+import org.influxdb.{InfluxDB, InfluxDBException, InfluxDBFactory}
 import org.scalatest.{BeforeAndAfterAll, BeforeAndAfterEach}
 import org.scalatest.concurrent.ScalaFutures
 import akka.stream.testkit.scaladsl.StreamTestKit.assertAllStagesStopped
@@ -83,6 +83,45 @@ class InfluxDbSourceSpec
     error mustBe "undefined function man()"
   }
 
+  "support chunked typed source" in assertAllStagesStopped {
+    // #run-chunked
+    val query = new Query("SELECT * FROM cpu", DatabaseName)
+
+    val rows = InfluxDbSource
+      .chunked(classOf[InfluxDbSourceCpu], InfluxDbReadSettings.Default, influxDB, query, chunkSize = 1)
+      .runWith(Sink.seq)
+    // #run-chunked
+
+    rows.futureValue.map(_.getHostname) mustBe Seq("local_1", "local_2")
+  }
+
+  "fail chunked typed source on query errors" in assertAllStagesStopped {
+    val query = new Query("SELECT man() FROM invalid", DatabaseName)
+
+    val result = InfluxDbSource
+      .chunked(classOf[InfluxDbSourceCpu], InfluxDbReadSettings.Default, influxDB, query, chunkSize = 1)
+      .recover[AnyRef] {
+        case e: InfluxDBException => e.getMessage
+      }
+      .runWith(Sink.seq)
+      .futureValue
+
+    result mustBe Seq("undefined function man()")
+  }
+
+  "fail chunked typed source when the server is unreachable" in assertAllStagesStopped {
+    val unreachable = InfluxDBFactory.connect("http://localhost:1")
+    try {
+      val query = new Query("SELECT * FROM cpu", DatabaseName)
+
+      val result = InfluxDbSource
+        .chunked(classOf[InfluxDbSourceCpu], InfluxDbReadSettings.Default, unreachable, query, chunkSize = 1)
+        .runWith(Sink.seq)
+
+      result.failed.futureValue mustBe an[Exception]
+    } finally unreachable.close()
+  }
+
   "exception on typed source" in assertAllStagesStopped {
     val query = new Query("SELECT man() FROM invalid", DatabaseName);
 
@@ -17,6 +17,9 @@ object KinesisErrors {
       extends RuntimeException(s"Failed to fetch records from Kinesis for shard [$shardId]. Reason : ${e.getMessage}",
                                e)
       with KinesisSourceError
+  class ListShardsError(val streamName: String, e: Throwable)
+      extends RuntimeException(s"Failed to list the shards of stream [$streamName]. Reason : ${e.getMessage}", e)
+      with KinesisSourceError
 
   sealed trait KinesisFlowErrors extends NoStackTrace
   case class FailurePublishingRecords(e: Throwable)
@@ -16,7 +16,9 @@ final class ShardSettings private (
     val startingSequenceNumber: Option[String],
     val atTimestamp: Option[java.time.Instant],
     val refreshInterval: scala.concurrent.duration.FiniteDuration,
-    val limit: Int
+    val limit: Int,
+    val maxBufferedBytes: Option[Long],
+    val minRefreshInterval: scala.concurrent.duration.FiniteDuration
 ) {
   require(
     limit >= 1 && limit <= 10000,
@@ -32,6 +34,7 @@ final class ShardSettings private (
       require(atTimestamp.nonEmpty, "a timestamp must be set (try using just `withAtTimestamp`)")
     case _ => ()
   }
+  require(maxBufferedBytes.forall(_ > 0), "maxBufferedBytes must be positive")
 
   def withStreamName(value: String): ShardSettings = copy(streamName = value)
   def withShardId(value: String): ShardSettings = copy(shardId = value)
@@ -50,6 +53,23 @@ final class ShardSettings private (
   def withRefreshInterval(value: java.time.Duration): ShardSettings = copy(refreshInterval = value.toScala)
   def withLimit(value: Int): ShardSettings = copy(limit = value)
 
+  /**
+   * Prefetch the next `GetRecords` call while the records of the current one are still being emitted, as long as
+   * fewer than `maxBufferedBytes` of record data are buffered. A single response may hold up to 10 MB, so the
+   * buffer may exceed the limit by the size of one response.
+   *
+   * In this mode polling adapts to `MillisBehindLatest`: while the shard is behind, calls are issued every
+   * `minRefreshInterval`; once caught up, the interval doubles with each poll up to `refreshInterval`.
+   */
+  def withPrefetch(maxBufferedBytes: Long): ShardSettings = copy(maxBufferedBytes = Some(maxBufferedBytes))
+
+  /** Scala API: The polling interval used while the shard is behind, see [[withPrefetch]]. */
+  def withMinRefreshInterval(value: scala.concurrent.duration.FiniteDuration): ShardSettings =
+    copy(minRefreshInterval = value)
+
+  /** Java API: The polling interval used while the shard is behind, see [[withPrefetch]]. */
+  def withMinRefreshInterval(value: java.time.Duration): ShardSettings = copy(minRefreshInterval = value.toScala)
+
   private def copy(
       streamName: String = streamName,
       shardId: String = shardId,
@@ -57,7 +77,9 @@ final class ShardSettings private (
       startingSequenceNumber: Option[String] = startingSequenceNumber,
       atTimestamp: Option[java.time.Instant] = atTimestamp,
       refreshInterval: scala.concurrent.duration.FiniteDuration = refreshInterval,
-      limit: Int = limit
+      limit: Int = limit,
+      maxBufferedBytes: Option[Long] = maxBufferedBytes,
+      minRefreshInterval: scala.concurrent.duration.FiniteDuration = minRefreshInterval
   ): ShardSettings = new ShardSettings(
     streamName = streamName,
     shardId = shardId,
@@ -65,7 +87,9 @@ final class ShardSettings private (
     startingSequenceNumber = startingSequenceNumber,
     atTimestamp = atTimestamp,
     refreshInterval = refreshInterval,
-    limit = limit
+    limit = limit,
+    maxBufferedBytes = maxBufferedBytes,
+    minRefreshInterval = minRefreshInterval
   )
 
   override def toString =
@@ -76,7 +100,9 @@ final class ShardSettings private (
     s"startingSequenceNumber=$startingSequenceNumber," +
     s"atTimestamp=$atTimestamp," +
     s"refreshInterval=${refreshInterval.toCoarsest}," +
-    s"limit=$limit" +
+    s"limit=$limit," +
+    s"maxBufferedBytes=$maxBufferedBytes," +
+    s"minRefreshInterval=${minRefreshInterval.toCoarsest}" +
     ")"
 }
 
@@ -96,7 +122,10 @@ object ShardSettings {
       startingSequenceNumber = shardIterator.startingSequenceNumber,
       atTimestamp = shardIterator.timestamp,
       refreshInterval = 1.second,
-      limit = 500
+      limit = 500,
+      maxBufferedBytes = None,
+      // GetRecords is limited to 5 calls per second per shard
+      minRefreshInterval = 200.millis
     )
 
   /**
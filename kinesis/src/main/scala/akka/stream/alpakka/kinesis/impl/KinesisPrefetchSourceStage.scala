@@ -0,0 +1,207 @@
+/*
+ * Copyright (C) since 2016 Lightbend Inc. <https://www.lightbend.com>
+ */
+
+package akka.stream.alpakka.kinesis.impl
+
+import java.util.concurrent.CompletionException
+
+import akka.annotation.InternalApi
+import akka.stream.alpakka.kinesis.{ShardSettings, KinesisErrors => Errors}
+import akka.stream.stage._
+import akka.stream.{Attributes, Outlet, SourceShape}
+import software.amazon.awssdk.services.kinesis.KinesisAsyncClient
+import software.amazon.awssdk.services.kinesis.model._
+
+import scala.collection.mutable
+import scala.concurrent.ExecutionContext
+import scala.concurrent.duration._
+import scala.jdk.CollectionConverters._
+import scala.jdk.FutureConverters._
+import scala.util.{Failure, Success, Try}
+
+/**
+ * Internal API
+ */
+@InternalApi
+private[kinesis] object KinesisPrefetchSourceStage {
+
+  private[kinesis] final case object GetRecords
+
+  private[kinesis] def isThrottled(ex: Throwable): Boolean = ex match {
+    case _: ProvisionedThroughputExceededException => true
+    case e: CompletionException if e.getCause != null => isThrottled(e.getCause)
+    case _ => false
+  }
+
+  /**
+   * `minInterval` doubled `caughtUpPolls` times, at most `refreshInterval`. Compared in nanoseconds, so the doubled
+   * interval cannot overflow before it is capped.
+   */
+  private[kinesis] def caughtUpInterval(minInterval: FiniteDuration,
+                                        refreshInterval: FiniteDuration,
+                                        caughtUpPolls: Int): FiniteDuration = {
+    val minNanos = math.max(minInterval.toNanos, 1L)
+    if (minNanos > (refreshInterval.toNanos >> caughtUpPolls)) refreshInterval
+    else (minNanos << caughtUpPolls).nanos
+  }
+
+}
+
+/**
+ * Internal API
+ *
+ * Reads a single shard and keeps one `GetRecords` call in flight while buffered records are emitted, until
+ * `maxBufferedBytes` of record data are buffered. The interval between calls adapts to `MillisBehindLatest`.
+ */
+@InternalApi
+private[kinesis] class KinesisPrefetchSourceStage(shardSettings: ShardSettings,
+                                                  amazonKinesisAsync: => KinesisAsyncClient)
+    extends GraphStage[SourceShape[Record]] {
+
+  import KinesisPrefetchSourceStage._
+
+  require(shardSettings.maxBufferedBytes.isDefined, "prefetching requires maxBufferedBytes to be set")
+
+  private val out = Outlet[Record]("Records")
+
+  override def shape: SourceShape[Record] = new SourceShape[Record](out)
+
+  override def createLogic(inheritedAttributes: Attributes): GraphStageLogic =
+    new TimerGraphStageLogic(shape) with StageLogging with OutHandler {
+
+      setHandler(out, this)
+
+      import shardSettings._
+
+      private[this] val maxBytes = maxBufferedBytes.get
+      private[this] val minInterval = minRefreshInterval.min(refreshInterval)
+
+      private[this] var currentShardIterator: String = _
+      private[this] var shardClosed = false
+      private[this] val buffer = mutable.Queue.empty[Record]
+      private[this] var bufferedBytes = 0L
+      private[this] var requestInFlight = false
+      private[this] var caughtUpPolls = 0
+      private[this] var nextInterval: FiniteDuration = Duration.Zero
+      private[this] var lastRequestNanos = 0L
+
+      private[this] val shardIteratorCallback = getAsyncCallback[Try[GetShardIteratorResponse]] {
+        case Success(result) =>
+          currentShardIterator = result.shardIterator
+          maybeRequestRecords()
+
+        case Failure(ex) =>
+          val error = new Errors.GetShardIteratorError(shardId, ex)
+          log.error(ex, error.getMessage)
+          failStage(error)
+      }
+
+      private[this] val recordsCallback = getAsyncCallback[Try[GetRecordsResponse]] {
+        case Success(result) =>
+          requestInFlight = false
+          onRecords(result)
+
+        case Failure(ex) if isThrottled(ex) =>
+          requestInFlight = false
+          log.debug("Shard {} is throttled, backing off for {}", shardId, refreshInterval)
+          nextInterval = refreshInterval
+          maybeRequestRecords()
+
+        case Failure(ex) =>
+          val error = new Errors.GetRecordsError(shardId, ex)
+          log.error(ex, error.getMessage)
+          failStage(error)
+      }
+
+      override def preStart(): Unit = requestShardIterator()
+
+      override def onPull(): Unit = pump()
+
+      private def onRecords(result: GetRecordsResponse): Unit = {
+        result.records.asScala.foreach { record =>
+          bufferedBytes += record.data.asByteArrayUnsafe.length
+          buffer.enqueue(record)
+        }
+        if (result.nextShardIterator == null) {
+          log.info("Shard {} returned a null iterator and will now complete.", shardId)
+          shardClosed = true
+        } else {
+          currentShardIterator = result.nextShardIterator
+          nextInterval = pollInterval(result)
+        }
+        pump()
+        maybeRequestRecords()
+      }
+
+      private def pollInterval(result: GetRecordsResponse): FiniteDuration = {
+        val millisBehind = Option(result.millisBehindLatest).fold(0L)(_.longValue)
+        if (millisBehind > 0) {
+          caughtUpPolls = 0
+          minInterval
+        } else {
+          caughtUpPolls = math.min(caughtUpPolls + 1, 30)
+          caughtUpInterval(minInterval, refreshInterval, caughtUpPolls)
+        }
+      }
+
+      private def pump(): Unit = {
+        if (isAvailable(out) && buffer.nonEmpty) {
+          val record = buffer.dequeue()
+          bufferedBytes -= record.data.asByteArrayUnsafe.length
+          push(out, record)
+          maybeRequestRecords()
+        }
+        if (shardClosed && buffer.isEmpty) completeStage()
+      }
+
+      private def maybeRequestRecords(): Unit =
+        if (!requestInFlight && !shardClosed && currentShardIterator != null && bufferedBytes < maxBytes &&
+            !isTimerActive(GetRecords)) {
+          val remaining = nextInterval - (System.nanoTime() - lastRequestNanos).nanos
+          if (remaining > Duration.Zero) scheduleOnce(GetRecords, remaining)
+          else requestRecords()
+        }
+
+      override protected def onTimer(timerKey: Any): Unit = timerKey match {
+        case GetRecords => maybeRequestRecords()
+        case other =>
+          log.warning("unexpected timer [{}]", other)
+      }
+
+      private[this] def requestRecords(): Unit = {
+        requestInFlight = true
+        lastRequestNanos = System.nanoTime()
+        amazonKinesisAsync
+          .getRecords(
+            GetRecordsRequest.builder().limit(limit).shardIterator(currentShardIterator).build()
+          )
+          .asScala
+          .onComplete(recordsCallback.invoke)(ExecutionContext.parasitic)
+      }
+
+      private[this] def requestShardIterator(): Unit = {
+        val request = Function
+          .chain[GetShardIteratorRequest.Builder](
+            Seq(
+              r => startingSequenceNumber.fold(r)(r.startingSequenceNumber),
+              r => atTimestamp.fold(r)(instant => r.timestamp(instant))
+            )
+          )(
+            GetShardIteratorRequest
+              .builder()
+              .streamName(streamName)
+              .shardId(shardId)
+              .shardIteratorType(shardIteratorType)
+          )
+          .build()
+
+        amazonKinesisAsync
+          .getShardIterator(request)
+          .asScala
+          .onComplete(shardIteratorCallback.invoke)(ExecutionContext.parasitic)
+      }
+
+    }
+
+}
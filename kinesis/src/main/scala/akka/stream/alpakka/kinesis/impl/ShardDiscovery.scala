@@ -0,0 +1,99 @@
+/*
+ * Copyright (C) since 2016 Lightbend Inc. <https://www.lightbend.com>
+ */
+
+package akka.stream.alpakka.kinesis.impl
+
+import java.util.concurrent.ConcurrentHashMap
+
+import akka.NotUsed
+import akka.annotation.InternalApi
+import akka.stream.alpakka.kinesis.{ShardIterator, ShardSettings, KinesisErrors => Errors}
+import akka.stream.scaladsl.Source
+import software.amazon.awssdk.services.kinesis.KinesisAsyncClient
+import software.amazon.awssdk.services.kinesis.model.{ListShardsRequest, Record, Shard, ShardIteratorType}
+
+import scala.collection.mutable
+import scala.concurrent.duration.{Duration, FiniteDuration}
+import scala.concurrent.{ExecutionContext, Future}
+import scala.jdk.CollectionConverters._
+import scala.jdk.FutureConverters._
+
+/**
+ * Internal API
+ *
+ * Periodically lists the shards of a stream and starts reading every shard once all of its parent shards
+ * have been read to their end, so that records of a partition key keep their order across a reshard.
+ */
+@InternalApi
+private[kinesis] object ShardDiscovery {
+
+  def source(template: ShardSettings,
+             discoveryInterval: FiniteDuration,
+             maxOpenShards: Int,
+             amazonKinesisAsync: KinesisAsyncClient,
+             create: ShardSettings => Source[Record, NotUsed]): Source[Record, NotUsed] =
+    Source
+      .lazySource { () =>
+        val finishedShards = ConcurrentHashMap.newKeySet[String]()
+        Source
+          .tick(Duration.Zero, discoveryInterval, NotUsed)
+          .mapAsync(1)(_ => listShards(template.streamName, amazonKinesisAsync))
+          .statefulMapConcat { () =>
+            val startedShards = mutable.Set.empty[String]
+            val closedOnStart = mutable.Set.empty[String]
+
+            shards => {
+              val known = shards.map(_.shardId).toSet
+              def parentDone(parent: String) =
+                parent == null || !known(parent) || finishedShards.contains(parent)
+
+              val eligible = shards.filter { shard =>
+                !startedShards(shard.shardId) &&
+                parentDone(shard.parentShardId) &&
+                parentDone(shard.adjacentParentShardId)
+              }
+              eligible.map { shard =>
+                startedShards += shard.shardId
+                if (Option(shard.sequenceNumberRange).exists(_.endingSequenceNumber != null))
+                  closedOnStart += shard.shardId
+                val parents = List(shard.parentShardId, shard.adjacentParentShardId).filter(startedShards)
+                // a child of a shard which was read while it was open continues where its parents left off
+                val continuesParent = parents.nonEmpty &&
+                  (template.shardIteratorType != ShardIteratorType.LATEST || !parents.forall(closedOnStart))
+                val settings = template.withShardId(shard.shardId)
+                if (continuesParent) settings.withShardIterator(ShardIterator.TrimHorizon) else settings
+              }
+            }
+          }
+          .flatMapMerge(
+            maxOpenShards,
+            settings =>
+              create(settings).watchTermination() { (_, done) =>
+                done.foreach(_ => finishedShards.add(settings.shardId))(ExecutionContext.parasitic)
+                NotUsed
+              }
+          )
+      }
+      .mapMaterializedValue(_ => NotUsed)
+
+  private def listShards(streamName: String, amazonKinesisAsync: KinesisAsyncClient): Future[List[Shard]] = {
+    implicit val ec: ExecutionContext = ExecutionContext.parasitic
+
+    def page(request: ListShardsRequest, acc: List[Shard]): Future[List[Shard]] =
+      amazonKinesisAsync
+        .listShards(request)
+        .asScala
+        .flatMap { response =>
+          val shards = acc ++ response.shards.asScala
+          if (response.nextToken == null) Future.successful(shards)
+          else page(ListShardsRequest.builder().nextToken(response.nextToken).build(), shards)
+        }
+
+    page(ListShardsRequest.builder().streamName(streamName).build(), Nil)
+      .recoverWith {
+        case ex => Future.failed(new Errors.ListShardsError(streamName, ex))
+      }
+  }
+
+}
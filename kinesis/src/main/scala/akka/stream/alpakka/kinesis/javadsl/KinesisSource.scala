@@ -11,6 +11,7 @@ import software.amazon.awssdk.services.kinesis.KinesisAsyncClient
 import software.amazon.awssdk.services.kinesis.model.Record
 
 import scala.jdk.CollectionConverters._
+import scala.jdk.DurationConverters._
 
 object KinesisSource {
 
@@ -27,4 +28,19 @@ object KinesisSource {
                  amazonKinesisAsync: KinesisAsyncClient): Source[Record, NotUsed] =
     scaladsl.KinesisSource.basicMerge(shardSettings.asScala.toList, amazonKinesisAsync).asJava
 
+  /**
+   * Read from all shards of a stream into a single stream, discovering new shards after a reshard.
+   *
+   * The shards are listed every `shardDiscoveryInterval`. A child shard is read only after its parent shards have
+   * been read to their end, starting from `TRIM_HORIZON`. All other shards are read with the given settings, in
+   * which the shard id is replaced.
+   */
+  def basicMerge(shardSettings: ShardSettings,
+                 shardDiscoveryInterval: java.time.Duration,
+                 maxOpenShards: Int,
+                 amazonKinesisAsync: KinesisAsyncClient): Source[Record, NotUsed] =
+    scaladsl.KinesisSource
+      .basicMerge(shardSettings, shardDiscoveryInterval.toScala, maxOpenShards, amazonKinesisAsync)
+      .asJava
+
 }
@@ -7,19 +7,27 @@ package akka.stream.alpakka.kinesis.scaladsl
 import akka.NotUsed
 import akka.stream.alpakka.kinesis.KinesisErrors.NoShardsError
 import akka.stream.alpakka.kinesis.ShardSettings
-import akka.stream.alpakka.kinesis.impl.KinesisSourceStage
+import akka.stream.alpakka.kinesis.impl.{KinesisPrefetchSourceStage, KinesisSourceStage, ShardDiscovery}
 import akka.stream.scaladsl.{Merge, Source}
 import software.amazon.awssdk.services.kinesis.KinesisAsyncClient
 import software.amazon.awssdk.services.kinesis.model.Record
 
+import scala.concurrent.duration.FiniteDuration
+
 object KinesisSource {
 
   /**
    * Read from one shard into a stream.
+   *
+   * When the settings enable prefetching (see [[ShardSettings.withPrefetch]]), the next `GetRecords` call is issued
+   * while the current batch is being emitted, and polling adapts to how far the shard is behind.
    */
   def basic(shardSettings: ShardSettings, amazonKinesisAsync: KinesisAsyncClient): Source[Record, NotUsed] = {
     KinesisFlow.checkClient(amazonKinesisAsync)
-    Source.fromGraph(new KinesisSourceStage(shardSettings, amazonKinesisAsync))
+    if (shardSettings.maxBufferedBytes.isDefined)
+      Source.fromGraph(new KinesisPrefetchSourceStage(shardSettings, amazonKinesisAsync))
+    else
+      Source.fromGraph(new KinesisSourceStage(shardSettings, amazonKinesisAsync))
   }
 
   /**
@@ -38,4 +46,27 @@ object KinesisSource {
     }
   }
 
+  /**
+   * Read from all shards of a stream into a single stream, discovering new shards after a reshard.
+   *
+   * The shards are listed every `shardDiscoveryInterval`. A child shard is read only after its parent shards have
+   * been read to their end, starting from `TRIM_HORIZON`. All other shards are read with the given settings, in
+   * which the shard id is replaced.
+   *
+   * @param shardSettings settings used for every shard, the shard id is ignored
+   * @param shardDiscoveryInterval how often to list the shards of the stream
+   * @param maxOpenShards the maximum number of shards read at the same time
+   */
+  def basicMerge(shardSettings: ShardSettings,
+                 shardDiscoveryInterval: FiniteDuration,
+                 maxOpenShards: Int,
+                 amazonKinesisAsync: KinesisAsyncClient): Source[Record, NotUsed] = {
+    KinesisFlow.checkClient(amazonKinesisAsync)
+    ShardDiscovery.source(shardSettings,
+                          shardDiscoveryInterval,
+                          maxOpenShards,
+                          amazonKinesisAsync,
+                          basic(_, amazonKinesisAsync))
+  }
+
 }
@@ -69,6 +69,16 @@ public class KinesisSnippets {
     final Source<Record, NotUsed> two = KinesisSource.basicMerge(mergeSettings, amazonKinesisAsync);
     // #source-list
 
+    // #source-discovery
+    final ShardSettings prefetchSettings =
+        ShardSettings.create("streamName", "ignored")
+            .withShardIterator(ShardIterators.trimHorizon())
+            .withPrefetch(16 * 1024 * 1024)
+            .withMinRefreshInterval(Duration.ofMillis(200));
+    final Source<Record, NotUsed> discovering =
+        KinesisSource.basicMerge(prefetchSettings, Duration.ofSeconds(30), 64, amazonKinesisAsync);
+    // #source-discovery
+
     // #flow-settings
     final KinesisFlowSettings flowSettings =
         KinesisFlowSettings.create()
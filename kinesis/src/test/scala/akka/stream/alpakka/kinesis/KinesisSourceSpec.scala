@@ -13,6 +13,7 @@ import akka.stream.alpakka.testkit.scaladsl.LogCapturing
 import akka.stream.testkit.scaladsl.TestSink
 import akka.stream.testkit.scaladsl.StreamTestKit.assertAllStagesStopped
 import akka.util.ByteString
+import org.mockito.ArgumentCaptor
 import org.mockito.ArgumentMatchers._
 import org.mockito.Mockito._
 import org.mockito.invocation.InvocationOnMock
@@ -143,6 +144,89 @@ class KinesisSourceSpec extends AnyWordSpec with Matchers with KinesisMock with
       }
     }
 
+    "prefetch records before downstream demand" in assertAllStagesStopped {
+      new KinesisSpecContext with WithGetShardIteratorSuccess with WithGetRecordsSuccess {
+        override def records = util.Arrays.asList(
+          Record.builder().data(SdkBytes.fromByteBuffer(ByteString("1").toByteBuffer)).build(),
+          Record.builder().data(SdkBytes.fromByteBuffer(ByteString("2").toByteBuffer)).build()
+        )
+
+        val prefetchSettings = shardSettings.withPrefetch(maxBufferedBytes = 3).withMinRefreshInterval(1.milli)
+        val probe = KinesisSource.basic(prefetchSettings, amazonKinesisAsync).runWith(TestSink())
+
+        verify(amazonKinesisAsync, timeout(1000).times(2)).getRecords(any[GetRecordsRequest])
+        probe.requestNext().utf8String shouldEqual "1"
+        probe.requestNext().utf8String shouldEqual "2"
+        probe.requestNext().utf8String shouldEqual "1"
+        probe.requestNext().utf8String shouldEqual "2"
+        probe.cancel()
+      }
+    }
+
+    "complete prefetching stage when next shard iterator is null" in assertAllStagesStopped {
+      new KinesisSpecContext with WithGetShardIteratorSuccess with WithGetRecordsSuccess {
+        override def records =
+          util.Arrays.asList(Record.builder().data(SdkBytes.fromByteBuffer(ByteString("1").toByteBuffer)).build())
+        nextShardIterator.set(null)
+
+        val probe = KinesisSource.basic(shardSettings.withPrefetch(1000), amazonKinesisAsync).runWith(TestSink())
+
+        probe.requestNext().utf8String shouldEqual "1"
+        probe.request(1)
+        probe.expectComplete()
+      }
+    }
+
+    "double the prefetching poll interval up to the refresh interval without overflowing" in {
+      import akka.stream.alpakka.kinesis.impl.KinesisPrefetchSourceStage.caughtUpInterval
+
+      caughtUpInterval(200.millis, 1.second, 1) shouldBe 400.millis
+      caughtUpInterval(200.millis, 1.second, 3) shouldBe 1.second
+      caughtUpInterval(10.seconds, 1.minute, 2) shouldBe 40.seconds
+      caughtUpInterval(10.seconds, 1.minute, 30) shouldBe 1.minute
+      caughtUpInterval(1.hour, 1.hour, 30) shouldBe 1.hour
+    }
+
+    "read child shards discovered after their parent shard is closed" in assertAllStagesStopped {
+      new KinesisSpecContext {
+        val parent = Shard.builder().shardId("parent").build()
+        val child = Shard.builder().shardId("child").parentShardId("parent").build()
+
+        when(amazonKinesisAsync.listShards(any[ListShardsRequest]))
+          .thenReturn(CompletableFuture.completedFuture(ListShardsResponse.builder().shards(parent, child).build()))
+        when(amazonKinesisAsync.getShardIterator(any[GetShardIteratorRequest])).thenAnswer(new Answer[AnyRef] {
+          override def answer(invocation: InvocationOnMock): AnyRef = {
+            val request = invocation.getArgument[GetShardIteratorRequest](0)
+            CompletableFuture.completedFuture(GetShardIteratorResponse.builder().shardIterator(request.shardId).build())
+          }
+        })
+        when(amazonKinesisAsync.getRecords(any[GetRecordsRequest])).thenAnswer(new Answer[AnyRef] {
+          override def answer(invocation: InvocationOnMock): AnyRef = {
+            val shardId = invocation.getArgument[GetRecordsRequest](0).shardIterator
+            CompletableFuture.completedFuture(
+              GetRecordsResponse
+                .builder()
+                .records(Record.builder().data(SdkBytes.fromUtf8String(shardId)).build())
+                .nextShardIterator(if (shardId == "parent") null else shardId)
+                .build()
+            )
+          }
+        })
+
+        val probe = KinesisSource
+          .basicMerge(ShardSettings("stream_name", "ignored"), 10.millis, maxOpenShards = 4, amazonKinesisAsync)
+          .map(_.utf8String)
+          .runWith(TestSink())
+
+        probe.requestNext() shouldEqual "parent"
+        probe.requestNext() shouldEqual "child"
+        val captor = ArgumentCaptor.forClass(classOf[GetShardIteratorRequest])
+        verify(amazonKinesisAsync, times(2)).getShardIterator(captor.capture())
+        captor.getAllValues.get(1).shardIteratorType shouldBe ShardIteratorType.TRIM_HORIZON
+        probe.cancel()
+      }
+    }
+
     "fail with error when GetStreamRequest fails" in assertAllStagesStopped {
       new KinesisSpecContext with WithGetShardIteratorSuccess with WithGetRecordsFailure {
         val probe = KinesisSource.basic(shardSettings, amazonKinesisAsync).runWith(TestSink())
@@ -58,6 +58,20 @@ object KinesisSnippets {
   val mergedSource: Source[Record, NotUsed] = KinesisSource.basicMerge(mergeSettings, amazonKinesisAsync)
   //#source-list
 
+  //#source-discovery
+  val prefetchSettings =
+    ShardSettings(streamName = "myStreamName", shardId = "ignored")
+      .withShardIterator(ShardIterator.TrimHorizon)
+      .withPrefetch(maxBufferedBytes = 16 * 1024 * 1024)
+      .withMinRefreshInterval(200.millis)
+
+  val discoveringSource: Source[Record, NotUsed] =
+    KinesisSource.basicMerge(prefetchSettings,
+                             shardDiscoveryInterval = 30.seconds,
+                             maxOpenShards = 64,
+                             amazonKinesisAsync)
+  //#source-discovery
+
   //#flow-settings
   val flowSettings = KinesisFlowSettings
     .create()
@@ -0,0 +1,50 @@
+/*
+ * Copyright (C) since 2016 Lightbend Inc. <https://www.lightbend.com>
+ */
+
+package akka.stream.alpakka.mongodb
+
+import java.util.Optional
+
+import akka.annotation.InternalApi
+import com.mongodb.bulk.BulkWriteError
+import com.mongodb.client.model.WriteModel
+import org.bson.BsonValue
+
+import scala.jdk.OptionConverters._
+
+/**
+ * The outcome of one write model of a bulk write by `MongoFlow.bulkWrite`.
+ *
+ * @param writeModel the write model as it was passed to the flow
+ * @param passThrough the context passed along with the write model
+ * @param upsertedId the id of the document inserted by an update or replace with upsert
+ * @param writeError the error of this write model
+ * @param executed false when an ordered bulk write stopped at an error before this write model
+ */
+final class MongoBulkWriteOutcome[T, C] @InternalApi private[mongodb] (
+    val writeModel: WriteModel[T],
+    val passThrough: C,
+    val upsertedId: Option[BsonValue],
+    val writeError: Option[BulkWriteError],
+    val executed: Boolean
+) {
+
+  /** True when the write model was executed without error. */
+  def isSuccess: Boolean = executed && writeError.isEmpty
+
+  /** Java API */
+  def getUpsertedId: Optional[BsonValue] = upsertedId.toJava
+
+  /** Java API */
+  def getWriteError: Optional[BulkWriteError] = writeError.toJava
+
+  override def toString: String =
+    "MongoBulkWriteOutcome(" +
+    s"writeModel=$writeModel," +
+    s"passThrough=$passThrough," +
+    s"upsertedId=$upsertedId," +
+    s"writeError=$writeError," +
+    s"executed=$executed" +
+    ")"
+}
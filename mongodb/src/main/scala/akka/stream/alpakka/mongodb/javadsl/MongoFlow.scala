@@ -5,7 +5,7 @@
 package akka.stream.alpakka.mongodb.javadsl
 
 import akka.NotUsed
-import akka.stream.alpakka.mongodb.{scaladsl, DocumentReplace, DocumentUpdate}
+import akka.stream.alpakka.mongodb.{scaladsl, DocumentReplace, DocumentUpdate, MongoBulkWriteOutcome}
 import akka.stream.alpakka.mongodb.scaladsl.MongoFlow.{
   DefaultDeleteOptions,
   DefaultInsertManyOptions,
@@ -14,12 +14,20 @@ import akka.stream.alpakka.mongodb.scaladsl.MongoFlow.{
   DefaultUpdateOptions
 }
 import akka.stream.javadsl.Flow
-import com.mongodb.client.model.{DeleteOptions, InsertManyOptions, InsertOneOptions, ReplaceOptions, UpdateOptions}
+import com.mongodb.client.model.{
+  DeleteOptions,
+  InsertManyOptions,
+  InsertOneOptions,
+  ReplaceOptions,
+  UpdateOptions,
+  WriteModel
+}
 import com.mongodb.client.result.{DeleteResult, UpdateResult}
 import com.mongodb.reactivestreams.client.MongoCollection
 import org.bson.conversions.Bson
 
 import scala.jdk.CollectionConverters._
+import scala.jdk.DurationConverters._
 
 object MongoFlow {
 
@@ -155,5 +163,35 @@ object MongoFlow {
   ): Flow[DocumentReplace[T], akka.japi.Pair[UpdateResult, DocumentReplace[T]], NotUsed] =
     scaladsl.MongoFlow.replaceOne(collection, options).map(fromTupleToPair).asJava
 
+  /**
+   * A [[akka.stream.javadsl.Flow Flow]] that groups write models of any kind into bulk writes.
+   *
+   * Up to `batchSize` write models arriving within `maxWait` are sent as one bulk write, and up to `parallelism`
+   * bulk writes are in flight at the same time. Every write model is emitted as a [[MongoBulkWriteOutcome]] with its
+   * context, in the order of the input. Errors of single write models are reported in their outcomes, other errors
+   * fail the stream.
+   *
+   * With `ordered` a bulk write stops at the first error, the outcomes of the write models after it are not
+   * `executed`. Keep `parallelism` at 1 for writes that must be applied in the order of the stream.
+   *
+   * @param collection the mongo db collection to write to.
+   * @param batchSize the maximum number of write models in a bulk write
+   * @param maxWait the maximum time to wait for `batchSize` write models
+   * @param ordered whether the write models of a bulk write are executed in order
+   * @param parallelism the number of bulk writes in flight
+   */
+  def bulkWrite[T, C](
+      collection: MongoCollection[T],
+      batchSize: Int,
+      maxWait: java.time.Duration,
+      ordered: Boolean,
+      parallelism: Int
+  ): Flow[akka.japi.Pair[WriteModel[T], C], MongoBulkWriteOutcome[T, C], NotUsed] =
+    akka.stream.scaladsl
+      .Flow[akka.japi.Pair[WriteModel[T], C]]
+      .map(_.toScala)
+      .via(scaladsl.MongoFlow.bulkWrite[T, C](collection, batchSize, maxWait.toScala, ordered, parallelism))
+      .asJava
+
   private def fromTupleToPair[T, R] = (akka.japi.Pair.create[T, R] _).tupled
 }
@@ -4,15 +4,29 @@
 
 package akka.stream.alpakka.mongodb.scaladsl
 
-import akka.stream.scaladsl.{Flow, Source}
+import akka.stream.scaladsl.{Flow, Sink, Source}
 import akka.NotUsed
 import akka.annotation.InternalApi
-import akka.stream.alpakka.mongodb.{DocumentReplace, DocumentUpdate}
-import com.mongodb.client.model.{DeleteOptions, InsertManyOptions, InsertOneOptions, ReplaceOptions, UpdateOptions}
+import akka.stream.alpakka.mongodb.{DocumentReplace, DocumentUpdate, MongoBulkWriteOutcome}
+import com.mongodb.MongoBulkWriteException
+import com.mongodb.bulk.{BulkWriteError, BulkWriteResult}
+import com.mongodb.client.model.{
+  BulkWriteOptions,
+  DeleteOptions,
+  InsertManyOptions,
+  InsertOneOptions,
+  ReplaceOptions,
+  UpdateOptions,
+  WriteModel
+}
 import com.mongodb.client.result.{DeleteResult, UpdateResult}
 import com.mongodb.reactivestreams.client.MongoCollection
+import org.bson.BsonValue
 import org.bson.conversions.Bson
 
+import scala.collection.immutable
+import scala.concurrent.ExecutionContext
+import scala.concurrent.duration.FiniteDuration
 import scala.jdk.CollectionConverters._
 
 object MongoFlow {
@@ -123,4 +137,70 @@ object MongoFlow {
           .fromPublisher(collection.replaceOne(documentReplace.filter, documentReplace.replacement, options))
           .map(_ -> documentReplace)
     )
+
+  /**
+   * A [[akka.stream.scaladsl.Flow Flow]] that groups write models of any kind into bulk writes.
+   *
+   * Up to `batchSize` write models arriving within `maxWait` are sent as one bulk write, and up to `parallelism`
+   * bulk writes are in flight at the same time. Every write model is emitted as a [[MongoBulkWriteOutcome]] with its
+   * context, in the order of the input. Errors of single write models are reported in their outcomes, other errors
+   * fail the stream.
+   *
+   * With `ordered` a bulk write stops at the first error, the outcomes of the write models after it are not
+   * `executed`. Keep `parallelism` at 1 for writes that must be applied in the order of the stream.
+   *
+   * @param collection the mongo db collection to write to.
+   * @param batchSize the maximum number of write models in a bulk write
+   * @param maxWait the maximum time to wait for `batchSize` write models
+   * @param ordered whether the write models of a bulk write are executed in order
+   * @param parallelism the number of bulk writes in flight
+   */
+  def bulkWrite[T, C](collection: MongoCollection[T],
+                      batchSize: Int,
+                      maxWait: FiniteDuration,
+                      ordered: Boolean,
+                      parallelism: Int = 1): Flow[(WriteModel[T], C), MongoBulkWriteOutcome[T, C], NotUsed] = {
+    val options = new BulkWriteOptions().ordered(ordered)
+    Flow
+      .fromMaterializer { (mat, _) =>
+        implicit val ec: ExecutionContext = ExecutionContext.parasitic
+        Flow[(WriteModel[T], C)]
+          .groupedWithin(batchSize, maxWait)
+          .mapAsync(parallelism) { batch =>
+            Source
+              .fromPublisher(collection.bulkWrite(batch.map(_._1).asJava, options))
+              .runWith(Sink.head)(mat)
+              .map(result => bulkWriteOutcomes(batch, result, ordered))
+              .recover {
+                case e: MongoBulkWriteException if e.getWriteConcernError == null =>
+                  bulkWriteOutcomes(batch, e.getWriteResult, ordered, e.getWriteErrors.asScala.toList)
+              }
+          }
+          .mapConcat(identity)
+      }
+      .mapMaterializedValue(_ => NotUsed)
+  }
+
+  /** Internal Api */
+  @InternalApi private[mongodb] def bulkWriteOutcomes[T, C](
+      batch: immutable.Seq[(WriteModel[T], C)],
+      result: BulkWriteResult,
+      ordered: Boolean,
+      errors: List[BulkWriteError] = Nil
+  ): immutable.Seq[MongoBulkWriteOutcome[T, C]] = {
+    val upserted: Map[Int, BsonValue] =
+      if (result.wasAcknowledged) result.getUpserts.asScala.iterator.map(u => u.getIndex -> u.getId).toMap
+      else Map.empty
+    val failed = errors.iterator.map(error => error.getIndex -> error).toMap
+    // an ordered bulk write stops at its first error
+    val lastExecuted = if (ordered && errors.nonEmpty) errors.map(_.getIndex).min else Int.MaxValue
+    batch.zipWithIndex.map {
+      case ((writeModel, passThrough), index) =>
+        new MongoBulkWriteOutcome(writeModel,
+                                  passThrough,
+                                  upserted.get(index),
+                                  failed.get(index),
+                                  executed = index <= lastExecuted)
+    }
+  }
 }
@@ -11,14 +11,19 @@ import akka.japi.Pair;
 import akka.stream.Materializer;
 import akka.stream.alpakka.mongodb.DocumentReplace;
 import akka.stream.alpakka.mongodb.DocumentUpdate;
+import akka.stream.alpakka.mongodb.MongoBulkWriteOutcome;
+import akka.stream.alpakka.mongodb.javadsl.MongoFlow;
 import akka.stream.alpakka.mongodb.javadsl.MongoSink;
 import akka.stream.alpakka.testkit.javadsl.LogCapturingJunit4;
 import akka.stream.javadsl.Sink;
 import akka.stream.javadsl.Source;
 import akka.stream.testkit.javadsl.StreamTestKit;
+import com.mongodb.client.model.DeleteOneModel;
 import com.mongodb.client.model.Filters;
 import com.mongodb.client.model.InsertManyOptions;
+import com.mongodb.client.model.UpdateOneModel;
 import com.mongodb.client.model.Updates;
+import com.mongodb.client.model.WriteModel;
 import com.mongodb.reactivestreams.client.MongoClient;
 import com.mongodb.reactivestreams.client.MongoClients;
 import com.mongodb.reactivestreams.client.MongoCollection;
@@ -30,6 +35,7 @@ import org.bson.codecs.pojo.PojoCodecProvider;
 import org.bson.conversions.Bson;
 import org.junit.*;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CompletionStage;
@@ -234,6 +240,48 @@ public class MongoSinkTest {
     assertEquals(testRangeObjects, found.toCompletableFuture().get(5, TimeUnit.SECONDS));
   }
 
+  @Test
+  public void writeMixedModelsWithBulkWrite() throws Exception {
+    insertTestRange();
+
+    // #bulk-write
+    final Source<Pair<WriteModel<Document>, Integer>, NotUsed> source =
+        Source.from(testRange)
+            .map(
+                i -> {
+                  WriteModel<Document> model =
+                      i % 2 == 0
+                          ? new UpdateOneModel<>(
+                              Filters.eq("value", i), Updates.set("updateValue", i * -1))
+                          : new DeleteOneModel<>(Filters.eq("value", i));
+                  return Pair.create(model, i);
+                });
+    final CompletionStage<List<MongoBulkWriteOutcome<Document, Integer>>> outcomes =
+        source
+            .via(
+                MongoFlow.<Document, Integer>bulkWrite(
+                    numbersDocumentColl, 4, Duration.ofSeconds(1), false, 2))
+            .runWith(Sink.seq(), system);
+    // #bulk-write
+
+    final List<MongoBulkWriteOutcome<Document, Integer>> written =
+        outcomes.toCompletableFuture().get(5, TimeUnit.SECONDS);
+    assertEquals(testRange, written.stream().map(o -> o.passThrough()).collect(toList()));
+    assertTrue(written.stream().allMatch(MongoBulkWriteOutcome::isSuccess));
+
+    final CompletionStage<List<Document>> found =
+        Source.fromPublisher(numbersDocumentColl.find()).runWith(Sink.seq(), system);
+
+    assertEquals(
+        testRange.stream()
+            .filter(i -> i % 2 == 0)
+            .map(i -> Pair.create(i, i * -1))
+            .collect(toList()),
+        found.toCompletableFuture().get(5, TimeUnit.SECONDS).stream()
+            .map(d -> Pair.create(d.getInteger("value"), d.getInteger("updateValue")))
+            .collect(toList()));
+  }
+
   @Test
   public void updateWithUpdateOne() throws Exception {
     insertTestRange();
@@ -6,11 +6,20 @@ package docs.scaladsl
 
 import akka.actor.ActorSystem
 import akka.stream.alpakka.mongodb.{DocumentReplace, DocumentUpdate}
-import akka.stream.alpakka.mongodb.scaladsl.MongoSink
+import akka.stream.alpakka.mongodb.scaladsl.{MongoFlow, MongoSink}
 import akka.stream.alpakka.testkit.scaladsl.LogCapturing
 import akka.stream.scaladsl.{Sink, Source}
 import akka.stream.testkit.scaladsl.StreamTestKit.assertAllStagesStopped
-import com.mongodb.client.model.{Filters, InsertManyOptions, Updates}
+import com.mongodb.client.model.{
+  DeleteOneModel,
+  Filters,
+  InsertManyOptions,
+  InsertOneModel,
+  UpdateOneModel,
+  UpdateOptions,
+  Updates,
+  WriteModel
+}
 import com.mongodb.reactivestreams.client.{MongoClients, MongoCollection}
 import org.bson.Document
 import org.bson.codecs.configuration.CodecRegistries.{fromProviders, fromRegistries}
@@ -242,5 +251,54 @@ class MongoSinkSpec
 
       found must contain theSameElementsAs updatedObjects
     }
+
+    "write mixed models with bulkWrite" in assertAllStagesStopped {
+      insertTestRange()
+
+      // #bulk-write
+      val source = Source(testRange).map { i =>
+        val model: WriteModel[Document] =
+          if (i % 2 == 0) new UpdateOneModel(Filters.eq("value", i), Updates.set("updateValue", 1))
+          else new DeleteOneModel(Filters.eq("value", i))
+        model -> i
+      }
+      val upsert = new UpdateOneModel[Document](Filters.eq("value", 100),
+                                                Updates.set("updateValue", 1),
+                                                new UpdateOptions().upsert(true))
+      val outcomes = source
+        .concat(Source.single(upsert -> 100))
+        .via(
+          MongoFlow.bulkWrite[Document, Int](numbersDocumentColl, batchSize = 4, maxWait = 1.second, ordered = false)
+        )
+        .runWith(Sink.seq)
+      // #bulk-write
+
+      outcomes.futureValue.map(_.passThrough) mustBe testRange :+ 100
+      outcomes.futureValue.forall(_.isSuccess) mustBe true
+      outcomes.futureValue.last.upsertedId mustBe defined
+
+      val found = Source.fromPublisher(numbersDocumentColl.find()).runWith(Sink.seq).futureValue
+
+      val expected = (testRange.filter(_ % 2 == 0) :+ 100).map(i => i -> 1)
+      found.map(doc => doc.getInteger("value") -> doc.getInteger("updateValue")) must contain theSameElementsAs expected
+    }
+
+    "report write errors with ordered bulkWrite" in assertAllStagesStopped {
+      val models: List[(WriteModel[Number], Int)] =
+        List(Number(1), Number(1), Number(2)).map(number => new InsertOneModel(number) -> number._id)
+
+      val outcomes = Source(models)
+        .via(MongoFlow.bulkWrite[Number, Int](numbersColl, batchSize = 3, maxWait = 1.second, ordered = true))
+        .runWith(Sink.seq)
+        .futureValue
+
+      outcomes.map(_.isSuccess) mustBe Seq(true, false, false)
+      outcomes(1).writeError.map(_.getCode) mustBe Some(11000)
+      outcomes(2).executed mustBe false
+
+      val found = Source.fromPublisher(numbersColl.find()).runWith(Sink.seq).futureValue
+
+      found mustBe Seq(Number(1))
+    }
   }
 }
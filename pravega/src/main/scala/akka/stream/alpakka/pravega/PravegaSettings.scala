@@ -41,7 +41,9 @@ class ReaderSettingsBuilder(config: Config,
                             readerConfigBuilder: ReaderConfigBuilder,
                             readerConfigCustomizer: Option[ReaderConfigBuilder => ReaderConfigBuilder] = None,
                             timeout: Duration,
-                            readerId: Option[String])
+                            readerId: Option[String],
+                            prefetchBufferSize: Int = 0,
+                            readerCount: Int = 1)
     extends WithClientConfig(config, clientConfig, clientConfigCustomization) {
 
   def withClientConfig(clientConfig: ClientConfig): ReaderSettingsBuilder = copy(clientConfig = Some(clientConfig))
@@ -56,6 +58,21 @@ class ReaderSettingsBuilder(config: Config,
 
   def withReaderId(id: String): ReaderSettingsBuilder = copy(readerId = Some(id))
 
+  /**
+   * Number of events read ahead into a buffer, 0 to read events only on demand of the stream.
+   * Events are read ahead on dedicated threads, so that reading does not block the stream.
+   *
+   * Read ahead events that were not emitted are given back to the reader group when the source stops, by closing each
+   * reader at the position after its last emitted event. Checkpoints only cover emitted events.
+   */
+  def withPrefetchBufferSize(size: Int): ReaderSettingsBuilder = copy(prefetchBufferSize = size)
+
+  /**
+   * Number of readers of the reader group to run in one source when events are read ahead, each on its own thread.
+   * Readers share the segments of the reader group's streams between them.
+   */
+  def withReaderCount(count: Int): ReaderSettingsBuilder = copy(readerCount = count)
+
   // JavaDSL
   def withTimeout(timeout: java.time.Duration): ReaderSettingsBuilder = copy(timeout = timeout)
   // ScalaDSL
@@ -70,7 +87,9 @@ class ReaderSettingsBuilder(config: Config,
                                 readerConfigBuilder.build(),
                                 timeout.toMillis,
                                 serializer,
-                                readerId)
+                                readerId,
+                                prefetchBufferSize,
+                                readerCount)
   }
 
   private def copy(clientConfig: Option[ClientConfig] = clientConfig,
@@ -79,14 +98,18 @@ class ReaderSettingsBuilder(config: Config,
                    readerConfigBuilder: ReaderConfigBuilder = readerConfigBuilder,
                    readerConfigCustomizer: Option[ReaderConfigBuilder => ReaderConfigBuilder] = readerConfigCustomizer,
                    timeout: Duration = timeout,
-                   readerId: Option[String] = readerId) =
+                   readerId: Option[String] = readerId,
+                   prefetchBufferSize: Int = prefetchBufferSize,
+                   readerCount: Int = readerCount) =
     new ReaderSettingsBuilder(config,
                               clientConfig,
                               clientConfigCustomization,
                               readerConfigBuilder,
                               readerConfigCustomizer,
                               timeout,
-                              readerId)
+                              readerId,
+                              prefetchBufferSize,
+                              readerCount)
 }
 
 /**
@@ -99,13 +122,17 @@ class ReaderSettingsBuilder(config: Config,
  * @param timeout
  * @param serializer
  * @param readerId
+ * @param prefetchBufferSize number of events read ahead on dedicated threads, 0 to read on demand
+ * @param readerCount number of readers run by one source when events are read ahead
  * @tparam Message
  */
 class ReaderSettings[Message] private[pravega] (val clientConfig: ClientConfig,
                                                 val readerConfig: ReaderConfig,
                                                 val timeout: Long,
                                                 val serializer: Serializer[Message],
-                                                val readerId: Option[String])
+                                                val readerId: Option[String],
+                                                val prefetchBufferSize: Int,
+                                                val readerCount: Int)
 
 object ReaderSettingsBuilder {
   val configPath = "akka.alpakka.pravega.reader"
@@ -157,6 +184,8 @@ object ReaderSettingsBuilder {
     extractString("group-name")(readerBasicSetting.withGroupName)
     extractDuration("timeout")(readerBasicSetting.withTimeout)
     extractString("reader-id")(readerBasicSetting.withReaderId)
+    extractInt("prefetch-buffer-size")(readerBasicSetting.withPrefetchBufferSize)
+    extractInt("reader-count")(readerBasicSetting.withReaderCount)
 
     val readerConfigBuilder = ConfigHelper.buildReaderConfig(config)
 
@@ -166,7 +195,9 @@ object ReaderSettingsBuilder {
                               readerConfigBuilder,
                               None,
                               readerBasicSetting.timeout,
-                              readerBasicSetting.readerId)
+                              readerBasicSetting.readerId,
+                              readerBasicSetting.prefetchBufferSize,
+                              readerBasicSetting.readerCount)
 
   }
 }
@@ -548,11 +579,15 @@ object TableWriterSettingsBuilder {
 private[pravega] class ReaderBasicSetting(
     var groupName: Option[String] = None,
     var readerId: Option[String] = None,
-    var timeout: Duration = Duration.ofSeconds(5)
+    var timeout: Duration = Duration.ofSeconds(5),
+    var prefetchBufferSize: Int = 0,
+    var readerCount: Int = 1
 ) {
   def withGroupName(name: String) = groupName = Some(name)
   def withReaderId(name: String) = readerId = Some(name)
   def withTimeout(t: Duration) = timeout = t
+  def withPrefetchBufferSize(size: Int) = prefetchBufferSize = size
+  def withReaderCount(count: Int) = readerCount = count
 }
 
 /**
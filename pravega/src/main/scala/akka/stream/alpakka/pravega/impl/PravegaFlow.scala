@@ -4,25 +4,35 @@
 
 package akka.stream.alpakka.pravega.impl
 
-import java.util.concurrent.{CompletableFuture, Semaphore}
+import java.util.concurrent.CompletableFuture
 import akka.annotation.InternalApi
 import akka.event.Logging
 import akka.stream.stage.{AsyncCallback, GraphStage, GraphStageLogic, InHandler, OutHandler, StageLogging}
 import akka.stream.{Attributes, FlowShape, Inlet, Outlet}
 import io.pravega.client.stream.EventStreamWriter
 
+import scala.collection.mutable
+import scala.concurrent.ExecutionContext
 import scala.util.control.NonFatal
 import scala.jdk.FutureConverters._
-import scala.concurrent.ExecutionContext.Implicits.global
 import akka.stream.alpakka.pravega.WriterSettings
 
 import scala.util.{Failure, Success, Try}
+
+/**
+ * INTERNAL API
+ *
+ * Writes up to `maximumInflightMessages` events without waiting for earlier writes to be acknowledged, and emits
+ * the events in the order they came in once their writes are acknowledged.
+ */
 @InternalApi private final class PravegaFlowStageLogic[A](val shape: FlowShape[A, A],
                                                           val scope: String,
                                                           streamName: String,
                                                           writerSettings: WriterSettings[A])
     extends GraphStageLogic(shape)
     with PravegaWriter
+    with InHandler
+    with OutHandler
     with StageLogging {
 
   private def in = shape.in
@@ -32,16 +42,22 @@ import scala.util.{Failure, Success, Try}
 
   private var writer: EventStreamWriter[A] = _
 
-  private val semaphore = new Semaphore(writerSettings.maximumInflightMessages)
+  private final class InflightEvent(val msg: A) {
+    var result: Try[Void] = _
+  }
+
+  // events in the order they were written, acknowledged or not
+  private val inflight = mutable.Queue.empty[InflightEvent]
 
-  private val asyncPushback: AsyncCallback[(Try[Void], A)] = getAsyncCallback {
-    case (Failure(exception), msg) =>
-      log.error(s"Failed to send message: $msg", exception)
-      semaphore.release()
-    case (_, msg) =>
-      push(out, msg)
-      semaphore.release()
+  private val write: A => CompletableFuture[Void] = writerSettings.keyExtractor match {
+    case Some(keyExtractor) => msg => writer.writeEvent(keyExtractor(msg), msg)
+    case None => msg => writer.writeEvent(msg)
+  }
 
+  private val asyncPushback: AsyncCallback[(InflightEvent, Try[Void])] = getAsyncCallback {
+    case (event, result) =>
+      event.result = result
+      emitAcknowledged()
   }
 
   /**
@@ -50,49 +66,44 @@ import scala.util.{Failure, Success, Try}
   override def preStart(): Unit =
     try {
       writer = createWriter(streamName, writerSettings)
+      pull(in)
     } catch {
       case NonFatal(ex) => failStage(ex)
     }
 
-  def handleSentEvent(completableFuture: CompletableFuture[Void], msg: A): Unit =
-    completableFuture.asScala.onComplete { t =>
-      semaphore.acquire()
-      asyncPushback.invoke((t, msg))
-    }
-
-  writerSettings.keyExtractor match {
-    case Some(keyExtractor) =>
-      setHandler(
-        in,
-        new InHandler {
-          override def onPush(): Unit = {
-            val msg = grab(in)
-            handleSentEvent(writer.writeEvent(keyExtractor(msg), msg), msg)
-          }
-        }
-      )
-
-    case None =>
-      setHandler(
-        in,
-        new InHandler {
-          override def onPush(): Unit = {
-            val msg = grab(in)
-            handleSentEvent(writer.writeEvent(msg), msg)
-          }
-        }
-      )
+  def handleSentEvent(completableFuture: CompletableFuture[Void], event: InflightEvent): Unit =
+    completableFuture.asScala.onComplete(t => asyncPushback.invoke((event, t)))(ExecutionContext.parasitic)
 
+  override def onPush(): Unit = {
+    val event = new InflightEvent(grab(in))
+    inflight.enqueue(event)
+    handleSentEvent(write(event.msg), event)
+    pullIfRoom()
   }
 
-  setHandler(
-    out,
-    new OutHandler {
-      override def onPull(): Unit = {
-        pull(in)
+  override def onUpstreamFinish(): Unit =
+    if (inflight.isEmpty) completeStage()
+
+  override def onPull(): Unit = emitAcknowledged()
+
+  private def emitAcknowledged(): Unit = {
+    while (inflight.nonEmpty && inflight.head.result != null && (isAvailable(out) || inflight.head.result.isFailure)) {
+      val event = inflight.dequeue()
+      event.result match {
+        case Failure(exception) =>
+          log.error(exception, "Failed to send message: {}", event.msg)
+        case Success(_) =>
+          push(out, event.msg)
       }
     }
-  )
+    if (inflight.isEmpty && isClosed(in)) completeStage()
+    else pullIfRoom()
+  }
+
+  private def pullIfRoom(): Unit =
+    if (inflight.size < writerSettings.maximumInflightMessages && !hasBeenPulled(in) && !isClosed(in)) pull(in)
+
+  setHandlers(in, out, this)
 
   /**
    * Cleanup logic
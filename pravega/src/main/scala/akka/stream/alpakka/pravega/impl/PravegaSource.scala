@@ -14,13 +14,15 @@ import io.pravega.client.ClientConfig
 
 import scala.concurrent.{Future, Promise}
 import scala.concurrent.duration.DurationLong
-import io.pravega.client.stream.{EventStreamReader, ReaderGroup}
+import io.pravega.client.stream.{EventStreamReader, Position, ReaderGroup}
 
 import scala.util.control.NonFatal
 import akka.stream.ActorAttributes
 import akka.stream.stage.AsyncCallback
 
 import java.util.UUID
+import java.util.concurrent.{ArrayBlockingQueue, TimeUnit}
+import java.util.concurrent.atomic.{AtomicBoolean, AtomicInteger}
 import scala.util.{Failure, Success, Try}
 
 @InternalApi private final class PravegaSourcesStageLogic[A](
@@ -107,6 +109,190 @@ import scala.util.{Failure, Success, Try}
 
 }
 
+/**
+ * Reads events on dedicated threads into a bounded buffer, so that waiting for events neither blocks a dispatcher
+ * thread nor waits for demand. Every reader runs on its own thread.
+ *
+ * A reader's position only covers events emitted downstream: after a checkpoint its thread waits until the reader's
+ * buffered events are emitted before it acknowledges the checkpoint by reading on, and when the source stops, a
+ * reader with buffered events that were never emitted is closed at the position after its last emitted event, so the
+ * reader group reads them again.
+ */
+@InternalApi private final class PravegaPrefetchingSourceStageLogic[A](
+    shape: SourceShape[PravegaEvent[A]],
+    readerGroup: ReaderGroup,
+    val readerSettings: ReaderSettings[A],
+    startupPromise: Promise[Done]
+) extends GraphStageLogic(shape)
+    with PravegaCapabilities
+    with OutHandler
+    with StageLogging {
+
+  protected val scope = readerGroup.getScope
+
+  require(readerSettings.readerCount > 0, "readerCount must be greater than 0")
+
+  override protected def logSource = classOf[PravegaPrefetchingSourceStageLogic[A]]
+
+  private def out: Outlet[PravegaEvent[A]] = shape.out
+
+  protected val clientConfig: ClientConfig = readerSettings.clientConfig
+
+  /**
+   * The events of a reader that are buffered but not emitted yet, and the position to close the reader at while there
+   * are any.
+   */
+  private final class ReaderState(val reader: EventStreamReader[A]) {
+    val pending = new AtomicInteger(0)
+    // the position after the last event emitted downstream, or of a read without event while none were pending
+    @volatile var resumePosition: Position = _
+  }
+
+  private val buffer = new ArrayBlockingQueue[(ReaderState, PravegaEvent[A])](readerSettings.prefetchBufferSize)
+  // set by the stage when it waits for an event, reset by the reader thread signalling one
+  private val awaitingEvent = new AtomicBoolean(false)
+  @volatile private var running = true
+  private val runningReaders = new AtomicInteger(0)
+  private val readerGroupClosed = new AtomicBoolean(false)
+
+  private val eventAvailable: AsyncCallback[Unit] = getAsyncCallback { _ =>
+    if (isAvailable(out)) tryPush()
+  }
+
+  private val readerFailed: AsyncCallback[Throwable] = getAsyncCallback { exception =>
+    log.error(exception, "Reader of [{}/{}] failed", scope, readerGroup.getGroupName)
+    failStage(exception)
+  }
+
+  setHandler(out, this)
+
+  override def onPull(): Unit = tryPush()
+
+  private def tryPush(): Unit = {
+    awaitingEvent.set(true)
+    val buffered = buffer.poll()
+    if (buffered != null) {
+      awaitingEvent.set(false)
+      val (state, event) = buffered
+      state.resumePosition = event.position
+      if (state.pending.decrementAndGet() == 0) state.synchronized(state.notifyAll())
+      push(out, event)
+    }
+  }
+
+  override def preStart(): Unit = {
+    log.debug("Start consuming {} with {} readers...", readerGroup.toString, readerSettings.readerCount)
+    val created = Vector.newBuilder[EventStreamReader[A]]
+    Try(for (index <- 0 until readerSettings.readerCount) created += createReader(index)) match {
+      case Success(_) =>
+        val readers = created.result()
+        runningReaders.set(readers.size)
+        readers.zipWithIndex.foreach {
+          case (reader, index) =>
+            val state = new ReaderState(reader)
+            val thread = new Thread(() => readEvents(state), s"pravega-reader-${readerGroup.getGroupName}-$index")
+            thread.setDaemon(true)
+            thread.start()
+        }
+        startupPromise.success(Done)
+      case Failure(exception) =>
+        log.error(exception.getMessage())
+        created.result().foreach(reader => closeReader(reader, None))
+        failStage(exception)
+    }
+  }
+
+  private def createReader(index: Int): EventStreamReader[A] = {
+    val readerId = readerSettings.readerId match {
+      case Some(id) if readerSettings.readerCount > 1 => s"$id-$index"
+      case Some(id) => id
+      case None => UUID.randomUUID().toString
+    }
+    eventStreamClientFactory.createReader(
+      readerId,
+      readerGroup.getGroupName,
+      readerSettings.serializer,
+      readerSettings.readerConfig
+    )
+  }
+
+  /** Runs on a reader thread. */
+  private def readEvents(state: ReaderState): Unit =
+    try {
+      while (running) {
+        val eventRead = state.reader.readNextEvent(readerSettings.timeout)
+        if (eventRead.isCheckpoint) {
+          log.debug("Checkpoint: {}", eventRead.getCheckpointName)
+          // the next read acknowledges the checkpoint, which must not cover events that were not emitted
+          awaitEmitted(state)
+        } else {
+          val event = eventRead.getEvent
+          if (event != null) {
+            state.pending.incrementAndGet()
+            enqueue(state, new PravegaEvent(event, eventRead.getPosition, eventRead.getEventPointer))
+          } else if (state.pending.get() == 0) state.resumePosition = eventRead.getPosition
+        }
+      }
+    } catch {
+      case NonFatal(exception) => readerFailed.invoke(exception)
+    } finally {
+      val resumeAt =
+        if (state.pending.get() == 0) None
+        else {
+          if (state.resumePosition == null)
+            log.warning("Reader of [{}/{}] stopped before it emitted an event, its {} buffered events are skipped",
+                        scope,
+                        readerGroup.getGroupName,
+                        state.pending.get())
+          Option(state.resumePosition)
+        }
+      closeReader(state.reader, resumeAt)
+      if (runningReaders.decrementAndGet() == 0) closeReaderGroup()
+    }
+
+  /** Runs on a reader thread, waits while the buffer is full. */
+  private def enqueue(state: ReaderState, event: PravegaEvent[A]): Unit = {
+    var enqueued = false
+    while (!enqueued && running) {
+      enqueued = buffer.offer(state -> event, readerSettings.timeout, TimeUnit.MILLISECONDS)
+    }
+    if (enqueued && awaitingEvent.getAndSet(false)) eventAvailable.invoke(())
+  }
+
+  /** Runs on a reader thread, waits until the reader's buffered events were emitted. */
+  private def awaitEmitted(state: ReaderState): Unit =
+    state.synchronized {
+      while (running && state.pending.get() > 0) state.wait(readerSettings.timeout)
+    }
+
+  private def closeReader(reader: EventStreamReader[A], resumeAt: Option[Position]): Unit =
+    Try(resumeAt.fold(reader.close())(reader.closeAt)) match {
+      case Failure(exception) =>
+        log.error(exception, s"Error while closing [{}/{}]", scope, readerGroup.toString)
+      case Success(_) =>
+        log.debug("Closed reader [{}/{}]", scope, readerGroup.getGroupName)
+    }
+
+  private def closeReaderGroup(): Unit =
+    if (readerGroupClosed.compareAndSet(false, true)) {
+      Try(readerGroup.close()) match {
+        case Failure(exception) =>
+          log.error(exception, s"Error while closing reader group [{}/{}]", scope, readerGroup.getGroupName)
+        case Success(_) =>
+          log.debug("Closed reader group [{}/{}]", scope, readerGroup.getGroupName)
+      }
+      close()
+    }
+
+  override def postStop(): Unit = {
+    log.debug("Stopping readers")
+    running = false
+    // the reader threads close the readers and the last one the reader group, within the read timeout
+    if (runningReaders.get() == 0) closeReaderGroup()
+  }
+
+}
+
 @InternalApi private[pravega] final class PravegaSource[A](
     readerGroup: ReaderGroup,
     settings: ReaderSettings[A]
@@ -124,12 +310,11 @@ import scala.util.{Failure, Success, Try}
   ): (GraphStageLogic, Future[Done]) = {
     val startupPromise = Promise[Done]()
 
-    val logic = new PravegaSourcesStageLogic[A](
-      shape,
-      readerGroup,
-      settings,
-      startupPromise
-    )
+    val logic =
+      if (settings.prefetchBufferSize > 0)
+        new PravegaPrefetchingSourceStageLogic[A](shape, readerGroup, settings, startupPromise)
+      else
+        new PravegaSourcesStageLogic[A](shape, readerGroup, settings, startupPromise)
 
     (logic, startupPromise.future)
 
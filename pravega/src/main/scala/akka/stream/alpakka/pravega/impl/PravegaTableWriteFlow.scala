@@ -4,29 +4,38 @@
 
 package akka.stream.alpakka.pravega.impl
 
+import java.nio.ByteBuffer
 import java.util.concurrent.CompletableFuture
 import akka.annotation.InternalApi
 import akka.event.Logging
 import akka.stream.stage.{AsyncCallback, GraphStage, GraphStageLogic, InHandler, OutHandler, StageLogging}
 import akka.stream.{Attributes, FlowShape, Inlet, Outlet}
 
+import scala.collection.mutable
+import scala.concurrent.ExecutionContext
 import scala.util.control.NonFatal
+import scala.jdk.CollectionConverters._
 import scala.jdk.FutureConverters._
-import scala.concurrent.ExecutionContext.Implicits.global
 import akka.stream.alpakka.pravega.TableWriterSettings
 
 import scala.util.{Failure, Success, Try}
 import io.pravega.client.tables.KeyValueTable
 import io.pravega.client.KeyValueTableFactory
 import io.pravega.client.tables.KeyValueTableClientConfiguration
-import io.pravega.client.tables.Version
-
-import java.util.concurrent.atomic.AtomicInteger
+import io.pravega.client.tables.TableModification
 
 import io.pravega.client.tables.Put
 
 import io.pravega.client.tables.TableKey
 
+/**
+ * INTERNAL API
+ *
+ * Keeps up to `maximumInflightMessages` table updates in flight and emits the messages in the order they came in
+ * once their updates completed. While all updates are in flight, up to `maximumInflightMessages` further messages are
+ * buffered; when an update completes, the buffered messages at the head sharing a primary key are written in a single
+ * batch update.
+ */
 @InternalApi private final class PravegaTableWriteFlowStageLogic[KVPair, K, V](
     val shape: FlowShape[KVPair, KVPair],
     kvpToTuple2: KVPair => (K, V),
@@ -35,6 +44,8 @@ import io.pravega.client.tables.TableKey
     tableName: String,
     tableWriterSettings: TableWriterSettings[K, V]
 ) extends GraphStageLogic(shape)
+    with InHandler
+    with OutHandler
     with StageLogging {
 
   private def in = shape.in
@@ -44,24 +55,25 @@ import io.pravega.client.tables.TableKey
 
   private var table: KeyValueTable = _
 
-  private val onAir = new AtomicInteger
+  private val maximumInflight = tableWriterSettings.maximumInflightMessages
 
-  @volatile
-  private var upstreamEnded = false
+  private final class InflightUpdate(val msgs: Vector[KVPair]) {
+    var result: Try[_] = _
+  }
 
-  private val asyncPushback: AsyncCallback[(Try[Version], KVPair)] = getAsyncCallback { p =>
-    p match {
-      case (Failure(exception), msg) =>
-        log.error(exception, s"Failed to send message {}", msg)
-      case (_, msg) =>
-        push(out, msg)
-    }
+  // messages waiting for an update slot
+  private val buffered = mutable.Queue.empty[(KVPair, Put)]
 
-    if (onAir.decrementAndGet == 0 && upstreamEnded) {
-      log.debug("Stage completed after upstream finish")
-      completeStage()
+  // updates in the order they were sent, completed or not
+  private val inflight = mutable.Queue.empty[InflightUpdate]
 
-    }
+  // messages of the completed update at the head, waiting to be emitted
+  private val completed = mutable.Queue.empty[KVPair]
+
+  private val asyncPushback: AsyncCallback[(InflightUpdate, Try[_])] = getAsyncCallback {
+    case (update, result) =>
+      update.result = result
+      emitCompleted()
   }
 
   /**
@@ -77,51 +89,84 @@ import io.pravega.client.tables.TableKey
       table = keyValueTableFactory
         .forKeyValueTable(tableName, kvtClientConfig)
       log.debug("Open table {}", tableName)
-
+      pull(in)
     } catch {
       case NonFatal(ex) => failStage(ex)
     }
 
-  def handleSentEvent(completableFuture: CompletableFuture[Version], msg: KVPair): Unit =
-    completableFuture.asScala.onComplete { t =>
-      asyncPushback.invokeWithFeedback((t, msg))
-    }
+  def handleSentEvent(completableFuture: CompletableFuture[_], update: InflightUpdate): Unit =
+    completableFuture.asScala.onComplete(t => asyncPushback.invoke((update, t)))(ExecutionContext.parasitic)
 
-  setHandler(
-    in,
-    new InHandler {
-      override def onPush(): Unit = {
-        val msg = grab(in)
+  override def onPush(): Unit = {
+    val msg = grab(in)
 
-        val (k, v) = kvpToTuple2(msg)
+    val (k, v) = kvpToTuple2(msg)
 
-        val put = new Put(
-          extractor(k),
-          tableWriterSettings.valueSerializer.serialize(v)
-        )
-        onAir.incrementAndGet()
-        handleSentEvent(table.update(put), msg)
-      }
-      override def onUpstreamFinish(): Unit = {
-        log.debug("Upstream finished")
-        if (onAir.get == 0) {
-          log.debug("Stage completed on upstream finish")
-          completeStage()
-        }
-        upstreamEnded = true
-      }
+    val put = new Put(
+      extractor(k),
+      tableWriterSettings.valueSerializer.serialize(v)
+    )
+    buffered.enqueue((msg, put))
+    sendBuffered()
+    pullIfRoom()
+  }
+
+  override def onUpstreamFinish(): Unit = {
+    log.debug("Upstream finished")
+    if (buffered.isEmpty && inflight.isEmpty && completed.isEmpty) {
+      log.debug("Stage completed on upstream finish")
+      completeStage()
+    }
+  }
+
+  override def onPull(): Unit = emitCompleted()
 
+  /**
+   * Sends the buffered messages while there is room for more updates. Messages sharing the primary key of the first
+   * buffered message are batched into one update, as long as the batch does not contain a key twice.
+   */
+  private def sendBuffered(): Unit =
+    while (buffered.nonEmpty && inflight.size < maximumInflight) {
+      val puts = nextBatch()
+      val update = new InflightUpdate(puts.map(_._1))
+      inflight.enqueue(update)
+      if (puts.size == 1) handleSentEvent(table.update(puts.head._2), update)
+      else handleSentEvent(table.update(puts.map(p => p._2: TableModification).asJava), update)
     }
-  )
 
-  setHandler(
-    out,
-    new OutHandler {
-      override def onPull(): Unit = {
-        pull(in)
+  private def nextBatch(): Vector[(KVPair, Put)] = {
+    val primaryKey = buffered.head._2.getKey.getPrimaryKey
+    val keys = mutable.Set.empty[(ByteBuffer, ByteBuffer)]
+    val batch = Vector.newBuilder[(KVPair, Put)]
+    def fitsBatch(key: TableKey) =
+      key.getPrimaryKey == primaryKey && keys.add((key.getPrimaryKey, key.getSecondaryKey))
+    while (buffered.nonEmpty && fitsBatch(buffered.head._2.getKey)) batch += buffered.dequeue()
+    batch.result()
+  }
+
+  private def emitCompleted(): Unit = {
+    while (completed.isEmpty && inflight.nonEmpty && inflight.head.result != null) {
+      val update = inflight.dequeue()
+      update.result match {
+        case Failure(exception) =>
+          update.msgs.foreach(msg => log.error(exception, "Failed to send message {}", msg))
+        case Success(_) =>
+          completed ++= update.msgs
       }
     }
-  )
+    sendBuffered()
+    if (completed.nonEmpty && isAvailable(out)) push(out, completed.dequeue())
+
+    if (isClosed(in) && buffered.isEmpty && inflight.isEmpty && completed.isEmpty) {
+      log.debug("Stage completed after upstream finish")
+      completeStage()
+    } else pullIfRoom()
+  }
+
+  private def pullIfRoom(): Unit =
+    if (buffered.size < maximumInflight && !hasBeenPulled(in) && !isClosed(in)) pull(in)
+
+  setHandlers(in, out, this)
 
   /**
    * Cleanup logic
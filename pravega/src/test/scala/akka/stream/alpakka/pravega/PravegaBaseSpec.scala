@@ -55,7 +55,7 @@ abstract class PravegaBaseSpec
     streamManager.close()
   }
 
-  def createTable(scope: String, tableName: String, primaryKeyLength: Int): Unit = {
+  def createTable(scope: String, tableName: String, primaryKeyLength: Int, secondaryKeyLength: Int = 0): Unit = {
     val streamManager = StreamManager.create(URI.create("tcp://localhost:9090"))
     if (streamManager.createScope(scope))
       logger.info(s"Created scope [$scope].")
@@ -71,6 +71,7 @@ abstract class PravegaBaseSpec
       .builder()
       .partitionCount(2)
       .primaryKeyLength(primaryKeyLength)
+      .secondaryKeyLength(secondaryKeyLength)
       .build()
     val keyValueTableManager = KeyValueTableManager.create(clientConfig)
 
@@ -10,6 +10,7 @@ import akka.stream.alpakka.pravega.scaladsl.Pravega
 import akka.stream.alpakka.testkit.scaladsl.Repeated
 import akka.stream.scaladsl.{Keep, Sink, Source}
 import com.typesafe.config.ConfigFactory
+import io.pravega.client.admin.ReaderGroupManager
 import io.pravega.client.stream.impl.UTF8StringSerializer
 
 import scala.concurrent.duration.DurationInt
@@ -102,6 +103,103 @@ class PravegaGraphSpec extends PravegaBaseSpec with Repeated {
 
     }
 
+    "run a source reading ahead with several readers" in {
+
+      val group = newGroupName()
+      val scope = newScope()
+      val stream = "scala-test-prefetch-stream"
+
+      createStream(scope, stream)
+
+      val writerSettings = WriterSettingsBuilder(system)
+        .withKeyExtractor((str: String) => str.substring(0, 2))
+        .withSerializer(serializer)
+
+      val written = Source(1 to nEvent)
+        .map(i => f"$i%02d_event")
+        .runWith(Pravega.sink(scope, stream, writerSettings))
+      Await.ready(written, timeout)
+
+      // #prefetching
+      val readerSettings = ReaderSettingsBuilder(system)
+        .withPrefetchBufferSize(256)
+        .withReaderCount(2)
+        .withSerializer(serializer)
+      // #prefetching
+
+      Using(Pravega.readerGroupManager(scope, readerSettings.clientConfig)) { readerGroupManager =>
+        readerGroupManager.createReaderGroup(group, stream)
+      }.foreach { readerGroup =>
+        val events = Pravega
+          .source(readerGroup, readerSettings)
+          .take(nEvent.toLong)
+          .map(_.message)
+          .runWith(Sink.seq)
+
+        Await.result(events, timeout).toSet mustEqual (1 to nEvent).map(i => f"$i%02d_event").toSet
+      }
+    }
+
+    "give read ahead events back to the reader group when the source stops" in {
+
+      val group = newGroupName()
+      val scope = newScope()
+      val stream = "scala-test-prefetch-resume-stream"
+
+      createStream(scope, stream)
+
+      val writerSettings = WriterSettingsBuilder[String](system)
+        .withSerializer(serializer)
+
+      val events = (1 to nEvent).map(i => f"$i%04d_event")
+      Await.ready(Source(events).runWith(Pravega.sink(scope, stream, writerSettings)), timeout)
+
+      val prefetchSettings = ReaderSettingsBuilder(system)
+        .withPrefetchBufferSize(256)
+        .withSerializer(serializer)
+      val readerSettings = ReaderSettingsBuilder(system)
+        .withSerializer(serializer)
+
+      Using(ReaderGroupManager.withScope(scope, readerSettings.clientConfig)) { readerGroupManager =>
+        Using(Pravega.readerGroupManager(scope, readerSettings.clientConfig))(_.createReaderGroup(group, stream)).get
+        val first = Pravega
+          .source(readerGroupManager.getReaderGroup(group), prefetchSettings)
+          .take(10)
+          .map(_.message)
+          .runWith(Sink.seq)
+        val firstEvents = Await.result(first, timeout)
+
+        // the events buffered by the first source are read again
+        val rest = Pravega
+          .source(readerGroupManager.getReaderGroup(group), readerSettings)
+          .take((nEvent - 10).toLong)
+          .map(_.message)
+          .runWith(Sink.seq)
+
+        (firstEvents ++ Await.result(rest, timeout)).toSet mustEqual events.toSet
+      }.get
+    }
+
+    "emit written events in order with several writes in flight" in {
+
+      val scope = newScope()
+      val stream = "scala-test-inflight-stream"
+
+      createStream(scope, stream)
+
+      val writerSettings = WriterSettingsBuilder[String](system)
+        .withMaximumInflightMessages(32)
+        .withSerializer(serializer)
+
+      val events = (1 to nEvent).map(i => f"$i%02d_event")
+
+      val written = Source(events)
+        .via(Pravega.flow(scope, stream, writerSettings))
+        .runWith(Sink.seq)
+
+      Await.result(written, timeout) mustEqual events
+    }
+
   }
 
 }
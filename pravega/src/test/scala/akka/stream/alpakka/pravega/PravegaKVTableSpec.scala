@@ -5,8 +5,10 @@
 package akka.stream.alpakka.pravega
 
 import akka.stream.scaladsl.{Keep, Sink, Source}
+import akka.stream.testkit.scaladsl.TestSink
 
 import scala.concurrent.Await
+import scala.concurrent.duration._
 
 import akka.stream.alpakka.testkit.scaladsl.Repeated
 import akka.stream.alpakka.pravega.scaladsl.PravegaTable
@@ -58,6 +60,76 @@ class PravegaKVTableSpec extends PravegaBaseSpec with Repeated {
 
     }
 
+    "emit written entries in order with several updates in flight" in {
+
+      val scope = newScope()
+
+      val tableName = "kvp-table-inflight"
+
+      createTable(scope, tableName, 4)
+
+      val settings = TableWriterSettingsBuilder[Int, Person]()
+        .withKeyExtractor(id => new TableKey(intSerializer.serialize(id)))
+        .withMaximumInflightMessages(4)
+        .build()
+
+      val written = Source(1 to 100)
+        .map(id => (id, Person(id, s"name_$id")))
+        .via(PravegaTable.writeFlow(scope, tableName, settings))
+        .map(_._1)
+        .runWith(Sink.seq)
+
+      whenReady(written) { ids =>
+        ids mustEqual (1 to 100)
+      }
+
+    }
+
+    "batch buffered entries sharing a primary key and emit them in order" in {
+
+      val scope = newScope()
+
+      val tableName = "kvp-table-batched"
+
+      createTable(scope, tableName, 4, 4)
+
+      // ids 101 to 120 share the primary key 1, ids 201 to 220 the primary key 2
+      val settings = TableWriterSettingsBuilder[Int, Person]()
+        .withKeyExtractor(id => new TableKey(intSerializer.serialize(id / 100), intSerializer.serialize(id % 100)))
+        .withMaximumInflightMessages(4)
+        .build()
+
+      val ids = (101 to 120) ++ (201 to 220)
+
+      val probe = Source(ids)
+        .map(id => (id, Person(id, s"name_$id")))
+        .via(PravegaTable.writeFlow(scope, tableName, settings))
+        .map(_._1)
+        .runWith(TestSink[Int]())
+
+      // without demand the completed updates keep their slots, so the following entries are buffered and
+      // written in one update once demand frees a slot
+      probe.ensureSubscription()
+      probe.expectNoMessage(1.second)
+      probe.request(ids.size.toLong)
+      probe.expectNextN(ids.size.toLong) mustEqual ids
+      probe.expectComplete()
+
+      val tableSettings = TableReaderSettingsBuilder[Int, Person]()
+        .withKeyExtractor(id => new TableKey(intSerializer.serialize(id / 100), intSerializer.serialize(id % 100)))
+        .build()
+
+      val read = PravegaTable
+        .source(scope, tableName, tableSettings)
+        .map(_.value.id)
+        .runWith(Sink.seq)
+
+      whenReady(read) { readIds =>
+        readIds.sorted mustEqual ids
+      }
+
+    }
+
   }
 
 }
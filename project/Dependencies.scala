@@ -17,7 +17,7 @@ object Dependencies {
   val AkkaVersion = "2.10.0"
   val AkkaBinaryVersion = VersionNumber(AkkaVersion).numbers match { case Seq(major, minor, _*) => s"$major.$minor" }
 
-  val InfluxDBJavaVersion = "2.15"
+  val InfluxDBJavaVersion = "2.23"
 
   val AwsSdk2Version = "2.25.16"
   val AwsSpiAkkaHttpVersion = "1.0.1"
@@ -229,6 +229,7 @@ object Dependencies {
         .map("org.apache.geode" % _ % GeodeVersion) ++
       Seq(
         "com.chuusai" %% "shapeless" % "2.3.12",
+        "org.scala-lang" % "scala-reflect" % scalaVersion.value % Provided,
         "org.apache.logging.log4j" % "log4j-to-slf4j" % "2.17.2" % Test
       ) ++ JacksonDatabindDependencies
   )
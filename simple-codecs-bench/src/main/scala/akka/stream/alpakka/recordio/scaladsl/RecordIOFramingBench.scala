@@ -0,0 +1,112 @@
+/*
+ * Copyright (C) since 2016 Lightbend Inc. <https://www.lightbend.com>
+ */
+
+package akka.stream.alpakka.recordio.scaladsl
+
+import java.util.concurrent.TimeUnit
+
+import akka.NotUsed
+import akka.actor.ActorSystem
+import akka.stream.scaladsl.{Flow, Source}
+import akka.util.ByteString
+import org.openjdk.jmh.annotations._
+import org.openjdk.jmh.infra.Blackhole
+
+import scala.concurrent.Await
+import scala.concurrent.duration.Duration
+
+/**
+ * Measures the time to frame about 1 MiB of RecordIO data, comparing the copying `scanner`
+ * with the `slicingScanner`.
+ *
+ * ==Sample benchmark results==
+ * Rerun these on YOUR OWN MACHINE before/after making changes.
+ *
+ * {{{
+ * > simple-codecs-bench/jmh:run -t1 -f1 -wi 10 -i 10 .*RecordIOFramingBench
+ * }}}
+ *
+ * @see https://github.com/ktoso/sbt-jmh
+ */
+@Warmup(iterations = 8, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
+@BenchmarkMode(Array(Mode.Throughput))
+@Fork(jvmArgsAppend = Array("-Xmx350m", "-XX:+HeapDumpOnOutOfMemoryError"), value = 1)
+@State(Scope.Benchmark)
+class RecordIOFramingBench {
+
+  implicit val system: ActorSystem = ActorSystem()
+
+  /**
+   * Size of [[ByteString]] chunks in bytes.
+   */
+  @Param(
+    Array(
+      "32", //   smaller than a record
+      "1024", // ~same size as a record
+      "65536" // many records per chunk
+    )
+  )
+  var bsSize: Int = _
+
+  /**
+   * Size of the record data in bytes.
+   */
+  @Param(Array("100", "1000", "100000"))
+  var recordSize: Int = _
+
+  var source: Source[ByteString, NotUsed] = _
+
+  @Benchmark
+  def scanner(bh: Blackhole): Unit = frame(RecordIOFraming.scanner(), bh)
+
+  @Benchmark
+  def slicingScanner(bh: Blackhole): Unit = frame(RecordIOFraming.slicingScanner(), bh)
+
+  private def frame(framing: Flow[ByteString, ByteString, NotUsed], bh: Blackhole): Unit = {
+    val futureDone = source
+      .via(framing)
+      .runForeach { record =>
+        bh.consume(record.length)
+      }
+    Await.result(futureDone, Duration.Inf)
+  }
+
+  @TearDown
+  def tearDown(): Unit =
+    system.terminate()
+
+  @Setup
+  def setup(): Unit = {
+    val data = ByteString("x" * recordSize)
+    val record = ByteString(s"$recordSize\n") ++ data
+
+    val allChunks = Iterator
+      .continually(record)
+      .take(math.max(1, 1024 * 1024 / record.length)) // approx 1MiB for easy conversion from ops/s
+      .reduce(_ ++ _)
+      .grouped(bsSize)
+      .map(_.compact)
+      .toIndexedSeq
+
+    source = Source.fromIterator(() => allChunks.iterator)
+  }
+}
+
+/**
+ * For debugging.
+ */
+object RecordIOFramingBench {
+
+  def main(args: Array[String]): Unit = {
+    val bench = new RecordIOFramingBench
+    bench.bsSize = 1024
+    bench.recordSize = 1000
+    bench.setup()
+    val bh = new Blackhole("Today's password is swordfish. I understand instantiating Blackholes directly is dangerous.")
+    bench.scanner(bh)
+    bench.slicingScanner(bh)
+    bench.tearDown()
+  }
+}
@@ -114,12 +114,11 @@ private[recordio] class RecordIOFramingStage(maxRecordLength: Int)
 @InternalApi
 private object RecordIOFramingStage {
 
-  private val LineFeed = '\n'.toByte
-  private val CarriageReturn = '\r'.toByte
-  private val Tab = '\t'.toByte
-  private val Space = ' '.toByte
+  private[impl] val LineFeed = '\n'.toByte
+  private[impl] val CarriageReturn = '\r'.toByte
+  private[impl] val Tab = '\t'.toByte
+  private[impl] val Space = ' '.toByte
 
-  private val Whitespace: Set[Byte] = Set(LineFeed, CarriageReturn, Tab, Space)
-
-  private def isWhitespace(byte: Byte): Boolean = Whitespace.contains(byte)
+  private[impl] def isWhitespace(byte: Byte): Boolean =
+    byte == LineFeed || byte == CarriageReturn || byte == Tab || byte == Space
 }
@@ -0,0 +1,126 @@
+/*
+ * Copyright (C) since 2016 Lightbend Inc. <https://www.lightbend.com>
+ */
+
+package akka.stream.alpakka.recordio.impl
+
+import akka.annotation.InternalApi
+import akka.stream.Attributes.name
+import akka.stream.scaladsl.Framing.FramingException
+import akka.stream.stage.{GraphStage, GraphStageLogic, InHandler, OutHandler}
+import akka.stream.{Attributes, FlowShape, Inlet, Outlet}
+import akka.util.ByteString
+
+/**
+ * INTERNAL API
+ *
+ * RecordIO framing which never copies record data: the size prefix is parsed digit by digit straight from the
+ * buffered chunks and records are emitted as (possibly non-compact) slices of the incoming byte strings.
+ */
+@InternalApi
+private[recordio] final class RecordIOSlicingFramingStage(maxRecordLength: Int)
+    extends GraphStage[FlowShape[ByteString, ByteString]] {
+
+  import RecordIOFramingStage._
+  import RecordIOSlicingFramingStage._
+
+  val in = Inlet[ByteString]("RecordIOSlicingFramingStage.in")
+  val out = Outlet[ByteString]("RecordIOSlicingFramingStage.out")
+  override val shape: FlowShape[ByteString, ByteString] = FlowShape(in, out)
+
+  override def initialAttributes: Attributes = name("recordIOSlicingFraming")
+  override def toString: String = "RecordIOSlicingFraming"
+
+  // The maximum length of the record prefix indicating its size.
+  private val maxRecordPrefixLength = maxRecordLength.toString.length
+
+  override def createLogic(inheritedAttributes: Attributes): GraphStageLogic =
+    new GraphStageLogic(shape) with InHandler with OutHandler {
+      private var buffer = ByteString.empty
+
+      private var currentRecordLength = -1 // the byte length of the next record, -1 while its prefix is unread
+
+      override def onPush(): Unit = {
+        buffer ++= grab(in)
+        doParse()
+      }
+
+      override def onPull(): Unit = doParse()
+
+      override def onUpstreamFinish(): Unit =
+        if (buffer.isEmpty) {
+          completeStage()
+        } else if (isAvailable(out)) {
+          doParse()
+        } // else swallow the termination and wait for pull
+
+      private def tryPull(): Unit =
+        if (isClosed(in)) {
+          failStage(new FramingException("Stream finished but there was a truncated final record in the buffer."))
+        } else pull(in)
+
+      private def doParse(): Unit =
+        if (currentRecordLength < 0) readPrefix()
+        else if (buffer.length >= currentRecordLength) {
+          val record = buffer.take(currentRecordLength)
+          buffer = buffer.drop(currentRecordLength)
+          currentRecordLength = -1
+          push(out, record)
+        } else tryPull()
+
+      private def readPrefix(): Unit = {
+        val bytes = buffer.iterator
+        var consumed = 0
+        var digits = 0
+        var length = 0L
+        var state = Scanning
+        while (state == Scanning && bytes.hasNext) {
+          val byte = bytes.next()
+          consumed += 1
+          if (byte >= '0' && byte <= '9') {
+            digits += 1
+            length = length * 10 + (byte - '0')
+            if (digits > maxRecordPrefixLength) state = PrefixTooLong
+          } else if (digits == 0 && isWhitespace(byte)) {
+            // whitespace before or after a record
+          } else if (byte == LineFeed) {
+            state = PrefixComplete
+          } else {
+            state = PrefixInvalid
+          }
+        }
+
+        state match {
+          case PrefixComplete if length > maxRecordLength =>
+            failStage(new FramingException(s"Record of size $length bytes exceeds maximum of $maxRecordLength bytes."))
+          case PrefixComplete =>
+            buffer = buffer.drop(consumed)
+            currentRecordLength = length.toInt
+            doParse()
+          case PrefixTooLong =>
+            failStage(new FramingException(s"Record size prefix is longer than $maxRecordPrefixLength bytes."))
+          case PrefixInvalid =>
+            failStage(new FramingException("Record size prefix must consist of decimal digits followed by a line feed."))
+          case _ if digits == 0 =>
+            // only whitespace is buffered
+            buffer = ByteString.empty
+            if (isClosed(in)) completeStage() else pull(in)
+          case _ =>
+            tryPull()
+        }
+      }
+
+      setHandlers(in, out, this)
+    }
+}
+
+/**
+ * INTERNAL API
+ */
+@InternalApi
+private object RecordIOSlicingFramingStage {
+  private final val Scanning = 0
+  private final val PrefixComplete = 1
+  private final val PrefixTooLong = 2
+  private final val PrefixInvalid = 3
+}
@@ -5,7 +5,7 @@
 package akka.stream.alpakka.recordio.javadsl
 
 import akka.NotUsed
-import akka.stream.alpakka.recordio.impl.RecordIOFramingStage
+import akka.stream.alpakka.recordio.impl.{RecordIOFramingStage, RecordIOSlicingFramingStage}
 import akka.stream.javadsl.Flow
 import akka.util.ByteString
 
@@ -33,4 +33,21 @@ object RecordIOFraming {
     Flow.fromGraph(new RecordIOFramingStage(maxRecordLength)).named("recordIOFraming")
 
   def scanner(): Flow[ByteString, ByteString, NotUsed] = scanner(10 * 1024)
+
+  /**
+   * Returns a flow that parses an incoming RecordIO stream like [[scanner]], but avoids copying record data.
+   *
+   * The record size prefix is parsed in place and each record is emitted as a slice of the incoming byte strings,
+   * without compacting it. Emitted records thus keep the incoming chunks they span reachable; call `compact` on
+   * records which are retained for a long time, or use [[scanner]] instead.
+   *
+   * A record size prefix which does not consist of decimal digits followed by a line feed fails the stream with a
+   * [[akka.stream.scaladsl.Framing.FramingException]].
+   *
+   * @param maxRecordLength The maximum record length allowed. If a record is indicated to be longer, this Flow will fail the stream.
+   */
+  def slicingScanner(maxRecordLength: Int): Flow[ByteString, ByteString, NotUsed] =
+    Flow.fromGraph(new RecordIOSlicingFramingStage(maxRecordLength)).named("recordIOSlicingFraming")
+
+  def slicingScanner(): Flow[ByteString, ByteString, NotUsed] = slicingScanner(10 * 1024)
 }
@@ -187,4 +187,95 @@ class RecordIOFramingSpec(_system: ActorSystem)
     // Then
     result.failed.futureValue shouldBe a[FramingException]
   }
+
+  "RecordIO slicing framing" should "parse a chunked stream" in {
+    // Given
+    val whitespaceChunk = "\n\n"
+    val (secondChunk, thirdChunk) = s"\n\n$FirstRecordWithPrefix\n\n".splitAt(50)
+    val (fifthChunk, sixthChunk) = s"\n\n$SecondRecordWithPrefix\n\n".splitAt(2)
+
+    val chunkedInput =
+      Seq(whitespaceChunk, secondChunk, thirdChunk, whitespaceChunk, fifthChunk, sixthChunk, whitespaceChunk).map(
+        ByteString(_)
+      )
+
+    // When
+    //#run-via-slicing-scanner
+    val result = Source(chunkedInput)
+      .via(RecordIOFraming.slicingScanner())
+      .runWith(stringSeqSink)
+    //#run-via-slicing-scanner
+
+    // Then
+    result.futureValue shouldBe Seq(FirstRecordData, SecondRecordData)
+  }
+
+  it should "emit empty records and handle trailing whitespace" in {
+    // Given
+    val input = Seq("0\n", s"\t $SecondRecordWithPrefix", " \r\n", "\t").map(ByteString(_))
+
+    // When
+    val result = Source(input) via
+      RecordIOFraming.slicingScanner() runWith
+      stringSeqSink
+
+    // Then
+    result.futureValue shouldBe Seq("", SecondRecordData)
+  }
+
+  it should "handle a stream containing only whitespace" in {
+    // Given
+    val input = Seq("\n\n", "  ", "\t\t").map(ByteString(_))
+
+    // When
+    val result = Source(input) via
+      RecordIOFraming.slicingScanner() runWith
+      stringSeqSink
+
+    // Then
+    result.futureValue shouldBe Seq.empty
+  }
+
+  it should "reject an unparseable record size prefix" in {
+    // Given
+    val recordIOInput = s"NAN\n$FirstRecordData"
+
+    // When
+    val result = Source.single(ByteString(recordIOInput)) via
+      RecordIOFraming.slicingScanner(1024) runWith
+      stringSeqSink
+
+    // Then
+    result.failed.futureValue shouldBe a[FramingException]
+  }
+
+  it should "reject an overly long record size prefix" in {
+    // When
+    val result = Source.repeat(ByteString("1")) via
+      RecordIOFraming.slicingScanner(1024) runWith
+      stringSeqSink
+
+    // Then
+    result.failed.futureValue shouldBe a[FramingException]
+  }
+
+  it should "reject an overly long record" in {
+    // When
+    val result = Source.single(ByteString(FirstRecordWithPrefix)) via
+      RecordIOFraming.slicingScanner(FirstRecordData.length - 1) runWith
+      stringSeqSink
+
+    // Then
+    result.failed.futureValue shouldBe a[FramingException]
+  }
+
+  it should "reject a truncated record" in {
+    // When
+    val result = Source.single(ByteString(FirstRecordWithPrefix.dropRight(1))) via
+      RecordIOFraming.slicingScanner() runWith
+      stringSeqSink
+
+    // Then
+    result.failed.futureValue shouldBe a[FramingException]
+  }
 }
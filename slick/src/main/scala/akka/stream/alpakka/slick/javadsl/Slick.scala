@@ -21,6 +21,9 @@ import slick.jdbc.SQLActionBuilder
 import slick.jdbc.SetParameter
 import slick.jdbc.SimpleJdbcAction
 
+import scala.collection.immutable
+import scala.jdk.CollectionConverters._
+import scala.jdk.DurationConverters._
 import scala.jdk.FunctionConverters._
 import scala.jdk.FutureConverters._
 import scala.concurrent.ExecutionContext
@@ -250,6 +253,56 @@ object Slick {
       })(session)
       .asJava
 
+  /**
+   * Java API: creates a Flow that groups the incoming elements into
+   *           batches and executes every batch as a single JDBC batch
+   *           in its own transaction against the specified Slick database.
+   *           Emits the update count of every element, in the order of the elements.
+   *
+   * @param session The database session to use.
+   * @param batchSize The maximum number of elements in a batch.
+   * @param maxWait The maximum time to wait for a batch to fill up.
+   * @param toBatchStatement A function that creates the statement for a
+   *                         batch and calls `addBatch` for every element
+   *                         of the batch. The statement is executed with
+   *                         `executeBatch` and closed afterwards.
+   */
+  def flowBatched[T](
+      session: SlickSession,
+      batchSize: Int,
+      maxWait: java.time.Duration,
+      toBatchStatement: Function2[java.util.List[T], Connection, PreparedStatement]
+  ): Flow[T, java.lang.Integer, NotUsed] =
+    flowBatched(session, 1, batchSize, maxWait, toBatchStatement)
+
+  /**
+   * Java API: creates a Flow that groups the incoming elements into
+   *           batches and executes every batch as a single JDBC batch
+   *           in its own transaction against the specified Slick database.
+   *           Emits the update count of every element, in the order of the elements.
+   *
+   * @param session The database session to use.
+   * @param parallelism How many batches may be sent to the database
+   *                    concurrently. Use a value of 1 for sequential execution.
+   * @param batchSize The maximum number of elements in a batch.
+   * @param maxWait The maximum time to wait for a batch to fill up.
+   * @param toBatchStatement A function that creates the statement for a
+   *                         batch and calls `addBatch` for every element
+   *                         of the batch. The statement is executed with
+   *                         `executeBatch` and closed afterwards.
+   */
+  def flowBatched[T](
+      session: SlickSession,
+      parallelism: Int,
+      batchSize: Int,
+      maxWait: java.time.Duration,
+      toBatchStatement: Function2[java.util.List[T], Connection, PreparedStatement]
+  ): Flow[T, java.lang.Integer, NotUsed] =
+    ScalaSlick
+      .flowBatched[T, Int](parallelism, batchSize, maxWait.toScala, toBatchDBIO(toBatchStatement))(session)
+      .map(Int.box)
+      .asJava
+
   /**
    * Java API: creates a Sink that takes a stream of elements of
    *           type T, transforms each element to a SQL statement
@@ -372,4 +425,14 @@ object Slick {
       javaDml(t, ctx.connection).executeUpdate()
     }
   }
+
+  private def toBatchDBIO[T](
+      javaDml: Function2[java.util.List[T], Connection, PreparedStatement]
+  ): immutable.Seq[T] => DBIO[immutable.Seq[Int]] = { batch =>
+    SimpleJdbcAction { ctx =>
+      val statement = javaDml(batch.asJava, ctx.connection)
+      try statement.executeBatch().toList
+      finally statement.close()
+    }
+  }
 }
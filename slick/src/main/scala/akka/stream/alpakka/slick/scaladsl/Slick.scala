@@ -4,7 +4,10 @@
 
 package akka.stream.alpakka.slick.scaladsl
 
+import scala.collection.immutable
+import scala.concurrent.ExecutionContext
 import scala.concurrent.Future
+import scala.concurrent.duration.FiniteDuration
 
 import akka.Done
 import akka.NotUsed
@@ -111,6 +114,74 @@ object Slick {
         session.db.run(toStatement(t))
       }
 
+  /**
+   * Scala API: creates a Flow that groups the incoming elements into
+   *            batches, transforms every batch to a single action
+   *            using the specified function, and executes each action
+   *            in its own transaction against the specified Slick database.
+   *            Emits one result per element, in the order of the elements.
+   *
+   *            Use a JDBC batch (e.g. `++=` on a table query or a
+   *            `SimpleDBIO` calling `addBatch` for every element) to
+   *            write a batch in a single round trip.
+   *
+   * @param batchSize The maximum number of elements in a batch.
+   * @param maxWait The maximum time to wait for a batch to fill up.
+   * @param toBatchStatement A function to produce the action to execute
+   *                         for a batch. The action must return one
+   *                         result for every element of the batch.
+   * @param session The database session to use.
+   */
+  def flowBatched[T, R](
+      batchSize: Int,
+      maxWait: FiniteDuration,
+      toBatchStatement: immutable.Seq[T] => DBIO[immutable.Seq[R]]
+  )(implicit session: SlickSession): Flow[T, R, NotUsed] =
+    flowBatched(1, batchSize, maxWait, toBatchStatement)
+
+  /**
+   * Scala API: creates a Flow that groups the incoming elements into
+   *            batches, transforms every batch to a single action
+   *            using the specified function, and executes each action
+   *            in its own transaction against the specified Slick database.
+   *            Emits one result per element, in the order of the elements.
+   *
+   *            Use a JDBC batch (e.g. `++=` on a table query or a
+   *            `SimpleDBIO` calling `addBatch` for every element) to
+   *            write a batch in a single round trip.
+   *
+   * @param parallelism How many batches may be sent to the database
+   *                    concurrently. Use a value of 1 for sequential execution.
+   * @param batchSize The maximum number of elements in a batch.
+   * @param maxWait The maximum time to wait for a batch to fill up.
+   * @param toBatchStatement A function to produce the action to execute
+   *                         for a batch. The action must return one
+   *                         result for every element of the batch.
+   * @param session The database session to use.
+   */
+  def flowBatched[T, R](
+      parallelism: Int,
+      batchSize: Int,
+      maxWait: FiniteDuration,
+      toBatchStatement: immutable.Seq[T] => DBIO[immutable.Seq[R]]
+  )(implicit session: SlickSession): Flow[T, R, NotUsed] = {
+    import session.profile.api._
+    Flow[T]
+      .groupedWithin(batchSize, maxWait)
+      .mapAsync(parallelism) { batch =>
+        session.db
+          .run(toBatchStatement(batch).transactionally)
+          .map { results =>
+            if (results.size != batch.size)
+              throw new IllegalStateException(
+                s"Batch statement returned ${results.size} results for a batch of ${batch.size} elements"
+              )
+            results
+          }(ExecutionContext.parasitic)
+      }
+      .mapConcat(identity)
+  }
+
   /**
    * Scala API: creates a Sink that takes a stream of elements of
    *            type T, transforms each element to a SQL statement
@@ -25,7 +25,9 @@ import org.junit.Test;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -291,6 +293,37 @@ public class SlickTest {
     assertEqualsUsers();
   }
 
+  @Test
+  public void testFlowBatchedAndReadBackWithSource() throws Exception {
+    // #flow-batched
+    final Function2<List<User>, Connection, PreparedStatement> insertUsers =
+        (batch, connection) -> {
+          PreparedStatement statement =
+              connection.prepareStatement(
+                  "INSERT INTO ALPAKKA_SLICK_JAVADSL_TEST_USERS VALUES (?, ?)");
+          for (User user : batch) {
+            statement.setInt(1, user.id);
+            statement.setString(2, user.name);
+            statement.addBatch();
+          }
+          return statement;
+        };
+
+    final Flow<User, Integer, NotUsed> slickFlow =
+        Slick.flowBatched(session, 10, Duration.ofMillis(100), insertUsers);
+    // #flow-batched
+    final List<Integer> insertionResult =
+        usersSource
+            .via(slickFlow)
+            .runWith(Sink.seq(), system)
+            .toCompletableFuture()
+            .get(5, TimeUnit.SECONDS);
+
+    assertEquals(users.size(), insertionResult.size());
+    assertEquals(Collections.singleton(1), new HashSet<>(insertionResult));
+    assertEqualsUsers();
+  }
+
   @Test
   public void testFlowWithPassThroughKafkaExample() throws Exception {
     final List<User> usersList = new ArrayList<>(SlickTest.users);
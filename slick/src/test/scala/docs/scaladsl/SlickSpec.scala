@@ -18,6 +18,7 @@ import slick.basic.DatabaseConfig
 import slick.dbio.DBIOAction
 import slick.jdbc.{GetResult, JdbcProfile}
 
+import scala.collection.immutable
 import scala.concurrent.duration._
 import scala.concurrent.{Await, ExecutionContext, Future}
 
@@ -295,6 +296,76 @@ class SlickSpec
     }
   }
 
+  "Slick.flowBatched(..)" must {
+    "insert 40 records into a table with JDBC batches" in {
+      //#flow-batched
+      def insertUsers(batch: immutable.Seq[User]): DBIO[immutable.Seq[Int]] =
+        SimpleDBIO { context =>
+          val statement =
+            context.connection.prepareStatement("INSERT INTO ALPAKKA_SLICK_SCALADSL_TEST_USERS VALUES(?, ?)")
+          try {
+            batch.foreach { user =>
+              statement.setInt(1, user.id)
+              statement.setString(2, user.name)
+              statement.addBatch()
+            }
+            statement.executeBatch().toList
+          } finally statement.close()
+        }
+
+      val inserted: Future[Seq[Int]] = Source(users)
+        .via(Slick.flowBatched(batchSize = 10, maxWait = 100.millis, insertUsers))
+        .runWith(Sink.seq)
+      //#flow-batched
+
+      inserted.futureValue must have size (users.size)
+      inserted.futureValue.toSet mustBe Set(1)
+
+      getAllUsersFromDb.futureValue mustBe users
+    }
+
+    "pass through the elements of typed batch inserts (parallelism = 4)" in {
+      val inserted = Source(users)
+        .via(
+          Slick.flowBatched(
+            parallelism = 4,
+            batchSize = 10,
+            maxWait = 100.millis,
+            (batch: immutable.Seq[User]) =>
+              (TableQuery[Users] ++= batch.map(user => (user.id, user.name))).map(_ => batch)
+          )
+        )
+        .runWith(Sink.seq)
+        .futureValue
+
+      inserted.toSet mustBe users
+      getAllUsersFromDb.futureValue mustBe users
+    }
+
+    "roll back a failed batch" in {
+      val failingUser = User(0, "x" * 100) // longer than the NAME column
+
+      val result = Source(users + failingUser)
+        .via(Slick.flowBatched(batchSize = 50, maxWait = 1.second, (batch: immutable.Seq[User]) => {
+          DBIO.sequence(batch.map(insertUser))
+        }))
+        .runWith(Sink.seq)
+
+      result.failed.futureValue mustBe a[java.sql.SQLException]
+      getAllUsersFromDb.futureValue mustBe empty
+    }
+
+    "fail if a batch does not return a result per element" in {
+      val result = Source(users)
+        .via(Slick.flowBatched(batchSize = 10, maxWait = 100.millis, (batch: immutable.Seq[User]) => {
+          DBIO.sequence(batch.map(insertUser)).map(_.take(1))
+        }))
+        .runWith(Sink.seq)
+
+      result.failed.futureValue mustBe an[IllegalStateException]
+    }
+  }
+
   "Slick.sink(..)" must {
     "insert 40 records into a table (no parallelism)" in {
       Source(users)
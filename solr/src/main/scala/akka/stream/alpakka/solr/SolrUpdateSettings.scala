@@ -5,29 +5,51 @@
 package akka.stream.alpakka.solr
 
 final class SolrUpdateSettings private (
-    val commitWithin: Int
+    val commitWithin: Int,
+    val maxInflightBatches: Int,
+    val routeToShardLeaders: Boolean
 ) {
+  require(maxInflightBatches > 0, s"Invalid value for maxInflightBatches: $maxInflightBatches. It should be > 0.")
 
   /**
    * Set max time (in ms) before a commit will happen
    */
   def withCommitWithin(value: Int): SolrUpdateSettings = copy(commitWithin = value)
 
+  /**
+   * Number of message batches written at the same time. Batches are written one after the other with the default
+   * of 1, with more the updates of a later batch may be applied before those of an earlier one. Results are emitted
+   * in order either way.
+   */
+  def withMaxInflightBatches(value: Int): SolrUpdateSettings = copy(maxInflightBatches = value)
+
+  /**
+   * With a `CloudSolrClient`, split the documents and ids of a batch by their target shard with the collection's
+   * router and send the requests for all shards at the same time.
+   */
+  def withRouteToShardLeaders(value: Boolean): SolrUpdateSettings = copy(routeToShardLeaders = value)
+
   private def copy(
-      commitWithin: Int
+      commitWithin: Int = commitWithin,
+      maxInflightBatches: Int = maxInflightBatches,
+      routeToShardLeaders: Boolean = routeToShardLeaders
   ): SolrUpdateSettings = new SolrUpdateSettings(
-    commitWithin = commitWithin
+    commitWithin = commitWithin,
+    maxInflightBatches = maxInflightBatches,
+    routeToShardLeaders = routeToShardLeaders
   )
 
   override def toString =
     "SolrUpdateSettings(" +
-    s"commitWithin=$commitWithin" +
+    s"commitWithin=$commitWithin," +
+    s"maxInflightBatches=$maxInflightBatches," +
+    s"routeToShardLeaders=$routeToShardLeaders" +
     ")"
 }
 
 object SolrUpdateSettings {
 
-  val Defaults = new SolrUpdateSettings(-1)
+  val Defaults = new SolrUpdateSettings(commitWithin = -1, maxInflightBatches = 1, routeToShardLeaders = false)
 
   /** Scala API */
   def apply(): SolrUpdateSettings = Defaults
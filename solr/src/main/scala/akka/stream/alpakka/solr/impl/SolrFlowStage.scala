@@ -7,6 +7,7 @@ package akka.stream.alpakka.solr.impl
 import scala.annotation.nowarn
 
 import akka.annotation.InternalApi
+import akka.event.LoggingAdapter
 import akka.stream.ActorAttributes.SupervisionStrategy
 import akka.stream._
 import akka.stream.alpakka.solr._
@@ -16,9 +17,12 @@ import org.apache.solr.client.solrj.impl.CloudSolrClient
 import org.apache.solr.client.solrj.request.UpdateRequest
 import org.apache.solr.client.solrj.response.UpdateResponse
 import org.apache.solr.common.SolrInputDocument
+import org.apache.solr.common.cloud.DocCollection
 import scala.annotation.tailrec
+import scala.concurrent.{ExecutionContext, Future}
+import scala.util.{Failure, Success, Try}
 import scala.util.control.NonFatal
-import scala.collection.immutable
+import scala.collection.{immutable, mutable}
 import scala.jdk.CollectionConverters._
 
 /**
@@ -44,7 +48,9 @@ private[solr] final class SolrFlowStage[T, C](
 
   override def createLogic(inheritedAttributes: Attributes): GraphStageLogic = {
     def decider = inheritedAttributes.mandatoryAttribute[SupervisionStrategy].decider
-    new SolrFlowLogic[T, C](decider, collection, client, in, out, shape, settings, messageBinder)
+    if (settings.maxInflightBatches > 1 || settings.routeToShardLeaders)
+      new SolrPipelinedFlowLogic[T, C](decider, collection, client, in, out, shape, settings, messageBinder)
+    else new SolrFlowLogic[T, C](decider, collection, client, in, out, shape, settings, messageBinder)
   }
 }
 
@@ -62,6 +68,8 @@ private final class SolrFlowLogic[T, C](
     with InHandler
     with StageLogging {
 
+  private lazy val requests = new SolrUpdateRequests[T, C](collection, client, settings, messageBinder, log)
+
   setHandlers(in, out, this)
 
   override def onPull(): Unit =
@@ -86,15 +94,160 @@ private final class SolrFlowLogic[T, C](
       pull(in)
     }
 
-  private def updateBulkToSolr(messages: immutable.Seq[WriteMessage[T, C]]): UpdateResponse = {
-    val docs = messages.flatMap(_.source.map(messageBinder))
+  private def sendBulkToSolr(messages: immutable.Seq[WriteMessage[T, C]]): Unit = {
+    // only the status of the last operation is reported
+    val response = requests.operations(messages).foldLeft(0) { (_, operationRequests) =>
+      SolrUpdateRequests.status(operationRequests.map(_.process(client, collection)))
+    }
+
+    log.debug("Handle the response with {}", response)
+    emit(out, SolrUpdateRequests.results(messages, response))
+  }
+}
+
+/**
+ * Internal API
+ *
+ * Writes batches of messages with up to `maxInflightBatches` batches in flight, emitting their results in order.
+ * The requests are sent from the IO dispatcher, those of one operation at the same time.
+ */
+private final class SolrPipelinedFlowLogic[T, C](
+    decider: Supervision.Decider,
+    collection: String,
+    client: SolrClient,
+    in: Inlet[immutable.Seq[WriteMessage[T, C]]],
+    out: Outlet[immutable.Seq[WriteResult[T, C]]],
+    shape: FlowShape[immutable.Seq[WriteMessage[T, C]], immutable.Seq[WriteResult[T, C]]],
+    settings: SolrUpdateSettings,
+    messageBinder: T => SolrInputDocument
+) extends GraphStageLogic(shape)
+    with OutHandler
+    with InHandler
+    with StageLogging {
+
+  private final class InflightBatch(val messages: immutable.Seq[WriteMessage[T, C]]) {
+    var response: Option[Try[Int]] = None
+  }
+
+  private lazy val requests = new SolrUpdateRequests[T, C](collection, client, settings, messageBinder, log)
+  private val inflight = mutable.Queue.empty[InflightBatch]
+  private var ec: ExecutionContext = _
+
+  private val onSent = getAsyncCallback[(InflightBatch, Try[Int])] {
+    case (batch, response) =>
+      batch.response = Some(response)
+      emitSent()
+  }
+
+  setHandlers(in, out, this)
+
+  override def preStart(): Unit = {
+    ec = materializer.system.dispatchers.lookup(ActorAttributes.IODispatcher.dispatcher)
+    pull(in)
+  }
+
+  override def onPull(): Unit = emitSent()
+
+  override def onPush(): Unit = {
+    val batch = new InflightBatch(grab(in))
+    inflight.enqueue(batch)
+    val sent =
+      try send(requests.operations(batch.messages), 0)
+      catch { case NonFatal(ex) => Future.failed(ex) }
+    sent.onComplete(response => onSent.invoke(batch -> response))(ExecutionContext.parasitic)
+    tryPull()
+  }
+
+  override def onUpstreamFinish(): Unit =
+    if (inflight.isEmpty) completeStage()
 
-    if (log.isDebugEnabled) log.debug("Upsert {}", docs)
-    client.add(collection, docs.asJava, settings.commitWithin)
+  // the requests of an operation are sent once those of the previous operation completed
+  private def send(operations: List[List[UpdateRequest]], response: Int): Future[Int] =
+    operations match {
+      case Nil => Future.successful(response)
+      case operationRequests :: remaining =>
+        implicit val parasitic: ExecutionContext = ExecutionContext.parasitic
+        Future
+          .sequence(operationRequests.map(request => Future(request.process(client, collection))(ec)))
+          .flatMap(responses => send(remaining, SolrUpdateRequests.status(responses)))
+    }
+
+  private def emitSent(): Unit = {
+    while (inflight.nonEmpty && inflight.head.response.isDefined && isAvailable(out)) {
+      val batch = inflight.dequeue()
+      batch.response.get match {
+        case Success(response) =>
+          log.debug("Handle the response with {}", response)
+          push(out, SolrUpdateRequests.results(batch.messages, response))
+        case Failure(ex) =>
+          decider(ex) match {
+            case Supervision.Stop => failStage(ex)
+            case _ => // for resume and restart strategies the batch is dropped
+          }
+      }
+    }
+    if (isClosed(in) && inflight.isEmpty) completeStage()
+    else tryPull()
+  }
+
+  private def tryPull(): Unit =
+    if (inflight.size < settings.maxInflightBatches && !isClosed(in) && !hasBeenPulled(in)) {
+      pull(in)
+    }
+}
+
+/**
+ * Internal API
+ *
+ * Creates the update requests for batches of messages.
+ */
+@InternalApi
+private final class SolrUpdateRequests[T, C](
+    collection: String,
+    client: SolrClient,
+    settings: SolrUpdateSettings,
+    messageBinder: T => SolrInputDocument,
+    log: LoggingAdapter
+) {
+
+  /**
+   * The requests for every run of messages with the same operation. The runs must be sent one after the other, the
+   * requests of one run may be sent at the same time.
+   */
+  def operations(messages: immutable.Seq[WriteMessage[T, C]]): List[List[UpdateRequest]] = {
+    @tailrec
+    def split(toSend: immutable.Seq[WriteMessage[T, C]], acc: List[List[UpdateRequest]]): List[List[UpdateRequest]] =
+      if (toSend.isEmpty) acc.reverse
+      else {
+        val operation = toSend.head.operation
+        //Just take a subset of this operation
+        val (current, remaining) = toSend.span { m =>
+          m.operation == operation
+        }
+        val requests = operation match {
+          case Upsert => updateBulkToSolr(current)
+          case AtomicUpdate => atomicUpdateBulkToSolr(current)
+          case DeleteByIds => deleteBulkToSolrByIds(current)
+          case DeleteByQuery => deleteEachByQuery(current)
+          case PassThrough => Nil
+        }
+        split(remaining, requests :: acc)
+      }
+
+    split(messages, Nil)
+  }
+
+  private def updateBulkToSolr(messages: immutable.Seq[WriteMessage[T, C]]): List[UpdateRequest] = {
+    val docs = messages.flatMap(m => m.source.map(source => m -> messageBinder(source)))
+
+    if (log.isDebugEnabled) log.debug("Upsert {}", docs.map(_._2))
+    byShard(docs)(_._2, _._1.routingFieldValue.orNull).map { docs =>
+      newRequest().add(docs.map(_._2).asJava)
+    }
   }
 
   @nowarn("msg=deprecated") // FIXME #2917 Deprecated getIdField in Solrj 8.11.x
-  private def atomicUpdateBulkToSolr(messages: immutable.Seq[WriteMessage[T, C]]): UpdateResponse = {
+  private def atomicUpdateBulkToSolr(messages: immutable.Seq[WriteMessage[T, C]]): List[UpdateRequest] = {
     val docs = messages.map { message =>
       val doc = new SolrInputDocument()
 
@@ -124,65 +277,99 @@ private final class SolrFlowLogic[T, C](
           doc.addField(field, jMap)
         }
       }
-      doc
+      message -> doc
+    }
+    if (log.isDebugEnabled) log.debug(s"Update atomically ${docs.map(_._2)}")
+    byShard(docs)(_._2, _._1.routingFieldValue.orNull).map { docs =>
+      newRequest().add(docs.map(_._2).asJava)
     }
-    if (log.isDebugEnabled) log.debug(s"Update atomically $docs")
-    client.add(collection, docs.asJava, settings.commitWithin)
   }
 
-  private def deleteBulkToSolrByIds(messages: immutable.Seq[WriteMessage[T, C]]): UpdateResponse = {
+  private def deleteBulkToSolrByIds(messages: immutable.Seq[WriteMessage[T, C]]): List[UpdateRequest] = {
     val docsIds = messages
       .filter { message =>
         message.operation == DeleteByIds && message.idFieldValue.isDefined
       }
-      .map { message =>
-        message.idFieldValue.get
-      }
-    if (log.isDebugEnabled) log.debug(s"Delete the ids $docsIds")
-    client.deleteById(collection, docsIds.asJava, settings.commitWithin)
+    if (log.isDebugEnabled) log.debug(s"Delete the ids ${docsIds.map(_.idFieldValue.get)}")
+    byShard(docsIds)(m => idDocument(m.idFieldValue.get), _.routingFieldValue.orNull).map { messages =>
+      newRequest().deleteById(messages.map(_.idFieldValue.get).asJava)
+    }
   }
 
-  private def deleteEachByQuery(messages: immutable.Seq[WriteMessage[T, C]]): UpdateResponse = {
-    val responses = messages.map { message =>
+  private def deleteEachByQuery(messages: immutable.Seq[WriteMessage[T, C]]): List[UpdateRequest] =
+    messages.toList.map { message =>
       val query = message.query.get
       if (log.isDebugEnabled) log.debug(s"Delete by the query $query")
-      val req = new UpdateRequest()
+      val req = newRequest()
       if (message.routingFieldValue.isDefined) req.setParam("_route_", message.routingFieldValue.get)
       req.deleteByQuery(query)
-      req.setCommitWithin(settings.commitWithin)
-      req.process(client, collection)
     }
-    responses.find(_.getStatus != 0).getOrElse(responses.head)
+
+  private def newRequest(): UpdateRequest = {
+    val req = new UpdateRequest()
+    req.setCommitWithin(settings.commitWithin)
+    req
   }
 
-  private def sendBulkToSolr(messages: immutable.Seq[WriteMessage[T, C]]): Unit = {
+  /**
+   * Groups the elements by the shard the collection's router picks for their document, as `CloudSolrClient` does
+   * when it sends updates to the shard leaders. Without shard routing, or when the collection is unknown, all
+   * elements are sent in one request.
+   */
+  private def byShard[E](elements: immutable.Seq[E])(document: E => SolrInputDocument,
+                                                     route: E => String): List[immutable.Seq[E]] =
+    docCollection() match {
+      case Some((idField, coll)) if elements.nonEmpty =>
+        val router = coll.getRouter
+        elements
+          .groupBy { element =>
+            val doc = document(element)
+            val r = route(element)
+            val id = Option(doc.getFieldValue(idField)).map(_.toString).orNull
+            if (id == null && r == null) None
+            else Option(router.getTargetSlice(id, doc, r, null, coll)).map(_.getName)
+          }
+          .values
+          .toList
+      case _ =>
+        List(elements)
+    }
 
-    @tailrec
-    def send(toSend: immutable.Seq[WriteMessage[T, C]]): Option[UpdateResponse] = {
-      val operation = toSend.head.operation
-      //Just take a subset of this operation
-      val (current, remaining) = toSend.span { m =>
-        m.operation == operation
-      }
-      //send this subset
-      val response = operation match {
-        case Upsert => Option(updateBulkToSolr(current))
-        case AtomicUpdate => Option(atomicUpdateBulkToSolr(current))
-        case DeleteByIds => Option(deleteBulkToSolrByIds(current))
-        case DeleteByQuery => Option(deleteEachByQuery(current))
-        case PassThrough => None
-      }
-      if (remaining.nonEmpty) {
-        send(remaining)
-      } else {
-        response
-      }
+  @nowarn("msg=deprecated") // FIXME #2917 Deprecated getIdField in Solrj 8.11.x
+  private def docCollection(): Option[(String, DocCollection)] =
+    client match {
+      case csc: CloudSolrClient if settings.routeToShardLeaders =>
+        val provider = csc.getClusterStateProvider
+        provider.resolveAlias(collection).asScala.toList match {
+          case name :: Nil => Option(provider.getClusterState.getCollectionOrNull(name)).map(csc.getIdField -> _)
+          case _ => None
+        }
+      case _ => None
     }
 
-    val response = if (messages.nonEmpty) send(messages).fold(0) { _.getStatus } else 0
+  @nowarn("msg=deprecated") // FIXME #2917 Deprecated getIdField in Solrj 8.11.x
+  private def idDocument(id: String): SolrInputDocument = {
+    val doc = new SolrInputDocument()
+    client match {
+      case csc: CloudSolrClient => doc.addField(csc.getIdField, id)
+      case _ =>
+    }
+    doc
+  }
+}
 
-    log.debug("Handle the response with {}", response)
-    val results = messages.map(
+/**
+ * Internal API
+ */
+@InternalApi
+private object SolrUpdateRequests {
+
+  /** The first status other than 0, as the status of an operation sent in several requests. */
+  def status(responses: immutable.Seq[UpdateResponse]): Int =
+    responses.map(_.getStatus).find(_ != 0).getOrElse(0)
+
+  def results[T, C](messages: immutable.Seq[WriteMessage[T, C]], response: Int): immutable.Seq[WriteResult[T, C]] =
+    messages.map(
       m =>
         WriteResult(m.idField,
                     m.idFieldValue,
@@ -193,6 +380,4 @@ private final class SolrFlowLogic[T, C](
                     m.passThrough,
                     response)
     )
-    emit(out, results)
-  }
 }
@@ -267,6 +267,62 @@ class SolrSpec extends AnyWordSpec with Matchers with BeforeAndAfterAll with Sca
       )
     }
 
+    "store documents with several batches in flight routed to the shard leaders" in {
+      val collectionName = createCollection(Some("router"), numShards = 2)
+      val stream = getTupleStream(predefinedCollection)
+
+      // #pipelined-flow
+      val settings = SolrUpdateSettings()
+        .withMaxInflightBatches(4)
+        .withRouteToShardLeaders(true)
+
+      val copyCollection = SolrSource
+        .fromTupleStream(stream)
+        .zipWithIndex
+        .map {
+          case (tuple, index) =>
+            val book: Book = tupleToBook(tuple)
+            WriteMessage.createUpsertMessage(book.copy(routerOpt = Some(book.title))).withPassThrough(index)
+        }
+        .grouped(2)
+        .via(
+          SolrFlow.typedsWithPassThrough[Book, Long](
+            collectionName,
+            settings,
+            binder = bookToDoc
+          )
+        )
+        .runWith(Sink.seq)
+        // explicit commit when stream ended
+        .map { seq =>
+          solrClient.commit(collectionName)
+          seq
+        }(commitExecutionContext)
+      // #pipelined-flow
+
+      val results = copyCollection.futureValue.flatten
+
+      // results are emitted in the order of the messages
+      results.map(_.passThrough) shouldEqual (0L until 7L)
+      assert(results.forall(_.status == 0))
+
+      val res2 = SolrSource
+        .fromTupleStream(getTupleStream(collectionName))
+        .map(tupleToBook)
+        .map(_.title)
+        .runWith(Sink.seq)
+
+      res2.futureValue shouldEqual Seq(
+        "Akka Concurrency",
+        "Akka in Action",
+        "Effective Akka",
+        "Learning Scala",
+        "Programming in Scala",
+        "Scala Puzzlers",
+        "Scala for Spark in Production"
+      )
+    }
+
     "store documents and pass responses with passThrough (Kafka example)" in {
       val collectionName = createCollection()
 
@@ -779,10 +835,10 @@ class SolrSpec extends AnyWordSpec with Matchers with BeforeAndAfterAll with Sca
 
   private val number = new AtomicInteger(2)
 
-  private def createCollection(routerFieldOpt: Option[String] = None) = {
+  private def createCollection(routerFieldOpt: Option[String] = None, numShards: Int = 1) = {
     val name = s"scala-collection-${number.incrementAndGet()}"
     CollectionAdminRequest
-      .createCollection(name, "conf", 1, 1)
+      .createCollection(name, "conf", numShards, 1)
       .setRouterField(routerFieldOpt.orNull)
       .process(solrClient)
     name
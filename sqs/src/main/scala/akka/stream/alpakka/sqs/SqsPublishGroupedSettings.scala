@@ -8,13 +8,19 @@ import scala.concurrent.duration._
 
 final class SqsPublishGroupedSettings private (val maxBatchSize: Int,
                                                val maxBatchWait: scala.concurrent.duration.FiniteDuration,
-                                               val concurrentRequests: Int) {
+                                               val concurrentRequests: Int,
+                                               val maxBatchBytes: Long) {
 
   require(
     maxBatchSize > 0 && maxBatchSize <= 10,
     s"Invalid value for maxBatchSize: $maxBatchSize. It should be 0 < maxBatchSize < 10, due to the Amazon SQS requirements."
   )
 
+  require(
+    maxBatchBytes > 0 && maxBatchBytes <= SqsPublishGroupedSettings.MaxPayloadBytes,
+    s"Invalid value for maxBatchBytes: $maxBatchBytes. It should be 0 < maxBatchBytes <= ${SqsPublishGroupedSettings.MaxPayloadBytes}, due to the Amazon SQS requirements."
+  )
+
   def withMaxBatchSize(value: Int): SqsPublishGroupedSettings = copy(maxBatchSize = value)
 
   /** Scala API */
@@ -29,28 +35,43 @@ final class SqsPublishGroupedSettings private (val maxBatchSize: Int,
 
   def withConcurrentRequests(value: Int): SqsPublishGroupedSettings = copy(concurrentRequests = value)
 
+  /**
+   * The maximum payload of a batch, message bodies and message attributes summed up.
+   * A message larger than this is sent in a batch of its own.
+   *
+   * Default: 262144 bytes (256 KiB), the limit of `SendMessageBatch`
+   */
+  def withMaxBatchBytes(value: Long): SqsPublishGroupedSettings = copy(maxBatchBytes = value)
+
   private def copy(maxBatchSize: Int = maxBatchSize,
                    maxBatchWait: scala.concurrent.duration.FiniteDuration = maxBatchWait,
-                   concurrentRequests: Int = concurrentRequests): SqsPublishGroupedSettings =
+                   concurrentRequests: Int = concurrentRequests,
+                   maxBatchBytes: Long = maxBatchBytes): SqsPublishGroupedSettings =
     new SqsPublishGroupedSettings(maxBatchSize = maxBatchSize,
                                   maxBatchWait = maxBatchWait,
-                                  concurrentRequests = concurrentRequests)
+                                  concurrentRequests = concurrentRequests,
+                                  maxBatchBytes = maxBatchBytes)
 
   override def toString =
     "SqsPublishGroupedSettings(" +
     s"maxBatchSize=$maxBatchSize," +
     s"maxBatchWait=$maxBatchWait," +
-    s"concurrentRequests=$concurrentRequests" +
+    s"concurrentRequests=$concurrentRequests," +
+    s"maxBatchBytes=$maxBatchBytes" +
     ")"
 
 }
 
 object SqsPublishGroupedSettings {
 
+  /** The maximum total payload of a `SendMessageBatch` request. */
+  val MaxPayloadBytes: Long = 256 * 1024
+
   val Defaults = new SqsPublishGroupedSettings(
     maxBatchSize = 10,
     maxBatchWait = 500.millis,
-    concurrentRequests = 1
+    concurrentRequests = 1,
+    maxBatchBytes = MaxPayloadBytes
   )
 
   /** Scala API */
@@ -0,0 +1,46 @@
+/*
+ * Copyright (C) since 2016 Lightbend Inc. <https://www.lightbend.com>
+ */
+
+package akka.stream.alpakka.sqs
+
+import java.util.concurrent.ConcurrentHashMap
+
+import akka.annotation.InternalApi
+import software.amazon.awssdk.services.sqs.model.Message
+
+import scala.jdk.CollectionConverters._
+
+/**
+ * Keeps track of the messages emitted by a source created with `SqsSource.withVisibilityHeartbeat`.
+ * The visibility of every tracked message is extended periodically until it is released.
+ *
+ * Release a message as soon as a [[MessageAction]] has been decided for it, before passing the action to
+ * `SqsAckFlow` or `SqsAckSink`.
+ */
+final class SqsVisibilityHeartbeat @InternalApi private[sqs] () {
+
+  private val inFlight = new ConcurrentHashMap[String, Message]()
+
+  /** Stop extending the visibility of the message. */
+  def release(message: Message): Unit = inFlight.remove(message.messageId)
+
+  /** Stop extending the visibility of the action's message and return the action. */
+  def release[T <: MessageAction](action: T): T = {
+    release(action.message)
+    action
+  }
+
+  /** The number of messages whose visibility is currently extended. */
+  def inFlightCount: Int = inFlight.size
+
+  /** Internal API */
+  @InternalApi private[sqs] def track(message: Message): Unit = inFlight.put(message.messageId, message)
+
+  /** Internal API */
+  @InternalApi private[sqs] def forget(messageId: String): Unit = inFlight.remove(messageId)
+
+  /** Internal API */
+  @InternalApi private[sqs] def messages: List[Message] = inFlight.values.asScala.toList
+
+}
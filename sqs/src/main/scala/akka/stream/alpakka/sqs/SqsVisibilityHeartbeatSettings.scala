@@ -0,0 +1,56 @@
+/*
+ * Copyright (C) since 2016 Lightbend Inc. <https://www.lightbend.com>
+ */
+
+package akka.stream.alpakka.sqs
+
+import scala.concurrent.duration._
+import scala.jdk.DurationConverters._
+
+final class SqsVisibilityHeartbeatSettings private (val heartbeatInterval: scala.concurrent.duration.FiniteDuration,
+                                                    val visibilityTimeout: scala.concurrent.duration.FiniteDuration) {
+
+  require(heartbeatInterval > Duration.Zero, "heartbeatInterval must be positive")
+  require(
+    visibilityTimeout > heartbeatInterval && visibilityTimeout <= 12.hours,
+    s"Invalid value for visibilityTimeout: $visibilityTimeout. It should be longer than heartbeatInterval ($heartbeatInterval) and at most 12 hours."
+  )
+
+  /** Scala API: How often the visibility of in-flight messages is extended. */
+  def withHeartbeatInterval(value: scala.concurrent.duration.FiniteDuration): SqsVisibilityHeartbeatSettings =
+    copy(heartbeatInterval = value)
+
+  /** Java API: How often the visibility of in-flight messages is extended. */
+  def withHeartbeatInterval(value: java.time.Duration): SqsVisibilityHeartbeatSettings =
+    copy(heartbeatInterval = value.toScala)
+
+  /** Scala API: The visibility timeout set by every heartbeat. */
+  def withVisibilityTimeout(value: scala.concurrent.duration.FiniteDuration): SqsVisibilityHeartbeatSettings =
+    copy(visibilityTimeout = value)
+
+  /** Java API: The visibility timeout set by every heartbeat. */
+  def withVisibilityTimeout(value: java.time.Duration): SqsVisibilityHeartbeatSettings =
+    copy(visibilityTimeout = value.toScala)
+
+  private def copy(heartbeatInterval: scala.concurrent.duration.FiniteDuration = heartbeatInterval,
+                   visibilityTimeout: scala.concurrent.duration.FiniteDuration = visibilityTimeout)
+      : SqsVisibilityHeartbeatSettings =
+    new SqsVisibilityHeartbeatSettings(heartbeatInterval = heartbeatInterval, visibilityTimeout = visibilityTimeout)
+
+  override def toString =
+    s"""SqsVisibilityHeartbeatSettings(heartbeatInterval=$heartbeatInterval,visibilityTimeout=$visibilityTimeout)"""
+
+}
+
+object SqsVisibilityHeartbeatSettings {
+  val Defaults = new SqsVisibilityHeartbeatSettings(
+    heartbeatInterval = 10.seconds,
+    visibilityTimeout = 30.seconds
+  )
+
+  /** Scala API */
+  def apply(): SqsVisibilityHeartbeatSettings = Defaults
+
+  /** Java API */
+  def create(): SqsVisibilityHeartbeatSettings = Defaults
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright (C) since 2016 Lightbend Inc. <https://www.lightbend.com>
+ */
+
+package akka.stream.alpakka.sqs.impl
+
+import akka.annotation.InternalApi
+import software.amazon.awssdk.services.sqs.model.{MessageAttributeValue, SendMessageRequest}
+
+import scala.jdk.CollectionConverters._
+
+/**
+ * Internal API.
+ *
+ * Computes the payload size SQS accounts for a message: the body and every message attribute's
+ * name, data type and value, all UTF-8 encoded.
+ */
+@InternalApi private[sqs] object SqsMessageSize {
+
+  def apply(request: SendMessageRequest): Long = {
+    var size = utf8Length(request.messageBody)
+    if (request.hasMessageAttributes)
+      request.messageAttributes.asScala.foreach {
+        case (name, value) => size += utf8Length(name) + attributeValueSize(value)
+      }
+    size
+  }
+
+  private def attributeValueSize(value: MessageAttributeValue): Long = {
+    val data =
+      if (value.stringValue != null) utf8Length(value.stringValue)
+      else if (value.binaryValue != null) value.binaryValue.asByteArrayUnsafe.length.toLong
+      else 0L
+    utf8Length(value.dataType) + data
+  }
+
+  /** Counts the UTF-8 encoded length without encoding the string. */
+  private[impl] def utf8Length(s: String): Long =
+    if (s == null) 0L
+    else {
+      var length = 0L
+      var i = 0
+      while (i < s.length) {
+        val c = s.charAt(i)
+        if (c < 0x80) length += 1
+        else if (c < 0x800) length += 2
+        else if (Character.isHighSurrogate(c) && i + 1 < s.length && Character.isLowSurrogate(s.charAt(i + 1))) {
+          length += 4
+          i += 1
+        } else length += 3
+        i += 1
+      }
+      length
+    }
+
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (C) since 2016 Lightbend Inc. <https://www.lightbend.com>
+ */
+
+package akka.stream.alpakka.sqs.impl
+
+import akka.annotation.InternalApi
+import akka.stream.alpakka.sqs.{SqsVisibilityHeartbeat, SqsVisibilityHeartbeatSettings}
+import akka.stream.stage._
+import akka.stream.{Attributes, FlowShape, Inlet, Outlet}
+import software.amazon.awssdk.services.sqs.SqsAsyncClient
+import software.amazon.awssdk.services.sqs.model.{
+  ChangeMessageVisibilityBatchRequest,
+  ChangeMessageVisibilityBatchRequestEntry,
+  ChangeMessageVisibilityBatchResponse,
+  Message
+}
+
+import scala.concurrent.ExecutionContext
+import scala.jdk.CollectionConverters._
+import scala.jdk.FutureConverters._
+import scala.util.{Failure, Success, Try}
+
+/**
+ * Internal API.
+ *
+ * Tracks every message passing through and extends the visibility of all tracked messages with
+ * `ChangeMessageVisibilityBatch` requests until they are released through the materialized [[SqsVisibilityHeartbeat]].
+ * After upstream completes, the stage keeps sending heartbeats until all messages have been released.
+ */
+@InternalApi private[sqs] final class SqsVisibilityHeartbeatStage(queueUrl: String,
+                                                                  settings: SqsVisibilityHeartbeatSettings,
+                                                                  sqsClient: SqsAsyncClient)
+    extends GraphStageWithMaterializedValue[FlowShape[Message, Message], SqsVisibilityHeartbeat] {
+
+  private val in = Inlet[Message]("SqsVisibilityHeartbeat.in")
+  private val out = Outlet[Message]("SqsVisibilityHeartbeat.out")
+
+  override val shape: FlowShape[Message, Message] = FlowShape(in, out)
+
+  override def createLogicAndMaterializedValue(
+      inheritedAttributes: Attributes
+  ): (GraphStageLogic, SqsVisibilityHeartbeat) = {
+    val heartbeat = new SqsVisibilityHeartbeat()
+    val logic = new TimerGraphStageLogic(shape) with InHandler with OutHandler with StageLogging {
+      private val MaxEntriesPerBatch = 10
+      private val visibilityTimeoutSeconds = settings.visibilityTimeout.toSeconds.toInt
+
+      private val resultCallback = getAsyncCallback[Try[ChangeMessageVisibilityBatchResponse]] {
+        case Success(response) =>
+          response.failed.asScala.foreach { entry =>
+            log.warning("Stopping visibility heartbeat for message [{}]: {} {}",
+                        entry.id,
+                        entry.code,
+                        entry.message)
+            heartbeat.forget(entry.id)
+          }
+        case Failure(ex) =>
+          log.warning("Visibility heartbeat for queue [{}] failed, retrying at next interval: {}", queueUrl, ex)
+      }
+
+      override def preStart(): Unit =
+        scheduleWithFixedDelay(SqsVisibilityHeartbeatStage.Heartbeat,
+                               settings.heartbeatInterval,
+                               settings.heartbeatInterval)
+
+      override def onPush(): Unit = {
+        val message = grab(in)
+        heartbeat.track(message)
+        push(out, message)
+      }
+
+      override def onPull(): Unit = pull(in)
+
+      override def onUpstreamFinish(): Unit = {
+        setKeepGoing(true)
+        complete(out)
+        if (heartbeat.inFlightCount == 0) completeStage()
+      }
+
+      override protected def onTimer(timerKey: Any): Unit = {
+        val messages = heartbeat.messages
+        if (messages.isEmpty && isClosed(in)) completeStage()
+        else messages.grouped(MaxEntriesPerBatch).foreach(sendHeartbeat)
+      }
+
+      private def sendHeartbeat(messages: List[Message]): Unit = {
+        val entries = messages.map { message =>
+          ChangeMessageVisibilityBatchRequestEntry
+            .builder()
+            .id(message.messageId)
+            .receiptHandle(message.receiptHandle)
+            .visibilityTimeout(visibilityTimeoutSeconds)
+            .build()
+        }
+        sqsClient
+          .changeMessageVisibilityBatch(
+            ChangeMessageVisibilityBatchRequest.builder().queueUrl(queueUrl).entries(entries.asJava).build()
+          )
+          .asScala
+          .onComplete(resultCallback.invoke)(ExecutionContext.parasitic)
+      }
+
+      setHandlers(in, out, this)
+    }
+    (logic, heartbeat)
+  }
+}
+
+/**
+ * Internal API.
+ */
+@InternalApi private[sqs] object SqsVisibilityHeartbeatStage {
+  private case object Heartbeat
+}
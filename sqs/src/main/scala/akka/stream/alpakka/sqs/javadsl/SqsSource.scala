@@ -5,7 +5,7 @@
 package akka.stream.alpakka.sqs.javadsl
 
 import akka.NotUsed
-import akka.stream.alpakka.sqs.SqsSourceSettings
+import akka.stream.alpakka.sqs.{SqsSourceSettings, SqsVisibilityHeartbeat, SqsVisibilityHeartbeatSettings}
 import akka.stream.javadsl.Source
 import software.amazon.awssdk.services.sqs.SqsAsyncClient
 import software.amazon.awssdk.services.sqs.model.Message
@@ -21,4 +21,17 @@ object SqsSource {
   def create(queueUrl: String, settings: SqsSourceSettings, sqs: SqsAsyncClient): Source[Message, NotUsed] =
     akka.stream.alpakka.sqs.scaladsl.SqsSource(queueUrl, settings)(sqs).asJava
 
+  /**
+   * creates a [[akka.stream.javadsl.Source Source]] for a SQS queue using [[software.amazon.awssdk.services.sqs.SqsAsyncClient SqsAsyncClient]]
+   * which extends the visibility of every emitted message with `ChangeMessageVisibilityBatch` requests until it is
+   * released through the materialized [[akka.stream.alpakka.sqs.SqsVisibilityHeartbeat SqsVisibilityHeartbeat]].
+   */
+  def createWithVisibilityHeartbeat(queueUrl: String,
+                                    settings: SqsSourceSettings,
+                                    heartbeatSettings: SqsVisibilityHeartbeatSettings,
+                                    sqs: SqsAsyncClient): Source[Message, SqsVisibilityHeartbeat] =
+    akka.stream.alpakka.sqs.scaladsl.SqsSource
+      .withVisibilityHeartbeat(queueUrl, settings, heartbeatSettings)(sqs)
+      .asJava
+
 }
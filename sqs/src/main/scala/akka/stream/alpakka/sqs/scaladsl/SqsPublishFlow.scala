@@ -9,6 +9,7 @@ import java.util.concurrent.CompletionException
 import akka.NotUsed
 import akka.annotation.ApiMayChange
 import akka.stream.alpakka.sqs.{SqsBatchException, _}
+import akka.stream.alpakka.sqs.impl.SqsMessageSize
 import akka.stream.scaladsl.{Flow, Source}
 import software.amazon.awssdk.services.sqs.SqsAsyncClient
 import software.amazon.awssdk.services.sqs.model._
@@ -61,13 +62,15 @@ object SqsPublishFlow {
   /**
    * creates a [[akka.stream.scaladsl.Flow Flow]] that groups messages and publishes them in batches to a SQS queue using an [[software.amazon.awssdk.services.sqs.SqsAsyncClient SqsAsyncClient]]
    *
-   * @see https://doc.akka.io/libraries/akka-core/current/stream/operators/Source-or-Flow/groupedWithin.html#groupedwithin
+   * Batches are limited by number of messages and by payload size (`maxBatchBytes`), so that a batch stays within the `SendMessageBatch` limits.
+   *
+   * @see https://doc.akka.io/libraries/akka-core/current/stream/operators/Source-or-Flow/groupedWeightedWithin.html
    */
   def grouped(queueUrl: String, settings: SqsPublishGroupedSettings = SqsPublishGroupedSettings.Defaults)(
       implicit sqsClient: SqsAsyncClient
   ): Flow[SendMessageRequest, SqsPublishResultEntry, NotUsed] =
     Flow[SendMessageRequest]
-      .groupedWithin(settings.maxBatchSize, settings.maxBatchWait)
+      .groupedWeightedWithin(settings.maxBatchBytes, settings.maxBatchSize, settings.maxBatchWait)(SqsMessageSize(_))
       .via(batch(queueUrl, SqsPublishBatchSettings.create().withConcurrentRequests(settings.concurrentRequests)))
       .mapConcat(identity)
 
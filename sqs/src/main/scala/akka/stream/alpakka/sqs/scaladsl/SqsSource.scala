@@ -6,9 +6,9 @@ package akka.stream.alpakka.sqs.scaladsl
 
 import akka._
 import akka.stream._
-import akka.stream.alpakka.sqs.SqsSourceSettings
-import akka.stream.alpakka.sqs.impl.BalancingMapAsync
-import akka.stream.scaladsl.{Flow, Source}
+import akka.stream.alpakka.sqs.{SqsSourceSettings, SqsVisibilityHeartbeat, SqsVisibilityHeartbeatSettings}
+import akka.stream.alpakka.sqs.impl.{BalancingMapAsync, SqsVisibilityHeartbeatStage}
+import akka.stream.scaladsl.{Flow, Keep, Source}
 import software.amazon.awssdk.services.sqs.SqsAsyncClient
 import software.amazon.awssdk.services.sqs.model._
 
@@ -51,6 +51,25 @@ object SqsSource {
       .buffer(settings.maxBufferSize, OverflowStrategy.backpressure)
   }
 
+  /**
+   * creates a [[akka.stream.scaladsl.Source Source]] for a SQS queue using [[software.amazon.awssdk.services.sqs.SqsAsyncClient SqsAsyncClient]]
+   * which extends the visibility of every emitted message with `ChangeMessageVisibilityBatch` requests until it is
+   * released through the materialized [[akka.stream.alpakka.sqs.SqsVisibilityHeartbeat SqsVisibilityHeartbeat]].
+   *
+   * Unless the source settings specify a visibility timeout, messages are received with the heartbeat's visibility timeout.
+   */
+  def withVisibilityHeartbeat(
+      queueUrl: String,
+      settings: SqsSourceSettings = SqsSourceSettings.Defaults,
+      heartbeatSettings: SqsVisibilityHeartbeatSettings = SqsVisibilityHeartbeatSettings.Defaults
+  )(implicit sqsClient: SqsAsyncClient): Source[Message, SqsVisibilityHeartbeat] = {
+    val sourceSettings =
+      if (settings.visibilityTimeout.isDefined) settings
+      else settings.withVisibilityTimeout(heartbeatSettings.visibilityTimeout)
+    apply(queueUrl, sourceSettings)
+      .viaMat(new SqsVisibilityHeartbeatStage(queueUrl, heartbeatSettings, sqsClient))(Keep.right)
+  }
+
   private def resolveHandler(parallelism: Int)(implicit sqsClient: SqsAsyncClient) =
     if (parallelism == 1) {
       Flow[ReceiveMessageRequest].mapAsyncUnordered(parallelism)(sqsClient.receiveMessage(_).asScala)
@@ -42,7 +42,8 @@ public class SqsPublishTest extends BaseSqsTest {
         SqsPublishGroupedSettings.create()
             .withMaxBatchSize(10)
             .withMaxBatchWait(Duration.ofMillis(500))
-            .withConcurrentRequests(1);
+            .withConcurrentRequests(1)
+            .withMaxBatchBytes(256 * 1024);
     // #SqsPublishGroupedSettings
     assertEquals(1, batchSettings.concurrentRequests());
   }
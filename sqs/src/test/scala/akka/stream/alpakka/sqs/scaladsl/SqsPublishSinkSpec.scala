@@ -182,6 +182,39 @@ class SqsPublishSinkSpec extends AnyFlatSpec with Matchers with DefaultTestConte
     )
   }
 
+  it should "send large messages in batches within the payload limit" in {
+    implicit val sqsClient: SqsAsyncClient = mock(classOf[SqsAsyncClient])
+
+    when(sqsClient.sendMessageBatch(any[SendMessageBatchRequest]))
+      .thenReturn(
+        CompletableFuture.completedFuture(
+          SendMessageBatchResponse
+            .builder()
+            .successful(
+              SendMessageBatchResultEntry.builder().id("0").messageId(UUID.randomUUID().toString).build(),
+              SendMessageBatchResultEntry.builder().id("1").messageId(UUID.randomUUID().toString).build()
+            )
+            .build()
+        )
+      )
+
+    val largeMessage = "x" * (100 * 1024)
+
+    val (probe, future) = TestSource[String]().toMat(SqsPublishSink.grouped("notused"))(Keep.both).run()
+    probe
+      .sendNext(largeMessage)
+      .sendNext(largeMessage)
+      .sendNext(largeMessage)
+      .sendNext(largeMessage)
+      .sendComplete()
+
+    Await.result(future, 1.second) shouldBe Done
+
+    verify(sqsClient, times(2)).sendMessageBatch(
+      any[SendMessageBatchRequest]()
+    )
+  }
+
   it should "fail if any of the messages in batch failed" in {
     implicit val sqsClient: SqsAsyncClient = mock(classOf[SqsAsyncClient])
 
@@ -6,7 +6,8 @@ package akka.stream.alpakka.sqs.scaladsl
 
 import java.util.concurrent.CompletableFuture
 
-import akka.stream.alpakka.sqs.SqsSourceSettings
+import akka.stream.alpakka.sqs.{MessageAction, SqsSourceSettings, SqsVisibilityHeartbeatSettings}
+import akka.stream.scaladsl.Keep
 import akka.stream.alpakka.testkit.scaladsl.LogCapturing
 import akka.stream.testkit.scaladsl.TestSink
 import org.mockito.ArgumentMatchers._
@@ -16,7 +17,13 @@ import org.mockito.stubbing.Answer
 import org.scalatest.flatspec.AnyFlatSpec
 import org.scalatest.matchers.should.Matchers
 import software.amazon.awssdk.services.sqs.SqsAsyncClient
-import software.amazon.awssdk.services.sqs.model.{Message, ReceiveMessageRequest, ReceiveMessageResponse}
+import software.amazon.awssdk.services.sqs.model.{
+  ChangeMessageVisibilityBatchRequest,
+  ChangeMessageVisibilityBatchResponse,
+  Message,
+  ReceiveMessageRequest,
+  ReceiveMessageResponse
+}
 
 import scala.jdk.FutureConverters._
 import scala.concurrent.Future
@@ -154,4 +161,34 @@ class SqsSourceMockSpec extends AnyFlatSpec with Matchers with DefaultTestContex
     (1 to 1000).foreach(_ => probe.requestNext(10.milliseconds))
     probe.cancel()
   }
+
+  it should "extend the visibility of messages until they are released" in {
+    implicit val sqsClient: SqsAsyncClient = mock(classOf[SqsAsyncClient])
+    val message = Message.builder().messageId("id-1").receiptHandle("handle-1").body("message").build()
+    when(sqsClient.receiveMessage(any[ReceiveMessageRequest]))
+      .thenReturn(CompletableFuture.completedFuture(ReceiveMessageResponse.builder().messages(message).build()))
+      .thenReturn(new CompletableFuture[ReceiveMessageResponse]())
+    when(sqsClient.changeMessageVisibilityBatch(any[ChangeMessageVisibilityBatchRequest]))
+      .thenReturn(CompletableFuture.completedFuture(ChangeMessageVisibilityBatchResponse.builder().build()))
+
+    val heartbeatSettings = SqsVisibilityHeartbeatSettings()
+      .withHeartbeatInterval(100.millis)
+      .withVisibilityTimeout(1.second)
+    val (heartbeat, probe) = SqsSource
+      .withVisibilityHeartbeat("url", SqsSourceSettings.Defaults.withParallelRequests(1), heartbeatSettings)
+      .toMat(TestSink[Message]())(Keep.both)
+      .run()
+
+    probe.requestNext() shouldEqual message
+    heartbeat.inFlightCount shouldBe 1
+    verify(sqsClient, timeout(1000).atLeast(2)).changeMessageVisibilityBatch(any[ChangeMessageVisibilityBatchRequest])
+
+    heartbeat.release(MessageAction.Delete(message))
+    heartbeat.inFlightCount shouldBe 0
+    Thread.sleep(300)
+    clearInvocations(sqsClient)
+    Thread.sleep(300)
+    verify(sqsClient, never()).changeMessageVisibilityBatch(any[ChangeMessageVisibilityBatchRequest])
+    probe.cancel()
+  }
 }
@@ -175,6 +175,33 @@ class SqsAckSpec extends AnyFlatSpec with Matchers with DefaultTestContext with
     }
   }
 
+  it should "extend the visibility of messages until they are deleted" taggedAs Integration in {
+    new IntegrationFixture {
+      sendMessage("alpakka-heartbeat")
+
+      //#visibility-heartbeat
+      val heartbeatSettings = SqsVisibilityHeartbeatSettings()
+        .withHeartbeatInterval(10.seconds)
+        .withVisibilityTimeout(30.seconds)
+
+      val (heartbeat, source) = SqsSource
+        .withVisibilityHeartbeat(queueUrl, sqsSourceSettings, heartbeatSettings)
+        .preMaterialize()
+
+      val future =
+        source
+          .take(1)
+          .map(MessageAction.Delete(_))
+          .map(heartbeat.release(_))
+          .via(SqsAckFlow(queueUrl))
+          .runWith(Sink.head)
+      //#visibility-heartbeat
+
+      future.futureValue shouldBe a[SqsDeleteResult]
+      heartbeat.inFlightCount shouldBe 0
+    }
+  }
+
   it should "pull and ignore a message" taggedAs Integration in {
     new IntegrationFixture {
       sendMessage("alpakka-flow-ack")
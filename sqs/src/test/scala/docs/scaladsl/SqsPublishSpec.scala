@@ -83,6 +83,7 @@ class SqsPublishSpec extends AnyFlatSpec with Matchers with DefaultTestContext w
         .withMaxBatchSize(10)
         .withMaxBatchWait(500.millis)
         .withConcurrentRequests(1)
+        .withMaxBatchBytes(256 * 1024)
     //#SqsPublishGroupedSettings
     batchSettings.concurrentRequests shouldBe 1
   }
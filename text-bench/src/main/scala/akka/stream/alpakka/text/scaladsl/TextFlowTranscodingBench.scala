@@ -0,0 +1,122 @@
+/*
+ * Copyright (C) since 2016 Lightbend Inc. <https://www.lightbend.com>
+ */
+
+package akka.stream.alpakka.text.scaladsl
+
+import java.nio.charset.{Charset, StandardCharsets}
+import java.util.concurrent.TimeUnit
+
+import akka.NotUsed
+import akka.actor.ActorSystem
+import akka.stream.scaladsl.{Flow, Source}
+import akka.util.ByteString
+import org.openjdk.jmh.annotations._
+import org.openjdk.jmh.infra.Blackhole
+
+import scala.concurrent.Await
+import scala.concurrent.duration.Duration
+
+/**
+ * Measures the time to transcode 64 MiB of Latin-1 log lines to UTF-8, as a slice of a multi-GB log file.
+ * `latin1ToUtf8` takes the fast path, `windows1252ToUtf8` decodes and encodes the same bytes with the JDK coders.
+ *
+ * ==Sample benchmark results==
+ * Rerun these on YOUR OWN MACHINE before/after making changes.
+ *
+ * {{{
+ * > text-bench/jmh:run -t1 -f1 -wi 5 -i 10 .*TextFlowTranscodingBench
+ * }}}
+ *
+ * @see https://github.com/ktoso/sbt-jmh
+ */
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
+@BenchmarkMode(Array(Mode.AverageTime))
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(jvmArgsAppend = Array("-Xmx1g", "-XX:+HeapDumpOnOutOfMemoryError"), value = 1)
+@State(Scope.Benchmark)
+class TextFlowTranscodingBench {
+
+  implicit val system: ActorSystem = ActorSystem()
+
+  /**
+   * Size of [[ByteString]] chunks in bytes, as read from a file.
+   */
+  @Param(Array("8192", "65536"))
+  var bsSize: Int = _
+
+  /**
+   * Every n-th log line contains characters outside of ASCII, 0 for none.
+   */
+  @Param(Array("0", "10", "1"))
+  var nonAsciiLineEvery: Int = _
+
+  var source: Source[ByteString, NotUsed] = _
+
+  @Benchmark
+  def latin1ToUtf8(bh: Blackhole): Unit =
+    transcode(TextFlow.transcoding(StandardCharsets.ISO_8859_1, StandardCharsets.UTF_8), bh)
+
+  @Benchmark
+  def windows1252ToUtf8(bh: Blackhole): Unit =
+    transcode(TextFlow.transcoding(Charset.forName("windows-1252"), StandardCharsets.UTF_8), bh)
+
+  @Benchmark
+  def latin1Decoding(bh: Blackhole): Unit = {
+    val futureDone = source
+      .via(TextFlow.decoding(StandardCharsets.ISO_8859_1))
+      .runForeach { string =>
+        bh.consume(string.length)
+      }
+    Await.result(futureDone, Duration.Inf)
+  }
+
+  private def transcode(transcoding: Flow[ByteString, ByteString, NotUsed], bh: Blackhole): Unit = {
+    val futureDone = source
+      .via(transcoding)
+      .runForeach { bytes =>
+        bh.consume(bytes.length)
+      }
+    Await.result(futureDone, Duration.Inf)
+  }
+
+  @TearDown
+  def tearDown(): Unit =
+    system.terminate()
+
+  @Setup
+  def setup(): Unit = {
+    val asciiLine = "2024-01-01 12:00:00.000 INFO  [main] akka.stream.Materializer - request served in 12ms\n"
+    val latin1Line = "2024-01-01 12:00:00.000 WARN  [main] akka.stream.Materializer - Benutzer Jürgen Größe 12µs\n"
+
+    val builder = ByteString.newBuilder
+    var n = 1
+    while (builder.length < 64 * 1024 * 1024) {
+      val line = if (nonAsciiLineEvery > 0 && n % nonAsciiLineEvery == 0) latin1Line else asciiLine
+      builder.append(ByteString(line, StandardCharsets.ISO_8859_1))
+      n += 1
+    }
+    val chunks = builder.result().grouped(bsSize).map(_.compact).toIndexedSeq
+
+    source = Source.fromIterator(() => chunks.iterator)
+  }
+}
+
+/**
+ * For debugging.
+ */
+object TextFlowTranscodingBench {
+
+  def main(args: Array[String]): Unit = {
+    val bench = new TextFlowTranscodingBench
+    bench.bsSize = 8192
+    bench.nonAsciiLineEvery = 10
+    bench.setup()
+    val bh = new Blackhole("Today's password is swordfish. I understand instantiating Blackholes directly is dangerous.")
+    bench.latin1ToUtf8(bh)
+    bench.windows1252ToUtf8(bh)
+    bench.latin1Decoding(bh)
+    bench.tearDown()
+  }
+}
@@ -5,7 +5,7 @@
 package akka.stream.alpakka.text.impl
 
 import java.nio.{ByteBuffer, CharBuffer}
-import java.nio.charset.{Charset, CharsetDecoder, CharsetEncoder}
+import java.nio.charset.{Charset, CharsetDecoder, CharsetEncoder, CoderResult, StandardCharsets}
 
 import akka.annotation.InternalApi
 import akka.stream.{FlowShape, Inlet, Outlet}
@@ -13,85 +13,170 @@ import akka.stream.stage.{GraphStageLogic, InHandler, OutHandler}
 import akka.util.ByteString
 
 /**
- * ByteBuffer to CharBuffer decoding logic.
+ * ByteString to CharBuffer decoding logic.
+ *
+ * The bytes of a character split across chunks are carried over to the next chunk, so that chunks are never
+ * concatenated. The char buffer is reused and only grows.
  */
 @InternalApi
 private[impl] trait Decoding {
   protected def decoder: CharsetDecoder
 
-  protected def failStage(exception: Throwable): Unit
+  // the bytes of a character which is incomplete at the end of the last chunk
+  private var carry = ByteBuffer.allocate(8)
+  private var chars = CharBuffer.allocate(0)
+
+  protected final def hasCarry: Boolean = carry.position() > 0
 
   /**
-   * Decodes ByteBuffer and calls #decoded with results.
+   * Decodes the complete characters of the carried over bytes followed by `bytes`, and carries the bytes of an
+   * incomplete trailing character over to the next call.
+   *
+   * @return the decoded characters, ready to be read until the next call
    */
-  protected def decode(bytes: ByteBuffer): Unit = {
-    val chars = CharBuffer.allocate(bytes.limit())
-    val result = decoder.decode(bytes, chars, false)
-    if (result.isOverflow) {
-      failStage(new IllegalArgumentException(s"Incoming bytes decoded into more characters: $result"))
-    } else {
-      if (result.isError) {
-        result.throwException()
-      }
-      val count = chars.position()
-      chars.rewind()
-      decoded(chars, count, bytes)
-    }
+  protected final def decode(bytes: ByteString): CharBuffer = {
+    val maxChars = math.ceil((carry.position() + bytes.length) * decoder.maxCharsPerByte().toDouble).toInt
+    if (chars.capacity() < maxChars) chars = CharBuffer.allocate(maxChars)
+    else chars.clear()
+    bytes.asByteBuffers.foreach(decodeFragment)
+    chars.flip()
+    chars
   }
 
   /**
-   * @param chars the characters successfully decoded
-   * @param count number of characters decoded (counted from chars.position)
-   * @param bytes remaining non-decoded bytes
+   * Fails if the input ended in the middle of a character.
    */
-  protected def decoded(chars: CharBuffer, count: Int, bytes: ByteBuffer): Unit
+  protected final def checkNoCarry(): Unit =
+    if (hasCarry) {
+      carry.flip()
+      throw new IllegalArgumentException(s"Stray bytes at end of input that could not be decoded: ${ByteString(carry)}")
+    }
+
+  private def decodeFragment(fragment: ByteBuffer): Unit = {
+    // complete the carried over character byte by byte, so that only its few bytes get copied
+    while (hasCarry && fragment.hasRemaining) {
+      if (!carry.hasRemaining) carry = CharsetLogic.grow(carry, carry.capacity())
+      carry.put(fragment.get())
+      carry.flip()
+      check(decoder.decode(carry, chars, false))
+      carry.compact()
+    }
+    check(decoder.decode(fragment, chars, false))
+    if (fragment.hasRemaining) {
+      if (carry.remaining() < fragment.remaining()) carry = CharsetLogic.grow(carry, fragment.remaining())
+      carry.put(fragment)
+    }
+  }
+
+  private def check(result: CoderResult): Unit =
+    if (result.isOverflow) {
+      throw new IllegalArgumentException(s"Incoming bytes decoded into more characters: $result")
+    } else if (result.isError) {
+      result.throwException()
+    }
 
 }
 
+/**
+ * CharBuffer to ByteString encoding logic, encoding into a reused byte buffer which only grows.
+ */
 @InternalApi
 private[impl] trait Encoding {
   protected def encoder: CharsetEncoder
 
-  protected def failStage(exception: Throwable): Unit
+  private var bytes = ByteBuffer.allocate(0)
 
   /**
-   * Creates new CharBuffer containing both Strings.
+   * Encodes all of `chars`.
+   *
+   * @return a copy of the encoded bytes
    */
-  protected def toCharBuffer(current: String, input: String): CharBuffer = {
-    val chars = CharBuffer.allocate(input.length + current.length)
-    chars.append(current)
-    chars.append(input)
-    chars.rewind
-    chars
+  protected final def encode(chars: CharBuffer): ByteString = {
+    val maxBytes = math.ceil(chars.remaining() * encoder.maxBytesPerChar().toDouble).toInt
+    if (bytes.capacity() < maxBytes) bytes = ByteBuffer.allocate(maxBytes)
+    else bytes.clear()
+    val result = encoder.encode(chars, bytes, false)
+    if (result.isOverflow) {
+      throw new IllegalArgumentException(s"Incoming chars decoded into more than expected characters: $result")
+    }
+    if (result.isError) {
+      result.throwException()
+    }
+    if (chars.hasRemaining)
+      throw new IllegalStateException(s"Couldn't encode all characters: left-over '$chars'")
+    ByteString.fromArray(bytes.array, 0, bytes.position())
   }
 
+}
+
+/**
+ * INTERNAL API
+ *
+ * Fast paths for the charsets in which all bytes below 0x80 are ASCII characters.
+ */
+@InternalApi
+private[impl] object CharsetLogic {
+
+  private val AsciiCompatible = Set(StandardCharsets.US_ASCII, StandardCharsets.ISO_8859_1, StandardCharsets.UTF_8)
+
+  def isAsciiCompatible(charset: Charset): Boolean = AsciiCompatible.contains(charset)
+
   /**
-   * Decodes CharBuffer and calls #encoded with results.
+   * `true` if all bytes are ASCII characters, which then have the same encoding in all ASCII compatible charsets.
    */
-  protected def encode(chars: CharBuffer): Unit = {
-    val bytes = ByteBuffer.allocate((chars.limit() * encoder.maxBytesPerChar().toDouble).toInt)
-    val result = encoder.encode(chars, bytes, false)
-    if (result.isOverflow) {
-      failStage(new IllegalArgumentException(s"Incoming chars decoded into more than expected characters: $result"))
-    } else {
-      if (result.isError) {
-        result.throwException()
-      }
-      val count = bytes.position()
-      bytes.rewind()
-      bytes.limit(count)
-      if (chars.position() != chars.limit())
-        failStage(new IllegalStateException(s"Couldn't encode all characters: left-over '$chars'"))
-      encoded(bytes, count)
+  def isAscii(bytes: ByteString): Boolean = {
+    val iterator = bytes.iterator
+    while (iterator.hasNext) {
+      if (iterator.next() < 0) return false
     }
+    true
   }
 
   /**
-   * @param buffer the bytes successfully encoded
-   * @param count number of bytes encoded (counted from bytes.position)
+   * Decodes ISO-8859-1, in which every byte is the character with the same value.
    */
-  protected def encoded(buffer: ByteBuffer, count: Int): Unit
+  def latin1String(bytes: ByteString): String =
+    bytes match {
+      case _: ByteString.ByteStrings =>
+        val chars = new Array[Char](bytes.length)
+        val iterator = bytes.iterator
+        var i = 0
+        while (iterator.hasNext) {
+          chars(i) = (iterator.next() & 0xff).toChar
+          i += 1
+        }
+        new String(chars)
+      case _ =>
+        bytes.decodeString(StandardCharsets.ISO_8859_1)
+    }
+
+  /**
+   * Transcodes ISO-8859-1 to UTF-8 into `target`, which needs to hold twice the number of bytes.
+   *
+   * @return the number of bytes written to `target`
+   */
+  def latin1ToUtf8(bytes: ByteString, target: Array[Byte]): Int = {
+    val iterator = bytes.iterator
+    var length = 0
+    while (iterator.hasNext) {
+      val byte = iterator.next()
+      if (byte >= 0) {
+        target(length) = byte
+        length += 1
+      } else {
+        val char = byte & 0xff
+        target(length) = (0xc0 | (char >> 6)).toByte
+        target(length + 1) = (0x80 | (char & 0x3f)).toByte
+        length += 2
+      }
+    }
+    length
+  }
 
+  private[impl] def grow(buffer: ByteBuffer, extra: Int): ByteBuffer = {
+    buffer.flip()
+    ByteBuffer.allocate(buffer.remaining() + extra).put(buffer)
+  }
 }
 
 @InternalApi
@@ -105,27 +190,27 @@ private[impl] class DecodingLogic(in: Inlet[ByteString],
     with OutHandler {
 
   protected final val decoder = incoming.newDecoder()
-  private var buffer = ByteString.empty
+  private val latin1 = incoming == StandardCharsets.ISO_8859_1
+  private val asciiCompatible = CharsetLogic.isAsciiCompatible(incoming)
 
   setHandlers(in, out, this)
 
   override def onPull(): Unit = pull(in)
 
-  override def onPush(): Unit = decode(buffer.concat(grab(in)).asByteBuffer)
+  override def onPush(): Unit = {
+    val bytes = grab(in)
+    val decoded =
+      if (latin1 || (asciiCompatible && !hasCarry && CharsetLogic.isAscii(bytes))) CharsetLogic.latin1String(bytes)
+      else decode(bytes).toString
+    if (decoded.nonEmpty) push(out, decoded)
+    else pull(in)
+  }
 
   override def onUpstreamFinish(): Unit = {
-    decode(buffer.asByteBuffer)
-    if (buffer.nonEmpty)
-      throw new IllegalArgumentException(s"Stray bytes at end of input that could not be decoded: $buffer")
+    checkNoCarry()
     completeStage()
   }
 
-  override protected def decoded(chars: CharBuffer, count: Int, remainingBytes: ByteBuffer): Unit = {
-    if (count > 0) push(out, new String(chars.array, chars.position(), count))
-    else if (!isClosed(in)) pull(in)
-    buffer = ByteString.fromByteBuffer(remainingBytes)
-  }
-
 }
 
 private[impl] class EncodingLogic(in: Inlet[String],
@@ -144,17 +229,13 @@ private[impl] class EncodingLogic(in: Inlet[String],
   override def onPull(): Unit = pull(in)
 
   override def onPush(): Unit = {
-    val input = grab(in)
-    val chars = toCharBuffer("", input)
-    encode(chars)
+    val bytes = encode(CharBuffer.wrap(grab(in)))
+    if (bytes.nonEmpty) push(out, bytes)
+    else pull(in)
   }
 
   override def onUpstreamFinish(): Unit = completeStage()
 
-  protected def encoded(bytes: ByteBuffer, count: Int): Unit =
-    if (count > 0) push(out, ByteString.fromByteBuffer(bytes))
-    else if (!isClosed(in)) pull(in)
-
 }
 
 private[impl] class TranscodingLogic(in: Inlet[ByteString],
@@ -170,29 +251,30 @@ private[impl] class TranscodingLogic(in: Inlet[ByteString],
 
   protected final val decoder = incoming.newDecoder()
   protected final val encoder = outgoing.newEncoder()
-  private var buffer = ByteString.empty
+  // ASCII text is the same in both charsets and passes through unchanged
+  private val asciiPassThrough = CharsetLogic.isAsciiCompatible(incoming) && CharsetLogic.isAsciiCompatible(outgoing)
+  private val latin1ToUtf8 = incoming == StandardCharsets.ISO_8859_1 && outgoing == StandardCharsets.UTF_8
+  private var transcoded = Array.emptyByteArray
 
   setHandlers(in, out, this)
 
   override def onPull(): Unit = pull(in)
 
-  override def onPush(): Unit = decode(buffer.concat(grab(in)).asByteBuffer)
+  override def onPush(): Unit = {
+    val bytes = grab(in)
+    val result =
+      if (asciiPassThrough && !hasCarry && CharsetLogic.isAscii(bytes)) bytes
+      else if (latin1ToUtf8) {
+        if (transcoded.length < bytes.length * 2) transcoded = new Array[Byte](bytes.length * 2)
+        ByteString.fromArray(transcoded, 0, CharsetLogic.latin1ToUtf8(bytes, transcoded))
+      } else encode(decode(bytes))
+    if (result.nonEmpty) push(out, result)
+    else pull(in)
+  }
 
   override def onUpstreamFinish(): Unit = {
-    decode(buffer.asByteBuffer)
-    if (buffer.nonEmpty)
-      throw new IllegalArgumentException(s"Stray bytes at end of input that could not be decoded: $buffer")
+    checkNoCarry()
     completeStage()
   }
 
-  override protected def decoded(chars: CharBuffer, count: Int, remainingBytes: ByteBuffer): Unit = {
-    chars.limit(count)
-    encode(chars)
-    buffer = ByteString.fromByteBuffer(remainingBytes)
-  }
-
-  protected def encoded(bytes: ByteBuffer, count: Int): Unit =
-    if (count > 0) push(out, ByteString.fromByteBuffer(bytes))
-    else if (!isClosed(in)) pull(in)
-
 }
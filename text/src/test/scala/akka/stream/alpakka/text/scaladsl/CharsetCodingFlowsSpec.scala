@@ -16,7 +16,7 @@ import org.scalatest.matchers.should.Matchers
 import org.scalatest.wordspec.AnyWordSpecLike
 import org.scalatest.{BeforeAndAfterAll, RecoverMethods}
 
-import java.nio.charset.{Charset, StandardCharsets, UnmappableCharacterException}
+import java.nio.charset.{Charset, MalformedInputException, StandardCharsets, UnmappableCharacterException}
 import java.nio.file.Paths
 import scala.collection.immutable
 import scala.concurrent.duration.DurationInt
@@ -93,6 +93,47 @@ class CharsetCodingFlowsSpec
       result.futureValue should be(Seq("äåûßêëé"))
     }
 
+    def decodeChunks(charset: Charset, chunks: immutable.Seq[ByteString]) =
+      Source(chunks)
+        .via(TextFlow.decoding(charset))
+        .runWith(Sink.seq)
+        .futureValue
+        .mkString
+
+    "work for UTF-8 characters split across chunks" in {
+      val text = "ascii " + multiByteChars + " \uD83D\uDE00"
+      val bytes = ByteString(text, StandardCharsets.UTF_8)
+      for (size <- 1 to 5) {
+        decodeChunks(StandardCharsets.UTF_8, bytes.grouped(size).toList) should be(text)
+      }
+    }
+
+    "work for chunks made of several fragments" in {
+      val bytes = ByteString(multiByteChars, StandardCharsets.UTF_8)
+      val fragmented = bytes.grouped(3).map(_.grouped(1).reduce(_ ++ _)).toList
+      decodeChunks(StandardCharsets.UTF_8, fragmented) should be(multiByteChars)
+      val latin1 = ByteString("äå", StandardCharsets.ISO_8859_1) ++ ByteString("ûß", StandardCharsets.ISO_8859_1)
+      decodeChunks(StandardCharsets.ISO_8859_1, List(latin1)) should be("äåûß")
+    }
+
+    "fail for bytes which are not ASCII" in {
+      recoverToSucceededIf[MalformedInputException] {
+        Source
+          .single(ByteString("äå", StandardCharsets.ISO_8859_1))
+          .via(TextFlow.decoding(StandardCharsets.US_ASCII))
+          .runWith(Sink.ignore)
+      }
+    }
+
+    "fail for a character cut off at the end of input" in {
+      recoverToSucceededIf[IllegalArgumentException] {
+        Source
+          .single(ByteString("經", StandardCharsets.UTF_8).dropRight(1))
+          .via(TextFlow.decoding(StandardCharsets.UTF_8))
+          .runWith(Sink.ignore)
+      }
+    }
+
   }
 
   "Transcoding" should {
@@ -170,6 +211,24 @@ class CharsetCodingFlowsSpec
     "work for byte by byte windows-1252" in {
       verifyByteSends(Charset.forName("windows-1252"), StandardCharsets.UTF_8, "äåûßêëé")
     }
+
+    "work for ISO-8859-1 to UTF-8" in {
+      verifyTranscoding(StandardCharsets.ISO_8859_1, StandardCharsets.UTF_8, "log line: äåûßêëé ÿ\u00a0!")
+      verifyByteSends(StandardCharsets.ISO_8859_1, StandardCharsets.UTF_8, "log line: äåûßêëé ÿ\u00a0!")
+    }
+
+    "work byte by byte from UTF-8 to ISO-8859-1" in {
+      verifyByteSends(StandardCharsets.UTF_8, StandardCharsets.ISO_8859_1, "log line: äåûßêëé")
+    }
+
+    "pass ASCII chunks through unchanged" in {
+      val chunk = ByteString("plain ascii ") ++ ByteString("log line")
+      val result = Source
+        .single(chunk)
+        .via(TextFlow.transcoding(StandardCharsets.ISO_8859_1, StandardCharsets.UTF_8))
+        .runWith(Sink.head)
+      result.futureValue should be theSameInstanceAs chunk
+    }
   }
 
 }
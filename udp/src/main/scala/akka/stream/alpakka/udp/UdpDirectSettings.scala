@@ -0,0 +1,60 @@
+/*
+ * Copyright (C) since 2016 Lightbend Inc. <https://www.lightbend.com>
+ */
+
+package akka.stream.alpakka.udp
+
+/**
+ * Settings for the flows created by `Udp.bindFlowDirect` and `Udp.sendFlowDirect`, which drive datagram channels
+ * from dedicated selector threads instead of going through the Akka IO UDP actors.
+ *
+ * @param receiveSockets number of sockets bound to the same address with `SO_REUSEPORT`, each read by its own thread
+ * @param maxDatagramSize size of the direct buffers datagrams are received into and sent from
+ * @param receiveQueueSize number of received datagrams held while downstream does not demand them, reading pauses
+ *                         when they are reached
+ */
+final class UdpDirectSettings private (
+    val receiveSockets: Int,
+    val maxDatagramSize: Int,
+    val receiveQueueSize: Int
+) {
+  require(receiveSockets > 0, "receiveSockets must be greater than 0")
+  require(maxDatagramSize > 0, "maxDatagramSize must be greater than 0")
+  require(receiveQueueSize > 0, "receiveQueueSize must be greater than 0")
+
+  /** Binds this many sockets to the same address with `SO_REUSEPORT`, which is not supported on all platforms. */
+  def withReceiveSockets(receiveSockets: Int): UdpDirectSettings = copy(receiveSockets = receiveSockets)
+
+  def withMaxDatagramSize(maxDatagramSize: Int): UdpDirectSettings = copy(maxDatagramSize = maxDatagramSize)
+
+  def withReceiveQueueSize(receiveQueueSize: Int): UdpDirectSettings = copy(receiveQueueSize = receiveQueueSize)
+
+  private def copy(
+      receiveSockets: Int = receiveSockets,
+      maxDatagramSize: Int = maxDatagramSize,
+      receiveQueueSize: Int = receiveQueueSize
+  ): UdpDirectSettings =
+    new UdpDirectSettings(receiveSockets, maxDatagramSize, receiveQueueSize)
+
+  override def toString: String =
+    "UdpDirectSettings(" +
+    s"receiveSockets=$receiveSockets," +
+    s"maxDatagramSize=$maxDatagramSize," +
+    s"receiveQueueSize=$receiveQueueSize" +
+    ")"
+}
+
+object UdpDirectSettings {
+
+  /** The largest payload of an IPv4 UDP datagram. */
+  val MaxUdpPayload: Int = 65507
+
+  val Defaults: UdpDirectSettings =
+    new UdpDirectSettings(receiveSockets = 1, maxDatagramSize = MaxUdpPayload, receiveQueueSize = 1024)
+
+  /** Scala API */
+  def apply(): UdpDirectSettings = Defaults
+
+  /** Java API */
+  def create(): UdpDirectSettings = Defaults
+}
@@ -0,0 +1,345 @@
+/*
+ * Copyright (C) since 2016 Lightbend Inc. <https://www.lightbend.com>
+ */
+
+package akka.stream.alpakka.udp.impl
+
+import java.net.{InetSocketAddress, StandardSocketOptions}
+import java.nio.ByteBuffer
+import java.nio.channels.{DatagramChannel, SelectionKey, Selector}
+import java.util.concurrent.ConcurrentLinkedQueue
+import java.util.concurrent.atomic.{AtomicBoolean, AtomicInteger}
+
+import akka.annotation.InternalApi
+import akka.io.Inet.SocketOption
+import akka.stream._
+import akka.stream.alpakka.udp.{Datagram, UdpDirectSettings}
+import akka.stream.stage._
+import akka.util.ByteString
+
+import scala.collection.immutable.Iterable
+import scala.concurrent.{Future, Promise}
+import scala.util.Try
+import scala.util.control.NonFatal
+
+/**
+ * INTERNAL API
+ *
+ * Direct buffers are expensive to allocate and only freed by the garbage collector, so they are kept for reuse.
+ */
+@InternalApi private[udp] object DirectBufferPool {
+  private val MaxPooled = 64
+  private val pool = new ConcurrentLinkedQueue[ByteBuffer]()
+  private val pooled = new AtomicInteger()
+
+  def acquire(size: Int): ByteBuffer = {
+    val buffer = pool.poll()
+    if (buffer == null) ByteBuffer.allocateDirect(size)
+    else {
+      pooled.decrementAndGet()
+      if (buffer.capacity >= size) buffer
+      else ByteBuffer.allocateDirect(size)
+    }
+  }
+
+  def release(buffer: ByteBuffer): Unit =
+    if (pooled.incrementAndGet() <= MaxPooled) {
+      buffer.clear()
+      pool.offer(buffer)
+    } else pooled.decrementAndGet()
+}
+
+/**
+ * INTERNAL API
+ *
+ * Drives one non-blocking datagram channel from a dedicated thread. When `onReceive` is given, datagrams are read
+ * into a pooled direct buffer owned by the thread and handed to it; it returns `false` when it takes no more, and
+ * reading pauses until `resumeReading()` is called. `awaitWritable()` asks for one call of `onWritable` once the
+ * socket has room for more datagrams.
+ */
+@InternalApi private[udp] final class UdpChannelLoop(channel: DatagramChannel,
+                                                     maxDatagramSize: Int,
+                                                     onReceive: Option[Datagram => Boolean],
+                                                     onWritable: () => Unit,
+                                                     onFailure: Throwable => Unit) {
+  import SelectionKey.{OP_READ, OP_WRITE}
+
+  private val selector = Selector.open()
+  private val key = channel.register(selector, if (onReceive.isDefined) OP_READ else 0)
+  private val readRequested = new AtomicBoolean()
+  private val writeRequested = new AtomicBoolean()
+  @volatile private var running = true
+
+  private val thread =
+    new Thread(() => run(), s"alpakka-udp-selector-${UdpChannelLoop.threadCount.incrementAndGet()}")
+  thread.setDaemon(true)
+
+  def start(): Unit = thread.start()
+
+  def resumeReading(): Unit = {
+    readRequested.set(true)
+    selector.wakeup()
+  }
+
+  def awaitWritable(): Unit = {
+    writeRequested.set(true)
+    selector.wakeup()
+  }
+
+  /** The channel stays open, it is closed by its owner. */
+  def stop(): Unit = {
+    running = false
+    selector.wakeup()
+  }
+
+  private def run(): Unit = {
+    val buffer = if (onReceive.isDefined) DirectBufferPool.acquire(maxDatagramSize) else null
+    try {
+      while (running) {
+        if (readRequested.getAndSet(false)) key.interestOps(key.interestOps | OP_READ)
+        if (writeRequested.getAndSet(false)) key.interestOps(key.interestOps | OP_WRITE)
+        selector.select()
+        if (selector.selectedKeys.remove(key)) {
+          val ready = key.readyOps
+          if ((ready & OP_WRITE) != 0) {
+            key.interestOps(key.interestOps & ~OP_WRITE)
+            onWritable()
+          }
+          if ((ready & OP_READ) != 0 && !readAll(buffer, onReceive.get))
+            key.interestOps(key.interestOps & ~OP_READ)
+        }
+      }
+    } catch {
+      case NonFatal(e) => if (running) onFailure(e)
+    } finally {
+      selector.close()
+      if (buffer != null) DirectBufferPool.release(buffer)
+    }
+  }
+
+  // reads until the socket has no more datagrams or the receiver takes no more
+  private def readAll(buffer: ByteBuffer, receiver: Datagram => Boolean): Boolean = {
+    var more = true
+    var accepting = true
+    while (more && accepting) {
+      buffer.clear()
+      val sender = channel.receive(buffer)
+      if (sender == null) more = false
+      else {
+        buffer.flip()
+        accepting = receiver(Datagram(ByteString(buffer), sender.asInstanceOf[InetSocketAddress]))
+      }
+    }
+    accepting
+  }
+}
+
+/**
+ * INTERNAL API
+ */
+@InternalApi private[udp] object UdpChannelLoop {
+  private val threadCount = new AtomicInteger()
+}
+
+/**
+ * INTERNAL API
+ *
+ * Sends incoming datagrams through the first of its channels from a pooled direct buffer. The next datagram is only
+ * pulled once the socket took the previous one.
+ */
+@InternalApi private[udp] abstract class UdpDirectLogic(shape: FlowShape[Datagram, Datagram],
+                                                        settings: UdpDirectSettings,
+                                                        options: Iterable[SocketOption])
+    extends GraphStageLogic(shape)
+    with InHandler
+    with OutHandler {
+
+  protected def in: Inlet[Datagram] = shape.in
+  protected def out: Outlet[Datagram] = shape.out
+
+  private var channels = Vector.empty[DatagramChannel]
+  protected var loops = Vector.empty[UdpChannelLoop]
+  private var sendBuffer: ByteBuffer = _
+  private var pending: Datagram = _
+
+  private val writable = getAsyncCallback[Unit](_ => if (pending != null) trySend(pending))
+  private val failed = getAsyncCallback[Throwable](failStage)
+
+  /** Called when the socket took a datagram. */
+  protected def sent(datagram: Datagram): Unit
+
+  protected def openChannel(reusePort: Boolean): DatagramChannel = {
+    val channel = DatagramChannel.open()
+    channels :+= channel
+    channel.configureBlocking(false)
+    if (reusePort) channel.setOption(StandardSocketOptions.SO_REUSEPORT, java.lang.Boolean.TRUE)
+    options.foreach(_.beforeDatagramBind(channel.socket))
+    channel
+  }
+
+  protected def startLoops(onReceive: Option[Datagram => Boolean]): Unit = {
+    sendBuffer = DirectBufferPool.acquire(settings.maxDatagramSize)
+    loops = channels.map { channel =>
+      new UdpChannelLoop(channel, settings.maxDatagramSize, onReceive, () => writable.invoke(()), failed.invoke)
+    }
+    loops.foreach(_.start())
+  }
+
+  override def onPush(): Unit = {
+    val datagram = grab(in)
+    if (datagram.data.length > settings.maxDatagramSize)
+      failStage(
+        new IllegalArgumentException(
+          s"Datagram of ${datagram.data.length} bytes exceeds maxDatagramSize of ${settings.maxDatagramSize} bytes"
+        )
+      )
+    else {
+      sendBuffer.clear()
+      datagram.data.copyToBuffer(sendBuffer)
+      sendBuffer.flip()
+      trySend(datagram)
+    }
+  }
+
+  private def trySend(datagram: Datagram): Unit =
+    if (channels.head.send(sendBuffer, datagram.remote) > 0 || datagram.data.isEmpty) {
+      pending = null
+      sent(datagram)
+      if (isClosed(in)) completeStage()
+    } else {
+      pending = datagram
+      loops.head.awaitWritable()
+    }
+
+  override def onUpstreamFinish(): Unit =
+    if (pending == null) completeStage()
+
+  override def postStop(): Unit = {
+    loops.foreach(_.stop())
+    channels.foreach(channel => Try(channel.close()))
+    if (sendBuffer != null) DirectBufferPool.release(sendBuffer)
+  }
+
+  setHandlers(in, out, this)
+}
+
+/**
+ * INTERNAL API
+ *
+ * Sends incoming datagrams to their destination addresses and emits them once the socket took them.
+ */
+@InternalApi private[udp] final class UdpDirectSendLogic(shape: FlowShape[Datagram, Datagram],
+                                                         settings: UdpDirectSettings,
+                                                         options: Iterable[SocketOption])
+    extends UdpDirectLogic(shape, settings, options) {
+
+  override def preStart(): Unit = {
+    openChannel(reusePort = false)
+    startLoops(onReceive = None)
+  }
+
+  override protected def sent(datagram: Datagram): Unit = push(out, datagram)
+
+  override def onPull(): Unit = pull(in)
+}
+
+/**
+ * INTERNAL API
+ *
+ * Binds `receiveSockets` channels to the local address and emits the datagrams they receive. The selector threads
+ * queue up to `receiveQueueSize` datagrams ahead of downstream demand and pause reading when they are reached.
+ * Incoming datagrams are sent through the first channel.
+ */
+@InternalApi private[udp] final class UdpDirectBindLogic(localAddress: InetSocketAddress,
+                                                         settings: UdpDirectSettings,
+                                                         options: Iterable[SocketOption],
+                                                         boundPromise: Promise[InetSocketAddress])(
+    shape: FlowShape[Datagram, Datagram]
+) extends UdpDirectLogic(shape, settings, options) {
+
+  private val received = new ConcurrentLinkedQueue[Datagram]()
+  private val receivedCount = new AtomicInteger()
+  private val readingPaused = new AtomicBoolean()
+  private val awaitingDatagram = new AtomicBoolean()
+
+  private val datagramAvailable = getAsyncCallback[Unit](_ => if (isAvailable(out)) emitReceived())
+
+  override def preStart(): Unit =
+    try {
+      val reusePort = settings.receiveSockets > 1
+      val first = openChannel(reusePort)
+      first.bind(localAddress)
+      val boundAddress = first.getLocalAddress.asInstanceOf[InetSocketAddress]
+      (1 until settings.receiveSockets).foreach(_ => openChannel(reusePort).bind(boundAddress))
+      startLoops(Some(offer))
+      boundPromise.success(boundAddress)
+      pull(in)
+    } catch {
+      case NonFatal(e) =>
+        val ex = new IllegalArgumentException(s"Unable to bind to [$localAddress]", e)
+        boundPromise.tryFailure(ex)
+        failStage(ex)
+    }
+
+  // called by the selector threads
+  private def offer(datagram: Datagram): Boolean = {
+    val count = receivedCount.incrementAndGet()
+    received.offer(datagram)
+    if (awaitingDatagram.compareAndSet(true, false)) datagramAvailable.invoke(())
+    if (count < settings.receiveQueueSize) true
+    else {
+      readingPaused.set(true)
+      // the stream may have taken datagrams before reading was marked as paused
+      receivedCount.get < settings.receiveQueueSize && readingPaused.compareAndSet(true, false)
+    }
+  }
+
+  private def emitReceived(): Unit = {
+    var datagram = received.poll()
+    if (datagram == null) {
+      awaitingDatagram.set(true)
+      datagram = received.poll()
+      if (datagram != null) awaitingDatagram.set(false)
+    }
+    if (datagram != null) {
+      if (receivedCount.decrementAndGet() <= settings.receiveQueueSize / 2 && readingPaused.compareAndSet(true, false))
+        loops.foreach(_.resumeReading())
+      push(out, datagram)
+    }
+  }
+
+  override protected def sent(datagram: Datagram): Unit = if (!isClosed(in)) pull(in)
+
+  override def onPull(): Unit = emitReceived()
+}
+
+/**
+ * INTERNAL API
+ */
+@InternalApi private[udp] final class UdpDirectSendFlow(settings: UdpDirectSettings, options: Iterable[SocketOption])
+    extends GraphStage[FlowShape[Datagram, Datagram]] {
+
+  val in: Inlet[Datagram] = Inlet("UdpDirectSendFlow.in")
+  val out: Outlet[Datagram] = Outlet("UdpDirectSendFlow.out")
+
+  val shape: FlowShape[Datagram, Datagram] = FlowShape.of(in, out)
+  override def createLogic(inheritedAttributes: Attributes) = new UdpDirectSendLogic(shape, settings, options)
+}
+
+/**
+ * INTERNAL API
+ */
+@InternalApi private[udp] final class UdpDirectBindFlow(localAddress: InetSocketAddress,
+                                                        settings: UdpDirectSettings,
+                                                        options: Iterable[SocketOption])
+    extends GraphStageWithMaterializedValue[FlowShape[Datagram, Datagram], Future[InetSocketAddress]] {
+
+  val in: Inlet[Datagram] = Inlet("UdpDirectBindFlow.in")
+  val out: Outlet[Datagram] = Outlet("UdpDirectBindFlow.out")
+
+  val shape: FlowShape[Datagram, Datagram] = FlowShape.of(in, out)
+  override def createLogicAndMaterializedValue(inheritedAttributes: Attributes) = {
+    val boundPromise = Promise[InetSocketAddress]()
+    (new UdpDirectBindLogic(localAddress, settings, options, boundPromise)(shape), boundPromise.future)
+  }
+}
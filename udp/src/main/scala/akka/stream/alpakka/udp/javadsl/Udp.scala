@@ -10,7 +10,7 @@ import java.util.concurrent.CompletionStage
 import akka.NotUsed
 import akka.io.Inet.SocketOption
 import akka.actor.{ActorSystem, ClassicActorSystemProvider}
-import akka.stream.alpakka.udp.Datagram
+import akka.stream.alpakka.udp.{Datagram, UdpDirectSettings}
 import akka.stream.javadsl.{Flow, Sink}
 import akka.stream.alpakka.udp.scaladsl
 
@@ -152,4 +152,60 @@ object Udp {
                options: JIterable[SocketOption],
                system: ClassicActorSystemProvider): Flow[Datagram, Datagram, CompletionStage[InetSocketAddress]] =
     scaladsl.Udp.bindFlow(localAddress, options.asScala.toIndexedSeq)(system).mapMaterializedValue(_.asJava).asJava
+
+  /**
+   * Creates a flow that will send all incoming [UdpMessage] messages to the remote address
+   * contained in the message, writing to a datagram channel from a dedicated selector thread
+   * instead of the UDP manager actor. Messages are emitted once the socket took them, so the
+   * flow backpressures while the socket's send buffer is full.
+   */
+  def sendFlowDirect(): Flow[Datagram, Datagram, NotUsed] =
+    scaladsl.Udp.sendFlowDirect().asJava
+
+  /**
+   * Creates a flow that will send all incoming [UdpMessage] messages to the remote address
+   * contained in the message, writing to a datagram channel from a dedicated selector thread
+   * instead of the UDP manager actor. Messages are emitted once the socket took them, so the
+   * flow backpressures while the socket's send buffer is full.
+   *
+   * @param settings settings for the datagram channel
+   * @param options UDP socket options
+   */
+  def sendFlowDirect(settings: UdpDirectSettings,
+                     options: JIterable[SocketOption]): Flow[Datagram, Datagram, NotUsed] =
+    scaladsl.Udp.sendFlowDirect(settings, options.asScala.toIndexedSeq).asJava
+
+  /**
+   * Creates a flow that upon materialization binds to the given `localAddress`, reading and
+   * writing datagram channels from dedicated selector threads instead of the UDP manager actor.
+   * All incoming messages to the `localAddress` are emitted from the flow. All incoming messages
+   * to the flow are sent to the remote address contained in the message.
+   *
+   * @param localAddress UDP socket address
+   */
+  def bindFlowDirect(localAddress: InetSocketAddress): Flow[Datagram, Datagram, CompletionStage[InetSocketAddress]] =
+    scaladsl.Udp.bindFlowDirect(localAddress).mapMaterializedValue(_.asJava).asJava
+
+  /**
+   * Creates a flow that upon materialization binds to the given `localAddress`, reading and
+   * writing datagram channels from dedicated selector threads instead of the UDP manager actor.
+   * All incoming messages to the `localAddress` are emitted from the flow. All incoming messages
+   * to the flow are sent to the remote address contained in the message.
+   *
+   * With more than one receive socket in the settings, that many sockets are bound to the
+   * address with `SO_REUSEPORT`, each read by its own thread. The operating system spreads
+   * incoming messages over the sockets, so messages from different senders may be emitted in a
+   * different order than they arrived.
+   *
+   * @param localAddress UDP socket address
+   * @param settings settings for the datagram channels
+   * @param options UDP socket options
+   */
+  def bindFlowDirect(localAddress: InetSocketAddress,
+                     settings: UdpDirectSettings,
+                     options: JIterable[SocketOption]): Flow[Datagram, Datagram, CompletionStage[InetSocketAddress]] =
+    scaladsl.Udp
+      .bindFlowDirect(localAddress, settings, options.asScala.toIndexedSeq)
+      .mapMaterializedValue(_.asJava)
+      .asJava
 }
@@ -9,8 +9,8 @@ import java.net.InetSocketAddress
 import akka.NotUsed
 import akka.actor.{ActorSystem, ClassicActorSystemProvider}
 import akka.io.Inet.SocketOption
-import akka.stream.alpakka.udp.Datagram
-import akka.stream.alpakka.udp.impl.{UdpBindFlow, UdpSendFlow}
+import akka.stream.alpakka.udp.{Datagram, UdpDirectSettings}
+import akka.stream.alpakka.udp.impl.{UdpBindFlow, UdpDirectBindFlow, UdpDirectSendFlow, UdpSendFlow}
 import akka.stream.scaladsl.Sink
 import akka.stream.scaladsl.Flow
 
@@ -153,4 +153,57 @@ object Udp {
                options: Iterable[SocketOption],
                system: ActorSystem): Flow[Datagram, Datagram, Future[InetSocketAddress]] =
     Flow.fromGraph(new UdpBindFlow(localAddress, options)(system))
+
+  /**
+   * Creates a flow that will send all incoming [UdpMessage] messages to the remote address
+   * contained in the message, writing to a datagram channel from a dedicated selector thread
+   * instead of the UDP manager actor. Messages are emitted once the socket took them, so the
+   * flow backpressures while the socket's send buffer is full.
+   */
+  def sendFlowDirect(): Flow[Datagram, Datagram, NotUsed] =
+    sendFlowDirect(UdpDirectSettings(), Nil)
+
+  /**
+   * Creates a flow that will send all incoming [UdpMessage] messages to the remote address
+   * contained in the message, writing to a datagram channel from a dedicated selector thread
+   * instead of the UDP manager actor. Messages are emitted once the socket took them, so the
+   * flow backpressures while the socket's send buffer is full.
+   *
+   * @param settings settings for the datagram channel
+   * @param options UDP socket options
+   */
+  def sendFlowDirect(settings: UdpDirectSettings,
+                     options: Iterable[SocketOption]): Flow[Datagram, Datagram, NotUsed] =
+    Flow.fromGraph(new UdpDirectSendFlow(settings, options))
+
+  /**
+   * Creates a flow that upon materialization binds to the given `localAddress`, reading and
+   * writing datagram channels from dedicated selector threads instead of the UDP manager actor.
+   * All incoming messages to the `localAddress` are emitted from the flow. All incoming messages
+   * to the flow are sent to the remote address contained in the message.
+   *
+   * @param localAddress UDP socket address
+   */
+  def bindFlowDirect(localAddress: InetSocketAddress): Flow[Datagram, Datagram, Future[InetSocketAddress]] =
+    bindFlowDirect(localAddress, UdpDirectSettings(), Nil)
+
+  /**
+   * Creates a flow that upon materialization binds to the given `localAddress`, reading and
+   * writing datagram channels from dedicated selector threads instead of the UDP manager actor.
+   * All incoming messages to the `localAddress` are emitted from the flow. All incoming messages
+   * to the flow are sent to the remote address contained in the message.
+   *
+   * With more than one receive socket in the settings, that many sockets are bound to the
+   * address with `SO_REUSEPORT`, each read by its own thread. The operating system spreads
+   * incoming messages over the sockets, so messages from different senders may be emitted in a
+   * different order than they arrived.
+   *
+   * @param localAddress UDP socket address
+   * @param settings settings for the datagram channels
+   * @param options UDP socket options
+   */
+  def bindFlowDirect(localAddress: InetSocketAddress,
+                     settings: UdpDirectSettings,
+                     options: Iterable[SocketOption]): Flow[Datagram, Datagram, Future[InetSocketAddress]] =
+    Flow.fromGraph(new UdpDirectBindFlow(localAddress, settings, options))
 }
@@ -10,9 +10,11 @@ import akka.io.UdpSO;
 import akka.japi.Pair;
 import akka.stream.alpakka.testkit.javadsl.LogCapturingJunit4;
 import akka.stream.alpakka.udp.Datagram;
+import akka.stream.alpakka.udp.UdpDirectSettings;
 import akka.stream.alpakka.udp.javadsl.Udp;
 import akka.stream.javadsl.Flow;
 import akka.stream.javadsl.Keep;
+import akka.stream.javadsl.Sink;
 import akka.stream.javadsl.Source;
 import akka.stream.testkit.TestPublisher;
 import akka.stream.testkit.TestSubscriber;
@@ -28,6 +30,7 @@ import org.junit.Test;
 import java.net.*;
 import java.nio.channels.DatagramChannel;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Enumeration;
 import java.util.List;
 import java.util.Objects;
@@ -99,6 +102,48 @@ public class UdpTest {
     sub.cancel();
   }
 
+  @Test
+  public void testSendAndReceiveMessagesDirectly() throws Exception {
+    final InetSocketAddress bindToLocal = new InetSocketAddress("localhost", 0);
+
+    // #bind-flow-direct
+    final UdpDirectSettings settings = UdpDirectSettings.create().withReceiveSockets(2);
+
+    final Flow<Datagram, Datagram, CompletionStage<InetSocketAddress>> bindFlow =
+        Udp.bindFlowDirect(bindToLocal, settings, Collections.emptyList());
+    // #bind-flow-direct
+
+    final Pair<
+            Pair<TestPublisher.Probe<Datagram>, CompletionStage<InetSocketAddress>>,
+            TestSubscriber.Probe<Datagram>>
+        materialized =
+            TestSource.<Datagram>create(system)
+                .viaMat(bindFlow, Keep.both())
+                .toMat(TestSink.create(system), Keep.both())
+                .run(system);
+
+    final InetSocketAddress destination = materialized.first().second().toCompletableFuture().get();
+
+    final Integer messagesToSend = 100;
+
+    final TestSubscriber.Probe<Datagram> sub = materialized.second();
+    sub.ensureSubscription();
+    sub.request(messagesToSend);
+
+    // #send-datagrams-direct
+    Source.range(1, messagesToSend)
+        .map(i -> ByteString.fromString("Message " + i))
+        .map(bs -> Datagram.create(bs, destination))
+        .via(Udp.sendFlowDirect())
+        .runWith(Sink.ignore(), system);
+    // #send-datagrams-direct
+
+    for (int i = 0; i < messagesToSend; i++) {
+      sub.requestNext();
+    }
+    sub.cancel();
+  }
+
   List<InetAddress> listAllBroadcastAddresses() throws SocketException {
     List<InetAddress> broadcastList = new ArrayList<>();
     Enumeration<NetworkInterface> interfaces = NetworkInterface.getNetworkInterfaces();
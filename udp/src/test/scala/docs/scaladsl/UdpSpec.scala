@@ -9,9 +9,9 @@ import akka.actor.ActorSystem
 import akka.io.UdpSO
 import akka.stream.Materializer
 import akka.stream.alpakka.testkit.scaladsl.LogCapturing
-import akka.stream.alpakka.udp.Datagram
+import akka.stream.alpakka.udp.{Datagram, UdpDirectSettings}
 import akka.stream.alpakka.udp.scaladsl.Udp
-import akka.stream.scaladsl.{Flow, Keep, Source}
+import akka.stream.scaladsl.{Flow, Keep, Sink, Source}
 import akka.stream.testkit.scaladsl.{TestSink, TestSource}
 import akka.testkit.TestKit
 import akka.util.ByteString
@@ -120,6 +120,61 @@ class UdpSpec
       sub.cancel()
     }
 
+    "send and receive messages directly" in {
+
+      // #bind-flow-direct
+      val settings = UdpDirectSettings().withReceiveSockets(2)
+
+      val bindFlow: Flow[Datagram, Datagram, Future[InetSocketAddress]] =
+        Udp.bindFlowDirect(bindToLocal, settings, Nil)
+      // #bind-flow-direct
+
+      val ((pub, bound), sub) = TestSource[Datagram]()(system)
+        .viaMat(bindFlow)(Keep.both)
+        .toMat(TestSink())(Keep.both)
+        .run()
+
+      val destination = bound.futureValue
+
+      val messagesToSend = 100
+
+      sub.ensureSubscription()
+      sub.request(messagesToSend)
+
+      // #send-datagrams-direct
+      Source(1 to messagesToSend)
+        .map(i => ByteString(s"Message $i"))
+        .map(Datagram(_, destination))
+        .via(Udp.sendFlowDirect())
+        .runWith(Sink.ignore)
+      // #send-datagrams-direct
+
+      val received = (1 to messagesToSend).map(_ => sub.requestNext().data.utf8String)
+      received.toSet shouldBe (1 to messagesToSend).map(i => s"Message $i").toSet
+      sub.cancel()
+    }
+
+    "pause reading directly while downstream does not demand messages" in {
+      val settings = UdpDirectSettings().withReceiveQueueSize(4)
+
+      val ((pub, bound), sub) = TestSource[Datagram]()(system)
+        .viaMat(Udp.bindFlowDirect(bindToLocal, settings, Nil))(Keep.both)
+        .toMat(TestSink())(Keep.both)
+        .run()
+
+      val destination = bound.futureValue
+      sub.ensureSubscription()
+
+      Source(1 to 8)
+        .map(i => Datagram(ByteString(s"Message $i"), destination))
+        .via(Udp.sendFlowDirect())
+        .runWith(Sink.ignore)
+        .futureValue
+
+      (1 to 8).map(_ => sub.requestNext().data.utf8String) shouldBe (1 to 8).map(i => s"Message $i")
+      sub.cancel()
+    }
+
     "ping-pong messages" in {
       val ((pub1, bound1), sub1) = TestSource[Datagram]()(system)
         .viaMat(Udp.bindFlow(bindToLocal))(Keep.both)
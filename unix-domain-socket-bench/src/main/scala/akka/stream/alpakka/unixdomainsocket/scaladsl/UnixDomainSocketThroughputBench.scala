@@ -0,0 +1,132 @@
+/*
+ * Copyright (C) since 2016 Lightbend Inc. <https://www.lightbend.com>
+ */
+
+package akka.stream.alpakka.unixdomainsocket.scaladsl
+
+import java.nio.file.{Files, Path}
+import java.util.concurrent.TimeUnit
+
+import akka.actor.ActorSystem
+import akka.stream.scaladsl.{Flow, Sink, Source}
+import akka.util.ByteString
+import com.typesafe.config.ConfigFactory
+import org.openjdk.jmh.annotations._
+import org.openjdk.jmh.infra.Blackhole
+
+import scala.concurrent.duration.Duration
+import scala.concurrent.{Await, Future}
+
+/**
+ * Measures the time to push 256 MiB from clients to a local server over Unix Domain Sockets, as a sidecar
+ * proxy or agent does. The server counts the bytes of every connection and replies with the count once the client
+ * finished sending.
+ *
+ * ==Sample benchmark results==
+ * Rerun these on YOUR OWN MACHINE before/after making changes.
+ *
+ * {{{
+ * > unix-domain-socket-bench/jmh:run -t1 -f1 -wi 5 -i 10 .*UnixDomainSocketThroughputBench
+ * }}}
+ *
+ * @see https://github.com/ktoso/sbt-jmh
+ */
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
+@BenchmarkMode(Array(Mode.AverageTime))
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(jvmArgsAppend = Array("-Xmx1g", "-XX:+HeapDumpOnOutOfMemoryError"), value = 1)
+@State(Scope.Benchmark)
+class UnixDomainSocketThroughputBench {
+
+  val TotalBytes: Long = 256L * 1024 * 1024
+
+  /**
+   * Number of threads performing the socket IO.
+   */
+  @Param(Array("1", "4"))
+  var selectorThreads: Int = _
+
+  @Param(Array("off", "on"))
+  var pooledDirectBuffers: String = _
+
+  /**
+   * Number of client connections sharing the bytes to send.
+   */
+  @Param(Array("1", "4"))
+  var connections: Int = _
+
+  /**
+   * Size of [[ByteString]] chunks the clients send.
+   */
+  @Param(Array("8192", "65536"))
+  var bsSize: Int = _
+
+  implicit var system: ActorSystem = _
+
+  var dir: Path = _
+  var path: Path = _
+  var binding: UnixDomainSocket.ServerBinding = _
+  var chunk: ByteString = _
+
+  @Benchmark
+  def sendToSidecar(bh: Blackhole): Unit = {
+    import system.dispatcher
+    val chunksPerConnection = TotalBytes / bsSize / connections
+    val counts = Future.sequence((1 to connections).map { _ =>
+      Source
+        .repeat(chunk)
+        .take(chunksPerConnection)
+        .via(UnixDomainSocket().outgoingConnection(path))
+        .runWith(Sink.fold(ByteString.empty)(_ ++ _))
+    })
+    Await.result(counts, Duration.Inf).foreach(count => bh.consume(count.utf8String.toLong))
+  }
+
+  @TearDown
+  def tearDown(): Unit = {
+    Await.result(binding.unbind(), Duration.Inf)
+    system.terminate()
+    Files.deleteIfExists(path)
+    Files.deleteIfExists(dir)
+  }
+
+  @Setup
+  def setup(): Unit = {
+    val config = ConfigFactory
+      .parseString(s"""
+        akka.stream.alpakka.unix-domain-socket {
+          selector-threads = $selectorThreads
+          pooled-direct-buffers = $pooledDirectBuffers
+        }
+      """)
+      .withFallback(ConfigFactory.load())
+    system = ActorSystem("UnixDomainSocketThroughputBench", config)
+
+    dir = Files.createTempDirectory("UnixDomainSocketThroughputBench")
+    path = dir.resolve("sidecar.sock")
+
+    val countBytes = Flow[ByteString].fold(0L)(_ + _.size).map(count => ByteString(count.toString))
+    binding = Await.result(UnixDomainSocket().bindAndHandle(countBytes, path, halfClose = true), Duration.Inf)
+
+    chunk = ByteString(Array.fill[Byte](bsSize)('x'.toByte))
+  }
+}
+
+/**
+ * For debugging.
+ */
+object UnixDomainSocketThroughputBench {
+
+  def main(args: Array[String]): Unit = {
+    val bench = new UnixDomainSocketThroughputBench
+    bench.selectorThreads = 4
+    bench.pooledDirectBuffers = "on"
+    bench.connections = 4
+    bench.bsSize = 65536
+    bench.setup()
+    val bh = new Blackhole("Today's password is swordfish. I understand instantiating Blackholes directly is dangerous.")
+    bench.sendToSidecar(bh)
+    bench.tearDown()
+  }
+}
@@ -24,6 +24,8 @@ import java.io.IOException
 import java.nio.ByteBuffer
 import java.nio.channels.{SelectionKey, Selector}
 import java.nio.file.{Files, Path, Paths}
+import java.util.concurrent.ConcurrentLinkedQueue
+import java.util.concurrent.atomic.{AtomicBoolean, AtomicInteger}
 import scala.concurrent.duration.{Duration, FiniteDuration}
 import scala.concurrent.{ExecutionContext, Future, Promise}
 import scala.util.control.NonFatal
@@ -67,11 +69,61 @@ private[unixdomainsocket] object UnixDomainSocketImpl {
       @volatile var receive: ReceiveContext,
       @volatile var halfClose: Boolean,
       @volatile var isOutputShutdown: Boolean,
-      @volatile var isInputShutdown: Boolean
-  )
+      @volatile var isInputShutdown: Boolean,
+      bufferPool: BufferPool
+  ) {
+    private val buffers = List(send.buffer, receive.buffer)
+    private val channelClosed = new AtomicBoolean()
+    private val buffersInUse = new AtomicInteger(2)
+
+    /*
+     * The buffers return to the pool once both the channel is closed and the send stream terminated,
+     * as either of them may still use them until then.
+     */
+    def closed(): Unit =
+      if (channelClosed.compareAndSet(false, true)) release()
+
+    def sendTerminated(): Unit = release()
+
+    private def release(): Unit =
+      if (buffersInUse.decrementAndGet() == 0) buffers.foreach(bufferPool.release)
+  }
 
   /*
-   * All NIO for UnixDomainSocket across an entire actor system is performed on just one thread. Data
+   * Direct buffers are costly to allocate and only freed by the garbage collector, so the buffers of
+   * closed connections are kept for later connections. Heap buffers are left to the garbage collector.
+   */
+  private final class BufferPool(direct: Boolean) {
+    private val pool = new ConcurrentLinkedQueue[ByteBuffer]()
+
+    def acquire(size: Int): ByteBuffer =
+      if (!direct) ByteBuffer.allocate(size)
+      else {
+        val buffer = pool.poll()
+        if (buffer != null && buffer.capacity >= size) {
+          buffer.clear()
+          buffer
+        } else ByteBuffer.allocateDirect(size)
+      }
+
+    def release(buffer: ByteBuffer): Unit =
+      if (direct) pool.offer(buffer)
+  }
+
+  private def closeKey(key: SelectionKey): Unit = {
+    key.cancel()
+    try {
+      key.channel.close()
+    } catch { case _: IOException => }
+    key.attachment match {
+      case sendReceiveContext: SendReceiveContext => sendReceiveContext.closed()
+      case _ =>
+    }
+  }
+
+  /*
+   * All NIO for a UnixDomainSocket connection is performed on the thread of the selector it is
+   * registered with; by default there is just one for an entire actor system. Data
    * is input/output as fast as possible with back-pressure being fully implemented e.g. if there's
    * no other thread ready to consume a receive buffer, then there is no registration for a read
    * operation.
@@ -128,10 +180,7 @@ private[unixdomainsocket] object UnixDomainSocketImpl {
                         channel.write(buffer)
                       } catch {
                         case e: IOException =>
-                          key.cancel()
-                          try {
-                            key.channel.close()
-                          } catch { case _: IOException => }
+                          closeKey(key)
                           sent.failure(e)
                           -1
                       }
@@ -152,8 +201,7 @@ private[unixdomainsocket] object UnixDomainSocketImpl {
                     try {
                       if (sendReceiveContext.isInputShutdown) {
                         log.debug("Write-side is shutting down")
-                        key.cancel()
-                        key.channel.close()
+                        closeKey(key)
                       } else {
                         log.debug("Write-side is shutting down further output")
                         sendReceiveContext.isOutputShutdown = true
@@ -167,10 +215,7 @@ private[unixdomainsocket] object UnixDomainSocketImpl {
                   case ShutdownRequested =>
                   case CloseRequested =>
                     log.debug("Write-side is shutting down unconditionally")
-                    key.cancel()
-                    try {
-                      key.channel.close()
-                    } catch { case _: IOException => }
+                    closeKey(key)
                 }
                 sendReceiveContext.receive match {
                   case ReceiveAvailable(queue, buffer) if keySelectable && key.isReadable =>
@@ -200,10 +245,7 @@ private[unixdomainsocket] object UnixDomainSocketImpl {
                         if (!sendReceiveContext.halfClose || sendReceiveContext.isOutputShutdown) {
                           queue.watchCompletion().onComplete { _ =>
                             log.debug("Read-side is shutting down")
-                            key.cancel()
-                            try {
-                              key.channel().close()
-                            } catch { case _: IOException => }
+                            closeKey(key)
                           }
                         } else {
                           log.debug("Read-side is shutting down further input")
@@ -224,10 +266,7 @@ private[unixdomainsocket] object UnixDomainSocketImpl {
                       case e =>
                         log.debug("Read-side is shutting down due to {}", e)
                         receiveQueue.complete()
-                        key.cancel()
-                        try {
-                          key.channel.close()
-                        } catch { case _: IOException => }
+                        closeKey(key)
                     }
                   case _: PendingReceiveAck =>
                 }
@@ -246,8 +285,10 @@ private[unixdomainsocket] object UnixDomainSocketImpl {
       incomingConnectionQueue: SourceQueueWithComplete[IncomingConnection],
       halfClose: Boolean,
       receiveBufferSize: Int,
-      sendBufferSize: Int
-  )(sel: Selector, key: SelectionKey)(implicit mat: Materializer, ec: ExecutionContext): Unit = {
+      sendBufferSize: Int,
+      bufferPool: BufferPool,
+      connectionSelector: () => Selector
+  )(acceptingSel: Selector, key: SelectionKey)(implicit mat: Materializer, ec: ExecutionContext): Unit = {
 
     val acceptingChannel = key.channel().asInstanceOf[UnixServerSocketChannel]
     val acceptedChannel = try {
@@ -256,9 +297,12 @@ private[unixdomainsocket] object UnixDomainSocketImpl {
 
     if (acceptedChannel != null) {
       acceptedChannel.configureBlocking(false)
-      val (context, connectionFlow) = sendReceiveStructures(sel, receiveBufferSize, sendBufferSize, halfClose)
+      val sel = connectionSelector()
+      val (context, connectionFlow) =
+        sendReceiveStructures(sel, receiveBufferSize, sendBufferSize, halfClose, bufferPool)
       try {
         acceptedChannel.register(sel, SelectionKey.OP_READ, context)
+        if (sel ne acceptingSel) sel.wakeup()
       } catch { case _: IOException => }
       incomingConnectionQueue.offer(
         IncomingConnection(
@@ -291,7 +335,11 @@ private[unixdomainsocket] object UnixDomainSocketImpl {
     }
   }
 
-  private def sendReceiveStructures(sel: Selector, receiveBufferSize: Int, sendBufferSize: Int, halfClose: Boolean)(
+  private def sendReceiveStructures(sel: Selector,
+                                    receiveBufferSize: Int,
+                                    sendBufferSize: Int,
+                                    halfClose: Boolean,
+                                    bufferPool: BufferPool)(
       implicit mat: Materializer,
       ec: ExecutionContext
   ): (SendReceiveContext, Flow[ByteString, ByteString, NotUsed]) = {
@@ -305,12 +353,13 @@ private[unixdomainsocket] object UnixDomainSocketImpl {
         .run()
     val sendReceiveContext =
       new SendReceiveContext(
-        SendAvailable(ByteBuffer.allocate(sendBufferSize)),
-        ReceiveAvailable(receiveQueue, ByteBuffer.allocate(receiveBufferSize)),
+        SendAvailable(bufferPool.acquire(sendBufferSize)),
+        ReceiveAvailable(receiveQueue, bufferPool.acquire(receiveBufferSize)),
         halfClose = halfClose,
         isOutputShutdown = false,
-        isInputShutdown = false
-      ) // FIXME: No need for the costly allocation of direct buffers yet given https://github.com/jnr/jnr-unixsocket/pull/49
+        isInputShutdown = false,
+        bufferPool
+      ) // Heap buffers unless pooled-direct-buffers is enabled, see https://github.com/jnr/jnr-unixsocket/pull/49
 
     val sendSink = Sink.fromGraph(
       Flow[ByteString]
@@ -329,21 +378,25 @@ private[unixdomainsocket] object UnixDomainSocketImpl {
             splitToBufferSize(bytes, Vector.empty)
           }
         }
-        .mapAsync(1) { bytes =>
+        // byte strings queued while a write is in progress are written together with the next write
+        .batchWeighted(sendBufferSize.toLong, _.size.toLong, Vector(_))(_ :+ _)
+        .mapAsync(1) { fragments =>
           // Note - it is an error to get here and not have an AvailableSendContext
           val sent = Promise[Done]()
           val sendBuffer = sendReceiveContext.send.buffer
           sendBuffer.clear()
-          val copied = bytes.copyToBuffer(sendBuffer)
+          val copied = fragments.foldLeft(0)(_ + _.copyToBuffer(sendBuffer))
           sendBuffer.flip()
-          require(copied == bytes.size) // It is an error to exceed our buffer size given the above mapConcat
+          // It is an error to exceed our buffer size given the above mapConcat and batchWeighted
+          require(copied == fragments.foldLeft(0)(_ + _.size))
           sendReceiveContext.send = SendRequested(sendBuffer, sent)
           sel.wakeup()
-          sent.future.map(_ => bytes)
+          sent.future.map(_ => fragments)
         }
         .watchTermination() {
           case (_, done) =>
             done.onComplete { _ =>
+              sendReceiveContext.sendTerminated()
               sendReceiveContext.send = if (halfClose) {
                 ShutdownRequested
               } else {
@@ -372,23 +425,34 @@ private[unixdomainsocket] abstract class UnixDomainSocketImpl(system: ExtendedAc
   private implicit val materializer: Materializer = Materializer(system)
   import system.dispatcher
 
-  private val sel = NativeSelectorProvider.getInstance.openSelector
+  private val config = system.settings.config.getConfig("akka.stream.alpakka.unix-domain-socket")
+
+  private val selectors =
+    Vector.fill(config.getInt("selector-threads"))(NativeSelectorProvider.getInstance.openSelector)
+
+  // servers accept on the first selector, connections are spread over all of them
+  private val sel = selectors.head
+  private val nextSelector = new AtomicInteger()
+  private val connectionSelector: () => Selector = () =>
+    selectors(Math.floorMod(nextSelector.getAndIncrement(), selectors.size))
 
   /** Override to customise reported log source */
   protected def logSource: Class[_] = this.getClass
 
-  private val ioThread = new Thread(() => nioEventLoop(sel, Logging(system, logSource)), "unix-domain-socket-io")
-  ioThread.start()
+  selectors.zipWithIndex.foreach {
+    case (selector, i) =>
+      val name = if (i == 0) "unix-domain-socket-io" else s"unix-domain-socket-io-$i"
+      new Thread(() => nioEventLoop(selector, Logging(system, logSource)), name).start()
+  }
 
   CoordinatedShutdown(system).addTask(CoordinatedShutdown.PhaseServiceStop, "stopUnixDomainSocket") { () =>
-    sel.close() // Not much else that we can do
+    selectors.foreach(_.close()) // Not much else that we can do
     Future.successful(Done)
   }
 
-  private val receiveBufferSize: Int =
-    system.settings.config.getBytes("akka.stream.alpakka.unix-domain-socket.receive-buffer-size").toInt
-  private val sendBufferSize: Int =
-    system.settings.config.getBytes("akka.stream.alpakka.unix-domain-socket.send-buffer-size").toInt
+  private val receiveBufferSize: Int = config.getBytes("receive-buffer-size").toInt
+  private val sendBufferSize: Int = config.getBytes("send-buffer-size").toInt
+  private val bufferPool = new BufferPool(config.getBoolean("pooled-direct-buffers"))
 
   protected def bind(path: Path,
                      backlog: Int = 128,
@@ -426,7 +490,13 @@ private[unixdomainsocket] abstract class UnixDomainSocketImpl(system: ExtendedAc
       val registeredKey =
         channel.register(sel,
                          SelectionKey.OP_ACCEPT,
-                         acceptKey(address, incomingConnectionQueue, halfClose, receiveBufferSize, sendBufferSize) _)
+                         acceptKey(address,
+                                   incomingConnectionQueue,
+                                   halfClose,
+                                   receiveBufferSize,
+                                   sendBufferSize,
+                                   bufferPool,
+                                   connectionSelector) _)
       try {
         channel.socket().bind(address, backlog)
         sel.wakeup()
@@ -483,12 +553,15 @@ private[unixdomainsocket] abstract class UnixDomainSocketImpl(system: ExtendedAc
           case _ =>
             None
         }
-      val (context, connectionFlow) = sendReceiveStructures(sel, receiveBufferSize, sendBufferSize, halfClose)
+      val sel = connectionSelector()
+      val (context, connectionFlow) =
+        sendReceiveStructures(sel, receiveBufferSize, sendBufferSize, halfClose, bufferPool)
       val ra = new JnrUnixSocketAddress(remoteAddress.path.toFile)
       val registeredKey =
         channel
           .register(sel, SelectionKey.OP_CONNECT, connectKey(ra, connectionFinished, cancellable, context) _)
       val connection = Try(channel.connect(ra))
+      sel.wakeup()
       connection.failed.foreach(e => connectionFinished.tryFailure(e))
 
       Future.successful(
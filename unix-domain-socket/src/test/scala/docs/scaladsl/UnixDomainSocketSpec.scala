@@ -13,6 +13,7 @@ import akka.stream.scaladsl.{Flow, Keep, Sink, Source}
 import akka.stream.{Materializer, OverflowStrategy}
 import akka.testkit._
 import akka.util.ByteString
+import com.typesafe.config.ConfigFactory
 import org.scalatest._
 import org.scalatest.concurrent.{IntegrationPatience, ScalaFutures}
 import org.scalatest.matchers.should.Matchers
@@ -93,6 +94,36 @@ class UnixDomainSocketSpec
       binding.futureValue.unbind().futureValue should be(())
     }
 
+    "spread connections over several selector threads with pooled direct buffers" in {
+      val config = ConfigFactory
+        .parseString("""
+          akka.stream.alpakka.unix-domain-socket {
+            selector-threads = 4
+            pooled-direct-buffers = on
+          }
+        """)
+        .withFallback(system.settings.config)
+      val pooledSystem = ActorSystem("UnixDomainSocketSpecPooled", config)
+      try {
+        val path = dir.resolve("sock-pooled")
+
+        val binding =
+          UnixDomainSocket(pooledSystem).bindAndHandle(Flow[ByteString], path, halfClose = true)
+        binding.futureValue
+
+        def messages(connection: Int) = (1 to 100).map(i => ByteString(s"connection $connection message $i\n"))
+
+        def echoed(connection: Int): Future[ByteString] =
+          Source(messages(connection))
+            .via(UnixDomainSocket(pooledSystem).outgoingConnection(path))
+            .runWith(Sink.fold(ByteString.empty)(_ ++ _))(Materializer(pooledSystem))
+
+        val connections = 1 to 8
+        Future.sequence(connections.map(echoed)).futureValue shouldBe connections.map(messages(_).reduce(_ ++ _))
+        binding.futureValue.unbind().futureValue should be(())
+      } finally TestKit.shutdownActorSystem(pooledSystem)
+    }
+
     "allow the client to close the connection" in {
       val path = dir.resolve("sock3")
 
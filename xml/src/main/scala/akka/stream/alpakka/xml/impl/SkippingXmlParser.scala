@@ -0,0 +1,281 @@
+/*
+ * Copyright (C) since 2016 Lightbend Inc. <https://www.lightbend.com>
+ */
+
+package akka.stream.alpakka.xml.impl
+
+import akka.annotation.InternalApi
+import akka.stream.{Attributes, FlowShape, Inlet, Outlet}
+import akka.stream.alpakka.xml._
+import akka.stream.alpakka.xml.impl.StreamingXmlParser.{startElement, withStreamingFinishedException}
+import akka.stream.stage.{GraphStage, GraphStageLogic, InHandler, OutHandler}
+import akka.util.ByteString
+import com.fasterxml.aalto.{AsyncByteArrayFeeder, AsyncXMLInputFactory, AsyncXMLStreamReader}
+import com.fasterxml.aalto.stax.InputFactoryImpl
+import com.fasterxml.aalto.util.IllegalCharHandler.ReplacingIllegalCharHandler
+import javax.xml.parsers.DocumentBuilderFactory
+import javax.xml.stream.{XMLStreamConstants, XMLStreamException}
+import org.w3c.dom.{Document, Element}
+
+import scala.annotation.tailrec
+import scala.collection.immutable
+
+/**
+ * INTERNAL API
+ */
+@InternalApi private[xml] object SkippingXmlParser {
+
+  /**
+   * Turns the events of a selected element into outputs. The element at the end of the path has depth 0, its
+   * children depth 1 and so on. Methods return `null` when there is nothing to emit.
+   */
+  trait Selection[Out >: Null] {
+
+    /** Every chunk of input before it is fed to the parser. */
+    def fed(bytes: ByteString): Unit = ()
+
+    /** A start or end element event outside of the selected elements. */
+    def skipped(parser: AsyncXMLStreamReader[_]): Unit = ()
+
+    def start(parser: AsyncXMLStreamReader[_], depth: Int): Out
+
+    def end(parser: AsyncXMLStreamReader[_], depth: Int): Out
+
+    def other(eventType: Int, parser: AsyncXMLStreamReader[_]): Out
+  }
+
+  /**
+   * Emits the events within the selected elements, like [[Subslice]].
+   */
+  final class SubsliceSelection extends Selection[ParseEvent] {
+    def start(parser: AsyncXMLStreamReader[_], depth: Int): ParseEvent =
+      if (depth > 0) startElement(parser) else null
+
+    def end(parser: AsyncXMLStreamReader[_], depth: Int): ParseEvent =
+      if (depth > 0) EndElement(parser.getLocalName) else null
+
+    def other(eventType: Int, parser: AsyncXMLStreamReader[_]): ParseEvent =
+      eventType match {
+        case XMLStreamConstants.START_DOCUMENT => StartDocument
+        case XMLStreamConstants.END_DOCUMENT => EndDocument
+        case XMLStreamConstants.CHARACTERS => Characters(parser.getText)
+        case XMLStreamConstants.PROCESSING_INSTRUCTION =>
+          ProcessingInstruction(Option(parser.getPITarget), Option(parser.getPIData))
+        case XMLStreamConstants.COMMENT => Comment(parser.getText)
+        case XMLStreamConstants.CDATA => CData(parser.getText)
+        case _ => null
+      }
+  }
+
+  /**
+   * Builds the selected elements, like [[Subtree]].
+   */
+  final class SubtreeSelection extends Selection[Element] {
+    private val doc: Document = DocumentBuilderFactory.newInstance().newDocumentBuilder().newDocument()
+    private var elementStack: List[Element] = Nil
+
+    def start(parser: AsyncXMLStreamReader[_], depth: Int): Element = {
+      val namespace = parser.getNamespaceURI
+      val element =
+        if (namespace == null || namespace.isEmpty) doc.createElement(parser.getLocalName)
+        else doc.createElementNS(namespace, parser.getLocalName)
+      var i = 0
+      while (i < parser.getAttributeCount) {
+        element.setAttribute(parser.getAttributeLocalName(i), parser.getAttributeValue(i))
+        i += 1
+      }
+      elementStack.headOption.foreach(_.appendChild(element))
+      elementStack = element :: elementStack
+      null
+    }
+
+    def end(parser: AsyncXMLStreamReader[_], depth: Int): Element = {
+      val element = elementStack.head
+      elementStack = elementStack.tail
+      if (depth == 0) element else null
+    }
+
+    def other(eventType: Int, parser: AsyncXMLStreamReader[_]): Element = {
+      eventType match {
+        case XMLStreamConstants.CHARACTERS => elementStack.head.appendChild(doc.createTextNode(parser.getText))
+        case XMLStreamConstants.CDATA => elementStack.head.appendChild(doc.createCDATASection(parser.getText))
+        case _ =>
+      }
+      null
+    }
+  }
+
+  /**
+   * Emits the selected elements as they appear in the input, from the start of their start tag to the end of their
+   * end tag. Emitted byte strings are slices of the incoming byte strings.
+   */
+  final class RawSelection extends Selection[ByteString] {
+    private var window = ByteString.empty
+    private var windowOffset = 0L // the input offset of the first byte in the window
+    private var keepFrom = 0L // the window needs to start at or before this offset
+    private var capturing = false
+
+    override def fed(bytes: ByteString): Unit = {
+      if (!capturing && keepFrom > windowOffset) {
+        window = window.drop((keepFrom - windowOffset).toInt)
+        windowOffset = keepFrom
+      }
+      window ++= bytes
+    }
+
+    override def skipped(parser: AsyncXMLStreamReader[_]): Unit =
+      keepFrom = parser.getLocationInfo.getStartingByteOffset
+
+    def start(parser: AsyncXMLStreamReader[_], depth: Int): ByteString = {
+      if (depth == 0) {
+        val offset = (parser.getLocationInfo.getStartingByteOffset - windowOffset).toInt
+        val tagStart = window.lastIndexOf('<'.toByte, offset)
+        window = window.drop(tagStart)
+        windowOffset += tagStart
+        capturing = true
+      }
+      null
+    }
+
+    def end(parser: AsyncXMLStreamReader[_], depth: Int): ByteString =
+      if (depth == 0) {
+        val offset = (parser.getLocationInfo.getEndingByteOffset - windowOffset).toInt
+        val tagEnd = window.indexOf('>'.toByte, offset - 1) + 1
+        val element = window.take(tagEnd)
+        window = window.drop(tagEnd)
+        windowOffset += tagEnd
+        keepFrom = windowOffset
+        capturing = false
+        element
+      } else null
+
+    def other(eventType: Int, parser: AsyncXMLStreamReader[_]): ByteString = null
+  }
+}
+
+/**
+ * INTERNAL API
+ *
+ * Parses XML and selects the elements at a path straight from the Aalto parser. Elements outside of the path are
+ * skipped without creating events for them or reading their text.
+ */
+@InternalApi private[xml] final class SkippingXmlParser[Out >: Null](
+    path: immutable.Seq[String],
+    ignoreInvalidChars: Boolean,
+    configureFactory: AsyncXMLInputFactory => Unit,
+    newSelection: () => SkippingXmlParser.Selection[Out]
+) extends GraphStage[FlowShape[ByteString, Out]] {
+  val in: Inlet[ByteString] = Inlet("XMLSkippingParser.in")
+  val out: Outlet[Out] = Outlet("XMLSkippingParser.out")
+  override val shape: FlowShape[ByteString, Out] = FlowShape(in, out)
+
+  override def createLogic(inheritedAttributes: Attributes): GraphStageLogic =
+    new GraphStageLogic(shape) with InHandler with OutHandler {
+      private val pathElements = path.toVector
+      private val selection = newSelection()
+      private var started = false
+      private var matched = 0 // number of path elements matched by the current ancestors
+      private var skipDepth = -1 // depth within an element not on the path, -1 when not skipping
+      private var depth = if (pathElements.isEmpty) 0 else -1 // depth within a selected element, -1 when outside
+
+      private val factory: AsyncXMLInputFactory = new InputFactoryImpl()
+      configureFactory(factory)
+      private val parser: AsyncXMLStreamReader[AsyncByteArrayFeeder] = factory.createAsyncForByteArray()
+      if (ignoreInvalidChars) {
+        parser.getConfig.setIllegalCharHandler(new ReplacingIllegalCharHandler(0))
+      }
+
+      setHandlers(in, out, this)
+
+      override def onPush(): Unit = {
+        val bs = grab(in)
+        selection.fed(bs)
+        val array = bs.toArray
+        try {
+          parser.getInputFeeder.feedInput(array, 0, array.length)
+          advanceParser()
+        } catch {
+          case xmlException: XMLStreamException => failStage(xmlException)
+        }
+      }
+
+      override def onPull(): Unit =
+        try {
+          advanceParser()
+        } catch {
+          case xmlException: XMLStreamException => failStage(xmlException)
+        }
+
+      override def onUpstreamFinish(): Unit = {
+        parser.getInputFeeder.endOfInput()
+        if (!parser.hasNext) completeStage()
+        else if (isAvailable(out)) try {
+          advanceParser()
+        } catch {
+          case xmlException: XMLStreamException => failStage(xmlException)
+        }
+      }
+
+      @tailrec private def advanceParser(): Unit =
+        if (parser.hasNext) {
+          parser.next() match {
+            case AsyncXMLStreamReader.EVENT_INCOMPLETE if isClosed(in) && !started => completeStage()
+            case AsyncXMLStreamReader.EVENT_INCOMPLETE if isClosed(in) => failStage(withStreamingFinishedException)
+            case AsyncXMLStreamReader.EVENT_INCOMPLETE => pull(in)
+
+            case XMLStreamConstants.END_DOCUMENT =>
+              val output = select(XMLStreamConstants.END_DOCUMENT)
+              if (output != null) push(out, output)
+              completeStage()
+
+            case eventType =>
+              if (eventType == XMLStreamConstants.START_DOCUMENT) started = true
+              val output = select(eventType)
+              if (output != null) push(out, output)
+              else advanceParser()
+          }
+        } else completeStage()
+
+      private def select(eventType: Int): Out =
+        if (depth >= 0) selected(eventType)
+        else
+          eventType match {
+            case XMLStreamConstants.START_ELEMENT =>
+              selection.skipped(parser)
+              if (skipDepth >= 0) {
+                skipDepth += 1
+                null
+              } else if (parser.getLocalName == pathElements(matched)) {
+                matched += 1
+                if (matched == pathElements.size) {
+                  depth = 0
+                  selection.start(parser, depth)
+                } else null
+              } else {
+                skipDepth = 0
+                null
+              }
+            case XMLStreamConstants.END_ELEMENT =>
+              selection.skipped(parser)
+              if (skipDepth >= 0) skipDepth -= 1
+              else matched -= 1
+              null
+            case _ =>
+              null
+          }
+
+      private def selected(eventType: Int): Out =
+        eventType match {
+          case XMLStreamConstants.START_ELEMENT =>
+            depth += 1
+            selection.start(parser, depth)
+          case XMLStreamConstants.END_ELEMENT =>
+            val output = selection.end(parser, depth)
+            depth -= 1
+            if (depth < 0) matched -= 1
+            output
+          case _ =>
+            selection.other(eventType, parser)
+        }
+    }
+}
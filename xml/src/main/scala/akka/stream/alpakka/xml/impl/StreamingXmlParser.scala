@@ -6,7 +6,7 @@ package akka.stream.alpakka.xml.impl
 import akka.annotation.InternalApi
 import akka.stream.{Attributes, FlowShape, Inlet, Outlet}
 import akka.stream.alpakka.xml._
-import akka.stream.alpakka.xml.impl.StreamingXmlParser.withStreamingFinishedException
+import akka.stream.alpakka.xml.impl.StreamingXmlParser.{startElement, withStreamingFinishedException}
 import akka.stream.stage.{GraphStage, GraphStageLogic, InHandler, OutHandler}
 import akka.util.ByteString
 import com.fasterxml.aalto.{AsyncByteArrayFeeder, AsyncXMLInputFactory, AsyncXMLStreamReader}
@@ -19,6 +19,32 @@ import scala.annotation.tailrec
 private[xml] object StreamingXmlParser {
   lazy val withStreamingFinishedException = new IllegalStateException("Stream finished before event was fully parsed.")
 
+  /**
+   * Builds the [[StartElement]] event the parser is positioned at.
+   */
+  def startElement(parser: AsyncXMLStreamReader[_]): StartElement = {
+    val attributes = (0 until parser.getAttributeCount).map { i =>
+      val optNs = Option(parser.getAttributeNamespace(i)).filterNot(_ == "")
+      val optPrefix = Option(parser.getAttributePrefix(i)).filterNot(_ == "")
+      Attribute(name = parser.getAttributeLocalName(i),
+                value = parser.getAttributeValue(i),
+                prefix = optPrefix,
+                namespace = optNs)
+    }.toList
+    val namespaces = (0 until parser.getNamespaceCount).map { i =>
+      val namespace = parser.getNamespaceURI(i)
+      val optPrefix = Option(parser.getNamespacePrefix(i)).filterNot(_ == "")
+      Namespace(namespace, optPrefix)
+    }.toList
+    val optPrefix = Option(parser.getPrefix)
+    val optNs = optPrefix.flatMap(prefix => Option(parser.getNamespaceURI(prefix)))
+    StartElement(parser.getLocalName,
+                 attributes,
+                 optPrefix.filterNot(_ == ""),
+                 optNs.filterNot(_ == ""),
+                 namespaceCtx = namespaces)
+  }
+
   sealed trait ContextHandler[A, B, Ctx] {
     def getByteString(a: A): ByteString
     def getContext(a: A): Ctx
@@ -115,30 +141,7 @@ private[xml] object StreamingXmlParser {
               completeStage()
 
             case XMLStreamConstants.START_ELEMENT =>
-              val attributes = (0 until parser.getAttributeCount).map { i =>
-                val optNs = Option(parser.getAttributeNamespace(i)).filterNot(_ == "")
-                val optPrefix = Option(parser.getAttributePrefix(i)).filterNot(_ == "")
-                Attribute(name = parser.getAttributeLocalName(i),
-                          value = parser.getAttributeValue(i),
-                          prefix = optPrefix,
-                          namespace = optNs)
-              }.toList
-              val namespaces = (0 until parser.getNamespaceCount).map { i =>
-                val namespace = parser.getNamespaceURI(i)
-                val optPrefix = Option(parser.getNamespacePrefix(i)).filterNot(_ == "")
-                Namespace(namespace, optPrefix)
-              }.toList
-              val optPrefix = Option(parser.getPrefix)
-              val optNs = optPrefix.flatMap(prefix => Option(parser.getNamespaceURI(prefix)))
-              push(
-                out,
-                transform.buildOutput(StartElement(parser.getLocalName,
-                                                   attributes,
-                                                   optPrefix.filterNot(_ == ""),
-                                                   optNs.filterNot(_ == ""),
-                                                   namespaceCtx = namespaces),
-                                      context)
-              )
+              push(out, transform.buildOutput(startElement(parser), context))
 
             case XMLStreamConstants.END_ELEMENT =>
               push(out, transform.buildOutput(EndElement(parser.getLocalName), context))
@@ -72,6 +72,61 @@ object XmlParsing {
   ): akka.stream.javadsl.FlowWithContext[ByteString, Ctx, ParseEvent, Ctx, NotUsed] =
     xml.scaladsl.XmlParsing.parserWithContext(ignoreInvalidChars, configureFactory.accept(_)).asJava
 
+  /**
+   * Parser Flow that takes a stream of ByteStrings and emits the XML events under a certain path in the document,
+   * like `parser` followed by `subslice`. Events outside of the path are skipped by the parser without being
+   * created.
+   */
+  def parserSubslice(path: java.util.Collection[String]): akka.stream.javadsl.Flow[ByteString, ParseEvent, NotUsed] =
+    xml.scaladsl.XmlParsing.parserSubslice(path.asScala.toIndexedSeq).asJava
+
+  /**
+   * Parser Flow that takes a stream of ByteStrings and emits the XML events under a certain path in the document,
+   * like `parser` followed by `subslice`. Events outside of the path are skipped by the parser without being
+   * created.
+   */
+  def parserSubslice(
+      path: java.util.Collection[String],
+      ignoreInvalidChars: Boolean,
+      configureFactory: Consumer[AsyncXMLInputFactory]
+  ): akka.stream.javadsl.Flow[ByteString, ParseEvent, NotUsed] =
+    xml.scaladsl.XmlParsing
+      .parserSubslice(path.asScala.toIndexedSeq, ignoreInvalidChars, configureFactory.accept(_))
+      .asJava
+
+  /**
+   * Parser Flow that takes a stream of ByteStrings and emits the elements of a certain path in the document as
+   * org.w3c.dom.Element, like `parser` followed by `subtree`. Elements outside of the path are skipped by the parser
+   * without creating events for them.
+   */
+  def parserSubtree(path: java.util.Collection[String]): akka.stream.javadsl.Flow[ByteString, Element, NotUsed] =
+    xml.scaladsl.XmlParsing.parserSubtree(path.asScala.toIndexedSeq).asJava
+
+  /**
+   * Parser Flow that takes a stream of ByteStrings and emits the elements of a certain path in the document as
+   * org.w3c.dom.Element, like `parser` followed by `subtree`. Elements outside of the path are skipped by the parser
+   * without creating events for them.
+   */
+  def parserSubtree(
+      path: java.util.Collection[String],
+      ignoreInvalidChars: Boolean,
+      configureFactory: Consumer[AsyncXMLInputFactory]
+  ): akka.stream.javadsl.Flow[ByteString, Element, NotUsed] =
+    xml.scaladsl.XmlParsing
+      .parserSubtree(path.asScala.toIndexedSeq, ignoreInvalidChars, configureFactory.accept(_))
+      .asJava
+
+  /**
+   * Parser Flow that takes a stream of ByteStrings and emits the elements of a certain path in the document
+   * as they appear in the input, from the start of their start tag to the end of their end tag. The emitted
+   * ByteStrings are slices of the incoming ByteStrings; elements outside of the path are skipped by the parser
+   * without creating events for them.
+   */
+  def parserSubtreeBytes(
+      path: java.util.Collection[String]
+  ): akka.stream.javadsl.Flow[ByteString, ByteString, NotUsed] =
+    xml.scaladsl.XmlParsing.parserSubtreeBytes(path.asScala.toIndexedSeq).asJava
+
   /**
    * A Flow that transforms a stream of XML ParseEvents. This stage coalesces consequitive CData and Characters
    * events into a single Characters event or fails if the buffered string is larger than the maximum defined.
@@ -66,6 +66,62 @@ object XmlParsing {
       )
     )
 
+  /**
+   * Parser Flow that takes a stream of ByteStrings and emits the XML events under a certain path in the document,
+   * like `parser` followed by `subslice`. Events outside of the path are skipped by the parser without being
+   * created.
+   */
+  def parserSubslice(
+      path: immutable.Seq[String],
+      ignoreInvalidChars: Boolean = false,
+      configureFactory: AsyncXMLInputFactory => Unit = configureDefault
+  ): Flow[ByteString, ParseEvent, NotUsed] =
+    Flow.fromGraph(
+      new impl.SkippingXmlParser[ParseEvent](path,
+                                             ignoreInvalidChars,
+                                             configureFactory,
+                                             () => new impl.SkippingXmlParser.SubsliceSelection)
+    )
+
+  /**
+   * Parser Flow that takes a stream of ByteStrings and emits the elements of a certain path in the document as
+   * org.w3c.dom.Element, like `parser` followed by `subtree`. Elements outside of the path are skipped by the parser
+   * without creating events for them.
+   */
+  def parserSubtree(
+      path: immutable.Seq[String],
+      ignoreInvalidChars: Boolean = false,
+      configureFactory: AsyncXMLInputFactory => Unit = configureDefault
+  ): Flow[ByteString, Element, NotUsed] = {
+    require(path.nonEmpty, "path must not be empty")
+    Flow.fromGraph(
+      new impl.SkippingXmlParser[Element](path,
+                                          ignoreInvalidChars,
+                                          configureFactory,
+                                          () => new impl.SkippingXmlParser.SubtreeSelection)
+    )
+  }
+
+  /**
+   * Parser Flow that takes a stream of ByteStrings and emits the elements of a certain path in the document
+   * as they appear in the input, from the start of their start tag to the end of their end tag. The emitted
+   * ByteStrings are slices of the incoming ByteStrings; elements outside of the path are skipped by the parser
+   * without creating events for them.
+   */
+  def parserSubtreeBytes(
+      path: immutable.Seq[String],
+      ignoreInvalidChars: Boolean = false,
+      configureFactory: AsyncXMLInputFactory => Unit = configureDefault
+  ): Flow[ByteString, ByteString, NotUsed] = {
+    require(path.nonEmpty, "path must not be empty")
+    Flow.fromGraph(
+      new impl.SkippingXmlParser[ByteString](path,
+                                             ignoreInvalidChars,
+                                             configureFactory,
+                                             () => new impl.SkippingXmlParser.RawSelection)
+    )
+  }
+
   /**
    * A Flow that transforms a stream of XML ParseEvents. This stage coalesces consecutive CData and Characters
    * events into a single Characters event or fails if the buffered string is larger than the maximum defined.
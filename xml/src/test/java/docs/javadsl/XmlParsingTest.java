@@ -234,6 +234,85 @@ public class XmlParsingTest {
         .get(5, TimeUnit.SECONDS);
   }
 
+  @Test
+  public void xmlParserSubslice()
+      throws InterruptedException, ExecutionException, TimeoutException {
+    final String doc =
+        "<doc>"
+            + "  <skipped><item>s1</item></skipped>"
+            + "  <elem>"
+            + "    <item>i1</item>"
+            + "    <item><sub>i2</sub></item>"
+            + "  </elem>"
+            + "</doc>";
+
+    // #parser-subslice
+    final CompletionStage<List<ParseEvent>> events =
+        Source.single(ByteString.fromString(doc))
+            .via(XmlParsing.parserSubslice(Arrays.asList("doc", "elem", "item")))
+            .runWith(Sink.seq(), system);
+    // #parser-subslice
+
+    assertThat(
+        events.toCompletableFuture().get(5, TimeUnit.SECONDS),
+        is(
+            Arrays.asList(
+                Characters.create("i1"),
+                StartElement.create("sub", Collections.emptyMap()),
+                Characters.create("i2"),
+                EndElement.create("sub"))));
+  }
+
+  @Test
+  public void xmlParserSubtree() throws InterruptedException, ExecutionException, TimeoutException {
+    final String doc =
+        "<doc>"
+            + "  <skipped><item>s1</item></skipped>"
+            + "  <elem>"
+            + "    <item>i1</item>"
+            + "    <item><sub>i2</sub></item>"
+            + "  </elem>"
+            + "</doc>";
+
+    // #parser-subtree
+    final CompletionStage<List<Element>> elements =
+        Source.single(ByteString.fromString(doc))
+            .via(XmlParsing.parserSubtree(Arrays.asList("doc", "elem", "item")))
+            .runWith(Sink.seq(), system);
+    // #parser-subtree
+
+    assertThat(
+        elements.toCompletableFuture().get(5, TimeUnit.SECONDS).stream()
+            .map(e -> XmlHelper.asString(e).trim())
+            .collect(Collectors.toList()),
+        is(Arrays.asList("<item>i1</item>", "<item><sub>i2</sub></item>")));
+  }
+
+  @Test
+  public void xmlParserSubtreeBytes()
+      throws InterruptedException, ExecutionException, TimeoutException {
+    final String doc =
+        "<doc>"
+            + "  <skipped><item>s1</item></skipped>"
+            + "  <elem>"
+            + "    <item id=\"1\">i1</item>"
+            + "    <item><sub>i2</sub></item>"
+            + "  </elem>"
+            + "</doc>";
+
+    // #parser-subtree-bytes
+    final CompletionStage<List<String>> elements =
+        Source.single(ByteString.fromString(doc))
+            .via(XmlParsing.parserSubtreeBytes(Arrays.asList("doc", "elem", "item")))
+            .map(ByteString::utf8String)
+            .runWith(Sink.seq(), system);
+    // #parser-subtree-bytes
+
+    assertThat(
+        elements.toCompletableFuture().get(5, TimeUnit.SECONDS),
+        is(Arrays.asList("<item id=\"1\">i1</item>", "<item><sub>i2</sub></item>")));
+  }
+
   @BeforeClass
   public static void setup() {
     system = ActorSystem.create();
@@ -0,0 +1,129 @@
+/*
+ * Copyright (C) since 2016 Lightbend Inc. <https://www.lightbend.com>
+ */
+
+package docs.scaladsl
+
+import akka.actor.ActorSystem
+import akka.stream.alpakka.testkit.scaladsl.LogCapturing
+import akka.stream.alpakka.xml._
+import akka.stream.alpakka.xml.scaladsl.XmlParsing
+import akka.stream.scaladsl.{Sink, Source}
+import akka.util.ByteString
+import docs.javadsl.XmlHelper
+import org.scalatest.BeforeAndAfterAll
+
+import scala.collection.immutable
+import scala.concurrent.Await
+import scala.concurrent.duration._
+import org.scalatest.matchers.should.Matchers
+import org.scalatest.wordspec.AnyWordSpec
+
+class XmlSkippingParserSpec extends AnyWordSpec with Matchers with BeforeAndAfterAll with LogCapturing {
+  implicit val system: ActorSystem = ActorSystem("Test")
+
+  val path: immutable.Seq[String] = "doc" :: "elem" :: "item" :: Nil
+
+  val doc: String =
+    """<?xml version="1.0"?>
+      |<doc>
+      |  <elem>
+      |    <notanitem>ignore me</notanitem>
+      |    <notanitem><item>nor me</item></notanitem>
+      |    <foo>ignore me</foo>
+      |    <item id="1">i1</item>
+      |    <item><sub>i2</sub><![CDATA[c2]]><!-- note --></item>
+      |    <item/>
+      |  </elem>
+      |  <elem>
+      |    not me please
+      |  </elem>
+      |  <other><elem><item>not me</item></elem></other>
+      |  <elem><item>i4</item></elem>
+      |</doc>
+    """.stripMargin
+
+  def chunked(size: Int): Source[ByteString, _] =
+    Source(ByteString(doc).grouped(size).toList)
+
+  "XML parser with subslice" must {
+
+    "emit the same events as parser followed by subslice" in {
+      for (size <- List(1, 7, 4096)) {
+        val expected = Await.result(
+          chunked(size).via(XmlParsing.parser).via(XmlParsing.subslice(path)).runWith(Sink.seq),
+          3.seconds
+        )
+        expected should contain(StartElement("sub", Map.empty[String, String]))
+
+        //#parser-subslice
+        val events = chunked(size)
+          .via(XmlParsing.parserSubslice("doc" :: "elem" :: "item" :: Nil))
+          .runWith(Sink.seq)
+        //#parser-subslice
+
+        Await.result(events, 3.seconds) should ===(expected)
+      }
+    }
+
+    "emit all events for an empty path" in {
+      val expected = Await.result(chunked(4096).via(XmlParsing.parser).runWith(Sink.seq), 3.seconds)
+      val result = Await.result(chunked(4096).via(XmlParsing.parserSubslice(Nil)).runWith(Sink.seq), 3.seconds)
+      result should ===(expected)
+    }
+  }
+
+  "XML parser with subtree" must {
+
+    "emit the same elements as parser followed by subtree" in {
+      for (size <- List(1, 7, 4096)) {
+        val expected = Await.result(
+          chunked(size).via(XmlParsing.parser).via(XmlParsing.subtree(path)).runWith(Sink.seq),
+          3.seconds
+        )
+
+        //#parser-subtree
+        val elements = chunked(size)
+          .via(XmlParsing.parserSubtree("doc" :: "elem" :: "item" :: Nil))
+          .runWith(Sink.seq)
+        //#parser-subtree
+
+        val result = Await.result(elements, 3.seconds)
+        result.map(XmlHelper.asString(_).trim) should ===(expected.map(XmlHelper.asString(_).trim))
+      }
+    }
+  }
+
+  "XML parser with raw subtrees" must {
+
+    "emit the matching elements as they appear in the input" in {
+      for (size <- List(1, 7, 4096)) {
+        //#parser-subtree-bytes
+        val elements = chunked(size)
+          .via(XmlParsing.parserSubtreeBytes("doc" :: "elem" :: "item" :: Nil))
+          .map(_.utf8String)
+          .runWith(Sink.seq)
+        //#parser-subtree-bytes
+
+        Await.result(elements, 3.seconds) should ===(
+          Seq(
+            """<item id="1">i1</item>""",
+            "<item><sub>i2</sub><![CDATA[c2]]><!-- note --></item>",
+            "<item/>",
+            "<item>i4</item>"
+          )
+        )
+      }
+    }
+
+    "fail on malformed input" in {
+      val result = Source
+        .single(ByteString("<doc><elem><item>i1</elem></doc>"))
+        .via(XmlParsing.parserSubtreeBytes(path))
+        .runWith(Sink.seq)
+      a[javax.xml.stream.XMLStreamException] shouldBe thrownBy(Await.result(result, 3.seconds))
+    }
+  }
+
+  override protected def afterAll(): Unit = system.terminate()
+}